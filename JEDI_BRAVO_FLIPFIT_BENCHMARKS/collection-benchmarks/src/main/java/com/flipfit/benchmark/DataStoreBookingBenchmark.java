@@ -0,0 +1,121 @@
+package com.flipfit.benchmark;
+
+import com.flipfit.bean.Booking;
+import com.flipfit.bean.GymSlot;
+import com.flipfit.bean.GymUser;
+import com.flipfit.business.BookingService;
+import com.flipfit.business.impl.BookingServiceImpl;
+import com.flipfit.enums.BookingStatus;
+import com.flipfit.enums.Role;
+import com.flipfit.helper.DataStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class DataStoreBookingBenchmark.
+ * BookingServiceImpl.createBooking followed by cancelBooking on the
+ * in-memory DataStore, with a growing number of existing bookings. The
+ * capacity and conflict checks scan every booking, so the cost grows with
+ * the dataset; the benchmark makes that visible.
+ * DataStore is a set of plain HashMaps, so calls are serialized on one
+ * lock; with -t N the numbers show what the console app would do if
+ * several users shared it.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName DataStoreBookingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DataStoreBookingBenchmark {
+
+    /** Seeded center; its 07:00 slot has 10 seats. */
+    private static final String CENTER_ID = "C1";
+    private static final LocalTime START = LocalTime.of(7, 0);
+    private static final LocalTime END = LocalTime.of(8, 0);
+
+    /** Number of customers the existing bookings are spread over. */
+    private static final int CUSTOMERS = 1_000;
+
+    /** Number of bookings already in the DataStore. */
+    @Param({"100", "10000"})
+    public int bookings;
+
+    private final Object lock = new Object();
+    private final BookingService bookingService = new BookingServiceImpl();
+    private Date bookingDate;
+    private int next;
+
+    /**
+     * Seeds customers and confirmed bookings on days other than the
+     * benchmark date. Each trial runs in its own fork, so the static
+     * DataStore starts empty.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        for (int c = 0; c < CUSTOMERS; c++) {
+            GymUser user = new GymUser();
+            user.setUserId(customerId(c));
+            user.setName("Customer " + c);
+            user.setEmail(customerId(c) + "@flipfit.com");
+            user.setPassword("password");
+            user.setRole(Role.CUSTOMER);
+            DataStore.addUser(user);
+        }
+
+        List<GymSlot> slots = DataStore.getCenter(CENTER_ID).getCenterSlot();
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        for (int i = 0; i < bookings; i++) {
+            GymSlot slot = slots.get(i % slots.size());
+            LocalDate date = tomorrow.plusDays(1 + i / CUSTOMERS);
+            Booking booking = new Booking();
+            booking.setBookingId(DataStore.nextBookingId());
+            booking.setGymUser(DataStore.getUser(customerId(i % CUSTOMERS)));
+            booking.setGymSlot(slot);
+            booking.setDateAndTime(DataStore.buildDateKey(date, slot.getStartTime()));
+            booking.setBookingStatus(BookingStatus.CONFIRMED);
+            DataStore.saveBooking(booking);
+        }
+        // Only the benchmark bookings land on tomorrow, so the slot never fills up
+        bookingDate = Date.from(tomorrow.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static String customerId(int c) {
+        return "bench" + c;
+    }
+
+    /**
+     * Books the 07:00 slot at C1 and cancels it again.
+     *
+     * @return true if the booking was created and cancelled
+     */
+    @Benchmark
+    public boolean createAndCancel() {
+        synchronized (lock) {
+            String bookingId = bookingService.createBooking(
+                customerId(next++ % CUSTOMERS), CENTER_ID, START, END, bookingDate);
+            return bookingId != null && bookingService.cancelBooking(bookingId);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.flipfit.benchmark;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class BenchmarkMain.
+ * Entry point of the benchmark jar. Without -Dflipfit.bench.threads it is
+ * plain JMH; with -Dflipfit.bench.threads=1,4,16 it runs the selected
+ * benchmarks once per thread count, overriding @Threads and -t.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName BenchmarkMain
+ */
+public class BenchmarkMain {
+
+    /** System property holding the comma-separated thread counts. */
+    public static final String THREADS_PROPERTY = "flipfit.bench.threads";
+
+    /**
+     * The main method.
+     *
+     * @param args the JMH command line
+     * @throws Exception if a run fails
+     */
+    public static void main(String[] args) throws Exception {
+        String sweep = System.getProperty(THREADS_PROPERTY);
+        if (sweep == null || sweep.isBlank()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        CommandLineOptions options = new CommandLineOptions(args);
+        for (String threads : sweep.split(",")) {
+            new Runner(new OptionsBuilder()
+                .parent(options)
+                .threads(Integer.parseInt(threads.trim()))
+                .build()).run();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.flipfit.benchmark;
+
+import com.flipfit.bean.Booking;
+import com.flipfit.business.BookingService;
+import com.flipfit.business.impl.BookingServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class BookSlotBenchmark.
+ * BookingService.bookSlot under contention. Every call books a different
+ * customer-date, so it always succeeds and never triggers conflict
+ * auto-cancel; the slots have enough seats for the whole run.
+ * SAME_SLOT sends every thread to one slot-date at a time (one lock stripe,
+ * one inventory row); SPREAD_SLOTS rotates over 16 slots.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName BookSlotBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class BookSlotBenchmark {
+
+    /** Number of slots used by SPREAD_SLOTS. */
+    private static final int SPREAD_SLOT_COUNT = 16;
+
+    /** Seats per benchmark slot; never reached in a run. */
+    private static final int SEATS = 10_000_000;
+
+    /** How booking requests are distributed over slots. */
+    public enum Contention {
+        /** All threads book the same slot. */
+        SAME_SLOT,
+        /** Threads rotate over SPREAD_SLOT_COUNT slots. */
+        SPREAD_SLOTS
+    }
+
+    @Param
+    public Contention contention;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private BookingService bookingService;
+    private List<String> slotIds;
+    private LocalDate firstDate;
+    private int customers;
+
+    /**
+     * Creates the benchmark gym and the booking service.
+     *
+     * @param db the benchmark database
+     * @throws Exception if setup fails
+     */
+    @Setup(Level.Trial)
+    public void setUp(FlipFitState db) throws Exception {
+        slotIds = db.createGym(SPREAD_SLOT_COUNT, SEATS);
+        // Past the seeded range, so the customers start with an empty day
+        firstDate = db.getFirstSeededDate().plusDays(FlipFitState.SEEDED_DAYS);
+        customers = db.customers;
+        bookingService = new BookingServiceImpl();
+    }
+
+    /**
+     * Books one seat.
+     *
+     * @param db the benchmark database
+     * @return the booking
+     * @throws Exception if the booking fails
+     */
+    @Benchmark
+    public Booking bookSlot(FlipFitState db) throws Exception {
+        long n = sequence.getAndIncrement();
+        String customerId = db.customerId((int) (n % customers));
+        LocalDate date = firstDate.plusDays(n / customers);
+        String slotId = contention == Contention.SAME_SLOT
+            ? slotIds.get(0)
+            : slotIds.get((int) (n % SPREAD_SLOT_COUNT));
+        return bookingService.bookSlot(customerId, slotId, date);
+    }
+}
@@ -0,0 +1,119 @@
+package com.flipfit.benchmark;
+
+import com.flipfit.bean.Booking;
+import com.flipfit.business.BookingService;
+import com.flipfit.business.impl.BookingServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class CancelWithPromotionBenchmark.
+ * BookingService.cancelBooking on a full slot with a waitlisted customer.
+ * Each thread owns a one-seat slot and two customers: one holds the seat,
+ * the other waits. Every call cancels the holder's booking, which promotes
+ * the waiting customer onto the freed seat, then puts the cancelled
+ * customer back on the waitlist so the next call finds the same shape.
+ * The measured operation is therefore cancel + promotion + waitlist join.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName CancelWithPromotionBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class CancelWithPromotionBenchmark {
+
+    /**
+     * A one-seat slot-date owned by one benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Chain {
+
+        private BookingService bookingService;
+        private String slotId;
+        private LocalDate date;
+        private String holder;
+        private String holderBookingId;
+        private String waiting;
+        private String waitingBookingId;
+
+        /**
+         * Books the seat for one customer and waitlists the other, then runs
+         * one round so both customers have a booking row to reuse.
+         *
+         * @param db the benchmark database
+         * @throws Exception if setup fails
+         */
+        @Setup(Level.Trial)
+        public void setUp(FlipFitState db) throws Exception {
+            int thread = db.nextWorker();
+            if (2 * thread + 1 >= db.customers) {
+                throw new IllegalStateException("Not enough customers for " + (thread + 1) + " threads");
+            }
+            bookingService = new BookingServiceImpl();
+            List<String> slots = db.createGym(1, 1);
+            slotId = slots.get(0);
+            date = db.getFirstSeededDate().plusDays(FlipFitState.SEEDED_DAYS);
+
+            String first = db.customerId(2 * thread);
+            String second = db.customerId(2 * thread + 1);
+            String firstBookingId = bookingService.bookSlot(first, slotId, date).getBookingId();
+            bookingService.addToWaitList(second, slotId, date);
+            bookingService.cancelBooking(firstBookingId);
+            bookingService.addToWaitList(first, slotId, date);
+
+            List<Booking> promoted = bookingService.viewPlanByDate(second, date);
+            if (promoted.size() != 1) {
+                throw new IllegalStateException("Waitlisted customer " + second + " was not promoted");
+            }
+            holder = second;
+            holderBookingId = promoted.get(0).getBookingId();
+            waiting = first;
+            waitingBookingId = firstBookingId;
+        }
+
+        private void swap() {
+            String customer = holder;
+            String bookingId = holderBookingId;
+            holder = waiting;
+            holderBookingId = waitingBookingId;
+            waiting = customer;
+            waitingBookingId = bookingId;
+        }
+    }
+
+    /**
+     * Cancels the holder's booking, promoting the waiting customer, and
+     * waitlists the cancelled customer again.
+     *
+     * @param chain the thread's slot-date
+     * @return true if the cancelled customer is waiting again
+     * @throws Exception if the cancellation fails
+     */
+    @Benchmark
+    public boolean cancelWithPromotion(Chain chain) throws Exception {
+        chain.bookingService.cancelBooking(chain.holderBookingId);
+        // The promoted customer reuses their cancelled booking row, so its ID is known
+        boolean rejoined = chain.bookingService.addToWaitList(chain.holder, chain.slotId, chain.date);
+        chain.swap();
+        return rejoined;
+    }
+}
@@ -0,0 +1,349 @@
+package com.flipfit.benchmark;
+
+import com.codahale.metrics.MetricRegistry;
+import com.flipfit.FlipFitConfiguration;
+import com.flipfit.utils.BookingLockManager;
+import com.flipfit.utils.CatalogCache;
+import com.flipfit.utils.CustomerIdentityCache;
+import com.flipfit.utils.DBConnection;
+import com.flipfit.utils.FlipFitMetrics;
+import com.flipfit.utils.NotificationOutbox;
+import com.flipfit.utils.SeatCounterCache;
+import com.flipfit.utils.WaitlistEngine;
+import io.dropwizard.db.DataSourceFactory;
+import io.dropwizard.db.ManagedDataSource;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class FlipFitState.
+ * One in-process H2 database (MySQL mode) per trial, wired into the REST
+ * code the same way FlipFitApplication wires MySQL: pooled DataSource,
+ * booking locks, catalog and identity caches, and a running notification
+ * outbox. The database is seeded with approved gyms, customers and
+ * confirmed bookings spread over the next {@link #SEEDED_DAYS} days.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName FlipFitState
+ */
+@State(Scope.Benchmark)
+public class FlipFitState {
+
+    /** Days, starting tomorrow, over which the seeded bookings are spread. */
+    public static final int SEEDED_DAYS = 30;
+
+    /** Seats per seeded slot. */
+    public static final int SEATS_PER_SLOT = 20;
+
+    private static final String[] CITIES = {"Bangalore", "Mumbai", "Delhi", "Pune", "Hyderabad"};
+    private static final int CUSTOMER_ROLE_ID = 3;
+    private static final int OWNER_ROLE_ID = 2;
+    private static final int BATCH_SIZE = 1_000;
+
+    private static final String INSERT_USER =
+        "INSERT INTO User (user_id, name, email, password, role_id) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_GYM =
+        "INSERT INTO GymCenter (gym_id, owner_id, gym_name, gym_address, city, total_slots, is_approved) VALUES (?, 'OWN0', ?, ?, ?, 0, TRUE)";
+    private static final String INSERT_SLOT =
+        "INSERT INTO GymSlot (slot_id, gym_id, start_time, end_time, total_seats, available_seats, price, is_active) VALUES (?, ?, ?, ?, ?, ?, 500.00, TRUE)";
+    private static final String INSERT_CUSTOMER =
+        "INSERT INTO GymCustomer (customer_id, user_id) VALUES (?, ?)";
+    private static final String INSERT_BOOKING =
+        "INSERT INTO Booking (booking_id, customer_id, slot_id, booking_date, booking_status) VALUES (?, ?, ?, ?, 'CONFIRMED')";
+
+    /** Number of customers. */
+    @Param({"1000"})
+    public int customers;
+
+    /** Number of confirmed bookings seeded before the run. */
+    @Param({"10000"})
+    public int bookings;
+
+    /** Number of approved gym centers. */
+    @Param({"20"})
+    public int gyms;
+
+    /** Number of slots per gym center. */
+    @Param({"12"})
+    public int slotsPerGym;
+
+    /** Booking lock mode. */
+    @Param({"STRIPED"})
+    public BookingLockManager.Mode lockMode;
+
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final AtomicInteger extraGyms = new AtomicInteger();
+    private final AtomicInteger workers = new AtomicInteger();
+    private ManagedDataSource dataSource;
+    private NotificationOutbox outbox;
+    private LocalDate firstSeededDate;
+
+    /**
+     * Creates, seeds and wires the database.
+     *
+     * @throws Exception if the database cannot be set up
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        int slots = gyms * slotsPerGym;
+        if (slotsPerGym < 1 || slotsPerGym > 19) {
+            throw new IllegalArgumentException("slotsPerGym must be between 1 and 19 (05:00 to 23:59)");
+        }
+        if (customers <= SEATS_PER_SLOT) {
+            throw new IllegalArgumentException("customers must be greater than " + SEATS_PER_SLOT);
+        }
+        if ((long) bookings > (long) slots * SEEDED_DAYS * SEATS_PER_SLOT) {
+            throw new IllegalArgumentException("bookings exceed the seeded capacity of " + (slots * SEEDED_DAYS * SEATS_PER_SLOT));
+        }
+
+        DataSourceFactory factory = new DataSourceFactory();
+        factory.setDriverClass("org.h2.Driver");
+        factory.setUrl("jdbc:h2:mem:flipfit-" + UUID.randomUUID() + ";MODE=MySQL");
+        factory.setUser("sa");
+        factory.setPassword("");
+        factory.setMinSize(8);
+        factory.setInitialSize(8);
+        factory.setMaxSize(128);
+        dataSource = factory.build(metrics, "flipfit-benchmark");
+        dataSource.start();
+
+        // Same order as FlipFitApplication.run
+        FlipFitMetrics.configure(metrics);
+        DBConnection.initialize(dataSource, metrics);
+        FlipFitConfiguration configuration = new FlipFitConfiguration();
+        BookingLockManager.configure(lockMode, configuration.getBookingLocks().getStripes());
+        CatalogCache.configure(configuration.getCatalogCache(), metrics);
+        // Fresh counters for this trial's database; reconciliation is not started
+        SeatCounterCache.configure(configuration.getSeatCounterCache(), metrics);
+        CustomerIdentityCache.configure(configuration.getIdentityCacheSize(), metrics);
+        outbox = NotificationOutbox.configure(configuration.getNotificationOutbox(), metrics);
+        // Not started: promotions run inline on the cancelling thread, so they stay in the measurement
+        WaitlistEngine.configure(configuration.getWaitlistEngine(), metrics);
+
+        firstSeededDate = LocalDate.now().plusDays(1);
+        try (Connection conn = dataSource.getConnection()) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("RUNSCRIPT FROM 'classpath:/benchmark_schema.sql'");
+            }
+            conn.setAutoCommit(false);
+            try {
+                seedOwner(conn);
+                seedGyms(conn);
+                seedCustomers(conn);
+                seedBookings(conn);
+                conn.commit();
+            } finally {
+                // The connection goes back to the pool the DAOs use
+                conn.setAutoCommit(true);
+            }
+        }
+
+        outbox.start();
+    }
+
+    /**
+     * Drains the outbox and closes the database.
+     *
+     * @throws Exception if shutdown fails
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        outbox.stop();
+        // The in-memory database goes away with the last pooled connection
+        dataSource.stop();
+    }
+
+    /**
+     * Gets the ID of a seeded customer.
+     *
+     * @param index the customer index, 0 to customers - 1
+     * @return the customer ID
+     */
+    public String customerId(int index) {
+        return "CUS" + index;
+    }
+
+    /**
+     * Gets the ID of a seeded gym center.
+     *
+     * @param index the gym index, 0 to gyms - 1
+     * @return the gym ID
+     */
+    public String gymId(int index) {
+        return "GYM" + index;
+    }
+
+    /**
+     * Gets the first date with seeded bookings (tomorrow).
+     *
+     * @return the first seeded date
+     */
+    public LocalDate getFirstSeededDate() {
+        return firstSeededDate;
+    }
+
+    /**
+     * Gets the metric registry the REST code records into.
+     *
+     * @return the metric registry
+     */
+    public MetricRegistry getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Hands out 0, 1, 2, ... to thread-scoped states that need disjoint data.
+     *
+     * @return the next worker index
+     */
+    public int nextWorker() {
+        return workers.getAndIncrement();
+    }
+
+    /**
+     * Adds an approved gym center with back-to-back one-hour slots, for
+     * benchmarks that need slots nobody else books.
+     *
+     * @param slotCount the number of slots (at most 24)
+     * @param seats the seats per slot
+     * @return the slot IDs
+     * @throws SQLException if the inserts fail
+     */
+    public List<String> createGym(int slotCount, int seats) throws SQLException {
+        String gymId = "XGYM" + extraGyms.getAndIncrement();
+        List<String> slotIds = new ArrayList<>(slotCount);
+        try (Connection conn = dataSource.getConnection()) {
+            insertGym(conn, gymId, CITIES[0]);
+            try (PreparedStatement pstmt = conn.prepareStatement(INSERT_SLOT)) {
+                for (int i = 0; i < slotCount; i++) {
+                    String slotId = gymId + "-S" + i;
+                    addSlot(pstmt, slotId, gymId, LocalTime.of(i, 0), seats);
+                    slotIds.add(slotId);
+                }
+                pstmt.executeBatch();
+            }
+        }
+        return slotIds;
+    }
+
+    private void seedOwner(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(INSERT_USER)) {
+            addUser(pstmt, "UOWN0", OWNER_ROLE_ID);
+            pstmt.executeBatch();
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("INSERT INTO GymOwner (owner_id, user_id, is_approved) VALUES ('OWN0', 'UOWN0', TRUE)");
+        }
+    }
+
+    private void seedGyms(Connection conn) throws SQLException {
+        for (int g = 0; g < gyms; g++) {
+            insertGym(conn, gymId(g), CITIES[g % CITIES.length]);
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(INSERT_SLOT)) {
+            for (int g = 0; g < gyms; g++) {
+                for (int s = 0; s < slotsPerGym; s++) {
+                    addSlot(pstmt, slotId(g, s), gymId(g), LocalTime.of(5, 0).plusHours(s), SEATS_PER_SLOT);
+                }
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    private void seedCustomers(Connection conn) throws SQLException {
+        try (PreparedStatement users = conn.prepareStatement(INSERT_USER);
+             PreparedStatement gymCustomers = conn.prepareStatement(INSERT_CUSTOMER)) {
+            for (int c = 0; c < customers; c++) {
+                addUser(users, "UCUS" + c, CUSTOMER_ROLE_ID);
+                gymCustomers.setString(1, customerId(c));
+                gymCustomers.setString(2, "UCUS" + c);
+                gymCustomers.addBatch();
+                if (c % BATCH_SIZE == BATCH_SIZE - 1) {
+                    users.executeBatch();
+                    gymCustomers.executeBatch();
+                }
+            }
+            users.executeBatch();
+            gymCustomers.executeBatch();
+        }
+    }
+
+    /**
+     * Fills slot-dates round-robin, one seat per pass, so every slot-date
+     * holds at most SEATS_PER_SLOT bookings and no customer books the same
+     * slot twice on one date.
+     */
+    private void seedBookings(Connection conn) throws SQLException {
+        int slots = gyms * slotsPerGym;
+        int slotDates = slots * SEEDED_DAYS;
+        try (PreparedStatement pstmt = conn.prepareStatement(INSERT_BOOKING)) {
+            for (int i = 0; i < bookings; i++) {
+                int slotDate = i % slotDates;
+                int seat = i / slotDates;
+                int slot = slotDate % slots;
+                int day = slotDate / slots;
+                pstmt.setString(1, "SEED" + i);
+                pstmt.setString(2, customerId((slotDate + seat) % customers));
+                pstmt.setString(3, slotId(slot / slotsPerGym, slot % slotsPerGym));
+                pstmt.setDate(4, Date.valueOf(firstSeededDate.plusDays(day)));
+                pstmt.addBatch();
+                if (i % BATCH_SIZE == BATCH_SIZE - 1) {
+                    pstmt.executeBatch();
+                }
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    private String slotId(int gym, int slot) {
+        return gymId(gym) + "-S" + slot;
+    }
+
+    private static void insertGym(Connection conn, String gymId, String city) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(INSERT_GYM)) {
+            pstmt.setString(1, gymId);
+            pstmt.setString(2, "FlipFit " + gymId);
+            pstmt.setString(3, gymId + " Main Road");
+            pstmt.setString(4, city);
+            pstmt.executeUpdate();
+        }
+    }
+
+    private static void addSlot(PreparedStatement pstmt, String slotId, String gymId, LocalTime start, int seats)
+            throws SQLException {
+        pstmt.setString(1, slotId);
+        pstmt.setString(2, gymId);
+        pstmt.setTime(3, Time.valueOf(start));
+        pstmt.setTime(4, Time.valueOf(start.plusMinutes(59)));
+        pstmt.setInt(5, seats);
+        pstmt.setInt(6, seats);
+        pstmt.addBatch();
+    }
+
+    private static void addUser(PreparedStatement pstmt, String userId, int roleId) throws SQLException {
+        pstmt.setString(1, userId);
+        pstmt.setString(2, "User " + userId);
+        pstmt.setString(3, userId.toLowerCase() + "@flipfit.com");
+        pstmt.setString(4, "password");
+        pstmt.setInt(5, roleId);
+        pstmt.addBatch();
+    }
+}
@@ -0,0 +1,255 @@
+package com.flipfit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.flipfit.bean.BookingView;
+import com.flipfit.bean.GymSlot;
+import com.flipfit.bean.SlotAvailability;
+import com.flipfit.bean.SlotAvailabilityView;
+import com.flipfit.enums.BookingStatus;
+import io.dropwizard.jackson.Jackson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class ResponseSerializationBenchmark.
+ * Response mapping plus JSON encoding of the /customer/slots/available
+ * (one date and a week) and /customer/bookings payloads, without the
+ * database or HTTP. The "maps" benchmarks build the HashMap per slot the
+ * controller used to build, the "views" benchmarks the SlotAvailabilityView
+ * DTOs it builds now. afterburner=true encodes with Afterburner registered
+ * on the Dropwizard mapper.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName ResponseSerializationBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class ResponseSerializationBenchmark {
+
+    /** Days in the week view. */
+    private static final int WEEK_DAYS = 7;
+
+    /**
+     * Payloads and the mapper, shared by all threads.
+     */
+    @State(Scope.Benchmark)
+    public static class Payloads {
+
+        /** Slots of the gym, one per hour from 05:00. */
+        @Param({"12"})
+        public int slotsPerGym;
+
+        /** Bookings on one history page (the endpoint's default limit). */
+        @Param({"50"})
+        public int bookingsPerPage;
+
+        /** Whether Afterburner is registered on the mapper. */
+        @Param({"false", "true"})
+        public boolean afterburner;
+
+        private ObjectMapper mapper;
+        private List<SlotAvailability> day;
+        private Map<LocalDate, List<SlotAvailability>> week;
+        private List<BookingView> bookings;
+
+        /**
+         * Builds the payloads.
+         */
+        @Setup(Level.Trial)
+        public void setUp() {
+            mapper = Jackson.newObjectMapper();
+            if (afterburner) {
+                mapper.registerModule(new AfterburnerModule());
+            }
+            LocalDate firstDate = LocalDate.now().plusDays(1);
+            week = new LinkedHashMap<>();
+            for (int d = 0; d < WEEK_DAYS; d++) {
+                List<SlotAvailability> slots = new ArrayList<>();
+                for (int s = 0; s < slotsPerGym; s++) {
+                    slots.add(new SlotAvailability(slot(s), firstDate.plusDays(d), (s + d) % 20));
+                }
+                week.put(firstDate.plusDays(d), slots);
+            }
+            day = week.get(firstDate);
+            bookings = new ArrayList<>();
+            for (int b = 0; b < bookingsPerPage; b++) {
+                bookings.add(booking(b, firstDate.plusDays(b % WEEK_DAYS)));
+            }
+        }
+
+        private GymSlot slot(int s) {
+            GymSlot slot = new GymSlot();
+            slot.setSlotId("SLOT-G0001-" + s);
+            slot.setGymId("G0001");
+            slot.setStartTime(LocalTime.of(5 + s, 0));
+            slot.setEndTime(LocalTime.of(6 + s, 0));
+            slot.setTotalSeats(20);
+            slot.setPrice(new BigDecimal("499.00"));
+            slot.setActive(true);
+            return slot;
+        }
+
+        private BookingView booking(int b, LocalDate date) {
+            BookingView booking = new BookingView();
+            booking.setBookingId(String.format("BKG%08X", b));
+            booking.setCustomerId("CUS00000001");
+            booking.setSlotId("SLOT-G0001-" + (b % slotsPerGym));
+            booking.setBookingDate(date);
+            booking.setBookingStatus(BookingStatus.CONFIRMED);
+            booking.setStartTime(LocalTime.of(5 + b % slotsPerGym, 0));
+            booking.setEndTime(LocalTime.of(6 + b % slotsPerGym, 0));
+            booking.setGymName("FlipFit Koramangala");
+            booking.setCity("Bangalore");
+            booking.setGymAddress("80 Feet Road, Koramangala");
+            return booking;
+        }
+    }
+
+    /**
+     * Per-thread output buffer, reused like the container's response buffer.
+     */
+    @State(Scope.Thread)
+    public static class Output {
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+    }
+
+    /**
+     * Availability of one date as HashMaps.
+     *
+     * @param payloads the payloads
+     * @param output the thread's buffer
+     * @return the encoded size
+     * @throws IOException if encoding fails
+     */
+    @Benchmark
+    public int slotsForDateMaps(Payloads payloads, Output output) throws IOException {
+        List<Map<String, Object>> slots = new ArrayList<>();
+        for (SlotAvailability availability : payloads.day) {
+            slots.add(toSlotInfo(availability));
+        }
+        return write(payloads, output, slots);
+    }
+
+    /**
+     * Availability of one date as views.
+     *
+     * @param payloads the payloads
+     * @param output the thread's buffer
+     * @return the encoded size
+     * @throws IOException if encoding fails
+     */
+    @Benchmark
+    public int slotsForDateViews(Payloads payloads, Output output) throws IOException {
+        List<SlotAvailabilityView> slots = new ArrayList<>();
+        for (SlotAvailability availability : payloads.day) {
+            slots.add(new SlotAvailabilityView(availability));
+        }
+        return write(payloads, output, slots);
+    }
+
+    /**
+     * Availability of a week as HashMaps.
+     *
+     * @param payloads the payloads
+     * @param output the thread's buffer
+     * @return the encoded size
+     * @throws IOException if encoding fails
+     */
+    @Benchmark
+    public int slotsForWeekMaps(Payloads payloads, Output output) throws IOException {
+        Map<String, List<Map<String, Object>>> byDate = new LinkedHashMap<>();
+        for (Map.Entry<LocalDate, List<SlotAvailability>> day : payloads.week.entrySet()) {
+            List<Map<String, Object>> slots = new ArrayList<>();
+            for (SlotAvailability availability : day.getValue()) {
+                slots.add(toSlotInfo(availability));
+            }
+            byDate.put(day.getKey().toString(), slots);
+        }
+        return write(payloads, output, byDate);
+    }
+
+    /**
+     * Availability of a week as views.
+     *
+     * @param payloads the payloads
+     * @param output the thread's buffer
+     * @return the encoded size
+     * @throws IOException if encoding fails
+     */
+    @Benchmark
+    public int slotsForWeekViews(Payloads payloads, Output output) throws IOException {
+        Map<String, List<SlotAvailabilityView>> byDate = new LinkedHashMap<>();
+        for (Map.Entry<LocalDate, List<SlotAvailability>> day : payloads.week.entrySet()) {
+            List<SlotAvailabilityView> slots = new ArrayList<>();
+            for (SlotAvailability availability : day.getValue()) {
+                slots.add(new SlotAvailabilityView(availability));
+            }
+            byDate.put(day.getKey().toString(), slots);
+        }
+        return write(payloads, output, byDate);
+    }
+
+    /**
+     * One page of booking history.
+     *
+     * @param payloads the payloads
+     * @param output the thread's buffer
+     * @return the encoded size
+     * @throws IOException if encoding fails
+     */
+    @Benchmark
+    public int bookingsPage(Payloads payloads, Output output) throws IOException {
+        return write(payloads, output, payloads.bookings);
+    }
+
+    private static int write(Payloads payloads, Output output, Object value) throws IOException {
+        output.buffer.reset();
+        payloads.mapper.writeValue(output.buffer, value);
+        return output.buffer.size();
+    }
+
+    /** The per-slot map GymCustomerController built before the views. */
+    private static Map<String, Object> toSlotInfo(SlotAvailability availability) {
+        Map<String, Object> slotInfo = new HashMap<>();
+        slotInfo.put("slotId", availability.getSlotId());
+        slotInfo.put("gymId", availability.getGymId());
+        slotInfo.put("startTime", availability.getStartTime());
+        slotInfo.put("endTime", availability.getEndTime());
+        slotInfo.put("totalSeats", availability.getTotalSeats());
+        slotInfo.put("price", availability.getPrice());
+        slotInfo.put("isActive", availability.isActive());
+        slotInfo.put("availableSeats", availability.getAvailableSeats());
+        slotInfo.put("bookedSeats", availability.getBookedSeats());
+        slotInfo.put("bookingDate", availability.getBookingDate().toString());
+        return slotInfo;
+    }
+}
@@ -0,0 +1,109 @@
+package com.flipfit.benchmark;
+
+import com.flipfit.rest.GymCustomerController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.ws.rs.core.Response;
+import java.util.concurrent.TimeUnit;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class SlotAvailabilityBenchmark.
+ * GymCustomerController.getAvailableSlotsForDate (and the date-range
+ * variant) over the seeded gyms and dates, i.e. the slot lookup, the grouped
+ * booking count and the response mapping, without HTTP or JSON encoding.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName SlotAvailabilityBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class SlotAvailabilityBenchmark {
+
+    /** Days covered by the date-range benchmark. */
+    private static final int RANGE_DAYS = 7;
+
+    /**
+     * Per-thread controller and request cursor.
+     */
+    @State(Scope.Thread)
+    public static class Requests {
+
+        private GymCustomerController controller;
+        private String[] gymIds;
+        private String[] dates;
+        private int next;
+
+        /**
+         * Prepares the request parameters.
+         *
+         * @param db the benchmark database
+         */
+        @Setup(Level.Trial)
+        public void setUp(FlipFitState db) {
+            controller = new GymCustomerController();
+            gymIds = new String[db.gyms];
+            for (int g = 0; g < db.gyms; g++) {
+                gymIds[g] = db.gymId(g);
+            }
+            dates = new String[FlipFitState.SEEDED_DAYS];
+            for (int d = 0; d < dates.length; d++) {
+                dates[d] = db.getFirstSeededDate().plusDays(d).toString();
+            }
+            next = db.nextWorker();
+        }
+
+        private String gymId() {
+            return gymIds[next % gymIds.length];
+        }
+
+        /** The date of the current request, cycling over the first days - range + 1 seeded dates. */
+        private int dateIndex(int range) {
+            return (next / gymIds.length) % (dates.length - range + 1);
+        }
+    }
+
+    /**
+     * Availability of every slot of one gym on one date.
+     *
+     * @param requests the thread's requests
+     * @return the response
+     */
+    @Benchmark
+    public Response getAvailableSlotsForDate(Requests requests) {
+        Response response = requests.controller.getAvailableSlotsForDate(
+            requests.gymId(), requests.dates[requests.dateIndex(1)]);
+        requests.next++;
+        return response;
+    }
+
+    /**
+     * Availability of every slot of one gym over a week.
+     *
+     * @param requests the thread's requests
+     * @return the response
+     */
+    @Benchmark
+    public Response getAvailableSlotsForWeek(Requests requests) {
+        int from = requests.dateIndex(RANGE_DAYS);
+        Response response = requests.controller.getAvailableSlotsForDateRange(
+            requests.gymId(), requests.dates[from], requests.dates[from + RANGE_DAYS - 1]);
+        requests.next++;
+        return response;
+    }
+}
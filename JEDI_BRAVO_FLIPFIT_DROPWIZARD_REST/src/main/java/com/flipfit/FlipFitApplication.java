@@ -1,12 +1,42 @@
 package com.flipfit;
 
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
 import io.dropwizard.Application;
+import io.dropwizard.db.DataSourceFactory;
+import io.dropwizard.db.ManagedDataSource;
+import io.dropwizard.jackson.Jackson;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
+import io.dropwizard.util.Duration;
+import com.flipfit.config.StorageConfiguration;
+import com.flipfit.dao.memory.InMemoryStore;
+import com.flipfit.health.DatabaseHealthCheck;
 import com.flipfit.rest.GymCustomerController;
 import com.flipfit.rest.GymOwnerController;
 import com.flipfit.rest.AdminController;
 import com.flipfit.rest.AuthController;
+import com.flipfit.rest.AuthTokenFilter;
+import com.flipfit.utils.AuthTokens;
+import com.flipfit.utils.BookingLockManager;
+import com.flipfit.utils.CatalogCache;
+import com.flipfit.utils.CatalogVersions;
+import com.flipfit.utils.CustomerIdentityCache;
+import com.flipfit.utils.DAOFactory;
+import com.flipfit.utils.DBConnection;
+import com.flipfit.utils.EmailRegistry;
+import com.flipfit.utils.FlipFitMetrics;
+import com.flipfit.utils.GymGeoIndex;
+import com.flipfit.utils.GymSearchIndex;
+import com.flipfit.utils.NotificationOutbox;
+import com.flipfit.utils.NotificationRetention;
+import com.flipfit.utils.SeatCounterCache;
+import com.flipfit.utils.SeatStream;
+import com.flipfit.utils.SystemStatistics;
+import com.flipfit.utils.WaitlistEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
 
 /**
  * Main application class for FlipFit Dropwizard REST API.
@@ -18,6 +48,8 @@ import com.flipfit.rest.AuthController;
  */
 public class FlipFitApplication extends Application<FlipFitConfiguration> {
 
+    private static final Logger LOG = LoggerFactory.getLogger(FlipFitApplication.class);
+
     /**
      * Main method to run the application.
      * 
@@ -45,7 +77,10 @@ public class FlipFitApplication extends Application<FlipFitConfiguration> {
      */
     @Override
     public void initialize(Bootstrap<FlipFitConfiguration> bootstrap) {
-        // Add any bootstrapping configurations here
+        // Generated bytecode instead of reflection for the request and response DTOs.
+        // Dropwizard only enables it on Java 8: from Java 9 on the generated classes cannot
+        // reach non-public types, so anything else (the in-memory snapshots) uses its own mapper
+        bootstrap.getObjectMapper().registerModule(new AfterburnerModule());
     }
 
     /**
@@ -56,6 +91,99 @@ public class FlipFitApplication extends Application<FlipFitConfiguration> {
      */
     @Override
     public void run(FlipFitConfiguration configuration, Environment environment) {
+        // Service, booking and DAO metrics go to the environment registry (admin port /metrics)
+        FlipFitMetrics.configure(environment.metrics());
+        
+        // Storage engine behind the DAO interfaces (must be selected before services are created)
+        final StorageConfiguration storage = configuration.getStorage();
+        DAOFactory.configure(storage.getType());
+        final DataSourceFactory dataSourceFactory = configuration.getDataSourceFactory();
+        final InMemoryStore memoryStore;
+        if (storage.getType() == StorageConfiguration.Type.MEMORY) {
+            memoryStore = InMemoryStore.configure(storage, Jackson.newObjectMapper(), environment.metrics());
+            loadInMemoryStore(memoryStore, storage, dataSourceFactory, environment);
+        } else {
+            memoryStore = null;
+            // Build the pooled DataSource and hand it to every DAO via DBConnection
+            final ManagedDataSource dataSource = dataSourceFactory.build(environment.metrics(), "flipfit-db");
+            environment.lifecycle().manage(dataSource);
+            DBConnection.initialize(dataSource, environment.metrics());
+
+            final ExecutorService healthCheckExecutor = environment.lifecycle()
+                .executorService("flipfit-db-health-check")
+                .minThreads(1)
+                .maxThreads(1)
+                .build();
+            environment.healthChecks().register("flipfit-db", new DatabaseHealthCheck(
+                healthCheckExecutor,
+                dataSourceFactory.getValidationQueryTimeout().orElse(Duration.seconds(5)),
+                dataSource,
+                dataSourceFactory.getValidationQuery().orElse("SELECT 1")));
+        }
+
+        // Booking concurrency control (must be configured before services are created)
+        BookingLockManager.configure(
+            configuration.getBookingLocks().getMode(),
+            configuration.getBookingLocks().getStripes());
+        
+        // Slot and gym center cache (hit/miss/eviction gauges on the admin port)
+        CatalogCache.configure(configuration.getCatalogCache(), environment.metrics());
+        // ETag / Last-Modified versions of the catalog endpoints, bumped by the slot, center and owner writes
+        CatalogVersions.configure(configuration.getCatalogHttpCache(), environment.metrics());
+        CustomerIdentityCache.configure(configuration.getIdentityCacheSize(), environment.metrics());
+        
+        // Booked seats per slot-date; only the MySQL DAOs use it, and it reconciles against the database
+        final SeatCounterCache seatCounterCache =
+            SeatCounterCache.configure(configuration.getSeatCounterCache(), environment.metrics());
+        if (memoryStore == null) {
+            environment.lifecycle().manage(seatCounterCache);
+        }
+        
+        // Registered-email filter checked before the database at signup; the in-memory store indexes emails itself
+        final EmailRegistry emailRegistry = EmailRegistry.configure(configuration.getEmailRegistry(), environment.metrics());
+        if (memoryStore == null) {
+            environment.lifecycle().manage(emailRegistry);
+        }
+        
+        // In-memory snapshots; managed before the outbox so the final snapshot includes its last batch
+        if (memoryStore != null) {
+            environment.lifecycle().manage(memoryStore);
+        }
+        
+        // Notification outbox; managed after the storage so it drains before the pool closes
+        environment.lifecycle().manage(
+            NotificationOutbox.configure(configuration.getNotificationOutbox(), environment.metrics()));
+        
+        // Archives read notifications past their retention in bounded chunks
+        environment.lifecycle().manage(
+            new NotificationRetention(configuration.getNotificationRetention(), environment.metrics()));
+        
+        // Waitlist promotion; managed after the outbox so it stops first and its notifications are written
+        environment.lifecycle().manage(
+            WaitlistEngine.configure(configuration.getWaitlistEngine(), environment.metrics()));
+        
+        // Live seat availability for subscribed clients; closes the open streams on shutdown
+        environment.lifecycle().manage(
+            SeatStream.configure(configuration.getSeatStream(), environment.metrics()));
+        
+        // Admin statistics; loaded from the storage on start, then kept up to date by the services
+        environment.lifecycle().manage(
+            SystemStatistics.configure(configuration.getSystemStatistics(), environment.metrics()));
+        
+        // Typeahead index over the approved gym centers; loaded on start, updated by the approval and update paths
+        environment.lifecycle().manage(
+            GymSearchIndex.configure(configuration.getGymSearch(), environment.metrics()));
+        
+        // Spatial grid of the approved gym centers for the nearby search, maintained the same way
+        environment.lifecycle().manage(
+            GymGeoIndex.configure(configuration.getNearbySearch(), environment.metrics()));
+        
+        // Signed access tokens: issued at login, checked in memory by the filter on every other request
+        final AuthTokens authTokens = AuthTokens.configure(configuration.getAuthTokens(), environment.metrics());
+        if (authTokens.isEnabled()) {
+            environment.jersey().register(new AuthTokenFilter(authTokens));
+        }
+        
         // Register REST controllers
         final AuthController authController = new AuthController();
         final GymCustomerController customerController = new GymCustomerController();
@@ -67,7 +195,41 @@ public class FlipFitApplication extends Application<FlipFitConfiguration> {
         environment.jersey().register(ownerController);
         environment.jersey().register(adminController);
         
-        System.out.println("FlipFit REST API Started Successfully!");
-        System.out.println("Access the API at: http://localhost:8080");
+        LOG.info("FlipFit REST API started");
+        LOG.info("Access the API at: http://localhost:8080");
+    }
+
+    /**
+     * Fills the in-memory store from its configured initial load source.
+     * A DATABASE load opens a short-lived pool on the configured database,
+     * copies every table and closes the pool again.
+     *
+     * @param store The in-memory store
+     * @param storage The storage configuration
+     * @param dataSourceFactory The database configuration
+     * @param environment The environment instance
+     */
+    private void loadInMemoryStore(InMemoryStore store, StorageConfiguration storage,
+                                   DataSourceFactory dataSourceFactory, Environment environment) {
+        try {
+            switch (storage.getInitialLoad()) {
+                case SNAPSHOT:
+                    store.loadSnapshot();
+                    break;
+                case DATABASE:
+                    final ManagedDataSource importSource = dataSourceFactory.build(environment.metrics(), "flipfit-db-import");
+                    importSource.start();
+                    try {
+                        store.loadFromDatabase(importSource);
+                    } finally {
+                        importSource.stop();
+                    }
+                    break;
+                default:
+                    LOG.info("Starting with empty in-memory tables");
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not load in-memory storage from " + storage.getInitialLoad(), e);
+        }
     }
 }
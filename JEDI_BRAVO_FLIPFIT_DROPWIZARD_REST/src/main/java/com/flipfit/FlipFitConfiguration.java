@@ -1,8 +1,28 @@
 package com.flipfit;
 
+import com.flipfit.config.AuthTokenConfiguration;
+import com.flipfit.config.BookingLockConfiguration;
+import com.flipfit.config.CatalogCacheConfiguration;
+import com.flipfit.config.CatalogHttpCacheConfiguration;
+import com.flipfit.config.EmailRegistryConfiguration;
+import com.flipfit.config.GymSearchConfiguration;
+import com.flipfit.config.NearbySearchConfiguration;
+import com.flipfit.config.NotificationOutboxConfiguration;
+import com.flipfit.config.NotificationRetentionConfiguration;
+import com.flipfit.config.SeatCounterCacheConfiguration;
+import com.flipfit.config.SeatStreamConfiguration;
+import com.flipfit.config.StorageConfiguration;
+import com.flipfit.config.SystemStatisticsConfiguration;
+import com.flipfit.config.WaitlistEngineConfiguration;
+import com.flipfit.utils.CustomerIdentityCache;
 import io.dropwizard.Configuration;
+import io.dropwizard.db.DataSourceFactory;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
 /**
  * Configuration class for FlipFit Dropwizard application.
  * This class holds application-level configuration parameters.
@@ -19,6 +39,85 @@ public class FlipFitConfiguration extends Configuration {
     @JsonProperty
     private String version = "1.0";
     
+    @Valid
+    @NotNull
+    @JsonProperty("database")
+    private DataSourceFactory database = new DataSourceFactory();
+    
+    @Valid
+    @NotNull
+    @JsonProperty("bookingLocks")
+    private BookingLockConfiguration bookingLocks = new BookingLockConfiguration();
+    
+    @Valid
+    @NotNull
+    @JsonProperty("catalogCache")
+    private CatalogCacheConfiguration catalogCache = new CatalogCacheConfiguration();
+    
+    @Valid
+    @NotNull
+    @JsonProperty("catalogHttpCache")
+    private CatalogHttpCacheConfiguration catalogHttpCache = new CatalogHttpCacheConfiguration();
+    
+    @Valid
+    @NotNull
+    @JsonProperty("seatCounterCache")
+    private SeatCounterCacheConfiguration seatCounterCache = new SeatCounterCacheConfiguration();
+    
+    @Valid
+    @NotNull
+    @JsonProperty("seatStream")
+    private SeatStreamConfiguration seatStream = new SeatStreamConfiguration();
+    
+    @Valid
+    @NotNull
+    @JsonProperty("notificationOutbox")
+    private NotificationOutboxConfiguration notificationOutbox = new NotificationOutboxConfiguration();
+    
+    @Valid
+    @NotNull
+    @JsonProperty("notificationRetention")
+    private NotificationRetentionConfiguration notificationRetention = new NotificationRetentionConfiguration();
+    
+    @Valid
+    @NotNull
+    @JsonProperty("waitlistEngine")
+    private WaitlistEngineConfiguration waitlistEngine = new WaitlistEngineConfiguration();
+    
+    @Valid
+    @NotNull
+    @JsonProperty("systemStatistics")
+    private SystemStatisticsConfiguration systemStatistics = new SystemStatisticsConfiguration();
+    
+    @Valid
+    @NotNull
+    @JsonProperty("gymSearch")
+    private GymSearchConfiguration gymSearch = new GymSearchConfiguration();
+    
+    @Valid
+    @NotNull
+    @JsonProperty("nearbySearch")
+    private NearbySearchConfiguration nearbySearch = new NearbySearchConfiguration();
+    
+    @Valid
+    @NotNull
+    @JsonProperty("emailRegistry")
+    private EmailRegistryConfiguration emailRegistry = new EmailRegistryConfiguration();
+    
+    @Valid
+    @NotNull
+    @JsonProperty("authTokens")
+    private AuthTokenConfiguration authTokens = new AuthTokenConfiguration();
+    
+    @Valid
+    @NotNull
+    @JsonProperty("storage")
+    private StorageConfiguration storage = new StorageConfiguration();
+    
+    @Min(1)
+    @JsonProperty
+    private long identityCacheSize = CustomerIdentityCache.DEFAULT_MAXIMUM_SIZE;
+    
     /**
      * Gets the application name.
      * 
@@ -54,4 +153,292 @@ public class FlipFitConfiguration extends Configuration {
     public void setVersion(String version) {
         this.version = version;
     }
+    
+    /**
+     * Gets the pooled database configuration.
+     * 
+     * @return The data source factory
+     */
+    public DataSourceFactory getDataSourceFactory() {
+        return database;
+    }
+    
+    /**
+     * Sets the pooled database configuration.
+     * 
+     * @param database The data source factory to set
+     */
+    public void setDataSourceFactory(DataSourceFactory database) {
+        this.database = database;
+    }
+    
+    /**
+     * Gets the booking lock configuration.
+     * 
+     * @return The booking lock configuration
+     */
+    public BookingLockConfiguration getBookingLocks() {
+        return bookingLocks;
+    }
+    
+    /**
+     * Sets the booking lock configuration.
+     * 
+     * @param bookingLocks The booking lock configuration to set
+     */
+    public void setBookingLocks(BookingLockConfiguration bookingLocks) {
+        this.bookingLocks = bookingLocks;
+    }
+    
+    /**
+     * Gets the slot and gym center cache configuration.
+     * 
+     * @return The catalog cache configuration
+     */
+    public CatalogCacheConfiguration getCatalogCache() {
+        return catalogCache;
+    }
+    
+    /**
+     * Sets the slot and gym center cache configuration.
+     * 
+     * @param catalogCache The catalog cache configuration to set
+     */
+    public void setCatalogCache(CatalogCacheConfiguration catalogCache) {
+        this.catalogCache = catalogCache;
+    }
+    
+    /**
+     * Gets the HTTP conditional request configuration of the catalog endpoints.
+     * 
+     * @return The catalog HTTP cache configuration
+     */
+    public CatalogHttpCacheConfiguration getCatalogHttpCache() {
+        return catalogHttpCache;
+    }
+    
+    /**
+     * Sets the HTTP conditional request configuration of the catalog endpoints.
+     * 
+     * @param catalogHttpCache The catalog HTTP cache configuration to set
+     */
+    public void setCatalogHttpCache(CatalogHttpCacheConfiguration catalogHttpCache) {
+        this.catalogHttpCache = catalogHttpCache;
+    }
+    
+    /**
+     * Gets the booked seat counter cache configuration.
+     * 
+     * @return The seat counter cache configuration
+     */
+    public SeatCounterCacheConfiguration getSeatCounterCache() {
+        return seatCounterCache;
+    }
+    
+    /**
+     * Sets the booked seat counter cache configuration.
+     * 
+     * @param seatCounterCache The seat counter cache configuration to set
+     */
+    public void setSeatCounterCache(SeatCounterCacheConfiguration seatCounterCache) {
+        this.seatCounterCache = seatCounterCache;
+    }
+    
+    /**
+     * Gets the live seat availability stream configuration.
+     * 
+     * @return The seat stream configuration
+     */
+    public SeatStreamConfiguration getSeatStream() {
+        return seatStream;
+    }
+    
+    /**
+     * Sets the live seat availability stream configuration.
+     * 
+     * @param seatStream The seat stream configuration to set
+     */
+    public void setSeatStream(SeatStreamConfiguration seatStream) {
+        this.seatStream = seatStream;
+    }
+    
+    /**
+     * Gets the notification outbox configuration.
+     * 
+     * @return The notification outbox configuration
+     */
+    public NotificationOutboxConfiguration getNotificationOutbox() {
+        return notificationOutbox;
+    }
+    
+    /**
+     * Sets the notification outbox configuration.
+     * 
+     * @param notificationOutbox The notification outbox configuration to set
+     */
+    public void setNotificationOutbox(NotificationOutboxConfiguration notificationOutbox) {
+        this.notificationOutbox = notificationOutbox;
+    }
+    
+    /**
+     * Gets the notification retention configuration.
+     * 
+     * @return The notification retention configuration
+     */
+    public NotificationRetentionConfiguration getNotificationRetention() {
+        return notificationRetention;
+    }
+    
+    /**
+     * Sets the notification retention configuration.
+     * 
+     * @param notificationRetention The notification retention configuration to set
+     */
+    public void setNotificationRetention(NotificationRetentionConfiguration notificationRetention) {
+        this.notificationRetention = notificationRetention;
+    }
+    
+    /**
+     * Gets the waitlist engine configuration.
+     * 
+     * @return The waitlist engine configuration
+     */
+    public WaitlistEngineConfiguration getWaitlistEngine() {
+        return waitlistEngine;
+    }
+    
+    /**
+     * Sets the waitlist engine configuration.
+     * 
+     * @param waitlistEngine The waitlist engine configuration to set
+     */
+    public void setWaitlistEngine(WaitlistEngineConfiguration waitlistEngine) {
+        this.waitlistEngine = waitlistEngine;
+    }
+    
+    /**
+     * Gets the system statistics configuration.
+     * 
+     * @return The system statistics configuration
+     */
+    public SystemStatisticsConfiguration getSystemStatistics() {
+        return systemStatistics;
+    }
+    
+    /**
+     * Sets the system statistics configuration.
+     * 
+     * @param systemStatistics The system statistics configuration to set
+     */
+    public void setSystemStatistics(SystemStatisticsConfiguration systemStatistics) {
+        this.systemStatistics = systemStatistics;
+    }
+    
+    /**
+     * Gets the gym search index configuration.
+     * 
+     * @return The gym search configuration
+     */
+    public GymSearchConfiguration getGymSearch() {
+        return gymSearch;
+    }
+    
+    /**
+     * Sets the gym search index configuration.
+     * 
+     * @param gymSearch The gym search configuration to set
+     */
+    public void setGymSearch(GymSearchConfiguration gymSearch) {
+        this.gymSearch = gymSearch;
+    }
+    
+    /**
+     * Gets the nearby-gyms search configuration.
+     * 
+     * @return The nearby search configuration
+     */
+    public NearbySearchConfiguration getNearbySearch() {
+        return nearbySearch;
+    }
+    
+    /**
+     * Sets the nearby-gyms search configuration.
+     * 
+     * @param nearbySearch The nearby search configuration to set
+     */
+    public void setNearbySearch(NearbySearchConfiguration nearbySearch) {
+        this.nearbySearch = nearbySearch;
+    }
+    
+    /**
+     * Gets the registered-email filter configuration.
+     * 
+     * @return The email registry configuration
+     */
+    public EmailRegistryConfiguration getEmailRegistry() {
+        return emailRegistry;
+    }
+    
+    /**
+     * Sets the registered-email filter configuration.
+     * 
+     * @param emailRegistry The email registry configuration to set
+     */
+    public void setEmailRegistry(EmailRegistryConfiguration emailRegistry) {
+        this.emailRegistry = emailRegistry;
+    }
+    
+    /**
+     * Gets the signed access token configuration.
+     * 
+     * @return The access token configuration
+     */
+    public AuthTokenConfiguration getAuthTokens() {
+        return authTokens;
+    }
+    
+    /**
+     * Sets the signed access token configuration.
+     * 
+     * @param authTokens The access token configuration to set
+     */
+    public void setAuthTokens(AuthTokenConfiguration authTokens) {
+        this.authTokens = authTokens;
+    }
+    
+    /**
+     * Gets the number of customer/user ID mappings kept in memory.
+     * 
+     * @return The identity cache size
+     */
+    public long getIdentityCacheSize() {
+        return identityCacheSize;
+    }
+    
+    /**
+     * Sets the number of customer/user ID mappings kept in memory.
+     * 
+     * @param identityCacheSize The identity cache size to set
+     */
+    public void setIdentityCacheSize(long identityCacheSize) {
+        this.identityCacheSize = identityCacheSize;
+    }
+    
+    /**
+     * Gets the storage engine configuration.
+     * 
+     * @return The storage configuration
+     */
+    public StorageConfiguration getStorage() {
+        return storage;
+    }
+    
+    /**
+     * Sets the storage engine configuration.
+     * 
+     * @param storage The storage configuration to set
+     */
+    public void setStorage(StorageConfiguration storage) {
+        this.storage = storage;
+    }
 }
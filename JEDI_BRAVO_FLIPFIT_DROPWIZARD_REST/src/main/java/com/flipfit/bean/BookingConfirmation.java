@@ -0,0 +1,53 @@
+package com.flipfit.bean;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * The Class BookingConfirmation.
+ * Response to a booking or cancellation; a cancellation carries only the
+ * message and the booking ID.
+ *
+ * @author JEDI-BRAVO
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"message", "bookingId", "customerId", "slotId", "bookingDate"})
+public final class BookingConfirmation {
+	private final String message;
+	private final String bookingId;
+	private final String customerId;
+	private final String slotId;
+	private final String bookingDate;
+
+	public BookingConfirmation(String message, String bookingId, String customerId, String slotId, String bookingDate) {
+		this.message = message;
+		this.bookingId = bookingId;
+		this.customerId = customerId;
+		this.slotId = slotId;
+		this.bookingDate = bookingDate;
+	}
+
+	public BookingConfirmation(String message, String bookingId) {
+		this(message, bookingId, null, null, null);
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public String getBookingId() {
+		return bookingId;
+	}
+
+	public String getCustomerId() {
+		return customerId;
+	}
+
+	public String getSlotId() {
+		return slotId;
+	}
+
+	public String getBookingDate() {
+		return bookingDate;
+	}
+}
@@ -0,0 +1,38 @@
+package com.flipfit.bean;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * The Class BookingRequest.
+ * Body of a single booking request: the customer, the slot and the date
+ * (YYYY-MM-DD) to book it for.
+ *
+ * @author JEDI-BRAVO
+ */
+public final class BookingRequest {
+	private final String customerId;
+	private final String slotId;
+	private final String bookingDate;
+
+	@JsonCreator
+	public BookingRequest(@JsonProperty("customerId") String customerId,
+			@JsonProperty("slotId") String slotId,
+			@JsonProperty("bookingDate") String bookingDate) {
+		this.customerId = customerId;
+		this.slotId = slotId;
+		this.bookingDate = bookingDate;
+	}
+
+	public String getCustomerId() {
+		return customerId;
+	}
+
+	public String getSlotId() {
+		return slotId;
+	}
+
+	public String getBookingDate() {
+		return bookingDate;
+	}
+}
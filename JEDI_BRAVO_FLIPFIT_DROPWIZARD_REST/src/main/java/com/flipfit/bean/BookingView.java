@@ -0,0 +1,105 @@
+package com.flipfit.bean;
+
+import com.flipfit.enums.BookingStatus;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * The Class BookingView.
+ * Read-only projection of a booking joined with its slot times and gym
+ * center, as shown on the customer's booking history screen.
+ *
+ * @author JEDI-BRAVO
+ */
+public class BookingView {
+	private String bookingId;
+	private String customerId;
+	private String slotId;
+	private LocalDate bookingDate;
+	private BookingStatus bookingStatus;
+	private LocalTime startTime;
+	private LocalTime endTime;
+	private String gymName;
+	private String city;
+	private String gymAddress;
+
+	public String getBookingId() {
+		return bookingId;
+	}
+
+	public void setBookingId(String bookingId) {
+		this.bookingId = bookingId;
+	}
+
+	public String getCustomerId() {
+		return customerId;
+	}
+
+	public void setCustomerId(String customerId) {
+		this.customerId = customerId;
+	}
+
+	public String getSlotId() {
+		return slotId;
+	}
+
+	public void setSlotId(String slotId) {
+		this.slotId = slotId;
+	}
+
+	public LocalDate getBookingDate() {
+		return bookingDate;
+	}
+
+	public void setBookingDate(LocalDate bookingDate) {
+		this.bookingDate = bookingDate;
+	}
+
+	public BookingStatus getBookingStatus() {
+		return bookingStatus;
+	}
+
+	public void setBookingStatus(BookingStatus bookingStatus) {
+		this.bookingStatus = bookingStatus;
+	}
+
+	public LocalTime getStartTime() {
+		return startTime;
+	}
+
+	public void setStartTime(LocalTime startTime) {
+		this.startTime = startTime;
+	}
+
+	public LocalTime getEndTime() {
+		return endTime;
+	}
+
+	public void setEndTime(LocalTime endTime) {
+		this.endTime = endTime;
+	}
+
+	public String getGymName() {
+		return gymName;
+	}
+
+	public void setGymName(String gymName) {
+		this.gymName = gymName;
+	}
+
+	public String getCity() {
+		return city;
+	}
+
+	public void setCity(String city) {
+		this.city = city;
+	}
+
+	public String getGymAddress() {
+		return gymAddress;
+	}
+
+	public void setGymAddress(String gymAddress) {
+		this.gymAddress = gymAddress;
+	}
+}
@@ -0,0 +1,101 @@
+package com.flipfit.bean;
+
+import java.util.List;
+
+/**
+ * The Class BulkBookingRequest.
+ * Body of a bulk booking request. Either lists explicit (slot, date) items,
+ * or names one slot with a recurrence: every date from fromDate to toDate
+ * falling on one of daysOfWeek (all days when empty). Dates are ISO strings
+ * and the mode is a BulkBookingMode name; both are parsed by the resource.
+ *
+ * @author JEDI-BRAVO
+ */
+public class BulkBookingRequest {
+
+	/** One (slot, date) pair of an explicit bulk booking. */
+	public static class Item {
+		private String slotId;
+		private String bookingDate;
+
+		public String getSlotId() {
+			return slotId;
+		}
+
+		public void setSlotId(String slotId) {
+			this.slotId = slotId;
+		}
+
+		public String getBookingDate() {
+			return bookingDate;
+		}
+
+		public void setBookingDate(String bookingDate) {
+			this.bookingDate = bookingDate;
+		}
+	}
+
+	private String customerId;
+	private String mode;
+	private List<Item> items;
+	private String slotId;
+	private String fromDate;
+	private String toDate;
+	private List<String> daysOfWeek;
+
+	public String getCustomerId() {
+		return customerId;
+	}
+
+	public void setCustomerId(String customerId) {
+		this.customerId = customerId;
+	}
+
+	public String getMode() {
+		return mode;
+	}
+
+	public void setMode(String mode) {
+		this.mode = mode;
+	}
+
+	public List<Item> getItems() {
+		return items;
+	}
+
+	public void setItems(List<Item> items) {
+		this.items = items;
+	}
+
+	public String getSlotId() {
+		return slotId;
+	}
+
+	public void setSlotId(String slotId) {
+		this.slotId = slotId;
+	}
+
+	public String getFromDate() {
+		return fromDate;
+	}
+
+	public void setFromDate(String fromDate) {
+		this.fromDate = fromDate;
+	}
+
+	public String getToDate() {
+		return toDate;
+	}
+
+	public void setToDate(String toDate) {
+		this.toDate = toDate;
+	}
+
+	public List<String> getDaysOfWeek() {
+		return daysOfWeek;
+	}
+
+	public void setDaysOfWeek(List<String> daysOfWeek) {
+		this.daysOfWeek = daysOfWeek;
+	}
+}
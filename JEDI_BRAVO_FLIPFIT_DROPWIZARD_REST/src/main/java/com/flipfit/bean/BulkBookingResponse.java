@@ -0,0 +1,48 @@
+package com.flipfit.bean;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The Class BulkBookingResponse.
+ * Response to a bulk booking request: how many items were booked and the
+ * outcome of each.
+ *
+ * @author JEDI-BRAVO
+ */
+@JsonPropertyOrder({"customerId", "mode", "booked", "requested", "results"})
+public final class BulkBookingResponse {
+	private final String customerId;
+	private final String mode;
+	private final int booked;
+	private final List<BulkBookingResult> results;
+
+	public BulkBookingResponse(String customerId, String mode, int booked, List<BulkBookingResult> results) {
+		this.customerId = customerId;
+		this.mode = mode;
+		this.booked = booked;
+		this.results = Collections.unmodifiableList(results);
+	}
+
+	public String getCustomerId() {
+		return customerId;
+	}
+
+	public String getMode() {
+		return mode;
+	}
+
+	public int getBooked() {
+		return booked;
+	}
+
+	public int getRequested() {
+		return results.size();
+	}
+
+	public List<BulkBookingResult> getResults() {
+		return results;
+	}
+}
@@ -0,0 +1,78 @@
+package com.flipfit.bean;
+
+import java.time.LocalDate;
+
+/**
+ * The Class BulkBookingResult.
+ * Outcome of one (slot, date) item of a bulk booking request.
+ *
+ * @author JEDI-BRAVO
+ */
+public class BulkBookingResult {
+
+	/** Outcome of a bulk booking item. */
+	public enum Status {
+		/** A seat was reserved and the booking confirmed. */
+		BOOKED,
+		/** The customer already held a confirmed booking for the slot on that date. */
+		ALREADY_BOOKED,
+		/** The item itself could not be booked. */
+		FAILED,
+		/** The item was valid but not booked because another item failed in all-or-nothing mode. */
+		NOT_BOOKED
+	}
+
+	private String slotId;
+	private LocalDate bookingDate;
+	private Status status;
+	private String bookingId;
+	private String message;
+
+	public BulkBookingResult() {
+	}
+
+	public BulkBookingResult(String slotId, LocalDate bookingDate) {
+		this.slotId = slotId;
+		this.bookingDate = bookingDate;
+	}
+
+	public String getSlotId() {
+		return slotId;
+	}
+
+	public void setSlotId(String slotId) {
+		this.slotId = slotId;
+	}
+
+	public LocalDate getBookingDate() {
+		return bookingDate;
+	}
+
+	public void setBookingDate(LocalDate bookingDate) {
+		this.bookingDate = bookingDate;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+
+	public String getBookingId() {
+		return bookingId;
+	}
+
+	public void setBookingId(String bookingId) {
+		this.bookingId = bookingId;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+}
@@ -21,6 +21,8 @@ public class GymCenter {
 	private String phoneNumber;
 	private String email;
 	private int totalSlots;
+	private Double latitude;
+	private Double longitude;
 	private boolean isApproved;
 	private Timestamp approvalDate;
 	private Timestamp createdAt;
@@ -107,6 +109,22 @@ public class GymCenter {
 		this.totalSlots = totalSlots;
 	}
 
+	public Double getLatitude() {
+		return latitude;
+	}
+
+	public void setLatitude(Double latitude) {
+		this.latitude = latitude;
+	}
+
+	public Double getLongitude() {
+		return longitude;
+	}
+
+	public void setLongitude(Double longitude) {
+		this.longitude = longitude;
+	}
+
 	public boolean isApproved() {
 		return isApproved;
 	}
@@ -0,0 +1,140 @@
+package com.flipfit.bean;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The Class GymCenterView.
+ * A gym center as returned by the city listing, with its slots when the
+ * center carries them.
+ *
+ * @author JEDI-BRAVO
+ */
+@JsonPropertyOrder({"gymId", "ownerId", "gymName", "gymAddress", "city", "state", "pincode", "phoneNumber", "email",
+	"totalSlots", "latitude", "longitude", "approvalDate", "createdAt", "updatedAt", "centerSlot", "approved"})
+public final class GymCenterView {
+	private final String gymId;
+	private final String ownerId;
+	private final String gymName;
+	private final String gymAddress;
+	private final String city;
+	private final String state;
+	private final String pincode;
+	private final String phoneNumber;
+	private final String email;
+	private final int totalSlots;
+	private final Double latitude;
+	private final Double longitude;
+	private final Timestamp approvalDate;
+	private final Timestamp createdAt;
+	private final Timestamp updatedAt;
+	private final List<GymSlotView> centerSlot;
+	private final boolean approved;
+
+	public GymCenterView(GymCenter center) {
+		this.gymId = center.getGymId();
+		this.ownerId = center.getOwnerId();
+		this.gymName = center.getGymName();
+		this.gymAddress = center.getGymAddress();
+		this.city = center.getCity();
+		this.state = center.getState();
+		this.pincode = center.getPincode();
+		this.phoneNumber = center.getPhoneNumber();
+		this.email = center.getEmail();
+		this.totalSlots = center.getTotalSlots();
+		this.latitude = center.getLatitude();
+		this.longitude = center.getLongitude();
+		this.approvalDate = center.getApprovalDate();
+		this.createdAt = center.getCreatedAt();
+		this.updatedAt = center.getUpdatedAt();
+		this.centerSlot = center.getCenterSlot() != null
+			? Collections.unmodifiableList(GymSlotView.of(center.getCenterSlot())) : null;
+		this.approved = center.isApproved();
+	}
+
+	/**
+	 * Maps gym centers to their views, in order.
+	 *
+	 * @param centers the gym centers
+	 * @return the views
+	 */
+	public static List<GymCenterView> of(List<GymCenter> centers) {
+		List<GymCenterView> views = new ArrayList<>(centers.size());
+		for (GymCenter center : centers) {
+			views.add(new GymCenterView(center));
+		}
+		return views;
+	}
+
+	public String getGymId() {
+		return gymId;
+	}
+
+	public String getOwnerId() {
+		return ownerId;
+	}
+
+	public String getGymName() {
+		return gymName;
+	}
+
+	public String getGymAddress() {
+		return gymAddress;
+	}
+
+	public String getCity() {
+		return city;
+	}
+
+	public String getState() {
+		return state;
+	}
+
+	public String getPincode() {
+		return pincode;
+	}
+
+	public String getPhoneNumber() {
+		return phoneNumber;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public int getTotalSlots() {
+		return totalSlots;
+	}
+
+	public Double getLatitude() {
+		return latitude;
+	}
+
+	public Double getLongitude() {
+		return longitude;
+	}
+
+	public Timestamp getApprovalDate() {
+		return approvalDate;
+	}
+
+	public Timestamp getCreatedAt() {
+		return createdAt;
+	}
+
+	public Timestamp getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public List<GymSlotView> getCenterSlot() {
+		return centerSlot;
+	}
+
+	public boolean isApproved() {
+		return approved;
+	}
+}
@@ -0,0 +1,98 @@
+package com.flipfit.bean;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The Class GymSlotView.
+ * A gym slot as returned by the slot listings and the nearest-slot lookup,
+ * with its catalog-wide available seats.
+ *
+ * @author JEDI-BRAVO
+ */
+@JsonPropertyOrder({"slotId", "gymId", "startTime", "endTime", "totalSeats", "availableSeats", "price", "createdAt",
+	"active", "available"})
+public final class GymSlotView {
+	private final String slotId;
+	private final String gymId;
+	private final LocalTime startTime;
+	private final LocalTime endTime;
+	private final int totalSeats;
+	private final int availableSeats;
+	private final BigDecimal price;
+	private final Timestamp createdAt;
+	private final boolean active;
+	private final boolean available;
+
+	public GymSlotView(GymSlot slot) {
+		this.slotId = slot.getSlotId();
+		this.gymId = slot.getGymId();
+		this.startTime = slot.getStartTime();
+		this.endTime = slot.getEndTime();
+		this.totalSeats = slot.getTotalSeats();
+		this.availableSeats = slot.getAvailableSeats();
+		this.price = slot.getPrice();
+		this.createdAt = slot.getCreatedAt();
+		this.active = slot.isActive();
+		this.available = slot.isAvailable();
+	}
+
+	/**
+	 * Maps gym slots to their views, in order.
+	 *
+	 * @param slots the gym slots
+	 * @return the views
+	 */
+	public static List<GymSlotView> of(List<GymSlot> slots) {
+		List<GymSlotView> views = new ArrayList<>(slots.size());
+		for (GymSlot slot : slots) {
+			views.add(new GymSlotView(slot));
+		}
+		return views;
+	}
+
+	public String getSlotId() {
+		return slotId;
+	}
+
+	public String getGymId() {
+		return gymId;
+	}
+
+	public LocalTime getStartTime() {
+		return startTime;
+	}
+
+	public LocalTime getEndTime() {
+		return endTime;
+	}
+
+	public int getTotalSeats() {
+		return totalSeats;
+	}
+
+	public int getAvailableSeats() {
+		return availableSeats;
+	}
+
+	public BigDecimal getPrice() {
+		return price;
+	}
+
+	public Timestamp getCreatedAt() {
+		return createdAt;
+	}
+
+	public boolean isActive() {
+		return active;
+	}
+
+	public boolean isAvailable() {
+		return available;
+	}
+}
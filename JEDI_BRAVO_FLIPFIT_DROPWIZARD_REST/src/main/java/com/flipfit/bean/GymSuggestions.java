@@ -0,0 +1,103 @@
+package com.flipfit.bean;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The Class GymSuggestions.
+ * Response of the gym typeahead: the matching cities with their number of
+ * gyms, and the matching gyms with the field they matched on.
+ *
+ * @author JEDI-BRAVO
+ */
+@JsonPropertyOrder({"query", "cities", "gyms"})
+public final class GymSuggestions {
+
+	/** A city matching the query. */
+	@JsonPropertyOrder({"city", "gyms"})
+	public static final class City {
+		private final String city;
+		private final int gyms;
+
+		public City(String city, int gyms) {
+			this.city = city;
+			this.gyms = gyms;
+		}
+
+		public String getCity() {
+			return city;
+		}
+
+		public int getGyms() {
+			return gyms;
+		}
+	}
+
+	/** A gym center matching the query. */
+	@JsonPropertyOrder({"gymId", "gymName", "city", "locality", "pincode", "matchedOn"})
+	public static final class Gym {
+		private final String gymId;
+		private final String gymName;
+		private final String city;
+		private final String locality;
+		private final String pincode;
+		private final String matchedOn;
+
+		public Gym(GymCenter center, String matchedOn) {
+			this.gymId = center.getGymId();
+			this.gymName = center.getGymName();
+			this.city = center.getCity();
+			this.locality = center.getGymAddress();
+			this.pincode = center.getPincode();
+			this.matchedOn = matchedOn;
+		}
+
+		public String getGymId() {
+			return gymId;
+		}
+
+		public String getGymName() {
+			return gymName;
+		}
+
+		public String getCity() {
+			return city;
+		}
+
+		public String getLocality() {
+			return locality;
+		}
+
+		public String getPincode() {
+			return pincode;
+		}
+
+		public String getMatchedOn() {
+			return matchedOn;
+		}
+	}
+
+	private final String query;
+	private final List<City> cities;
+	private final List<Gym> gyms;
+
+	public GymSuggestions(String query, List<City> cities, List<Gym> gyms) {
+		this.query = query;
+		this.cities = Collections.unmodifiableList(cities);
+		this.gyms = Collections.unmodifiableList(gyms);
+	}
+
+	public String getQuery() {
+		return query;
+	}
+
+	public List<City> getCities() {
+		return cities;
+	}
+
+	public List<Gym> getGyms() {
+		return gyms;
+	}
+}
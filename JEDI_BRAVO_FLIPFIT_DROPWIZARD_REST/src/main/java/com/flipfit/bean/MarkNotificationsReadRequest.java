@@ -0,0 +1,32 @@
+package com.flipfit.bean;
+
+import java.util.List;
+
+/**
+ * The Class MarkNotificationsReadRequest.
+ * Body of a mark-as-read request: either the IDs of the notifications to
+ * mark, or all set to true to mark every notification of the customer.
+ *
+ * @author JEDI-BRAVO
+ */
+public class MarkNotificationsReadRequest {
+
+	private List<String> notificationIds;
+	private boolean all;
+
+	public List<String> getNotificationIds() {
+		return notificationIds;
+	}
+
+	public void setNotificationIds(List<String> notificationIds) {
+		this.notificationIds = notificationIds;
+	}
+
+	public boolean isAll() {
+		return all;
+	}
+
+	public void setAll(boolean all) {
+		this.all = all;
+	}
+}
@@ -0,0 +1,28 @@
+package com.flipfit.bean;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * The Class MarkNotificationsReadResult.
+ * Response to a mark-as-read request: the number of notifications marked.
+ *
+ * @author JEDI-BRAVO
+ */
+@JsonPropertyOrder({"customerId", "marked"})
+public final class MarkNotificationsReadResult {
+	private final String customerId;
+	private final int marked;
+
+	public MarkNotificationsReadResult(String customerId, int marked) {
+		this.customerId = customerId;
+		this.marked = marked;
+	}
+
+	public String getCustomerId() {
+		return customerId;
+	}
+
+	public int getMarked() {
+		return marked;
+	}
+}
@@ -0,0 +1,49 @@
+package com.flipfit.bean;
+
+import java.util.List;
+
+/**
+ * The Class NearbyGym.
+ * A gym center near the customer, with its distance and the slots that
+ * still have an open seat within the requested time window.
+ *
+ * @author JEDI-BRAVO
+ */
+public class NearbyGym {
+	private GymCenter center;
+	private double distanceKm;
+	private List<SlotAvailability> openSlots;
+
+	public NearbyGym() {
+	}
+
+	public NearbyGym(GymCenter center, double distanceKm, List<SlotAvailability> openSlots) {
+		this.center = center;
+		this.distanceKm = distanceKm;
+		this.openSlots = openSlots;
+	}
+
+	public GymCenter getCenter() {
+		return center;
+	}
+
+	public void setCenter(GymCenter center) {
+		this.center = center;
+	}
+
+	public double getDistanceKm() {
+		return distanceKm;
+	}
+
+	public void setDistanceKm(double distanceKm) {
+		this.distanceKm = distanceKm;
+	}
+
+	public List<SlotAvailability> getOpenSlots() {
+		return openSlots;
+	}
+
+	public void setOpenSlots(List<SlotAvailability> openSlots) {
+		this.openSlots = openSlots;
+	}
+}
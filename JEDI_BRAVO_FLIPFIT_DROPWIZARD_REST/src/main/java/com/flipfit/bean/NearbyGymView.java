@@ -0,0 +1,68 @@
+package com.flipfit.bean;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The Class NearbyGymView.
+ * A gym center returned by the nearby search, with its distance in
+ * kilometres (two decimals) and the slots that still have an open seat.
+ *
+ * @author JEDI-BRAVO
+ */
+@JsonPropertyOrder({"gymId", "gymName", "city", "locality", "latitude", "longitude", "distanceKm", "openSlots"})
+public final class NearbyGymView {
+	private final String gymId;
+	private final String gymName;
+	private final String city;
+	private final String locality;
+	private final Double latitude;
+	private final Double longitude;
+	private final double distanceKm;
+	private final List<SlotAvailabilityView> openSlots;
+
+	public NearbyGymView(GymCenter center, double distanceKm, List<SlotAvailabilityView> openSlots) {
+		this.gymId = center.getGymId();
+		this.gymName = center.getGymName();
+		this.city = center.getCity();
+		this.locality = center.getGymAddress();
+		this.latitude = center.getLatitude();
+		this.longitude = center.getLongitude();
+		this.distanceKm = Math.round(distanceKm * 100) / 100.0;
+		this.openSlots = Collections.unmodifiableList(openSlots);
+	}
+
+	public String getGymId() {
+		return gymId;
+	}
+
+	public String getGymName() {
+		return gymName;
+	}
+
+	public String getCity() {
+		return city;
+	}
+
+	public String getLocality() {
+		return locality;
+	}
+
+	public Double getLatitude() {
+		return latitude;
+	}
+
+	public Double getLongitude() {
+		return longitude;
+	}
+
+	public double getDistanceKm() {
+		return distanceKm;
+	}
+
+	public List<SlotAvailabilityView> getOpenSlots() {
+		return openSlots;
+	}
+}
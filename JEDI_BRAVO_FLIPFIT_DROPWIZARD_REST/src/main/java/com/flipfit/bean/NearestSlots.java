@@ -0,0 +1,62 @@
+package com.flipfit.bean;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * The Class NearestSlots.
+ * The slots with a free seat on a date that start nearest to a preferred
+ * time: those starting before it and those starting at or after it, each
+ * nearest first.
+ *
+ * @author JEDI-BRAVO
+ */
+public class NearestSlots {
+	private LocalDate date;
+	private LocalTime preferredTime;
+	private List<SlotAvailability> before;
+	private List<SlotAvailability> after;
+
+	public NearestSlots() {
+	}
+
+	public NearestSlots(LocalDate date, LocalTime preferredTime, List<SlotAvailability> before, List<SlotAvailability> after) {
+		this.date = date;
+		this.preferredTime = preferredTime;
+		this.before = before;
+		this.after = after;
+	}
+
+	public LocalDate getDate() {
+		return date;
+	}
+
+	public void setDate(LocalDate date) {
+		this.date = date;
+	}
+
+	public LocalTime getPreferredTime() {
+		return preferredTime;
+	}
+
+	public void setPreferredTime(LocalTime preferredTime) {
+		this.preferredTime = preferredTime;
+	}
+
+	public List<SlotAvailability> getBefore() {
+		return before;
+	}
+
+	public void setBefore(List<SlotAvailability> before) {
+		this.before = before;
+	}
+
+	public List<SlotAvailability> getAfter() {
+		return after;
+	}
+
+	public void setAfter(List<SlotAvailability> after) {
+		this.after = after;
+	}
+}
@@ -0,0 +1,51 @@
+package com.flipfit.bean;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The Class NearestSlotsView.
+ * Response of the nearest-slot search on a date: the slots with a free
+ * seat nearest before and at or after the preferred time.
+ *
+ * @author JEDI-BRAVO
+ */
+@JsonPropertyOrder({"gymId", "date", "preferredTime", "before", "after"})
+public final class NearestSlotsView {
+	private final String gymId;
+	private final String date;
+	private final String preferredTime;
+	private final List<SlotAvailabilityView> before;
+	private final List<SlotAvailabilityView> after;
+
+	public NearestSlotsView(String gymId, String date, String preferredTime,
+			List<SlotAvailabilityView> before, List<SlotAvailabilityView> after) {
+		this.gymId = gymId;
+		this.date = date;
+		this.preferredTime = preferredTime;
+		this.before = Collections.unmodifiableList(before);
+		this.after = Collections.unmodifiableList(after);
+	}
+
+	public String getGymId() {
+		return gymId;
+	}
+
+	public String getDate() {
+		return date;
+	}
+
+	public String getPreferredTime() {
+		return preferredTime;
+	}
+
+	public List<SlotAvailabilityView> getBefore() {
+		return before;
+	}
+
+	public List<SlotAvailabilityView> getAfter() {
+		return after;
+	}
+}
@@ -0,0 +1,76 @@
+package com.flipfit.bean;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The Class NotificationView.
+ * A notification as returned by the customer's notification feed.
+ *
+ * @author JEDI-BRAVO
+ */
+@JsonPropertyOrder({"notificationId", "userId", "title", "message", "notificationType", "createdAt", "read"})
+public final class NotificationView {
+    private final String notificationId;
+    private final String userId;
+    private final String title;
+    private final String message;
+    private final String notificationType;
+    private final Timestamp createdAt;
+    private final boolean read;
+
+    public NotificationView(Notification notification) {
+        this.notificationId = notification.getNotificationId();
+        this.userId = notification.getUserId();
+        this.title = notification.getTitle();
+        this.message = notification.getMessage();
+        this.notificationType = notification.getNotificationType();
+        this.createdAt = notification.getCreatedAt();
+        this.read = notification.isRead();
+    }
+
+    /**
+     * Maps notifications to their views, in order.
+     *
+     * @param notifications the notifications
+     * @return the views
+     */
+    public static List<NotificationView> of(List<Notification> notifications) {
+        List<NotificationView> views = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            views.add(new NotificationView(notification));
+        }
+        return views;
+    }
+
+    public String getNotificationId() {
+        return notificationId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getNotificationType() {
+        return notificationType;
+    }
+
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+
+    public boolean isRead() {
+        return read;
+    }
+}
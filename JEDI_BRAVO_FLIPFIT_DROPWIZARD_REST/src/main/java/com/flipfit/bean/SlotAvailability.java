@@ -0,0 +1,115 @@
+package com.flipfit.bean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * The Class SlotAvailability.
+ * Date-specific availability of one gym slot: the slot definition together
+ * with the seats booked and still free on a given day.
+ *
+ * @author JEDI-BRAVO
+ */
+public class SlotAvailability {
+	private String slotId;
+	private String gymId;
+	private LocalTime startTime;
+	private LocalTime endTime;
+	private int totalSeats;
+	private BigDecimal price;
+	private boolean isActive;
+	private LocalDate bookingDate;
+	private int bookedSeats;
+
+	public SlotAvailability() {
+	}
+
+	public SlotAvailability(GymSlot slot, LocalDate bookingDate, int bookedSeats) {
+		this.slotId = slot.getSlotId();
+		this.gymId = slot.getGymId();
+		this.startTime = slot.getStartTime();
+		this.endTime = slot.getEndTime();
+		this.totalSeats = slot.getTotalSeats();
+		this.price = slot.getPrice();
+		this.isActive = slot.isActive();
+		this.bookingDate = bookingDate;
+		this.bookedSeats = bookedSeats;
+	}
+
+	public String getSlotId() {
+		return slotId;
+	}
+
+	public void setSlotId(String slotId) {
+		this.slotId = slotId;
+	}
+
+	public String getGymId() {
+		return gymId;
+	}
+
+	public void setGymId(String gymId) {
+		this.gymId = gymId;
+	}
+
+	public LocalTime getStartTime() {
+		return startTime;
+	}
+
+	public void setStartTime(LocalTime startTime) {
+		this.startTime = startTime;
+	}
+
+	public LocalTime getEndTime() {
+		return endTime;
+	}
+
+	public void setEndTime(LocalTime endTime) {
+		this.endTime = endTime;
+	}
+
+	public int getTotalSeats() {
+		return totalSeats;
+	}
+
+	public void setTotalSeats(int totalSeats) {
+		this.totalSeats = totalSeats;
+	}
+
+	public BigDecimal getPrice() {
+		return price;
+	}
+
+	public void setPrice(BigDecimal price) {
+		this.price = price;
+	}
+
+	public boolean isActive() {
+		return isActive;
+	}
+
+	public void setActive(boolean active) {
+		isActive = active;
+	}
+
+	public LocalDate getBookingDate() {
+		return bookingDate;
+	}
+
+	public void setBookingDate(LocalDate bookingDate) {
+		this.bookingDate = bookingDate;
+	}
+
+	public int getBookedSeats() {
+		return bookedSeats;
+	}
+
+	public void setBookedSeats(int bookedSeats) {
+		this.bookedSeats = bookedSeats;
+	}
+
+	public int getAvailableSeats() {
+		return totalSeats - bookedSeats;
+	}
+}
@@ -0,0 +1,83 @@
+package com.flipfit.bean;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+
+/**
+ * The Class SlotAvailabilityView.
+ * A slot's availability on one date as returned by the availability,
+ * nearest-slot and nearby-gym endpoints and the seat stream snapshot.
+ *
+ * @author JEDI-BRAVO
+ */
+@JsonPropertyOrder({"slotId", "gymId", "startTime", "endTime", "totalSeats", "price", "isActive",
+	"availableSeats", "bookedSeats", "bookingDate"})
+public final class SlotAvailabilityView {
+	private final String slotId;
+	private final String gymId;
+	private final LocalTime startTime;
+	private final LocalTime endTime;
+	private final int totalSeats;
+	private final BigDecimal price;
+	private final boolean isActive;
+	private final int availableSeats;
+	private final int bookedSeats;
+	private final String bookingDate;
+
+	public SlotAvailabilityView(SlotAvailability availability) {
+		this.slotId = availability.getSlotId();
+		this.gymId = availability.getGymId();
+		this.startTime = availability.getStartTime();
+		this.endTime = availability.getEndTime();
+		this.totalSeats = availability.getTotalSeats();
+		this.price = availability.getPrice();
+		this.isActive = availability.isActive();
+		this.availableSeats = availability.getAvailableSeats();
+		this.bookedSeats = availability.getBookedSeats();
+		this.bookingDate = availability.getBookingDate().toString();
+	}
+
+	public String getSlotId() {
+		return slotId;
+	}
+
+	public String getGymId() {
+		return gymId;
+	}
+
+	public LocalTime getStartTime() {
+		return startTime;
+	}
+
+	public LocalTime getEndTime() {
+		return endTime;
+	}
+
+	public int getTotalSeats() {
+		return totalSeats;
+	}
+
+	public BigDecimal getPrice() {
+		return price;
+	}
+
+	@JsonProperty("isActive")
+	public boolean isActive() {
+		return isActive;
+	}
+
+	public int getAvailableSeats() {
+		return availableSeats;
+	}
+
+	public int getBookedSeats() {
+		return bookedSeats;
+	}
+
+	public String getBookingDate() {
+		return bookingDate;
+	}
+}
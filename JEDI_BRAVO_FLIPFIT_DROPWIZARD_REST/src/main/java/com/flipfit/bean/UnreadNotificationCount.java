@@ -0,0 +1,28 @@
+package com.flipfit.bean;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * The Class UnreadNotificationCount.
+ * Number of unread notifications of a customer.
+ *
+ * @author JEDI-BRAVO
+ */
+@JsonPropertyOrder({"customerId", "unread"})
+public final class UnreadNotificationCount {
+	private final String customerId;
+	private final int unread;
+
+	public UnreadNotificationCount(String customerId, int unread) {
+		this.customerId = customerId;
+		this.unread = unread;
+	}
+
+	public String getCustomerId() {
+		return customerId;
+	}
+
+	public int getUnread() {
+		return unread;
+	}
+}
@@ -0,0 +1,34 @@
+package com.flipfit.bean;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * The Class WaitlistConfirmation.
+ * Response to a customer joining the waitlist of a slot.
+ *
+ * @author JEDI-BRAVO
+ */
+@JsonPropertyOrder({"message", "customerId", "slotId"})
+public final class WaitlistConfirmation {
+	private final String message;
+	private final String customerId;
+	private final String slotId;
+
+	public WaitlistConfirmation(String message, String customerId, String slotId) {
+		this.message = message;
+		this.customerId = customerId;
+		this.slotId = slotId;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public String getCustomerId() {
+		return customerId;
+	}
+
+	public String getSlotId() {
+		return slotId;
+	}
+}
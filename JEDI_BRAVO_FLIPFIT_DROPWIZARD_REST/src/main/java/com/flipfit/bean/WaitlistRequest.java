@@ -0,0 +1,38 @@
+package com.flipfit.bean;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * The Class WaitlistRequest.
+ * Body of a waitlist request: the customer, the full slot and the date
+ * (YYYY-MM-DD) they are waiting for.
+ *
+ * @author JEDI-BRAVO
+ */
+public final class WaitlistRequest {
+	private final String customerId;
+	private final String slotId;
+	private final String requestedDate;
+
+	@JsonCreator
+	public WaitlistRequest(@JsonProperty("customerId") String customerId,
+			@JsonProperty("slotId") String slotId,
+			@JsonProperty("requestedDate") String requestedDate) {
+		this.customerId = customerId;
+		this.slotId = slotId;
+		this.requestedDate = requestedDate;
+	}
+
+	public String getCustomerId() {
+		return customerId;
+	}
+
+	public String getSlotId() {
+		return slotId;
+	}
+
+	public String getRequestedDate() {
+		return requestedDate;
+	}
+}
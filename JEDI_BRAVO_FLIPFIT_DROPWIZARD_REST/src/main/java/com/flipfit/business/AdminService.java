@@ -59,8 +59,9 @@ public interface AdminService {
     List<GymCenter> viewAllGymCenters();
     
     /**
-     * Get system statistics
-     * @return Map containing system statistics
+     * Get system statistics: table totals, pending approvals, bookings per
+     * city and day, today's occupancy per gym and waitlist depth
+     * @return Map containing system statistics, served from the in-memory snapshot
      */
-    Map<String, Integer> getSystemStatistics();
+    Map<String, Object> getSystemStatistics();
 }
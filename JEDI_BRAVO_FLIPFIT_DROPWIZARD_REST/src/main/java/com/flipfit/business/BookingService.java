@@ -1,14 +1,24 @@
 package com.flipfit.business;
 
 import com.flipfit.bean.Booking;
+import com.flipfit.bean.BookingView;
+import com.flipfit.bean.BulkBookingResult;
 import com.flipfit.bean.GymCenter;
 import com.flipfit.bean.GymSlot;
+import com.flipfit.bean.NearbyGym;
+import com.flipfit.bean.NearestSlots;
 import com.flipfit.bean.Notification;
+import com.flipfit.bean.SlotAvailability;
+import com.flipfit.enums.BulkBookingMode;
 import com.flipfit.exception.BookingFailedException;
 
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 // TODO: Auto-generated Javadoc
 /**
@@ -36,6 +46,37 @@ public interface BookingService {
      */
     Booking bookSlot(String customerId, String slotId, LocalDate bookingDate) throws BookingFailedException;
     
+    /**
+     * Book several (slot, date) pairs for a customer in one request.
+     * Capacity and conflicts of all items are validated in one pass and the
+     * bookings are saved in one transaction. Unlike bookSlot, an overlapping
+     * existing booking is never auto-cancelled: the item fails instead.
+     * In ALL_OR_NOTHING mode nothing is booked unless every item can be.
+     *
+     * @param customerId the customer ID
+     * @param requested the requested bookings; only slot ID and booking date are read
+     * @param mode all-or-nothing or best-effort
+     * @return one result per requested booking, in request order
+     * @throws BookingFailedException if the request itself is invalid
+     */
+    List<BulkBookingResult> bookSlots(String customerId, List<Booking> requested, BulkBookingMode mode) 
+            throws BookingFailedException;
+    
+    /**
+     * Book a slot on every date of a range that falls on one of the given days.
+     *
+     * @param customerId the customer ID
+     * @param slotId the slot ID
+     * @param fromDate the first date (inclusive)
+     * @param toDate the last date (inclusive)
+     * @param daysOfWeek the days to book; every day when empty
+     * @param mode all-or-nothing or best-effort
+     * @return one result per date, in date order
+     * @throws BookingFailedException if the request itself is invalid
+     */
+    List<BulkBookingResult> bookRecurring(String customerId, String slotId, LocalDate fromDate, LocalDate toDate,
+            Set<DayOfWeek> daysOfWeek, BulkBookingMode mode) throws BookingFailedException;
+    
     /**
      * Cancel a booking.
      *
@@ -53,6 +94,19 @@ public interface BookingService {
      */
     List<Booking> viewMyBookings(String customerId);
     
+    /**
+     * View one page of a customer's bookings with slot times and gym details.
+     * Pass the booking date and ID of the last booking already shown to get the
+     * next page, or nulls for the most recent bookings.
+     *
+     * @param customerId the customer ID
+     * @param afterDate the booking date of the last booking already shown, or null
+     * @param afterBookingId the booking ID of the last booking already shown, or null
+     * @param limit the page size
+     * @return list of booking views, newest first
+     */
+    List<BookingView> viewMyBookingHistory(String customerId, LocalDate afterDate, String afterBookingId, int limit);
+    
     /**
      * View customer's plan for a specific date.
      *
@@ -113,21 +167,61 @@ public interface BookingService {
     boolean addToWaitList(String customerId, String slotId, LocalDate requestedDate);
     
     /**
-     * Find nearest available slot for a given gym.
+     * Find the slot of a gym with a free seat today that starts nearest to
+     * the preferred time. Slots that already started are skipped.
      *
      * @param gymId the gym ID
      * @param preferredTime the preferred time
-     * @return the nearest available slot
+     * @return the nearest available slot, or null if none has a free seat
      */
     GymSlot findNearestAvailableSlot(String gymId, LocalTime preferredTime);
     
     /**
-     * Get notifications for user.
+     * Find the k slots with a free seat on a date that start nearest before
+     * the preferred time, and the k nearest at or after it. Slots that
+     * already started are skipped.
+     *
+     * @param gymId the gym ID
+     * @param date the date
+     * @param preferredTime the preferred time
+     * @param k the number of slots on each side
+     * @param sameCity whether to include the other approved gyms in the gym's city
+     * @return the nearest slots on each side, nearest first
+     */
+    NearestSlots findNearestSlots(String gymId, LocalDate date, LocalTime preferredTime, int k, boolean sameCity);
+    
+    /**
+     * Get one page of a customer's notifications: unread ones first, then
+     * read ones, each newest first. Pass the read flag, creation time and ID
+     * of the last notification already shown to get the next page, or nulls
+     * for the first page.
      *
-     * @param userId the user ID
+     * @param customerId the customer ID
+     * @param afterRead whether the last notification already shown was read, or null
+     * @param afterCreatedAt the creation time of the last notification already shown, or null
+     * @param afterNotificationId the ID of the last notification already shown, or null
+     * @param limit the page size
      * @return list of notifications
      */
-    List<Notification> getNotifications(String userId);
+    List<Notification> getNotifications(String customerId, Boolean afterRead, Timestamp afterCreatedAt,
+                                        String afterNotificationId, int limit);
+    
+    /**
+     * Get the number of unread notifications of a customer.
+     *
+     * @param customerId the customer ID
+     * @return the unread count
+     */
+    int getUnreadNotificationCount(String customerId);
+    
+    /**
+     * Mark a customer's notifications as read.
+     *
+     * @param customerId the customer ID
+     * @param notificationIds the notifications to mark, or null for all of them
+     * @return the number of notifications that were unread
+     */
+    int markNotificationsRead(String customerId, List<String> notificationIds);
     
     /**
      * Count confirmed bookings for a specific slot on a specific date.
@@ -138,4 +232,39 @@ public interface BookingService {
      * @return count of confirmed bookings
      */
     int countBookingsForSlotOnDate(String slotId, LocalDate date);
+    
+    /**
+     * Get date-specific availability of every active slot of a gym.
+     * Booked seats for all slots are fetched in one query.
+     *
+     * @param gymId the gym ID
+     * @param date the date
+     * @return availability per slot, ordered by start time
+     */
+    List<SlotAvailability> getSlotAvailabilityForDate(String gymId, LocalDate date);
+    
+    /**
+     * Get availability of every active slot of a gym for each day of a date range.
+     * Booked seats for all slots and days are fetched in one query.
+     *
+     * @param gymId the gym ID
+     * @param fromDate the first date (inclusive)
+     * @param toDate the last date (inclusive)
+     * @return availability per slot for each date, ordered by date
+     */
+    Map<LocalDate, List<SlotAvailability>> getSlotAvailabilityForDateRange(String gymId, LocalDate fromDate, LocalDate toDate);
+    
+    /**
+     * Find the gyms nearest to a position that have an open seat in a slot
+     * starting within the next hours. Gyms are checked nearest first and the
+     * search stops once limit gyms with an open seat were found.
+     *
+     * @param latitude the customer's latitude
+     * @param longitude the customer's longitude
+     * @param radiusKm the search radius in kilometres
+     * @param withinHours how many hours ahead a slot may start
+     * @param limit the largest number of gyms to return
+     * @return the gyms with their open slots, nearest first
+     */
+    List<NearbyGym> findNearbyGymsWithOpenSeats(double latitude, double longitude, double radiusKm, int withinHours, int limit);
 }
@@ -4,7 +4,10 @@ import com.flipfit.bean.GymOwner;
 import com.flipfit.bean.GymCenter;
 import com.flipfit.business.AdminService;
 import com.flipfit.dao.GymAdminDAO;
-import com.flipfit.dao.impl.GymAdminDAOImpl;
+import com.flipfit.utils.DAOFactory;
+import com.flipfit.utils.SystemStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Map;
@@ -15,10 +18,12 @@ import java.util.Map;
  */
 public class AdminServiceImpl implements AdminService {
     
+    private static final Logger LOG = LoggerFactory.getLogger(AdminServiceImpl.class);
+    
     private GymAdminDAO adminDAO;
     
     public AdminServiceImpl() {
-        this.adminDAO = new GymAdminDAOImpl();
+        this.adminDAO = DAOFactory.getGymAdminDAO();
     }
     
     @Override
@@ -34,16 +39,17 @@ public class AdminServiceImpl implements AdminService {
     @Override
     public boolean approveGymOwner(String ownerId) {
         if (ownerId == null || ownerId.isEmpty()) {
-            System.out.println("Owner ID is required!");
+            LOG.debug("Gym owner decision rejected: owner ID is required");
             return false;
         }
         
         boolean success = adminDAO.approveGymOwner(ownerId);
         
         if (success) {
-            System.out.println("Gym Owner approved successfully!");
+            SystemStatistics.getInstance().gymOwnerApproved(ownerId);
+            LOG.info("Gym owner {} approved", ownerId);
         } else {
-            System.out.println("Failed to approve gym owner!");
+            LOG.warn("Failed to approve gym owner {}", ownerId);
         }
         
         return success;
@@ -52,16 +58,16 @@ public class AdminServiceImpl implements AdminService {
     @Override
     public boolean rejectGymOwner(String ownerId, String remarks) {
         if (ownerId == null || ownerId.isEmpty()) {
-            System.out.println("Owner ID is required!");
+            LOG.debug("Gym owner decision rejected: owner ID is required");
             return false;
         }
         
         boolean success = adminDAO.rejectGymOwner(ownerId, remarks);
         
         if (success) {
-            System.out.println("Gym Owner rejected successfully!");
+            LOG.info("Gym owner {} rejected", ownerId);
         } else {
-            System.out.println("Failed to reject gym owner!");
+            LOG.warn("Failed to reject gym owner {}", ownerId);
         }
         
         return success;
@@ -70,16 +76,17 @@ public class AdminServiceImpl implements AdminService {
     @Override
     public boolean approveGymCenter(String gymId) {
         if (gymId == null || gymId.isEmpty()) {
-            System.out.println("Gym ID is required!");
+            LOG.debug("Gym center decision rejected: gym ID is required");
             return false;
         }
         
         boolean success = adminDAO.approveGymCenter(gymId);
         
         if (success) {
-            System.out.println("Gym Center approved successfully!");
+            SystemStatistics.getInstance().gymCenterApproved(gymId);
+            LOG.info("Gym center {} approved", gymId);
         } else {
-            System.out.println("Failed to approve gym center!");
+            LOG.warn("Failed to approve gym center {}", gymId);
         }
         
         return success;
@@ -88,16 +95,16 @@ public class AdminServiceImpl implements AdminService {
     @Override
     public boolean rejectGymCenter(String gymId, String remarks) {
         if (gymId == null || gymId.isEmpty()) {
-            System.out.println("Gym ID is required!");
+            LOG.debug("Gym center decision rejected: gym ID is required");
             return false;
         }
         
         boolean success = adminDAO.rejectGymCenter(gymId, remarks);
         
         if (success) {
-            System.out.println("Gym Center rejected successfully!");
+            LOG.info("Gym center {} rejected", gymId);
         } else {
-            System.out.println("Failed to reject gym center!");
+            LOG.warn("Failed to reject gym center {}", gymId);
         }
         
         return success;
@@ -109,7 +116,7 @@ public class AdminServiceImpl implements AdminService {
     }
     
     @Override
-    public Map<String, Integer> getSystemStatistics() {
-        return adminDAO.getSystemStatistics();
+    public Map<String, Object> getSystemStatistics() {
+        return SystemStatistics.getInstance().getSnapshot();
     }
 }
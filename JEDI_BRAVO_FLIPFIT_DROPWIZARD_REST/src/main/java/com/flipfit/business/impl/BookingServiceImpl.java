@@ -1,27 +1,56 @@
 package com.flipfit.business.impl;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.flipfit.bean.Booking;
+import com.flipfit.bean.BookingView;
+import com.flipfit.bean.BulkBookingResult;
 import com.flipfit.bean.GymCenter;
 import com.flipfit.bean.GymSlot;
 import com.flipfit.bean.GymWaitList;
+import com.flipfit.bean.NearbyGym;
+import com.flipfit.bean.NearestSlots;
 import com.flipfit.bean.Notification;
+import com.flipfit.bean.SlotAvailability;
 import com.flipfit.business.BookingService;
 import com.flipfit.dao.BookingDAO;
 import com.flipfit.dao.GymSlotDAO;
 import com.flipfit.dao.GymCenterDAO;
 import com.flipfit.dao.WaitListDAO;
 import com.flipfit.dao.NotificationDAO;
-import com.flipfit.dao.impl.BookingDAOImpl;
-import com.flipfit.dao.impl.GymSlotDAOImpl;
-import com.flipfit.dao.impl.GymCenterDAOImpl;
-import com.flipfit.dao.impl.WaitListDAOImpl;
-import com.flipfit.dao.impl.NotificationDAOImpl;
 import com.flipfit.enums.BookingStatus;
+import com.flipfit.enums.BulkBookingMode;
 import com.flipfit.exception.BookingFailedException;
+import com.flipfit.utils.BookingLockManager;
+import com.flipfit.utils.CustomerIdentityCache;
+import com.flipfit.utils.FlipFitMetrics;
+import com.flipfit.utils.DAOFactory;
+import com.flipfit.utils.GymGeoIndex;
+import com.flipfit.utils.GymSearchIndex;
+import com.flipfit.utils.NotificationOutbox;
+import com.flipfit.utils.SeatStream;
+import com.flipfit.utils.SystemStatistics;
+import com.flipfit.utils.WaitlistEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
 import java.util.UUID;
 
 // TODO: Auto-generated Javadoc
@@ -35,11 +64,38 @@ import java.util.UUID;
  */
 public class BookingServiceImpl implements BookingService {
     
-    private final BookingDAO bookingDAO = new BookingDAOImpl();
-    private final GymSlotDAO slotDAO = new GymSlotDAOImpl();
-    private final GymCenterDAO centerDAO = new GymCenterDAOImpl();
-    private final WaitListDAO waitListDAO = new WaitListDAOImpl();
-    private final NotificationDAO notificationDAO = new NotificationDAOImpl();
+    private static final Logger LOG = LoggerFactory.getLogger(BookingServiceImpl.class);
+    
+    /** Upper bound on the bookings of one bulk request, which are all locked and saved together. */
+    private static final int MAX_BULK_BOOKING_ITEMS = 100;
+    
+    /** Upper bound on the date range a recurring booking may span. */
+    private static final int MAX_RECURRING_RANGE_DAYS = 366;
+    
+    /** How often bookSlot re-takes its locks when the customer's bookings change while it waits. */
+    private static final int MAX_LOCK_ATTEMPTS = 3;
+    
+    private final BookingDAO bookingDAO = DAOFactory.getBookingDAO();
+    private final GymSlotDAO slotDAO = DAOFactory.getGymSlotDAO();
+    private final GymCenterDAO centerDAO = DAOFactory.getGymCenterDAO();
+    private final WaitListDAO waitListDAO = DAOFactory.getWaitListDAO();
+    private final NotificationDAO notificationDAO = DAOFactory.getNotificationDAO();
+    private final BookingLockManager lockManager = BookingLockManager.getInstance();
+    private final NotificationOutbox notificationOutbox = NotificationOutbox.getInstance();
+    private final WaitlistEngine waitlistEngine = WaitlistEngine.getInstance();
+    private final SeatStream seatStream = SeatStream.getInstance();
+    private final SystemStatistics statistics = SystemStatistics.getInstance();
+    
+    // Operation timers and outcome counters, served on the admin connector
+    private final MetricRegistry metrics = FlipFitMetrics.getRegistry();
+    private final Timer bookTimer = metrics.timer(MetricRegistry.name(BookingService.class, "bookSlot"));
+    private final Timer cancelTimer = metrics.timer(MetricRegistry.name(BookingService.class, "cancelBooking"));
+    private final Timer waitlistJoinTimer = metrics.timer(MetricRegistry.name(BookingService.class, "addToWaitList"));
+    private final Counter overbookingRejections = metrics.counter(MetricRegistry.name(BookingService.class, "overbookingRejections"));
+    private final Counter conflictAutoCancels = metrics.counter(MetricRegistry.name(BookingService.class, "conflictAutoCancels"));
+    private final Timer bulkBookTimer = metrics.timer(MetricRegistry.name(BookingService.class, "bookSlots"));
+    private final Counter bulkBookedItems = metrics.counter(MetricRegistry.name(BookingService.class, "bulkBookedItems"));
+    private final Counter bulkFailedItems = metrics.counter(MetricRegistry.name(BookingService.class, "bulkFailedItems"));
 
     /**
      * Book a slot for a customer on a specific date.
@@ -56,7 +112,63 @@ public class BookingServiceImpl implements BookingService {
      * @throws BookingFailedException if booking fails
      */
     @Override
-    public synchronized Booking bookSlot(String customerId, String slotId, LocalDate bookingDate) 
+    public Booking bookSlot(String customerId, String slotId, LocalDate bookingDate) 
+            throws BookingFailedException {
+        // Lock this slot-date, this customer-day and the slot-dates of the bookings that an
+        // overlap would auto-cancel (or everything, in GLOBAL mode). The overlaps are read
+        // before locking, so they are read again under the locks; if another booking of the
+        // customer landed in between, the locks are taken again with its slot-date included.
+        try (Timer.Context ignored = bookTimer.time()) {
+            for (int attempt = 0; attempt < MAX_LOCK_ATTEMPTS; attempt++) {
+                Set<String> lockKeys = bookingLockKeys(customerId, slotId, bookingDate);
+                try (BookingLockManager.LockHandle lock = lockManager.lock(lockKeys.toArray(new String[0]))) {
+                    if (lockKeys.containsAll(bookingLockKeys(customerId, slotId, bookingDate))) {
+                        return bookSlotLocked(customerId, slotId, bookingDate);
+                    }
+                }
+            }
+            throw new BookingFailedException("Your bookings for " + bookingDate + " changed while booking, please try again");
+        }
+    }
+    
+    /**
+     * Collects the locks a single booking needs: its slot-date, the customer-day,
+     * and the slot-date of every confirmed booking of the customer it overlaps.
+     *
+     * @param customerId the customer ID
+     * @param slotId the slot ID
+     * @param bookingDate the date for the booking
+     * @return the lock keys
+     */
+    private Set<String> bookingLockKeys(String customerId, String slotId, LocalDate bookingDate) {
+        Set<String> lockKeys = new HashSet<>();
+        lockKeys.add(BookingLockManager.slotDateKey(slotId, bookingDate));
+        lockKeys.add(BookingLockManager.customerDateKey(customerId, bookingDate));
+        GymSlot slot = slotDAO.getSlotById(slotId);
+        if (slot != null) {
+            for (Booking existing : bookingDAO.getOverlappingBookings(
+                    customerId, bookingDate, slot.getStartTime(), slot.getEndTime())) {
+                lockKeys.add(BookingLockManager.slotDateKey(existing.getSlotId(), bookingDate));
+            }
+        }
+        return lockKeys;
+    }
+    
+    /**
+     * Books a slot while the caller holds the slot-date and customer-day locks,
+     * and the slot-date locks of the overlapping bookings it cancels.
+     * Seats are taken from slot_date_inventory with a conditional update in the
+     * same transaction as the booking row and the cancels of the overlapping
+     * bookings, so the database itself refuses to go past capacity even across
+     * application nodes, and a refused booking leaves the old ones in place.
+     *
+     * @param customerId the customer ID
+     * @param slotId the slot ID
+     * @param bookingDate the date for the booking
+     * @return the created booking
+     * @throws BookingFailedException if booking fails
+     */
+    private Booking bookSlotLocked(String customerId, String slotId, LocalDate bookingDate) 
             throws BookingFailedException {
         
         // USER STORY 5: Check seat availability and prevent overbooking
@@ -69,128 +181,339 @@ public class BookingServiceImpl implements BookingService {
             throw new BookingFailedException("Slot is not active");
         }
         
+        // Check if there's an existing booking for this customer/slot/date: a confirmed
+        // one is simply returned, a cancelled one is reused instead of creating a new row
+        // (avoids unique constraint violation)
+        Booking booking = bookingDAO.getCustomerBookingForSlot(customerId, slotId, bookingDate);
+        if (booking != null && booking.getBookingStatus() == BookingStatus.CONFIRMED) {
+            LOG.debug("Customer {} already holds booking {} for slot {} on {}", customerId, booking.getBookingId(), slotId, bookingDate);
+            return booking;
+        }
+        boolean isReusingCancelledBooking = booking != null;
+        
         // USER STORY 4: Check date-specific availability
-        // Count confirmed bookings for this slot on this specific date
-        int bookedSeatsForDate = bookingDAO.countBookingsForSlotOnDate(slotId, bookingDate);
+        // Fail fast on a full slot; the conditional seat reserve below is the authoritative check
+        int bookedSeatsForDate = slotDAO.getBookedSeatsOnDate(slotId, bookingDate);
         int availableSeatsForDate = slot.getTotalSeats() - bookedSeatsForDate;
         
-        System.out.println("Slot " + slotId + " on " + bookingDate + ": Total=" + slot.getTotalSeats() + 
-                          ", Booked=" + bookedSeatsForDate + ", Available=" + availableSeatsForDate);
+        LOG.debug("Slot {} on {}: total={}, booked={}, available={}",
+            slotId, bookingDate, slot.getTotalSeats(), bookedSeatsForDate, availableSeatsForDate);
         
         // Error if no seats available for this specific date
         if (availableSeatsForDate <= 0) {
+            overbookingRejections.inc();
             throw new BookingFailedException("No seats available in this slot for " + bookingDate + ". Slot is fully booked!");
         }
         
-        // USER STORY 3: Check if customer has existing CONFIRMED booking in same time slot on this date
-        List<Booking> existingBookings = bookingDAO.checkExistingBookingsOnDate(customerId, bookingDate);
+        // USER STORY 3: The customer's CONFIRMED bookings that overlap this slot on this date
+        // are cancelled in the same transaction that reserves the new seat, so they are only
+        // given up once the new booking is sure to be saved
+        List<Booking> overlappingBookings = bookingDAO.getOverlappingBookings(
+            customerId, bookingDate, slot.getStartTime(), slot.getEndTime());
         
-        System.out.println("\n===== CONFLICT DETECTION START =====");
-        System.out.println("Customer: " + customerId + " | Date: " + bookingDate);
-        System.out.println("New Slot: " + slotId + " | Time: " + slot.getStartTime() + " - " + slot.getEndTime());
-        System.out.println("Existing bookings found: " + existingBookings.size());
+        LOG.debug("Conflict check for customer {} on {}: new slot {} ({} - {}), {} overlapping bookings",
+            customerId, bookingDate, slotId, slot.getStartTime(), slot.getEndTime(), overlappingBookings.size());
         
-        // Check if any existing CONFIRMED booking overlaps with the new slot time
-        for (Booking existing : existingBookings) {
-            System.out.println("\n--- Checking existing booking: " + existing.getBookingId());
-            System.out.println("    Status: " + existing.getBookingStatus());
-            System.out.println("    Slot ID: " + existing.getSlotId());
-            
-            // Skip cancelled bookings
-            if (existing.getBookingStatus() == BookingStatus.CANCELLED) {
-                System.out.println("    SKIPPED: Already cancelled");
-                continue;
+        if (isReusingCancelledBooking) {
+            LOG.debug("Reusing cancelled booking {}", booking.getBookingId());
+        } else {
+            booking = new Booking();
+            booking.setBookingId("BKG" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+            booking.setCustomerId(customerId);
+            booking.setSlotId(slotId);
+            booking.setBookingDate(bookingDate);
+        }
+        booking.setBookingStatus(BookingStatus.CONFIRMED);
+        
+        // USER STORY 2 & 5: Reserve the seat, write the booking and cancel the overlapping
+        // bookings in one transaction; the seat update only succeeds while booked < capacity,
+        // and nothing is kept if any step fails
+        boolean bookingCreated = bookingDAO.insertBookingsWithSeats(Collections.singletonList(booking),
+            isReusingCancelledBooking ? Collections.singleton(booking.getBookingId()) : Collections.emptySet(),
+            overlappingBookings, true)[0];
+        
+        if (!bookingCreated) {
+            if (slotDAO.getBookedSeatsOnDate(slotId, bookingDate) >= slot.getTotalSeats()) {
+                overbookingRejections.inc();
+                throw new BookingFailedException("No seats available. Slot just got fully booked for " + bookingDate + "!");
+            }
+            throw new BookingFailedException("Failed to create booking");
+        }
+        
+        for (Booking existing : overlappingBookings) {
+            LOG.info("Booking {} in slot {} overlaps, cancelled for booking {}",
+                existing.getBookingId(), existing.getSlotId(), booking.getBookingId());
+            conflictAutoCancels.inc();
+            notificationOutbox.notifyCustomer(customerId, "Booking Cancelled",
+                "Your booking (ID: " + existing.getBookingId() + ") has been cancelled successfully.", "CANCELLATION");
+            seatStream.seatsChanged(existing.getSlotId(), bookingDate);
+            statistics.bookingCancelled(existing.getSlotId(), bookingDate);
+        }
+        
+        seatStream.seatsChanged(slotId, bookingDate);
+        statistics.bookingConfirmed(slotId, bookingDate, !isReusingCancelledBooking);
+        
+        // Queue notification; it is written off the booking path by the outbox
+        notificationOutbox.notifyCustomer(customerId, "Booking Confirmed",
+            "Your booking (ID: " + booking.getBookingId() + ") has been confirmed for " + 
+            bookingDate + " at " + slot.getStartTime(), "BOOKING");
+        
+        LOG.info("Booking {} confirmed for customer {} in slot {} on {}", booking.getBookingId(), customerId, slotId, bookingDate);
+        return booking;
+    }
+
+    /**
+     * Book several (slot, date) pairs for a customer in one request.
+     * All slot-dates and customer-days of the batch are locked together, every
+     * item is validated against the customer's existing bookings (fetched with
+     * one range query) and the booked seat counts, and the accepted items are
+     * saved by a single batched transaction. Overlapping bookings are reported
+     * as failures rather than auto-cancelled, so a batch never silently drops
+     * an existing plan.
+     *
+     * @param customerId the customer ID
+     * @param requested the requested bookings; only slot ID and booking date are read
+     * @param mode all-or-nothing or best-effort
+     * @return one result per requested booking, in request order
+     * @throws BookingFailedException if the request itself is invalid
+     */
+    @Override
+    public List<BulkBookingResult> bookSlots(String customerId, List<Booking> requested, BulkBookingMode mode) 
+            throws BookingFailedException {
+        try (Timer.Context ignored = bulkBookTimer.time()) {
+            if (requested == null || requested.isEmpty()) {
+                throw new BookingFailedException("No bookings requested");
+            }
+            if (requested.size() > MAX_BULK_BOOKING_ITEMS) {
+                throw new BookingFailedException("At most " + MAX_BULK_BOOKING_ITEMS + " bookings can be requested at once");
             }
             
-            GymSlot existingSlot = slotDAO.getSlotById(existing.getSlotId());
-            if (existingSlot != null) {
-                System.out.println("    Existing slot time: " + existingSlot.getStartTime() + " - " + existingSlot.getEndTime());
-                boolean overlaps = timeSlotsOverlap(existingSlot, slot);
-                System.out.println("    Time overlap: " + overlaps);
-                
-                if (overlaps) {
-                    System.out.println("    CONFLICT DETECTED! Cancelling old booking: " + existing.getBookingId());
-                    // Use cancelBookingInternal to avoid waitlist promotion during conflict resolution
-                    try {
-                        cancelBookingInternal(existing.getBookingId(), existing.getSlotId(), false);
-                        System.out.println("    Old booking cancelled successfully");
-                    } catch (BookingFailedException e) {
-                        System.err.println("    Failed to cancel conflicting booking: " + e.getMessage());
-                        throw new BookingFailedException("Could not cancel conflicting booking: " + e.getMessage());
-                    }
+            // Load each distinct slot once and collect every lock the batch needs
+            Map<String, GymSlot> slots = new HashMap<>();
+            List<String> lockKeys = new ArrayList<>();
+            LocalDate fromDate = null;
+            LocalDate toDate = null;
+            for (Booking item : requested) {
+                if (item.getSlotId() == null || item.getBookingDate() == null) {
+                    throw new BookingFailedException("Every booking needs a slot ID and a date");
+                }
+                slotOf(item.getSlotId(), slots);
+                lockKeys.add(BookingLockManager.slotDateKey(item.getSlotId(), item.getBookingDate()));
+                lockKeys.add(BookingLockManager.customerDateKey(customerId, item.getBookingDate()));
+                if (fromDate == null || item.getBookingDate().isBefore(fromDate)) {
+                    fromDate = item.getBookingDate();
+                }
+                if (toDate == null || item.getBookingDate().isAfter(toDate)) {
+                    toDate = item.getBookingDate();
                 }
-            } else {
-                System.out.println("    ERROR: Could not fetch existing slot details");
+            }
+            
+            try (BookingLockManager.LockHandle lock = lockManager.lock(lockKeys.toArray(new String[0]))) {
+                return bookSlotsLocked(customerId, requested, mode, slots, fromDate, toDate);
             }
         }
-        System.out.println("===== CONFLICT DETECTION END =====\n");
+    }
+    
+    /**
+     * Book a slot on every date of a range that falls on one of the given days.
+     *
+     * @param customerId the customer ID
+     * @param slotId the slot ID
+     * @param fromDate the first date (inclusive)
+     * @param toDate the last date (inclusive)
+     * @param daysOfWeek the days to book; every day when empty
+     * @param mode all-or-nothing or best-effort
+     * @return one result per date, in date order
+     * @throws BookingFailedException if the request itself is invalid
+     */
+    @Override
+    public List<BulkBookingResult> bookRecurring(String customerId, String slotId, LocalDate fromDate, LocalDate toDate,
+            Set<DayOfWeek> daysOfWeek, BulkBookingMode mode) throws BookingFailedException {
+        if (fromDate == null || toDate == null || fromDate.isAfter(toDate)) {
+            throw new BookingFailedException("Invalid date range");
+        }
+        if (ChronoUnit.DAYS.between(fromDate, toDate) >= MAX_RECURRING_RANGE_DAYS) {
+            throw new BookingFailedException("A recurring booking may span at most " + MAX_RECURRING_RANGE_DAYS + " days");
+        }
         
-        // USER STORY 2 & 5: Create new booking (with overbooking prevention)
-        // Double-check date-specific availability (in case of concurrent bookings)
-        int finalBookedSeats = bookingDAO.countBookingsForSlotOnDate(slotId, bookingDate);
-        int finalAvailableSeats = slot.getTotalSeats() - finalBookedSeats;
+        List<Booking> requested = new ArrayList<>();
+        for (LocalDate date = fromDate; !date.isAfter(toDate); date = date.plusDays(1)) {
+            if (daysOfWeek == null || daysOfWeek.isEmpty() || daysOfWeek.contains(date.getDayOfWeek())) {
+                Booking item = new Booking();
+                item.setSlotId(slotId);
+                item.setBookingDate(date);
+                requested.add(item);
+            }
+        }
+        if (requested.isEmpty()) {
+            throw new BookingFailedException("No dates between " + fromDate + " and " + toDate + " fall on the requested days");
+        }
+        return bookSlots(customerId, requested, mode);
+    }
+    
+    /**
+     * Validates and saves a bulk booking while the caller holds all of its locks.
+     *
+     * @param customerId the customer ID
+     * @param requested the requested bookings
+     * @param mode all-or-nothing or best-effort
+     * @param slots the requested slots by ID, null for unknown slots
+     * @param fromDate the earliest requested date
+     * @param toDate the latest requested date
+     * @return one result per requested booking, in request order
+     */
+    private List<BulkBookingResult> bookSlotsLocked(String customerId, List<Booking> requested, BulkBookingMode mode,
+            Map<String, GymSlot> slots, LocalDate fromDate, LocalDate toDate) {
+        boolean allOrNothing = mode == BulkBookingMode.ALL_OR_NOTHING;
         
-        if (finalAvailableSeats <= 0) {
-            throw new BookingFailedException("No seats available. Slot just got fully booked for " + bookingDate + "!");
+        // Everything the customer holds over the range, and the booked seats of each gym, in one query each
+        Map<LocalDate, List<Booking>> existingByDate = new HashMap<>();
+        for (Booking existing : bookingDAO.getCustomerBookingsInDateRange(customerId, fromDate, toDate)) {
+            existingByDate.computeIfAbsent(existing.getBookingDate(), d -> new ArrayList<>()).add(existing);
+        }
+        Map<String, Map<LocalDate, Map<String, Integer>>> bookedByGym = new HashMap<>();
+        for (Booking item : requested) {
+            GymSlot slot = slots.get(item.getSlotId());
+            if (slot != null && !bookedByGym.containsKey(slot.getGymId())) {
+                bookedByGym.put(slot.getGymId(), bookingDAO.countBookingsForGymInDateRange(slot.getGymId(), fromDate, toDate));
+            }
         }
         
-        // Check if there's an existing CANCELLED booking for this customer/slot/date
-        // If so, reuse it instead of creating a new one (avoids unique constraint violation)
-        Booking booking = null;
-        boolean isReusingCancelledBooking = false;
+        List<BulkBookingResult> results = new ArrayList<>(requested.size());
+        List<Booking> accepted = new ArrayList<>();
+        List<BulkBookingResult> acceptedResults = new ArrayList<>();
+        Set<String> reusedBookingIds = new HashSet<>();
+        Set<String> requestedSlotDates = new HashSet<>();
+        Map<LocalDate, List<GymSlot>> acceptedSlotsByDate = new HashMap<>();
+        int failed = 0;
         
-        for (Booking existing : existingBookings) {
-            if (existing.getBookingStatus() == BookingStatus.CANCELLED && 
-                existing.getSlotId().equals(slotId)) {
-                // Found a cancelled booking for the same slot - reuse it
-                booking = existing;
-                isReusingCancelledBooking = true;
-                System.out.println("Reusing cancelled booking: " + booking.getBookingId());
-                break;
+        for (Booking item : requested) {
+            LocalDate date = item.getBookingDate();
+            BulkBookingResult result = new BulkBookingResult(item.getSlotId(), date);
+            results.add(result);
+            
+            GymSlot slot = slots.get(item.getSlotId());
+            String failure = null;
+            Booking reusable = null;
+            Booking alreadyBooked = null;
+            if (slot == null) {
+                failure = "Slot not found";
+            } else if (!slot.isActive()) {
+                failure = "Slot is not active";
+            } else if (!requestedSlotDates.add(BookingLockManager.slotDateKey(slot.getSlotId(), date))) {
+                failure = "Slot is requested more than once for " + date;
+            } else {
+                for (Booking existing : existingByDate.getOrDefault(date, Collections.emptyList())) {
+                    if (existing.getSlotId().equals(slot.getSlotId())) {
+                        if (existing.getBookingStatus() == BookingStatus.CANCELLED) {
+                            reusable = existing;
+                        } else {
+                            alreadyBooked = existing;
+                        }
+                    } else if (existing.getBookingStatus() != BookingStatus.CANCELLED && failure == null) {
+                        GymSlot existingSlot = slotOf(existing.getSlotId(), slots);
+                        if (existingSlot != null && timeSlotsOverlap(existingSlot, slot)) {
+                            failure = "Overlaps booking " + existing.getBookingId() + " in slot " + existingSlot.getSlotId();
+                        }
+                    }
+                }
+                for (GymSlot other : acceptedSlotsByDate.getOrDefault(date, Collections.emptyList())) {
+                    if (failure == null && timeSlotsOverlap(other, slot)) {
+                        failure = "Overlaps slot " + other.getSlotId() + " requested for the same date";
+                    }
+                }
+                if (alreadyBooked == null && failure == null) {
+                    int bookedSeats = bookedByGym.get(slot.getGymId())
+                        .getOrDefault(date, Collections.emptyMap()).getOrDefault(slot.getSlotId(), 0);
+                    if (slot.getTotalSeats() - bookedSeats <= 0) {
+                        overbookingRejections.inc();
+                        failure = "No seats available in this slot for " + date + ". Slot is fully booked!";
+                    }
+                }
+            }
+            
+            if (alreadyBooked != null) {
+                result.setStatus(BulkBookingResult.Status.ALREADY_BOOKED);
+                result.setBookingId(alreadyBooked.getBookingId());
+                result.setMessage("Already booked");
+            } else if (failure != null) {
+                result.setStatus(BulkBookingResult.Status.FAILED);
+                result.setMessage(failure);
+                failed++;
+            } else {
+                Booking booking = new Booking();
+                booking.setBookingId(reusable != null ? reusable.getBookingId() 
+                    : "BKG" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+                booking.setCustomerId(customerId);
+                booking.setSlotId(slot.getSlotId());
+                booking.setBookingDate(date);
+                booking.setBookingStatus(BookingStatus.CONFIRMED);
+                if (reusable != null) {
+                    reusedBookingIds.add(booking.getBookingId());
+                }
+                accepted.add(booking);
+                acceptedResults.add(result);
+                acceptedSlotsByDate.computeIfAbsent(date, d -> new ArrayList<>()).add(slot);
             }
         }
         
-        boolean bookingCreated;
-        if (isReusingCancelledBooking) {
-            // Update existing cancelled booking to CONFIRMED
-            booking.setBookingStatus(BookingStatus.CONFIRMED);
-            bookingCreated = bookingDAO.updateBookingStatus(booking.getBookingId(), BookingStatus.CONFIRMED);
-        } else {
-            // Create new booking
-            booking = new Booking();
-            booking.setBookingId("BKG" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
-            booking.setCustomerId(customerId);
-            booking.setSlotId(slotId);
-            booking.setBookingDate(bookingDate);
-            booking.setBookingStatus(BookingStatus.CONFIRMED);
-            
-            // Insert booking (no need to update global seat count - we calculate per date)
-            bookingCreated = bookingDAO.insertBooking(booking);
+        // Any invalid item voids an all-or-nothing batch before a single seat is taken
+        if (allOrNothing && failed > 0) {
+            for (BulkBookingResult result : acceptedResults) {
+                result.setStatus(BulkBookingResult.Status.NOT_BOOKED);
+                result.setMessage("Not booked because another item failed");
+            }
+            bulkFailedItems.inc(failed);
+            LOG.info("Bulk booking for customer {} rejected: {} of {} items failed validation", customerId, failed, requested.size());
+            return results;
         }
         
-        if (bookingCreated) {
-            // Send notification (wrapped in try-catch to not break booking if notification fails)
-            try {
-                String userId = getUserIdFromCustomerId(customerId);
-                Notification notification = new Notification();
-                notification.setNotificationId("NOT" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
-                notification.setUserId(userId);
-                notification.setTitle("Booking Confirmed");
-                notification.setMessage("Your booking (ID: " + booking.getBookingId() + ") has been confirmed for " + 
-                                       bookingDate + " at " + slot.getStartTime());
-                notification.setNotificationType("BOOKING");
-                notification.setRead(false);
-                notificationDAO.insertNotification(notification);
-                System.out.println("Notification sent to user: " + userId);
-            } catch (Exception e) {
-                System.err.println("Warning: Failed to send notification: " + e.getMessage());
+        // The database still has the final word on capacity, even across application nodes
+        boolean[] saved = accepted.isEmpty() 
+            ? new boolean[0] 
+            : bookingDAO.insertBookingsWithSeats(accepted, reusedBookingIds, Collections.emptyList(), allOrNothing);
+        int booked = 0;
+        for (int i = 0; i < saved.length; i++) {
+            BulkBookingResult result = acceptedResults.get(i);
+            if (saved[i]) {
+                seatStream.seatsChanged(accepted.get(i).getSlotId(), accepted.get(i).getBookingDate());
+                statistics.bookingConfirmed(accepted.get(i).getSlotId(), accepted.get(i).getBookingDate(),
+                    !reusedBookingIds.contains(accepted.get(i).getBookingId()));
+                result.setStatus(BulkBookingResult.Status.BOOKED);
+                result.setBookingId(accepted.get(i).getBookingId());
+                booked++;
+            } else if (allOrNothing) {
+                result.setStatus(BulkBookingResult.Status.NOT_BOOKED);
+                result.setMessage("Not booked: a requested slot just got fully booked");
+            } else {
+                result.setStatus(BulkBookingResult.Status.FAILED);
+                result.setMessage("No seats available. Slot just got fully booked for " + result.getBookingDate() + "!");
+                failed++;
             }
-            
-            System.out.println("Booking successful! Booking ID: " + booking.getBookingId());
-            return booking;
-        } else {
-            throw new BookingFailedException("Failed to create booking");
         }
+        bulkBookedItems.inc(booked);
+        bulkFailedItems.inc(failed);
+        
+        if (booked > 0) {
+            notificationOutbox.notifyCustomer(customerId, "Bookings Confirmed",
+                booked + " of your bookings between " + fromDate + " and " + toDate + " have been confirmed.", "BOOKING");
+        }
+        LOG.info("Bulk booking for customer {}: {} of {} items booked ({})", customerId, booked, requested.size(), mode);
+        return results;
+    }
+    
+    /**
+     * Gets a slot through a per-request map so each slot is loaded at most once.
+     *
+     * @param slotId the slot ID
+     * @param slots the slots loaded so far, null for unknown slots
+     * @return the slot, or null if it does not exist
+     */
+    private GymSlot slotOf(String slotId, Map<String, GymSlot> slots) {
+        if (!slots.containsKey(slotId)) {
+            slots.put(slotId, slotDAO.getSlotById(slotId));
+        }
+        return slots.get(slotId);
     }
 
     /**
@@ -203,16 +526,28 @@ public class BookingServiceImpl implements BookingService {
      */
     @Override
     public boolean cancelBooking(String bookingId) throws BookingFailedException {
-        Booking booking = bookingDAO.getBookingById(bookingId);
-        if (booking == null) {
-            throw new BookingFailedException("Booking not found");
-        }
-        
-        if (booking.getBookingStatus() == BookingStatus.CANCELLED) {
-            throw new BookingFailedException("Booking is already cancelled");
+        try (Timer.Context ignored = cancelTimer.time()) {
+            Booking booking = bookingDAO.getBookingById(bookingId);
+            if (booking == null) {
+                throw new BookingFailedException("Booking not found");
+            }
+            
+            if (booking.getBookingStatus() == BookingStatus.CANCELLED) {
+                throw new BookingFailedException("Booking is already cancelled");
+            }
+            
+            // Same locks as booking this slot-date, so the seat release or waitlist handoff
+            // cannot interleave with a booking or a waitlist join for it
+            boolean cancelled;
+            try (BookingLockManager.LockHandle lock = lockManager.lock(
+                    BookingLockManager.slotDateKey(booking.getSlotId(), booking.getBookingDate()),
+                    BookingLockManager.customerDateKey(booking.getCustomerId(), booking.getBookingDate()))) {
+                cancelled = cancelBookingInternal(bookingId, booking.getSlotId(), true);
+            }
+            // Without a running engine worker, promote on this thread now that the locks are released
+            waitlistEngine.promotePending();
+            return cancelled;
         }
-        
-        return cancelBookingInternal(bookingId, booking.getSlotId(), true);
     }
     
     /**
@@ -231,82 +566,36 @@ public class BookingServiceImpl implements BookingService {
             throw new BookingFailedException("Booking not found");
         }
         
-        boolean cancelled = bookingDAO.cancelBooking(bookingId);
+        // Only the call that actually flips CONFIRMED to CANCELLED frees the seat. With someone
+        // waiting, the freed seat stays reserved and is handed to the waitlist engine; otherwise
+        // it is released in the same transaction as the cancel
+        boolean handOff = promoteWaitlist && waitlistEngine.hasWaiting(slotId, booking.getBookingDate());
+        boolean cancelled = bookingDAO.cancelBooking(booking, !handOff);
         if (!cancelled) {
+            Booking current = bookingDAO.getBookingById(bookingId);
+            if (current != null && current.getBookingStatus() == BookingStatus.CANCELLED) {
+                throw new BookingFailedException("Booking is already cancelled");
+            }
             throw new BookingFailedException("Failed to cancel booking");
         }
         
-        // No need to update global seats - availability is calculated per date
-        System.out.println("Booking cancelled for slot: " + slotId + " on date: " + booking.getBookingDate());
+        LOG.info("Booking {} cancelled for slot {} on {}", bookingId, slotId, booking.getBookingDate());
         
-        // Send cancellation notification (wrapped in try-catch)
-        try {
-            String userId = getUserIdFromCustomerId(booking.getCustomerId());
-            Notification notification = new Notification();
-            notification.setNotificationId("NOT" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
-            notification.setUserId(userId); // Use actual user_id from User table
-            notification.setTitle("Booking Cancelled");
-            notification.setMessage("Your booking (ID: " + bookingId + ") has been cancelled successfully.");
-            notification.setNotificationType("CANCELLATION");
-            notification.setRead(false);
-            notificationDAO.insertNotification(notification);
-            System.out.println("Cancellation notification sent to user: " + userId);
-        } catch (Exception e) {
-            System.err.println("Warning: Failed to send cancellation notification: " + e.getMessage());
-        }
+        // Queue cancellation notification
+        notificationOutbox.notifyCustomer(booking.getCustomerId(), "Booking Cancelled",
+            "Your booking (ID: " + bookingId + ") has been cancelled successfully.", "CANCELLATION");
         
-        // BONUS STORY: Check waitlist and promote first customer (DATE-SPECIFIC)
-        if (promoteWaitlist) {
-            System.out.println("\n===== WAITLIST PROMOTION START =====");
-            System.out.println("Checking waitlist for slot: " + slotId + " on date: " + booking.getBookingDate());
-            
-            // IMPORTANT: Get the first waiting customer for THIS SPECIFIC DATE
-            GymWaitList firstWaiting = waitListDAO.getFirstWaitingCustomerByDate(slotId, booking.getBookingDate());
-            
-            if (firstWaiting != null) {
-                System.out.println("Found waitlisted customer: " + firstWaiting.getCustomerId());
-                System.out.println("Requested date: " + firstWaiting.getRequestedDate());
-                System.out.println("Attempting to promote...");
-                
-                try {
-                    // Book the slot for the waitlisted customer
-                    Booking promotedBooking = bookSlot(firstWaiting.getCustomerId(), slotId, firstWaiting.getRequestedDate());
-                    
-                    // Update waitlist status to ALLOCATED
-                    waitListDAO.updateWaitListStatus(firstWaiting.getWaitlistId(), "ALLOCATED");
-                    
-                    // Send promotion notification (wrapped in try-catch)
-                    try {
-                        String userId = getUserIdFromCustomerId(firstWaiting.getCustomerId());
-                        Notification promoNotif = new Notification();
-                        promoNotif.setNotificationId("NOT" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
-                        promoNotif.setUserId(userId); // Use actual user_id from User table
-                        promoNotif.setTitle("Promoted from Waitlist!");
-                        promoNotif.setMessage("Great news! You have been promoted from waitlist and booked for slot " + 
-                                             slotId + " on " + firstWaiting.getRequestedDate() + 
-                                             ". Booking ID: " + promotedBooking.getBookingId());
-                        promoNotif.setNotificationType("PROMOTION");
-                        promoNotif.setRead(false);
-                        notificationDAO.insertNotification(promoNotif);
-                        System.out.println("Promotion notification sent to user: " + userId);
-                    } catch (Exception e) {
-                        System.err.println("Warning: Failed to send promotion notification: " + e.getMessage());
-                    }
-                    
-                    System.out.println("Waitlist customer promoted successfully! Booking ID: " + promotedBooking.getBookingId());
-                } catch (BookingFailedException e) {
-                    System.err.println("Failed to promote waitlist customer: " + e.getMessage());
-                    // If promotion fails, seat remains available for others
-                }
-            } else {
-                System.out.println("No customers in waitlist for this slot on " + booking.getBookingDate());
-            }
-            System.out.println("===== WAITLIST PROMOTION END =====\n");
+        // BONUS STORY: Waitlist promotion (DATE-SPECIFIC)
+        // The engine books the reserved seat for the first in line off this request's path
+        if (handOff) {
+            waitlistEngine.seatFreed(slotId, booking.getBookingDate());
         }
+        seatStream.seatsChanged(slotId, booking.getBookingDate());
+        statistics.bookingCancelled(slotId, booking.getBookingDate());
         
         return true;
     }
-
+    
     /**
      * View all bookings for a customer.
      *
@@ -318,6 +607,20 @@ public class BookingServiceImpl implements BookingService {
         return bookingDAO.getBookingsByCustomer(customerId);
     }
 
+    /**
+     * View one page of a customer's bookings with slot times and gym details.
+     *
+     * @param customerId the customer ID
+     * @param afterDate the booking date of the last booking already shown, or null
+     * @param afterBookingId the booking ID of the last booking already shown, or null
+     * @param limit the page size
+     * @return list of booking views, newest first
+     */
+    @Override
+    public List<BookingView> viewMyBookingHistory(String customerId, LocalDate afterDate, String afterBookingId, int limit) {
+        return bookingDAO.getBookingViewsByCustomer(customerId, afterDate, afterBookingId, limit);
+    }
+
     /**
      * View customer's plan for a specific date.
      * BONUS STORY: View plan by day
@@ -351,7 +654,7 @@ public class BookingServiceImpl implements BookingService {
      */
     @Override
     public List<GymSlot> viewAvailableSlotsByCity(String city) {
-        return slotDAO.getSlotsByCity(city);
+        return slotDAO.getSlotsByCity(storedCity(city));
     }
 
     /**
@@ -363,7 +666,19 @@ public class BookingServiceImpl implements BookingService {
      */
     @Override
     public List<GymCenter> viewGymCentersByCity(String city) {
-        return centerDAO.getGymCentersByCity(city);
+        return centerDAO.getGymCentersByCity(storedCity(city));
+    }
+
+    /**
+     * Maps a city name as typed ("bengaluru", "BANGALORE") to the name stored
+     * on the gym centers, so the exact-match city queries find them.
+     *
+     * @param city the city name as typed
+     * @return the stored city name, or the given name if no gym matches it
+     */
+    private String storedCity(String city) {
+        String stored = GymSearchIndex.getInstance().resolveCity(city);
+        return stored != null ? stored : city;
     }
 
     /**
@@ -399,70 +714,64 @@ public class BookingServiceImpl implements BookingService {
      */
     @Override
     public boolean addToWaitList(String customerId, String slotId, LocalDate requestedDate) {
-        System.out.println("\n===== ADD TO WAITLIST =====");
-        System.out.println("Customer: " + customerId);
-        System.out.println("Slot: " + slotId);
-        System.out.println("Requested Date: " + requestedDate);
-        
-        // Check if customer is already in waitlist for this slot on this date
-        if (waitListDAO.isCustomerInWaitlistByDate(customerId, slotId, requestedDate)) {
-            System.out.println("Customer is already in waitlist for this slot on this date");
-            return false;
-        }
-        
-        // Check if slot is actually full for this date
-        GymSlot slot = slotDAO.getSlotById(slotId);
-        if (slot == null) {
-            System.out.println("Slot not found");
-            return false;
-        }
-        
-        int bookedSeatsForDate = bookingDAO.countBookingsForSlotOnDate(slotId, requestedDate);
-        int availableSeatsForDate = slot.getTotalSeats() - bookedSeatsForDate;
-        
-        if (availableSeatsForDate > 0) {
-            System.out.println("Slot is not full (" + availableSeatsForDate + " seats available). Customer should book directly.");
-            return false;
-        }
-        
-        // Add to waitlist
-        GymWaitList waitList = new GymWaitList();
-        waitList.setWaitlistId("WL" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
-        waitList.setCustomerId(customerId);
-        waitList.setSlotId(slotId);
-        waitList.setRequestedDate(requestedDate);
-        waitList.setStatus("WAITING");
-        
-        boolean added = waitListDAO.insertWaitList(waitList);
-        if (added) {
-            System.out.println("Added to waitlist successfully! Waitlist ID: " + waitList.getWaitlistId());
+        // Same slot-date lock as the cancel path, so a seat freed while joining is either
+        // still taken when the slot is checked below or handed to this entry once it is queued
+        try (Timer.Context ignored = waitlistJoinTimer.time();
+             BookingLockManager.LockHandle lock = lockManager.lock(
+                BookingLockManager.slotDateKey(slotId, requestedDate),
+                BookingLockManager.customerDateKey(customerId, requestedDate))) {
+            // Check if customer is already in waitlist for this slot on this date
+            if (waitListDAO.isCustomerInWaitlistByDate(customerId, slotId, requestedDate)) {
+                LOG.debug("Customer {} is already waiting for slot {} on {}", customerId, slotId, requestedDate);
+                return false;
+            }
             
-            // Send notification (wrapped in try-catch)
-            try {
-                String userId = getUserIdFromCustomerId(customerId);
-                Notification notification = new Notification();
-                notification.setNotificationId("NOT" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
-                notification.setUserId(userId); // Use actual user_id from User table
-                notification.setTitle("Added to Waitlist");
-                notification.setMessage("You have been added to waitlist for slot " + slotId + " on " + requestedDate + 
-                                       ". You'll be notified when a seat becomes available.");
-                notification.setNotificationType("GENERAL");
-                notification.setRead(false);
-                notificationDAO.insertNotification(notification);
-                System.out.println("Waitlist notification sent to user: " + userId);
-            } catch (Exception e) {
-                System.err.println("Warning: Failed to send waitlist notification: " + e.getMessage());
+            // Check if slot is actually full for this date
+            GymSlot slot = slotDAO.getSlotById(slotId);
+            if (slot == null) {
+                LOG.debug("Waitlist request for unknown slot {}", slotId);
+                return false;
             }
-        } else {
-            System.out.println("Failed to add to waitlist");
+            
+            int bookedSeatsForDate = slotDAO.getBookedSeatsOnDate(slotId, requestedDate);
+            int availableSeatsForDate = slot.getTotalSeats() - bookedSeatsForDate;
+            
+            if (availableSeatsForDate > 0) {
+                LOG.debug("Slot {} on {} is not full ({} seats available), customer should book directly",
+                    slotId, requestedDate, availableSeatsForDate);
+                return false;
+            }
+            
+            // Add to waitlist
+            GymWaitList waitList = new GymWaitList();
+            waitList.setWaitlistId("WL" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+            waitList.setCustomerId(customerId);
+            waitList.setSlotId(slotId);
+            waitList.setRequestedDate(requestedDate);
+            waitList.setStatus("WAITING");
+            
+            boolean added = waitListDAO.insertWaitList(waitList);
+            if (added) {
+                waitlistEngine.enqueue(waitList);
+                LOG.info("Customer {} added to waitlist {} for slot {} on {}",
+                    customerId, waitList.getWaitlistId(), slotId, requestedDate);
+                
+                // Queue waitlist notification
+                notificationOutbox.notifyCustomer(customerId, "Added to Waitlist",
+                    "You have been added to waitlist for slot " + slotId + " on " + requestedDate + 
+                    ". You'll be notified when a seat becomes available.", "GENERAL");
+            } else {
+                LOG.warn("Failed to add customer {} to waitlist for slot {} on {}", customerId, slotId, requestedDate);
+            }
+            return added;
         }
-        System.out.println("===== ADD TO WAITLIST END =====\n");
-        return added;
     }
 
     /**
      * Find nearest available slot for a given gym.
      * BONUS STORY: Return nearest time slot
+     * Uses today's seat counts; of the nearest slot before and the nearest
+     * at or after the preferred time, the closer one wins.
      *
      * @param gymId the gym ID
      * @param preferredTime the preferred time
@@ -470,45 +779,181 @@ public class BookingServiceImpl implements BookingService {
      */
     @Override
     public GymSlot findNearestAvailableSlot(String gymId, LocalTime preferredTime) {
-        List<GymSlot> allSlots = slotDAO.getSlotsByCenter(gymId);
-        
-        if (allSlots.isEmpty()) {
-            return null;
+        NearestSlots nearest = findNearestSlots(gymId, LocalDate.now(), preferredTime, 1, false);
+        SlotAvailability best = null;
+        if (!nearest.getAfter().isEmpty()) {
+            best = nearest.getAfter().get(0);
         }
-        
-        GymSlot nearestSlot = null;
-        long minTimeDiff = Long.MAX_VALUE;
-        
-        for (GymSlot slot : allSlots) {
-            if (slot.getAvailableSeats() > 0 && slot.isActive()) {
-                long timeDiff = Math.abs(
-                    slot.getStartTime().toSecondOfDay() - preferredTime.toSecondOfDay()
-                );
-                
-                if (timeDiff < minTimeDiff) {
-                    minTimeDiff = timeDiff;
-                    nearestSlot = slot;
+        if (!nearest.getBefore().isEmpty()) {
+            SlotAvailability before = nearest.getBefore().get(0);
+            if (best == null || minutesBetween(before.getStartTime(), preferredTime)
+                    < minutesBetween(preferredTime, best.getStartTime())) {
+                best = before;
+            }
+        }
+        return best != null ? slotDAO.getSlotById(best.getSlotId()) : null;
+    }
+
+    /**
+     * Find the k slots with a free seat on a date that start nearest before
+     * the preferred time, and the k nearest at or after it. Each gym's slots
+     * come from its start-time index, walked outwards from the preferred
+     * time in both directions, so only the slots passed over on the way to
+     * k free ones are looked at; their seats come from one grouped count
+     * per gym and date.
+     *
+     * @param gymId the gym ID
+     * @param date the date
+     * @param preferredTime the preferred time
+     * @param k the number of slots on each side
+     * @param sameCity whether to include the other approved gyms in the gym's city
+     * @return the nearest slots on each side, nearest first
+     */
+    @Override
+    public NearestSlots findNearestSlots(String gymId, LocalDate date, LocalTime preferredTime, int k, boolean sameCity) {
+        List<String> gymIds = new ArrayList<>();
+        gymIds.add(gymId);
+        if (sameCity) {
+            GymCenter center = centerDAO.getGymCenterById(gymId);
+            if (center != null && center.getCity() != null) {
+                for (GymCenter neighbour : centerDAO.getGymCentersByCity(center.getCity())) {
+                    if (!gymId.equals(neighbour.getGymId())) {
+                        gymIds.add(neighbour.getGymId());
+                    }
                 }
             }
         }
         
-        return nearestSlot;
+        // Slots of today that already started cannot be booked any more
+        LocalTime notBefore = date.equals(LocalDate.now()) ? LocalTime.now() : LocalTime.MIN;
+        List<SlotAvailability> before = new ArrayList<>();
+        List<SlotAvailability> after = new ArrayList<>();
+        for (String id : gymIds) {
+            NavigableMap<LocalTime, List<GymSlot>> index = slotDAO.getSlotsByStartTime(id);
+            if (index.isEmpty()) {
+                continue;
+            }
+            Map<String, Integer> booked = bookingDAO.countBookingsForGymOnDate(id, date);
+            if (preferredTime.isAfter(notBefore)) {
+                collectOpenSlots(index.subMap(notBefore, true, preferredTime, false).descendingMap(), date, booked, k, before);
+            }
+            collectOpenSlots(index.tailMap(preferredTime.isAfter(notBefore) ? preferredTime : notBefore, true),
+                date, booked, k, after);
+        }
+        if (gymIds.size() > 1) {
+            before.sort(Comparator.comparing(SlotAvailability::getStartTime).reversed());
+            after.sort(Comparator.comparing(SlotAvailability::getStartTime));
+        }
+        return new NearestSlots(date, preferredTime,
+            new ArrayList<>(before.subList(0, Math.min(k, before.size()))),
+            new ArrayList<>(after.subList(0, Math.min(k, after.size()))));
+    }
+
+    /**
+     * Walks part of a start-time index in order and collects up to k slots
+     * with a free seat.
+     *
+     * @param slotsByStart the slots by start time, in walking order
+     * @param date the date
+     * @param bookedBySlot booked seats by slot ID on the date
+     * @param k the number of slots to collect
+     * @param open the list the slots are added to
+     */
+    private void collectOpenSlots(NavigableMap<LocalTime, List<GymSlot>> slotsByStart, LocalDate date,
+                                  Map<String, Integer> bookedBySlot, int k, List<SlotAvailability> open) {
+        int found = 0;
+        for (List<GymSlot> slots : slotsByStart.values()) {
+            for (GymSlot slot : slots) {
+                SlotAvailability availability = new SlotAvailability(slot, date, bookedBySlot.getOrDefault(slot.getSlotId(), 0));
+                if (availability.getAvailableSeats() > 0) {
+                    open.add(availability);
+                    if (++found >= k) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private static long minutesBetween(LocalTime from, LocalTime to) {
+        return ChronoUnit.MINUTES.between(from, to);
     }
 
     /**
-     * Get notifications for user.
+     * Get one page of a customer's notifications, unread first. The unread
+     * and read sections are paged separately on their own index range; a
+     * page that finishes the unread section is filled up from the start of
+     * the read one.
      *
-     * @param userId the user ID
+     * @param customerId the customer ID
+     * @param afterRead whether the last notification already shown was read, or null
+     * @param afterCreatedAt the creation time of the last notification already shown, or null
+     * @param afterNotificationId the ID of the last notification already shown, or null
+     * @param limit the page size
      * @return list of notifications
      */
     @Override
-    public List<Notification> getNotifications(String userId) {
-        return notificationDAO.getNotificationsByUser(userId);
+    public List<Notification> getNotifications(String customerId, Boolean afterRead, Timestamp afterCreatedAt,
+                                               String afterNotificationId, int limit) {
+        String userId = notificationUserId(customerId);
+        boolean inReadSection = Boolean.TRUE.equals(afterRead);
+        List<Notification> notifications = new ArrayList<>();
+        if (!inReadSection) {
+            notifications.addAll(notificationDAO.getNotificationPage(
+                userId, false, afterCreatedAt, afterNotificationId, limit));
+        }
+        if (notifications.size() < limit) {
+            notifications.addAll(notificationDAO.getNotificationPage(userId, true,
+                inReadSection ? afterCreatedAt : null, inReadSection ? afterNotificationId : null,
+                limit - notifications.size()));
+        }
+        return notifications;
+    }
+
+    /**
+     * Get the number of unread notifications of a customer from the
+     * maintained counter.
+     *
+     * @param customerId the customer ID
+     * @return the unread count
+     */
+    @Override
+    public int getUnreadNotificationCount(String customerId) {
+        return notificationDAO.countUnread(notificationUserId(customerId));
+    }
+
+    /**
+     * Mark a customer's notifications as read, all with one update or the
+     * given ones with one batch.
+     *
+     * @param customerId the customer ID
+     * @param notificationIds the notifications to mark, or null for all of them
+     * @return the number of notifications that were unread
+     */
+    @Override
+    public int markNotificationsRead(String customerId, List<String> notificationIds) {
+        String userId = notificationUserId(customerId);
+        return notificationIds == null
+            ? notificationDAO.markAllAsRead(userId)
+            : notificationDAO.markAsRead(userId, notificationIds);
+    }
+
+    /**
+     * Resolves the user the notifications of a customer are stored under,
+     * the same way the notification outbox does when writing them.
+     *
+     * @param customerId the customer ID
+     * @return the user ID, or the customer ID if it has no user
+     */
+    private String notificationUserId(String customerId) {
+        String userId = CustomerIdentityCache.getInstance().getUserId(customerId);
+        return userId != null ? userId : customerId;
     }
 
     /**
      * Count confirmed bookings for a specific slot on a specific date.
      * Used to calculate date-specific availability.
+     * Reads the slot_date_inventory counter instead of counting Booking rows.
      *
      * @param slotId the slot ID
      * @param date the booking date
@@ -516,7 +961,105 @@ public class BookingServiceImpl implements BookingService {
      */
     @Override
     public int countBookingsForSlotOnDate(String slotId, LocalDate date) {
-        return bookingDAO.countBookingsForSlotOnDate(slotId, date);
+        return slotDAO.getBookedSeatsOnDate(slotId, date);
+    }
+
+    /**
+     * Get date-specific availability of every active slot of a gym.
+     *
+     * @param gymId the gym ID
+     * @param date the date
+     * @return availability per slot, ordered by start time
+     */
+    @Override
+    public List<SlotAvailability> getSlotAvailabilityForDate(String gymId, LocalDate date) {
+        List<GymSlot> slots = slotDAO.getSlotsByCenter(gymId);
+        if (slots.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return toAvailability(slots, date, bookingDAO.countBookingsForGymOnDate(gymId, date));
+    }
+
+    /**
+     * Get availability of every active slot of a gym for each day of a date range.
+     *
+     * @param gymId the gym ID
+     * @param fromDate the first date (inclusive)
+     * @param toDate the last date (inclusive)
+     * @return availability per slot for each date, ordered by date
+     */
+    @Override
+    public Map<LocalDate, List<SlotAvailability>> getSlotAvailabilityForDateRange(String gymId, LocalDate fromDate, LocalDate toDate) {
+        Map<LocalDate, List<SlotAvailability>> availability = new LinkedHashMap<>();
+        List<GymSlot> slots = slotDAO.getSlotsByCenter(gymId);
+        Map<LocalDate, Map<String, Integer>> counts = slots.isEmpty()
+            ? Collections.emptyMap()
+            : bookingDAO.countBookingsForGymInDateRange(gymId, fromDate, toDate);
+        
+        for (LocalDate date = fromDate; !date.isAfter(toDate); date = date.plusDays(1)) {
+            availability.put(date, toAvailability(slots, date, counts.getOrDefault(date, Collections.emptyMap())));
+        }
+        return availability;
+    }
+
+    /**
+     * Find the gyms nearest to a position that have an open seat in a slot
+     * starting within the next hours. The geo index hands out gyms nearest
+     * first; each one costs a cached slot lookup and, only if it has slots
+     * in the window, one grouped seat count per date, so the search stops
+     * after the first limit gyms with a seat instead of checking them all.
+     *
+     * @param latitude the customer's latitude
+     * @param longitude the customer's longitude
+     * @param radiusKm the search radius in kilometres
+     * @param withinHours how many hours ahead a slot may start
+     * @param limit the largest number of gyms to return
+     * @return the gyms with their open slots, nearest first
+     */
+    @Override
+    public List<NearbyGym> findNearbyGymsWithOpenSeats(double latitude, double longitude, double radiusKm,
+                                                       int withinHours, int limit) {
+        LocalDateTime from = LocalDateTime.now();
+        LocalDateTime to = from.plusHours(withinHours);
+        return GymGeoIndex.getInstance().nearest(latitude, longitude, radiusKm, limit, (center, distanceKm) -> {
+            List<GymSlot> slots = slotDAO.getSlotsByCenter(center.getGymId());
+            List<SlotAvailability> open = new ArrayList<>();
+            for (LocalDate date = from.toLocalDate(); !date.isAfter(to.toLocalDate()); date = date.plusDays(1)) {
+                List<GymSlot> starting = new ArrayList<>();
+                for (GymSlot slot : slots) {
+                    LocalDateTime start = date.atTime(slot.getStartTime());
+                    if (slot.isActive() && !start.isBefore(from) && !start.isAfter(to)) {
+                        starting.add(slot);
+                    }
+                }
+                if (starting.isEmpty()) {
+                    continue;
+                }
+                Map<String, Integer> booked = bookingDAO.countBookingsForGymOnDate(center.getGymId(), date);
+                for (SlotAvailability availability : toAvailability(starting, date, booked)) {
+                    if (availability.getAvailableSeats() > 0) {
+                        open.add(availability);
+                    }
+                }
+            }
+            return open.isEmpty() ? null : new NearbyGym(center, distanceKm, open);
+        });
+    }
+
+    /**
+     * Combines slot definitions with the booked seat counts of one date.
+     *
+     * @param slots the slots of the gym
+     * @param date the date
+     * @param bookedBySlot booked seats by slot ID
+     * @return availability per slot
+     */
+    private List<SlotAvailability> toAvailability(List<GymSlot> slots, LocalDate date, Map<String, Integer> bookedBySlot) {
+        List<SlotAvailability> result = new ArrayList<>(slots.size());
+        for (GymSlot slot : slots) {
+            result.add(new SlotAvailability(slot, date, bookedBySlot.getOrDefault(slot.getSlotId(), 0)));
+        }
+        return result;
     }
 
     /**
@@ -530,32 +1073,4 @@ public class BookingServiceImpl implements BookingService {
         return !(slot1.getEndTime().isBefore(slot2.getStartTime()) || 
                  slot1.getStartTime().isAfter(slot2.getEndTime()));
     }
-    
-    /**
-     * Helper method to get user_id from customer_id for notifications.
-     * Notifications require user_id (from User table), not customer_id.
-     *
-     * @param customerId the customer ID
-     * @return the corresponding user ID, or customerId as fallback
-     */
-    private String getUserIdFromCustomerId(String customerId) {
-        try (java.sql.Connection conn = com.flipfit.utils.DBConnection.getConnection();
-             java.sql.PreparedStatement pstmt = conn.prepareStatement(
-                 "SELECT user_id FROM GymCustomer WHERE customer_id = ?")) {
-            
-            pstmt.setString(1, customerId);
-            java.sql.ResultSet rs = pstmt.executeQuery();
-            
-            if (rs.next()) {
-                String userId = rs.getString("user_id");
-                rs.close();
-                return userId;
-            }
-            rs.close();
-        } catch (Exception e) {
-            System.err.println("Error fetching user_id from customer_id: " + e.getMessage());
-        }
-        // Fallback to customerId if fetch fails
-        return customerId;
-    }
 }
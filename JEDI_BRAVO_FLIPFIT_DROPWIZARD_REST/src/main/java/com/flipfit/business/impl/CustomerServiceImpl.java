@@ -3,7 +3,11 @@ package com.flipfit.business.impl;
 import com.flipfit.bean.GymUser;
 import com.flipfit.business.CustomerService;
 import com.flipfit.dao.GymCustomerDAO;
-import com.flipfit.dao.impl.GymCustomerDAOImpl;
+import com.flipfit.utils.CustomerIdentityCache;
+import com.flipfit.utils.DAOFactory;
+import com.flipfit.utils.SystemStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Date;
 import java.util.List;
@@ -15,17 +19,19 @@ import java.util.UUID;
  */
 public class CustomerServiceImpl implements CustomerService {
     
+    private static final Logger LOG = LoggerFactory.getLogger(CustomerServiceImpl.class);
+    
     private GymCustomerDAO customerDAO;
     
     public CustomerServiceImpl() {
-        this.customerDAO = new GymCustomerDAOImpl();
+        this.customerDAO = DAOFactory.getGymCustomerDAO();
     }
     
     @Override
     public String registerCustomer(String userId, Date dateOfBirth, String fitnessGoal) {
         // Validate input
         if (userId == null || userId.isEmpty()) {
-            System.out.println("User ID is required!");
+            LOG.debug("Customer registration rejected: user ID is required");
             return null;
         }
         
@@ -36,10 +42,13 @@ public class CustomerServiceImpl implements CustomerService {
         boolean success = customerDAO.insertGymCustomer(customerId, userId, dateOfBirth, fitnessGoal);
         
         if (success) {
-            System.out.println("Customer registered successfully!");
+            // Warm the identity cache so the first booking and login skip the lookup
+            CustomerIdentityCache.getInstance().put(customerId, userId);
+            SystemStatistics.getInstance().customerRegistered();
+            LOG.info("Customer {} registered for user {}", customerId, userId);
             return customerId;
         } else {
-            System.out.println("Failed to register customer!");
+            LOG.warn("Failed to register customer for user {}", userId);
             return null;
         }
     }
@@ -64,7 +73,7 @@ public class CustomerServiceImpl implements CustomerService {
         // Validate customer exists
         GymUser customer = customerDAO.getGymCustomerById(customerId);
         if (customer == null) {
-            System.out.println("Customer not found!");
+            LOG.debug("Customer {} not found", customerId);
             return false;
         }
         
@@ -3,7 +3,10 @@ package com.flipfit.business.impl;
 import com.flipfit.bean.GymOwner;
 import com.flipfit.business.GymOwnerService;
 import com.flipfit.dao.GymOwnerDAO;
-import com.flipfit.dao.impl.GymOwnerDAOImpl;
+import com.flipfit.utils.DAOFactory;
+import com.flipfit.utils.SystemStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.UUID;
@@ -14,17 +17,19 @@ import java.util.UUID;
  */
 public class GymOwnerServiceImpl implements GymOwnerService {
     
+    private static final Logger LOG = LoggerFactory.getLogger(GymOwnerServiceImpl.class);
+    
     private GymOwnerDAO ownerDAO;
     
     public GymOwnerServiceImpl() {
-        this.ownerDAO = new GymOwnerDAOImpl();
+        this.ownerDAO = DAOFactory.getGymOwnerDAO();
     }
     
     @Override
     public String registerGymOwner(String userId, String panCard, String aadharCard, String gstNumber) {
         // Validate input
         if (userId == null || userId.isEmpty()) {
-            System.out.println("User ID is required!");
+            LOG.debug("Gym owner registration rejected: user ID is required");
             return null;
         }
         
@@ -35,10 +40,11 @@ public class GymOwnerServiceImpl implements GymOwnerService {
         boolean success = ownerDAO.insertGymOwner(ownerId, userId, panCard, aadharCard, gstNumber);
         
         if (success) {
-            System.out.println("Gym Owner registered successfully! Waiting for admin approval.");
+            SystemStatistics.getInstance().gymOwnerRegistered(ownerId);
+            LOG.info("Gym owner {} registered for user {}, awaiting approval", ownerId, userId);
             return ownerId;
         } else {
-            System.out.println("Failed to register gym owner!");
+            LOG.warn("Failed to register gym owner for user {}", userId);
             return null;
         }
     }
@@ -68,7 +74,7 @@ public class GymOwnerServiceImpl implements GymOwnerService {
         // Validate owner exists
         GymOwner owner = ownerDAO.getGymOwnerById(ownerId);
         if (owner == null) {
-            System.out.println("Gym Owner not found!");
+            LOG.debug("Gym owner {} not found", ownerId);
             return false;
         }
         
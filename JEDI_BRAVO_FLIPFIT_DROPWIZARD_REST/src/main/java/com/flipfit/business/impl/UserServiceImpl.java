@@ -3,11 +3,14 @@ package com.flipfit.business.impl;
 import com.flipfit.bean.GymUser;
 import com.flipfit.business.UserService;
 import com.flipfit.dao.GymUserDAO;
-import com.flipfit.dao.impl.GymUserDAOImpl;
 import com.flipfit.enums.Role;
 import com.flipfit.exception.InvalidCredentialsException;
 import com.flipfit.exception.UserNotFoundException;
 import com.flipfit.exception.RegistrationFailedException;
+import com.flipfit.utils.DAOFactory;
+import com.flipfit.utils.SystemStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.UUID;
 
@@ -22,6 +25,9 @@ import java.util.UUID;
  */
 public class UserServiceImpl implements UserService {
 
+    /** The logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(UserServiceImpl.class);
+
     /** The user DAO. */
     private GymUserDAO userDAO;
     
@@ -29,7 +35,7 @@ public class UserServiceImpl implements UserService {
      * Instantiates a new user service impl.
      */
     public UserServiceImpl() {
-        this.userDAO = new GymUserDAOImpl();
+        this.userDAO = DAOFactory.getGymUserDAO();
     }
 
     /**
@@ -55,7 +61,7 @@ public class UserServiceImpl implements UserService {
             throw new InvalidCredentialsException("Invalid email, password, or role");
             
         } catch (InvalidCredentialsException e) {
-            System.err.println("Login failed: " + e.getMessage());
+            LOG.debug("Login failed: {}", e.getMessage());
             return null;
         }
     }
@@ -92,13 +98,14 @@ public class UserServiceImpl implements UserService {
             boolean success = userDAO.insertUser(user);
             
             if (success) {
+                SystemStatistics.getInstance().userRegistered();
                 return user;
             } else {
                 throw new RegistrationFailedException("Failed to register user in database");
             }
             
         } catch (RegistrationFailedException e) {
-            System.err.println("Registration failed: " + e.getMessage());
+            LOG.info("Registration failed: {}", e.getMessage());
             return null;
         }
     }
@@ -132,7 +139,7 @@ public class UserServiceImpl implements UserService {
             return userDAO.updateUser(user);
             
         } catch (UserNotFoundException | InvalidCredentialsException e) {
-            System.err.println("Password change failed: " + e.getMessage());
+            LOG.info("Password change failed: {}", e.getMessage());
             return false;
         }
     }
@@ -157,7 +164,7 @@ public class UserServiceImpl implements UserService {
             return userDAO.updateUser(user);
             
         } catch (UserNotFoundException e) {
-            System.err.println("Profile update failed: " + e.getMessage());
+            LOG.info("Profile update failed: {}", e.getMessage());
             return false;
         }
     }
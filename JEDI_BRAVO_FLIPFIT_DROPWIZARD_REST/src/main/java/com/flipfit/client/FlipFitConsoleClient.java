@@ -26,6 +26,7 @@ public class FlipFitConsoleClient {
     private static String currentCustomerId = null; // For customer bookings
     private static String currentUserRole = null;
     private static String currentUserName = null;
+    private static String authToken = null; // Sent as "Authorization: Bearer" on every request
     
     /**
      * Main method to start the console client
@@ -273,6 +274,7 @@ public class FlipFitConsoleClient {
             currentCustomerId = extractJsonValue(response, "customerId"); // For customers
             currentUserName = extractJsonValue(response, "username");
             currentUserRole = extractJsonValue(response, "role");
+            authToken = extractJsonValue(response, "token");
             String loginTime = extractJsonValue(response, "loginTime");
             String welcomeMsg = extractJsonValue(response, "welcomeMessage");
             
@@ -1103,6 +1105,10 @@ public class FlipFitConsoleClient {
     }
     
     private static void logout() {
+        if (authToken != null && !authToken.isEmpty()) {
+            sendPostRequest("/auth/logout", "{}");
+        }
+        authToken = null;
         currentUserId = null;
         currentUserRole = null;
         currentUserName = null;
@@ -1125,11 +1131,18 @@ public class FlipFitConsoleClient {
     
     // ==================== HTTP Request Methods ====================
     
+    private static void addAuthorization(HttpURLConnection conn) {
+        if (authToken != null && !authToken.isEmpty()) {
+            conn.setRequestProperty("Authorization", "Bearer " + authToken);
+        }
+    }
+    
     private static String sendGetRequest(String endpoint) {
         try {
             URL url = new URL(API_BASE_URL + endpoint);
             HttpURLConnection conn = (HttpURLConnection) url.openConnection();
             conn.setRequestMethod("GET");
+            addAuthorization(conn);
             conn.setRequestProperty("Accept", "application/json");
             
             int responseCode = conn.getResponseCode();
@@ -1154,6 +1167,7 @@ public class FlipFitConsoleClient {
             URL url = new URL(API_BASE_URL + endpoint);
             HttpURLConnection conn = (HttpURLConnection) url.openConnection();
             conn.setRequestMethod("POST");
+            addAuthorization(conn);
             conn.setRequestProperty("Content-Type", "application/json");
             conn.setRequestProperty("Accept", "application/json");
             conn.setDoOutput(true);
@@ -1188,6 +1202,7 @@ public class FlipFitConsoleClient {
             URL url = new URL(API_BASE_URL + endpoint);
             HttpURLConnection conn = (HttpURLConnection) url.openConnection();
             conn.setRequestMethod("PUT");
+            addAuthorization(conn);
             conn.setRequestProperty("Content-Type", "application/json");
             conn.setRequestProperty("Accept", "application/json");
             conn.setDoOutput(true);
@@ -1222,6 +1237,7 @@ public class FlipFitConsoleClient {
             URL url = new URL(API_BASE_URL + endpoint);
             HttpURLConnection conn = (HttpURLConnection) url.openConnection();
             conn.setRequestMethod("DELETE");
+            addAuthorization(conn);
             
             int responseCode = conn.getResponseCode();
             if (responseCode == 200) {
@@ -0,0 +1,133 @@
+package com.flipfit.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration for the signed access tokens issued at login. A token
+ * carries the user ID, role and customer or owner ID, is signed with
+ * HMAC-SHA256 under secret and is checked in memory on every request, so
+ * authenticated requests need no identity lookups. Tokens expire after ttl;
+ * up to maxRevoked logged-out tokens are remembered until they expire.
+ * With required off (the default, for the rollout of older clients),
+ * requests without a token are still let through; turning it on needs a
+ * secret shared by every node.
+ *
+ * @author JEDI-BRAVO
+ * @version 1.0
+ * @since 2026-01-28
+ */
+public class AuthTokenConfiguration {
+
+    @JsonProperty
+    private boolean enabled = true;
+
+    @JsonProperty
+    private boolean required = false;
+
+    @JsonProperty
+    private String secret = "";
+
+    @NotNull
+    @JsonProperty
+    private Duration ttl = Duration.hours(12);
+
+    @Min(100)
+    @Max(10_000_000)
+    @JsonProperty
+    private long maxRevoked = 100_000;
+
+    /**
+     * Checks whether tokens are issued and checked.
+     *
+     * @return true if login returns a token and the filter is installed
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether tokens are issued and checked.
+     *
+     * @param enabled The flag to set
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Checks whether protected resources reject requests without a token.
+     *
+     * @return true if a token is required
+     */
+    public boolean isRequired() {
+        return required;
+    }
+
+    /**
+     * Sets whether protected resources reject requests without a token.
+     *
+     * @param required The flag to set
+     */
+    public void setRequired(boolean required) {
+        this.required = required;
+    }
+
+    /**
+     * Gets the signing secret (empty means a random per-process key).
+     *
+     * @return The secret
+     */
+    public String getSecret() {
+        return secret;
+    }
+
+    /**
+     * Sets the signing secret.
+     *
+     * @param secret The secret to set
+     */
+    public void setSecret(String secret) {
+        this.secret = secret;
+    }
+
+    /**
+     * Gets how long a token stays valid after login.
+     *
+     * @return The token lifetime
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Sets how long a token stays valid after login.
+     *
+     * @param ttl The token lifetime to set
+     */
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    /**
+     * Gets the largest number of revoked tokens remembered.
+     *
+     * @return The maximum revocations
+     */
+    public long getMaxRevoked() {
+        return maxRevoked;
+    }
+
+    /**
+     * Sets the largest number of revoked tokens remembered.
+     *
+     * @param maxRevoked The maximum revocations to set
+     */
+    public void setMaxRevoked(long maxRevoked) {
+        this.maxRevoked = maxRevoked;
+    }
+}
@@ -0,0 +1,65 @@
+package com.flipfit.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.flipfit.utils.BookingLockManager;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration for booking concurrency control.
+ * GLOBAL serializes every booking in the JVM (the original behaviour);
+ * STRIPED locks only the (slot, date) and (customer, date) being booked.
+ *
+ * @author JEDI-BRAVO
+ * @version 1.0
+ * @since 2026-01-28
+ */
+public class BookingLockConfiguration {
+
+    @NotNull
+    @JsonProperty
+    private BookingLockManager.Mode mode = BookingLockManager.Mode.STRIPED;
+
+    @Min(1)
+    @Max(65536)
+    @JsonProperty
+    private int stripes = 256;
+
+    /**
+     * Gets the lock mode.
+     *
+     * @return The lock mode
+     */
+    public BookingLockManager.Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Sets the lock mode.
+     *
+     * @param mode The lock mode to set
+     */
+    public void setMode(BookingLockManager.Mode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Gets the number of lock stripes used in STRIPED mode.
+     *
+     * @return The stripe count
+     */
+    public int getStripes() {
+        return stripes;
+    }
+
+    /**
+     * Sets the number of lock stripes used in STRIPED mode.
+     *
+     * @param stripes The stripe count to set
+     */
+    public void setStripes(int stripes) {
+        this.stripes = stripes;
+    }
+}
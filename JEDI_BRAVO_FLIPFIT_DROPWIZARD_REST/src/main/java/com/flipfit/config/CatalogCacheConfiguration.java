@@ -0,0 +1,86 @@
+package com.flipfit.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration for the slot and gym center catalog cache.
+ * Entries expire after the TTL, and rarely used entries are evicted once a
+ * cache grows past maximumSize.
+ *
+ * @author JEDI-BRAVO
+ * @version 1.0
+ * @since 2026-01-28
+ */
+public class CatalogCacheConfiguration {
+
+    @JsonProperty
+    private boolean enabled = true;
+
+    @Min(1)
+    @Max(1_000_000)
+    @JsonProperty
+    private long maximumSize = 10_000;
+
+    @NotNull
+    @JsonProperty
+    private Duration ttl = Duration.minutes(5);
+
+    /**
+     * Checks whether the cache is enabled.
+     *
+     * @return true if lookups are served from the cache
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether the cache is enabled.
+     *
+     * @param enabled The flag to set
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets the maximum number of entries per cache.
+     *
+     * @return The maximum size
+     */
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Sets the maximum number of entries per cache.
+     *
+     * @param maximumSize The maximum size to set
+     */
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Gets the time an entry may live after it was loaded.
+     *
+     * @return The TTL
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Sets the time an entry may live after it was loaded.
+     *
+     * @param ttl The TTL to set
+     */
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+}
@@ -0,0 +1,87 @@
+package com.flipfit.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration for HTTP conditional requests on the catalog endpoints
+ * (centers by city, slots by city or gym, all centers, all owners). Their
+ * responses carry an ETag and Last-Modified derived from version counters
+ * that the slot, center and owner writes bump, and a revalidation with a
+ * matching tag is answered 304 before any DAO is called. Clients may reuse
+ * a response for maxAge without asking. Changes made by other nodes are
+ * not seen by the counters, so tags also roll over every maxStaleness.
+ *
+ * @author JEDI-BRAVO
+ * @version 1.0
+ * @since 2026-01-28
+ */
+public class CatalogHttpCacheConfiguration {
+
+    @JsonProperty
+    private boolean enabled = true;
+
+    @NotNull
+    @JsonProperty
+    private Duration maxAge = Duration.seconds(0);
+
+    @NotNull
+    @JsonProperty
+    private Duration maxStaleness = Duration.minutes(5);
+
+    /**
+     * Checks whether catalog responses carry validators.
+     *
+     * @return true if ETag and Last-Modified are sent and checked
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether catalog responses carry validators.
+     *
+     * @param enabled The flag to set
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets how long clients may reuse a response without revalidating.
+     *
+     * @return The Cache-Control max-age
+     */
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Sets how long clients may reuse a response without revalidating.
+     *
+     * @param maxAge The Cache-Control max-age to set
+     */
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Gets the longest a tag stays valid without a local write (0s never rolls over).
+     *
+     * @return The maximum staleness
+     */
+    public Duration getMaxStaleness() {
+        return maxStaleness;
+    }
+
+    /**
+     * Sets the longest a tag stays valid without a local write.
+     *
+     * @param maxStaleness The maximum staleness to set
+     */
+    public void setMaxStaleness(Duration maxStaleness) {
+        this.maxStaleness = maxStaleness;
+    }
+}
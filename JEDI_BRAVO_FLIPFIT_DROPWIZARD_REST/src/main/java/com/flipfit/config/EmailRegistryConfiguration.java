@@ -0,0 +1,113 @@
+package com.flipfit.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration for the registered-email filter checked before the
+ * database at signup. The filter is a Bloom filter sized for
+ * expectedEmails (or twice the current number of users, if larger) at the
+ * given falsePositiveRate; registrations add to it and it is rebuilt from
+ * the database every refreshInterval to pick up other nodes' signups.
+ *
+ * @author JEDI-BRAVO
+ * @version 1.0
+ * @since 2026-01-28
+ */
+public class EmailRegistryConfiguration {
+
+    @JsonProperty
+    private boolean enabled = true;
+
+    @Min(1000)
+    @Max(1_000_000_000)
+    @JsonProperty
+    private long expectedEmails = 1_000_000;
+
+    @DecimalMin("0.0001")
+    @DecimalMax("0.2")
+    @JsonProperty
+    private double falsePositiveRate = 0.01;
+
+    @NotNull
+    @JsonProperty
+    private Duration refreshInterval = Duration.minutes(30);
+
+    /**
+     * Checks whether the filter is enabled.
+     *
+     * @return true if email checks consult the filter first
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether the filter is enabled.
+     *
+     * @param enabled The flag to set
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets the number of emails the filter is sized for.
+     *
+     * @return The expected emails
+     */
+    public long getExpectedEmails() {
+        return expectedEmails;
+    }
+
+    /**
+     * Sets the number of emails the filter is sized for.
+     *
+     * @param expectedEmails The expected emails to set
+     */
+    public void setExpectedEmails(long expectedEmails) {
+        this.expectedEmails = expectedEmails;
+    }
+
+    /**
+     * Gets the target rate of unknown emails reported as possibly registered.
+     *
+     * @return The false positive rate
+     */
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    /**
+     * Sets the target false positive rate.
+     *
+     * @param falsePositiveRate The false positive rate to set
+     */
+    public void setFalsePositiveRate(double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Gets the time between rebuilds of the filter (0s disables them).
+     *
+     * @return The refresh interval
+     */
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    /**
+     * Sets the time between rebuilds of the filter.
+     *
+     * @param refreshInterval The refresh interval to set
+     */
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+}
@@ -0,0 +1,126 @@
+package com.flipfit.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration for the gym center search index behind the typeahead
+ * endpoint. The index is kept current by the approval and update paths and
+ * rebuilt every refreshInterval to pick up changes made by other nodes.
+ * Aliases map alternative city or locality names to the name used in the
+ * data (e.g. bengaluru to bangalore); both are matched either way round.
+ *
+ * @author JEDI-BRAVO
+ * @version 1.0
+ * @since 2026-01-28
+ */
+public class GymSearchConfiguration {
+
+    @JsonProperty
+    private boolean enabled = true;
+
+    @NotNull
+    @JsonProperty
+    private Duration refreshInterval = Duration.minutes(5);
+
+    @Min(1)
+    @Max(100)
+    @JsonProperty
+    private int maxResults = 20;
+
+    @NotNull
+    @JsonProperty
+    private Map<String, String> aliases = defaultAliases();
+
+    /**
+     * Checks whether the index is enabled.
+     *
+     * @return true if the typeahead endpoint is served
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether the index is enabled.
+     *
+     * @param enabled The flag to set
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets the time between full rebuilds (0s disables them).
+     *
+     * @return The refresh interval
+     */
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    /**
+     * Sets the time between full rebuilds.
+     *
+     * @param refreshInterval The refresh interval to set
+     */
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * Gets the largest number of gyms returned by one lookup.
+     *
+     * @return The maximum results
+     */
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    /**
+     * Sets the largest number of gyms returned by one lookup.
+     *
+     * @param maxResults The maximum results to set
+     */
+    public void setMaxResults(int maxResults) {
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Gets the name aliases, alias to name used in the data.
+     *
+     * @return The aliases
+     */
+    public Map<String, String> getAliases() {
+        return aliases;
+    }
+
+    /**
+     * Sets the name aliases.
+     *
+     * @param aliases The aliases to set
+     */
+    public void setAliases(Map<String, String> aliases) {
+        this.aliases = aliases;
+    }
+
+    private static Map<String, String> defaultAliases() {
+        Map<String, String> aliases = new LinkedHashMap<>();
+        aliases.put("bengaluru", "bangalore");
+        aliases.put("bombay", "mumbai");
+        aliases.put("madras", "chennai");
+        aliases.put("calcutta", "kolkata");
+        aliases.put("gurugram", "gurgaon");
+        aliases.put("mysuru", "mysore");
+        aliases.put("poona", "pune");
+        aliases.put("trivandrum", "thiruvananthapuram");
+        aliases.put("vizag", "visakhapatnam");
+        return aliases;
+    }
+}
@@ -0,0 +1,159 @@
+package com.flipfit.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration for the nearby-gyms search. Approved gym centers with a
+ * position are kept in a uniform grid of cellSizeKm square cells, updated by
+ * the approval and update paths and rebuilt every refreshInterval. Searches
+ * are limited to maxRadiusKm around the customer, maxResults gyms and open
+ * seats starting within maxWindowHours.
+ *
+ * @author JEDI-BRAVO
+ * @version 1.0
+ * @since 2026-01-28
+ */
+public class NearbySearchConfiguration {
+
+    @JsonProperty
+    private boolean enabled = true;
+
+    @DecimalMin("0.1")
+    @DecimalMax("50")
+    @JsonProperty
+    private double cellSizeKm = 2;
+
+    @DecimalMin("1")
+    @DecimalMax("200")
+    @JsonProperty
+    private double maxRadiusKm = 50;
+
+    @Min(1)
+    @Max(100)
+    @JsonProperty
+    private int maxResults = 20;
+
+    @Min(1)
+    @Max(48)
+    @JsonProperty
+    private int maxWindowHours = 24;
+
+    @NotNull
+    @JsonProperty
+    private Duration refreshInterval = Duration.minutes(5);
+
+    /**
+     * Checks whether the nearby search is enabled.
+     *
+     * @return true if the nearby endpoint is served
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether the nearby search is enabled.
+     *
+     * @param enabled The flag to set
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets the side of a grid cell.
+     *
+     * @return The cell size in kilometres
+     */
+    public double getCellSizeKm() {
+        return cellSizeKm;
+    }
+
+    /**
+     * Sets the side of a grid cell.
+     *
+     * @param cellSizeKm The cell size in kilometres to set
+     */
+    public void setCellSizeKm(double cellSizeKm) {
+        this.cellSizeKm = cellSizeKm;
+    }
+
+    /**
+     * Gets the largest search radius.
+     *
+     * @return The maximum radius in kilometres
+     */
+    public double getMaxRadiusKm() {
+        return maxRadiusKm;
+    }
+
+    /**
+     * Sets the largest search radius.
+     *
+     * @param maxRadiusKm The maximum radius in kilometres to set
+     */
+    public void setMaxRadiusKm(double maxRadiusKm) {
+        this.maxRadiusKm = maxRadiusKm;
+    }
+
+    /**
+     * Gets the largest number of gyms returned by one search.
+     *
+     * @return The maximum results
+     */
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    /**
+     * Sets the largest number of gyms returned by one search.
+     *
+     * @param maxResults The maximum results to set
+     */
+    public void setMaxResults(int maxResults) {
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Gets the longest look-ahead for open seats.
+     *
+     * @return The maximum window in hours
+     */
+    public int getMaxWindowHours() {
+        return maxWindowHours;
+    }
+
+    /**
+     * Sets the longest look-ahead for open seats.
+     *
+     * @param maxWindowHours The maximum window in hours to set
+     */
+    public void setMaxWindowHours(int maxWindowHours) {
+        this.maxWindowHours = maxWindowHours;
+    }
+
+    /**
+     * Gets the time between full rebuilds of the grid (0s disables them).
+     *
+     * @return The refresh interval
+     */
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    /**
+     * Sets the time between full rebuilds of the grid.
+     *
+     * @param refreshInterval The refresh interval to set
+     */
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+}
@@ -0,0 +1,164 @@
+package com.flipfit.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration for the asynchronous notification outbox.
+ * Notifications are queued by the booking path and written in JDBC batches
+ * by a background worker.
+ *
+ * @author JEDI-BRAVO
+ * @version 1.0
+ * @since 2026-01-28
+ */
+public class NotificationOutboxConfiguration {
+
+    /**
+     * What to do when the queue is full.
+     */
+    public enum OverflowPolicy {
+        /** Drop the new notification immediately. */
+        DROP,
+        /** Wait up to enqueueTimeout for space, then drop. */
+        BLOCK
+    }
+
+    @Min(1)
+    @Max(1_000_000)
+    @JsonProperty
+    private int queueCapacity = 10_000;
+
+    @Min(1)
+    @Max(10_000)
+    @JsonProperty
+    private int batchSize = 100;
+
+    @NotNull
+    @JsonProperty
+    private Duration flushInterval = Duration.milliseconds(200);
+
+    @NotNull
+    @JsonProperty
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+    @NotNull
+    @JsonProperty
+    private Duration enqueueTimeout = Duration.milliseconds(50);
+
+    @NotNull
+    @JsonProperty
+    private Duration shutdownTimeout = Duration.seconds(10);
+
+    /**
+     * Gets the maximum number of queued notifications.
+     *
+     * @return The queue capacity
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Sets the maximum number of queued notifications.
+     *
+     * @param queueCapacity The queue capacity to set
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Gets the maximum number of rows per batch insert.
+     *
+     * @return The batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the maximum number of rows per batch insert.
+     *
+     * @param batchSize The batch size to set
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Gets how long the worker waits to fill a batch before writing it.
+     *
+     * @return The flush interval
+     */
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * Sets how long the worker waits to fill a batch before writing it.
+     *
+     * @param flushInterval The flush interval to set
+     */
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * Gets the policy applied when the queue is full.
+     *
+     * @return The overflow policy
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Sets the policy applied when the queue is full.
+     *
+     * @param overflowPolicy The overflow policy to set
+     */
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Gets how long a caller waits for queue space under the BLOCK policy.
+     *
+     * @return The enqueue timeout
+     */
+    public Duration getEnqueueTimeout() {
+        return enqueueTimeout;
+    }
+
+    /**
+     * Sets how long a caller waits for queue space under the BLOCK policy.
+     *
+     * @param enqueueTimeout The enqueue timeout to set
+     */
+    public void setEnqueueTimeout(Duration enqueueTimeout) {
+        this.enqueueTimeout = enqueueTimeout;
+    }
+
+    /**
+     * Gets how long shutdown waits for the queue to drain.
+     *
+     * @return The shutdown timeout
+     */
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    /**
+     * Sets how long shutdown waits for the queue to drain.
+     *
+     * @param shutdownTimeout The shutdown timeout to set
+     */
+    public void setShutdownTimeout(Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+}
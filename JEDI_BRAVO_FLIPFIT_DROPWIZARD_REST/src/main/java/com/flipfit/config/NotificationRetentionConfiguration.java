@@ -0,0 +1,155 @@
+package com.flipfit.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration for the notification retention job. Every interval, read
+ * notifications older than readRetention are moved to NotificationArchive
+ * in chunks of chunkSize, each in its own short transaction with chunkPause
+ * between them, and at most maxChunksPerRun chunks per run so a large
+ * backlog is worked off over several runs.
+ *
+ * @author JEDI-BRAVO
+ * @version 1.0
+ * @since 2026-01-28
+ */
+public class NotificationRetentionConfiguration {
+
+    @JsonProperty
+    private boolean enabled = true;
+
+    @NotNull
+    @JsonProperty
+    private Duration readRetention = Duration.days(90);
+
+    @Min(1)
+    @Max(10_000)
+    @JsonProperty
+    private int chunkSize = 500;
+
+    @Min(1)
+    @Max(100_000)
+    @JsonProperty
+    private int maxChunksPerRun = 100;
+
+    @NotNull
+    @JsonProperty
+    private Duration interval = Duration.hours(1);
+
+    @NotNull
+    @JsonProperty
+    private Duration chunkPause = Duration.milliseconds(100);
+
+    /**
+     * Checks whether the retention job is enabled.
+     *
+     * @return true if read notifications are archived
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether the retention job is enabled.
+     *
+     * @param enabled The flag to set
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets how long read notifications stay in the feed.
+     *
+     * @return The read retention
+     */
+    public Duration getReadRetention() {
+        return readRetention;
+    }
+
+    /**
+     * Sets how long read notifications stay in the feed.
+     *
+     * @param readRetention The read retention to set
+     */
+    public void setReadRetention(Duration readRetention) {
+        this.readRetention = readRetention;
+    }
+
+    /**
+     * Gets the number of notifications archived per transaction.
+     *
+     * @return The chunk size
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Sets the number of notifications archived per transaction.
+     *
+     * @param chunkSize The chunk size to set
+     */
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Gets the maximum number of chunks archived per run.
+     *
+     * @return The maximum chunks per run
+     */
+    public int getMaxChunksPerRun() {
+        return maxChunksPerRun;
+    }
+
+    /**
+     * Sets the maximum number of chunks archived per run.
+     *
+     * @param maxChunksPerRun The maximum chunks per run to set
+     */
+    public void setMaxChunksPerRun(int maxChunksPerRun) {
+        this.maxChunksPerRun = maxChunksPerRun;
+    }
+
+    /**
+     * Gets the time between runs.
+     *
+     * @return The interval
+     */
+    public Duration getInterval() {
+        return interval;
+    }
+
+    /**
+     * Sets the time between runs.
+     *
+     * @param interval The interval to set
+     */
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    /**
+     * Gets the pause between two chunks of a run.
+     *
+     * @return The chunk pause
+     */
+    public Duration getChunkPause() {
+        return chunkPause;
+    }
+
+    /**
+     * Sets the pause between two chunks of a run.
+     *
+     * @param chunkPause The chunk pause to set
+     */
+    public void setChunkPause(Duration chunkPause) {
+        this.chunkPause = chunkPause;
+    }
+}
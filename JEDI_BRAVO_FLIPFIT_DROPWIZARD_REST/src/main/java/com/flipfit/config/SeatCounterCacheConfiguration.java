@@ -0,0 +1,89 @@
+package com.flipfit.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration for the per slot-date booked seat counter cache.
+ * Counters are loaded on first read and kept up to date by the booking
+ * write paths; every reconcileInterval they are compared with
+ * slot_date_inventory (repairing drift from other nodes) and counters of
+ * past dates are dropped. Once maximumSize counters are held, further
+ * slot-dates are read from the database without being cached.
+ *
+ * @author JEDI-BRAVO
+ * @version 1.0
+ * @since 2026-01-28
+ */
+public class SeatCounterCacheConfiguration {
+
+    @JsonProperty
+    private boolean enabled = true;
+
+    @Min(1)
+    @Max(10_000_000)
+    @JsonProperty
+    private int maximumSize = 200_000;
+
+    @NotNull
+    @JsonProperty
+    private Duration reconcileInterval = Duration.seconds(30);
+
+    /**
+     * Checks whether the cache is enabled.
+     *
+     * @return true if seat counts are served from the cache
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether the cache is enabled.
+     *
+     * @param enabled The flag to set
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets the maximum number of cached slot-date counters.
+     *
+     * @return The maximum size
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Sets the maximum number of cached slot-date counters.
+     *
+     * @param maximumSize The maximum size to set
+     */
+    public void setMaximumSize(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Gets the time between reconciliations with the database (0s disables them).
+     *
+     * @return The reconcile interval
+     */
+    public Duration getReconcileInterval() {
+        return reconcileInterval;
+    }
+
+    /**
+     * Sets the time between reconciliations with the database.
+     *
+     * @param reconcileInterval The reconcile interval to set
+     */
+    public void setReconcileInterval(Duration reconcileInterval) {
+        this.reconcileInterval = reconcileInterval;
+    }
+}
@@ -0,0 +1,156 @@
+package com.flipfit.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration for the live seat availability stream (Server-Sent Events).
+ * Seat changes of a gym and date are collected for coalesceWindow and sent
+ * to its subscribers as one event; idle streams get a comment every
+ * heartbeatInterval so dead connections are noticed. Subscriptions beyond
+ * maxConnections, or maxConnectionsPerStream for one gym and date, are
+ * refused with 503 and the client falls back to polling.
+ *
+ * @author JEDI-BRAVO
+ * @version 1.0
+ * @since 2026-01-28
+ */
+public class SeatStreamConfiguration {
+
+    @JsonProperty
+    private boolean enabled = true;
+
+    @Min(0)
+    @Max(1_000_000)
+    @JsonProperty
+    private int maxConnections = 10_000;
+
+    @Min(0)
+    @Max(1_000_000)
+    @JsonProperty
+    private int maxConnectionsPerStream = 1_000;
+
+    @NotNull
+    @JsonProperty
+    private Duration coalesceWindow = Duration.milliseconds(250);
+
+    @NotNull
+    @JsonProperty
+    private Duration heartbeatInterval = Duration.seconds(15);
+
+    @NotNull
+    @JsonProperty
+    private Duration reconnectDelay = Duration.seconds(3);
+
+    /**
+     * Checks whether the stream is enabled.
+     *
+     * @return true if clients may subscribe
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether the stream is enabled.
+     *
+     * @param enabled The flag to set
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets the maximum number of open streams.
+     *
+     * @return The maximum connections
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Sets the maximum number of open streams.
+     *
+     * @param maxConnections The maximum connections to set
+     */
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     * Gets the maximum number of open streams for one gym and date.
+     *
+     * @return The maximum connections per stream
+     */
+    public int getMaxConnectionsPerStream() {
+        return maxConnectionsPerStream;
+    }
+
+    /**
+     * Sets the maximum number of open streams for one gym and date.
+     *
+     * @param maxConnectionsPerStream The maximum connections per stream to set
+     */
+    public void setMaxConnectionsPerStream(int maxConnectionsPerStream) {
+        this.maxConnectionsPerStream = maxConnectionsPerStream;
+    }
+
+    /**
+     * Gets how long seat changes are collected before they are sent.
+     *
+     * @return The coalesce window
+     */
+    public Duration getCoalesceWindow() {
+        return coalesceWindow;
+    }
+
+    /**
+     * Sets how long seat changes are collected before they are sent.
+     *
+     * @param coalesceWindow The coalesce window to set
+     */
+    public void setCoalesceWindow(Duration coalesceWindow) {
+        this.coalesceWindow = coalesceWindow;
+    }
+
+    /**
+     * Gets the time between heartbeats on an idle stream (0s disables them).
+     *
+     * @return The heartbeat interval
+     */
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    /**
+     * Sets the time between heartbeats on an idle stream.
+     *
+     * @param heartbeatInterval The heartbeat interval to set
+     */
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    /**
+     * Gets the reconnect delay sent to clients with every event.
+     *
+     * @return The reconnect delay
+     */
+    public Duration getReconnectDelay() {
+        return reconnectDelay;
+    }
+
+    /**
+     * Sets the reconnect delay sent to clients with every event.
+     *
+     * @param reconnectDelay The reconnect delay to set
+     */
+    public void setReconnectDelay(Duration reconnectDelay) {
+        this.reconnectDelay = reconnectDelay;
+    }
+}
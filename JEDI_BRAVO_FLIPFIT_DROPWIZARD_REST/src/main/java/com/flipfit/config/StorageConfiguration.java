@@ -0,0 +1,129 @@
+package com.flipfit.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration for the storage engine behind the DAO interfaces.
+ * MYSQL uses the pooled database; MEMORY keeps every table in concurrent
+ * maps inside the JVM, starting empty, from a snapshot file or from one
+ * copy of the database. With a snapshot file the in-memory tables are
+ * written to it every snapshotInterval and on shutdown.
+ *
+ * @author JEDI-BRAVO
+ * @version 1.0
+ * @since 2026-01-28
+ */
+public class StorageConfiguration {
+
+    /**
+     * The storage engine.
+     */
+    public enum Type {
+        /** JDBC DAOs on the configured database. */
+        MYSQL,
+        /** In-memory DAOs on InMemoryStore. */
+        MEMORY
+    }
+
+    /**
+     * Where the MEMORY engine gets its initial data.
+     */
+    public enum InitialLoad {
+        /** Start with empty tables. */
+        NONE,
+        /** Read snapshotFile if it exists. */
+        SNAPSHOT,
+        /** Copy every table from the configured database once at start-up. */
+        DATABASE
+    }
+
+    @NotNull
+    @JsonProperty
+    private Type type = Type.MYSQL;
+
+    @NotNull
+    @JsonProperty
+    private InitialLoad initialLoad = InitialLoad.SNAPSHOT;
+
+    @JsonProperty
+    private String snapshotFile;
+
+    @NotNull
+    @JsonProperty
+    private Duration snapshotInterval = Duration.minutes(1);
+
+    /**
+     * Gets the storage engine.
+     *
+     * @return The storage type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Sets the storage engine.
+     *
+     * @param type The storage type to set
+     */
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    /**
+     * Gets where the in-memory tables are loaded from at start-up.
+     *
+     * @return The initial load source
+     */
+    public InitialLoad getInitialLoad() {
+        return initialLoad;
+    }
+
+    /**
+     * Sets where the in-memory tables are loaded from at start-up.
+     *
+     * @param initialLoad The initial load source to set
+     */
+    public void setInitialLoad(InitialLoad initialLoad) {
+        this.initialLoad = initialLoad;
+    }
+
+    /**
+     * Gets the snapshot file of the in-memory tables.
+     *
+     * @return The snapshot path, or null if snapshots are disabled
+     */
+    public String getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    /**
+     * Sets the snapshot file of the in-memory tables.
+     *
+     * @param snapshotFile The snapshot path to set, or null to disable snapshots
+     */
+    public void setSnapshotFile(String snapshotFile) {
+        this.snapshotFile = snapshotFile;
+    }
+
+    /**
+     * Gets the time between two snapshots; zero writes only on shutdown.
+     *
+     * @return The snapshot interval
+     */
+    public Duration getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    /**
+     * Sets the time between two snapshots; zero writes only on shutdown.
+     *
+     * @param snapshotInterval The snapshot interval to set
+     */
+    public void setSnapshotInterval(Duration snapshotInterval) {
+        this.snapshotInterval = snapshotInterval;
+    }
+}
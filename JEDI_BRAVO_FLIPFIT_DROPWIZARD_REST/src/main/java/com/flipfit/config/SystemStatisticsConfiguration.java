@@ -0,0 +1,134 @@
+package com.flipfit.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration for the admin statistics snapshot. Counters are kept up to
+ * date by the registration, approval and booking paths and recounted from
+ * the database every refreshInterval to correct drift; the snapshot served
+ * by /admin/statistics is rebuilt from them every publishInterval. Per-day
+ * booking breakdowns cover booking dates from pastDays before today to
+ * futureDays after it.
+ *
+ * @author JEDI-BRAVO
+ * @version 1.0
+ * @since 2026-01-28
+ */
+public class SystemStatisticsConfiguration {
+
+    @JsonProperty
+    private boolean enabled = true;
+
+    @NotNull
+    @JsonProperty
+    private Duration refreshInterval = Duration.minutes(10);
+
+    @NotNull
+    @JsonProperty
+    private Duration publishInterval = Duration.seconds(1);
+
+    @Min(0)
+    @Max(90)
+    @JsonProperty
+    private int pastDays = 7;
+
+    @Min(0)
+    @Max(90)
+    @JsonProperty
+    private int futureDays = 14;
+
+    /**
+     * Checks whether the snapshot is enabled.
+     *
+     * @return true if statistics are served from the snapshot, false to count on every request
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether the snapshot is enabled.
+     *
+     * @param enabled The flag to set
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets the time between recounts from the database (0s disables them).
+     *
+     * @return The refresh interval
+     */
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    /**
+     * Sets the time between recounts from the database.
+     *
+     * @param refreshInterval The refresh interval to set
+     */
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * Gets the time between rebuilds of the served snapshot.
+     *
+     * @return The publish interval
+     */
+    public Duration getPublishInterval() {
+        return publishInterval;
+    }
+
+    /**
+     * Sets the time between rebuilds of the served snapshot.
+     *
+     * @param publishInterval The publish interval to set
+     */
+    public void setPublishInterval(Duration publishInterval) {
+        this.publishInterval = publishInterval;
+    }
+
+    /**
+     * Gets the number of past days covered by the booking breakdowns.
+     *
+     * @return The past days
+     */
+    public int getPastDays() {
+        return pastDays;
+    }
+
+    /**
+     * Sets the number of past days covered by the booking breakdowns.
+     *
+     * @param pastDays The past days to set
+     */
+    public void setPastDays(int pastDays) {
+        this.pastDays = pastDays;
+    }
+
+    /**
+     * Gets the number of upcoming days covered by the booking breakdowns.
+     *
+     * @return The future days
+     */
+    public int getFutureDays() {
+        return futureDays;
+    }
+
+    /**
+     * Sets the number of upcoming days covered by the booking breakdowns.
+     *
+     * @param futureDays The future days to set
+     */
+    public void setFutureDays(int futureDays) {
+        this.futureDays = futureDays;
+    }
+}
@@ -0,0 +1,65 @@
+package com.flipfit.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration for the waitlist promotion engine.
+ * Seats freed by cancellations are handed to a background worker that
+ * promotes waiting customers and writes their waitlist status in batches.
+ *
+ * @author JEDI-BRAVO
+ * @version 1.0
+ * @since 2026-01-28
+ */
+public class WaitlistEngineConfiguration {
+
+    @Min(1)
+    @Max(10_000)
+    @JsonProperty
+    private int maxSlotDatesPerPass = 64;
+
+    @NotNull
+    @JsonProperty
+    private Duration shutdownTimeout = Duration.seconds(10);
+
+    /**
+     * Gets the maximum number of slot-dates promoted in one worker pass.
+     *
+     * @return The slot-dates per pass
+     */
+    public int getMaxSlotDatesPerPass() {
+        return maxSlotDatesPerPass;
+    }
+
+    /**
+     * Sets the maximum number of slot-dates promoted in one worker pass.
+     *
+     * @param maxSlotDatesPerPass The slot-dates per pass to set
+     */
+    public void setMaxSlotDatesPerPass(int maxSlotDatesPerPass) {
+        this.maxSlotDatesPerPass = maxSlotDatesPerPass;
+    }
+
+    /**
+     * Gets how long shutdown waits for pending promotions.
+     *
+     * @return The shutdown timeout
+     */
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    /**
+     * Sets how long shutdown waits for pending promotions.
+     *
+     * @param shutdownTimeout The shutdown timeout to set
+     */
+    public void setShutdownTimeout(Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+}
@@ -51,6 +51,9 @@ public class SQLConstants {
     public static final String CHECK_EMAIL_EXISTS = 
         "SELECT COUNT(*) FROM User WHERE email = ?";
     
+    public static final String SELECT_ALL_USER_EMAILS = 
+        "SELECT email FROM User";
+    
     // ========== GYM OWNER QUERIES ==========
     
     /** The constant for inserting gym owner. */
@@ -123,7 +126,7 @@ public class SQLConstants {
     
     /** The constant for inserting gym center. */
     public static final String INSERT_GYM_CENTER = 
-        "INSERT INTO GymCenter (gym_id, owner_id, gym_name, gym_address, city, state, pincode, phone_number, email, total_slots, is_approved) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        "INSERT INTO GymCenter (gym_id, owner_id, gym_name, gym_address, city, state, pincode, phone_number, email, total_slots, is_approved, latitude, longitude) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
     
     /** The constant for selecting gym center by ID. */
     public static final String SELECT_GYM_CENTER_BY_ID = 
@@ -151,7 +154,7 @@ public class SQLConstants {
     
     /** The constant for updating gym center. */
     public static final String UPDATE_GYM_CENTER = 
-        "UPDATE GymCenter SET gym_name = ?, gym_address = ?, city = ?, state = ?, pincode = ?, phone_number = ?, email = ?, total_slots = ? WHERE gym_id = ?";
+        "UPDATE GymCenter SET gym_name = ?, gym_address = ?, city = ?, state = ?, pincode = ?, phone_number = ?, email = ?, total_slots = ?, latitude = ?, longitude = ? WHERE gym_id = ?";
     
     /** The constant for rejecting gym center. */
     public static final String REJECT_GYM_CENTER = 
@@ -183,6 +186,22 @@ public class SQLConstants {
     public static final String COUNT_TOTAL_GYM_CENTERS = 
         "SELECT COUNT(*) as count FROM GymCenter";
     
+    /** The constant for getting all the system totals in one round trip. */
+    public static final String SELECT_SYSTEM_STATISTICS = 
+        "SELECT (SELECT COUNT(*) FROM User) as total_users, (SELECT COUNT(*) FROM GymOwner) as total_gym_owners, " +
+        "(SELECT COUNT(*) FROM GymCustomer) as total_customers, (SELECT COUNT(*) FROM Booking) as total_bookings, " +
+        "(SELECT COUNT(*) FROM GymCenter) as total_gym_centers";
+    
+    /** The constant for counting confirmed bookings per gym and date over a date range. */
+    public static final String COUNT_CONFIRMED_BOOKINGS_BY_GYM_AND_DATE = 
+        "SELECT s.gym_id, b.booking_date, COUNT(*) as count FROM Booking b JOIN GymSlot s ON b.slot_id = s.slot_id " +
+        "WHERE b.booking_date BETWEEN ? AND ? AND b.booking_status = 'CONFIRMED' " +
+        "GROUP BY s.gym_id, b.booking_date";
+    
+    /** The constant for summing the seats of the active slots of every gym. */
+    public static final String SUM_ACTIVE_SEATS_BY_GYM = 
+        "SELECT gym_id, SUM(total_seats) as seats FROM GymSlot WHERE is_active = TRUE GROUP BY gym_id";
+    
     // ========== SLOT QUERIES ==========
     
     /** The constant for inserting a new slot. */
@@ -237,6 +256,35 @@ public class SQLConstants {
     public static final String GET_AVAILABLE_SEATS = 
         "SELECT available_seats FROM GymSlot WHERE slot_id = ?";
     
+    // ========== SLOT DATE INVENTORY QUERIES ==========
+    
+    /** The constant for lazily creating an inventory row, seeded from existing confirmed bookings. */
+    public static final String INSERT_SLOT_DATE_INVENTORY_IF_ABSENT = 
+        "INSERT IGNORE INTO slot_date_inventory (slot_id, booking_date, capacity, booked) " +
+        "SELECT s.slot_id, ?, s.total_seats, " +
+        "(SELECT COUNT(*) FROM Booking b WHERE b.slot_id = s.slot_id AND b.booking_date = ? AND b.booking_status = 'CONFIRMED') " +
+        "FROM GymSlot s WHERE s.slot_id = ?";
+    
+    /** The constant for atomically reserving a seat if capacity remains. */
+    public static final String RESERVE_SLOT_DATE_SEAT = 
+        "UPDATE slot_date_inventory SET booked = booked + 1 WHERE slot_id = ? AND booking_date = ? AND booked < capacity";
+    
+    /** The constant for releasing a previously reserved seat. */
+    public static final String RELEASE_SLOT_DATE_SEAT = 
+        "UPDATE slot_date_inventory SET booked = booked - 1 WHERE slot_id = ? AND booking_date = ? AND booked > 0";
+    
+    /** The constant for reading the booked seats of a slot on a date. */
+    public static final String SELECT_SLOT_DATE_BOOKED = 
+        "SELECT booked FROM slot_date_inventory WHERE slot_id = ? AND booking_date = ?";
+    
+    /** The constant for reading the booked seats of every slot on a date (seat counter reconciliation). */
+    public static final String SELECT_SLOT_DATE_BOOKED_ON_DATE = 
+        "SELECT slot_id, booked FROM slot_date_inventory WHERE booking_date = ?";
+    
+    /** The constant for propagating a slot capacity change to current and future dates. */
+    public static final String UPDATE_SLOT_DATE_CAPACITY = 
+        "UPDATE slot_date_inventory SET capacity = ? WHERE slot_id = ? AND booking_date >= CURRENT_DATE";
+    
     // ========== BOOKING QUERIES ==========
     
     /** The constant for inserting a new booking. */
@@ -251,6 +299,21 @@ public class SQLConstants {
     public static final String SELECT_BOOKINGS_BY_CUSTOMER = 
         "SELECT b.*, s.start_time, s.end_time, c.gym_name, c.city, c.gym_address FROM Booking b JOIN GymSlot s ON b.slot_id = s.slot_id JOIN GymCenter c ON s.gym_id = c.gym_id WHERE b.customer_id = ? AND b.booking_status = 'CONFIRMED' ORDER BY b.booking_date DESC, s.start_time DESC";
     
+    /** The constant for the first page of a customer's booking history, newest first. */
+    public static final String SELECT_BOOKING_VIEWS_BY_CUSTOMER = 
+        "SELECT b.booking_id, b.customer_id, b.slot_id, b.booking_date, b.booking_status, s.start_time, s.end_time, c.gym_name, c.city, c.gym_address " +
+        "FROM Booking b JOIN GymSlot s ON b.slot_id = s.slot_id JOIN GymCenter c ON s.gym_id = c.gym_id " +
+        "WHERE b.customer_id = ? AND b.booking_status = 'CONFIRMED' " +
+        "ORDER BY b.booking_date DESC, b.booking_id DESC LIMIT ?";
+    
+    /** The constant for the next page of a customer's booking history after a (booking_date, booking_id) cursor. */
+    public static final String SELECT_BOOKING_VIEWS_BY_CUSTOMER_AFTER = 
+        "SELECT b.booking_id, b.customer_id, b.slot_id, b.booking_date, b.booking_status, s.start_time, s.end_time, c.gym_name, c.city, c.gym_address " +
+        "FROM Booking b JOIN GymSlot s ON b.slot_id = s.slot_id JOIN GymCenter c ON s.gym_id = c.gym_id " +
+        "WHERE b.customer_id = ? AND b.booking_status = 'CONFIRMED' " +
+        "AND (b.booking_date < ? OR (b.booking_date = ? AND b.booking_id < ?)) " +
+        "ORDER BY b.booking_date DESC, b.booking_id DESC LIMIT ?";
+    
     /** The constant for selecting bookings by slot. */
     public static final String SELECT_BOOKINGS_BY_SLOT = 
         "SELECT b.*, u.name, u.email FROM Booking b JOIN GymCustomer gc ON b.customer_id = gc.customer_id JOIN User u ON gc.user_id = u.user_id WHERE b.slot_id = ? AND b.booking_status = 'CONFIRMED'";
@@ -262,15 +325,46 @@ public class SQLConstants {
     /** The constant for checking existing booking in same slot time. */
     public static final String CHECK_EXISTING_BOOKING_SAME_TIME = 
         "SELECT b.booking_id, b.customer_id, b.slot_id, b.booking_date, b.booking_status FROM Booking b WHERE b.customer_id = ? AND b.booking_date = ?";
+
+    /** The constant for selecting a customer's confirmed bookings on a date whose slot overlaps a time window (touching slots overlap). */
+    public static final String SELECT_OVERLAPPING_CUSTOMER_BOOKINGS =
+        "SELECT b.booking_id, b.customer_id, b.slot_id, b.booking_date, b.booking_status FROM Booking b JOIN GymSlot s ON b.slot_id = s.slot_id " +
+        "WHERE b.customer_id = ? AND b.booking_status = 'CONFIRMED' AND b.booking_date = ? AND s.start_time <= ? AND s.end_time >= ?";
+
+    /** The constant for selecting a customer's booking of any status in a slot on a date (the unique_booking key). */
+    public static final String SELECT_CUSTOMER_BOOKING_FOR_SLOT_DATE =
+        "SELECT b.booking_id, b.customer_id, b.slot_id, b.booking_date, b.booking_status FROM Booking b WHERE b.customer_id = ? AND b.slot_id = ? AND b.booking_date = ?";
+
+    /** The constant for selecting a customer's bookings of any status over a date range. */
+    public static final String SELECT_CUSTOMER_BOOKINGS_IN_DATE_RANGE = 
+        "SELECT b.booking_id, b.customer_id, b.slot_id, b.booking_date, b.booking_status FROM Booking b WHERE b.customer_id = ? AND b.booking_date BETWEEN ? AND ?";
     
     /** The constant for updating booking status. */
     public static final String UPDATE_BOOKING_STATUS = 
         "UPDATE Booking SET booking_status = ? WHERE booking_id = ?";
     
+    /** The constant for cancelling a booking only while it is still confirmed. */
+    public static final String CANCEL_CONFIRMED_BOOKING = 
+        "UPDATE Booking SET booking_status = 'CANCELLED' WHERE booking_id = ? AND booking_status = 'CONFIRMED'";
+    
     /** The constant for deleting booking. */
     public static final String DELETE_BOOKING = 
         "DELETE FROM Booking WHERE booking_id = ?";
     
+    /**
+     * The constant for the booked seats per slot of a gym over a date range: from slot_date_inventory,
+     * and from the confirmed bookings for slot-dates that have no inventory row yet (which is how the row
+     * would be seeded), so the counts match the single slot-date reads.
+     */
+    public static final String BOOKED_SEATS_BY_GYM_AND_DATE_RANGE = 
+        "SELECT i.slot_id, i.booking_date, i.booked as count FROM slot_date_inventory i JOIN GymSlot s ON i.slot_id = s.slot_id " +
+        "WHERE s.gym_id = ? AND i.booking_date BETWEEN ? AND ? " +
+        "UNION ALL " +
+        "SELECT b.slot_id, b.booking_date, COUNT(*) as count FROM Booking b JOIN GymSlot s ON b.slot_id = s.slot_id " +
+        "WHERE s.gym_id = ? AND b.booking_date BETWEEN ? AND ? AND b.booking_status = 'CONFIRMED' " +
+        "AND NOT EXISTS (SELECT 1 FROM slot_date_inventory i WHERE i.slot_id = b.slot_id AND i.booking_date = b.booking_date) " +
+        "GROUP BY b.slot_id, b.booking_date";
+    
     /** The constant for counting bookings by customer. */
     public static final String COUNT_BOOKINGS_BY_CUSTOMER = 
         "SELECT COUNT(*) as count FROM Booking WHERE customer_id = ? AND booking_status = 'CONFIRMED'";
@@ -301,6 +395,10 @@ public class SQLConstants {
     public static final String UPDATE_WAITLIST_STATUS = 
         "UPDATE WaitList SET status = ? WHERE waitlist_id = ?";
     
+    /** The constant for selecting every waiting entry in arrival order. */
+    public static final String SELECT_WAITING_WAITLIST = 
+        "SELECT * FROM WaitList WHERE status = 'WAITING' ORDER BY created_at, waitlist_id";
+    
     /** The constant for deleting waitlist entry. */
     public static final String DELETE_WAITLIST = 
         "DELETE FROM WaitList WHERE waitlist_id = ?";
@@ -327,18 +425,103 @@ public class SQLConstants {
     public static final String SELECT_UNREAD_NOTIFICATIONS = 
         "SELECT * FROM Notification WHERE user_id = ? AND is_read = FALSE ORDER BY created_at DESC";
     
-    /** The constant for marking notification as read. */
+    /** The constant for the first page of a user's read or unread notifications, newest first. */
+    public static final String SELECT_NOTIFICATION_PAGE = 
+        "SELECT * FROM Notification WHERE user_id = ? AND is_read = ? " +
+        "ORDER BY created_at DESC, notification_id DESC LIMIT ?";
+    
+    /** The constant for the next page of a user's read or unread notifications after a (created_at, notification_id) cursor. */
+    public static final String SELECT_NOTIFICATION_PAGE_AFTER = 
+        "SELECT * FROM Notification WHERE user_id = ? AND is_read = ? " +
+        "AND (created_at < ? OR (created_at = ? AND notification_id < ?)) " +
+        "ORDER BY created_at DESC, notification_id DESC LIMIT ?";
+    
+    /** The constant for marking notification as read (only matches unread, so the unread count drops once). */
     public static final String MARK_NOTIFICATION_READ = 
-        "UPDATE Notification SET is_read = TRUE WHERE notification_id = ?";
+        "UPDATE Notification SET is_read = TRUE WHERE notification_id = ? AND is_read = FALSE";
+    
+    /** The constant for marking one of a user's notifications as read, batched for bulk mark-read. */
+    public static final String MARK_USER_NOTIFICATION_READ = 
+        "UPDATE Notification SET is_read = TRUE WHERE notification_id = ? AND user_id = ? AND is_read = FALSE";
     
     /** The constant for marking all notifications as read. */
     public static final String MARK_ALL_NOTIFICATIONS_READ = 
-        "UPDATE Notification SET is_read = TRUE WHERE user_id = ?";
+        "UPDATE Notification SET is_read = TRUE WHERE user_id = ? AND is_read = FALSE";
     
     /** The constant for deleting notification. */
     public static final String DELETE_NOTIFICATION = 
         "DELETE FROM Notification WHERE notification_id = ?";
     
+    /** The constant for adding to a user's unread notification count. */
+    public static final String ADD_UNREAD_NOTIFICATIONS = 
+        "INSERT INTO notification_unread_count (user_id, unread) VALUES (?, ?) " +
+        "ON DUPLICATE KEY UPDATE unread = unread + VALUES(unread)";
+    
+    /** The constant for subtracting from a user's unread notification count. */
+    public static final String SUBTRACT_UNREAD_NOTIFICATIONS = 
+        "UPDATE notification_unread_count SET unread = GREATEST(unread - ?, 0) WHERE user_id = ?";
+    
+    /** The constant for subtracting one from the unread count of a notification's user. */
+    public static final String SUBTRACT_UNREAD_NOTIFICATION_OF = 
+        "UPDATE notification_unread_count SET unread = GREATEST(unread - 1, 0) " +
+        "WHERE user_id = (SELECT user_id FROM Notification WHERE notification_id = ?)";
+    
+    /** The constant for selecting a user's unread notification count. */
+    public static final String SELECT_UNREAD_NOTIFICATION_COUNT = 
+        "SELECT unread FROM notification_unread_count WHERE user_id = ?";
+    
+    /** The constant for selecting the oldest read notifications created before a cutoff. */
+    public static final String SELECT_ARCHIVABLE_NOTIFICATIONS = 
+        "SELECT notification_id FROM Notification WHERE is_read = TRUE AND created_at < ? ORDER BY created_at LIMIT ?";
+    
+    /** The constant for copying a read notification into the archive. */
+    public static final String ARCHIVE_NOTIFICATION = 
+        "INSERT INTO NotificationArchive (notification_id, user_id, title, message, notification_type, is_read, created_at) " +
+        "SELECT notification_id, user_id, title, message, notification_type, is_read, created_at " +
+        "FROM Notification WHERE notification_id = ? AND is_read = TRUE";
+    
+    /** The constant for deleting an archived notification. */
+    public static final String DELETE_ARCHIVED_NOTIFICATION = 
+        "DELETE FROM Notification WHERE notification_id = ? AND is_read = TRUE";
+    
+    // ========== EXPORT QUERIES (in-memory storage initial load) ==========
+
+    /** The constant for exporting users with their role names. */
+    public static final String EXPORT_USERS =
+        "SELECT u.user_id, u.name, u.email, u.password, u.address, r.role_name FROM User u JOIN Role r ON u.role_id = r.role_id";
+
+    /** The constant for exporting gym owners. */
+    public static final String EXPORT_GYM_OWNERS =
+        "SELECT * FROM GymOwner";
+
+    /** The constant for exporting gym customers. */
+    public static final String EXPORT_GYM_CUSTOMERS =
+        "SELECT * FROM GymCustomer";
+
+    /** The constant for exporting gym centers. */
+    public static final String EXPORT_GYM_CENTERS =
+        "SELECT * FROM GymCenter";
+
+    /** The constant for exporting slots. */
+    public static final String EXPORT_SLOTS =
+        "SELECT * FROM GymSlot";
+
+    /** The constant for exporting per-date slot inventory. */
+    public static final String EXPORT_SLOT_DATE_INVENTORY =
+        "SELECT slot_id, booking_date, capacity, booked FROM slot_date_inventory";
+
+    /** The constant for exporting bookings. */
+    public static final String EXPORT_BOOKINGS =
+        "SELECT booking_id, customer_id, slot_id, booking_date, booking_status FROM Booking";
+
+    /** The constant for exporting waitlist entries in arrival order. */
+    public static final String EXPORT_WAITLIST =
+        "SELECT * FROM WaitList ORDER BY created_at, waitlist_id";
+
+    /** The constant for exporting notifications in arrival order. */
+    public static final String EXPORT_NOTIFICATIONS =
+        "SELECT * FROM Notification ORDER BY created_at, notification_id";
+
     // ========== PAYMENT QUERIES ==========
     
     /** The constant for inserting payment. */
@@ -1,10 +1,13 @@
 package com.flipfit.dao;
 
 import com.flipfit.bean.Booking;
+import com.flipfit.bean.BookingView;
 import com.flipfit.enums.BookingStatus;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 // TODO: Auto-generated Javadoc
 /**
@@ -40,6 +43,19 @@ public interface BookingDAO {
      */
     List<Booking> getBookingsByCustomer(String customerId);
     
+    /**
+     * Get one page of a customer's confirmed bookings with slot and gym details,
+     * newest first. Pages are keyed on (booking_date, booking_id): pass the last
+     * row of the previous page as the cursor, or nulls for the first page.
+     *
+     * @param customerId the customer ID
+     * @param afterDate the booking date of the last row already returned, or null
+     * @param afterBookingId the booking ID of the last row already returned, or null
+     * @param limit the maximum number of rows
+     * @return list of booking views
+     */
+    List<BookingView> getBookingViewsByCustomer(String customerId, LocalDate afterDate, String afterBookingId, int limit);
+    
     /**
      * Get all bookings for a slot.
      *
@@ -65,6 +81,56 @@ public interface BookingDAO {
      * @return list of existing bookings for that date
      */
     List<Booking> checkExistingBookingsOnDate(String customerId, LocalDate date);
+
+    /**
+     * Get a customer's confirmed bookings on a date whose slot overlaps the
+     * given time window. Slots that only touch (one ends when the other
+     * starts) count as overlapping.
+     *
+     * @param customerId the customer ID
+     * @param date the booking date
+     * @param startTime the start of the window
+     * @param endTime the end of the window
+     * @return the overlapping confirmed bookings
+     */
+    List<Booking> getOverlappingBookings(String customerId, LocalDate date, LocalTime startTime, LocalTime endTime);
+
+    /**
+     * Get a customer's booking of any status in a slot on a date.
+     *
+     * @param customerId the customer ID
+     * @param slotId the slot ID
+     * @param date the booking date
+     * @return the booking, or null if there is none
+     */
+    Booking getCustomerBookingForSlot(String customerId, String slotId, LocalDate date);
+
+    /**
+     * Get a customer's bookings of any status over a date range in a single query.
+     *
+     * @param customerId the customer ID
+     * @param fromDate the first date (inclusive)
+     * @param toDate the last date (inclusive)
+     * @return list of bookings
+     */
+    List<Booking> getCustomerBookingsInDateRange(String customerId, LocalDate fromDate, LocalDate toDate);
+    
+    /**
+     * Reserve a seat and save a booking for each of several bookings in one
+     * transaction. Bookings whose ID is in reusedBookingIds update that existing
+     * (cancelled) row to their status; the others are inserted. The confirmed
+     * bookings in cancelledBookings are cancelled and their seats released in
+     * the same transaction, so they are only given up once a new booking has
+     * its seat; nothing is saved unless every one of them is still confirmed.
+     *
+     * @param bookings the bookings to save
+     * @param reusedBookingIds IDs of existing rows to update instead of insert
+     * @param cancelledBookings confirmed bookings to cancel with the save
+     * @param allOrNothing true to save nothing unless every booking gets a seat
+     * @return for each booking, in order, whether it was saved
+     */
+    boolean[] insertBookingsWithSeats(List<Booking> bookings, Set<String> reusedBookingIds,
+                                      List<Booking> cancelledBookings, boolean allOrNothing);
     
     /**
      * Update booking status.
@@ -92,12 +158,16 @@ public interface BookingDAO {
     int countBookingsByCustomer(String customerId);
     
     /**
-     * Cancel a booking and update slot availability.
+     * Cancel a booking if it is still confirmed. Of two concurrent calls for
+     * the same booking only one returns true, so only one caller frees its seat.
+     * The seat is released in the same transaction as the cancel, unless it is
+     * kept reserved to be handed to the waitlist.
      *
-     * @param bookingId the booking ID
-     * @return true if cancellation successful, false otherwise
+     * @param booking the booking; its ID, slot and date are read
+     * @param releaseSeat true to release the booking's seat, false to keep it reserved
+     * @return true if this call cancelled a confirmed booking, false otherwise
      */
-    boolean cancelBooking(String bookingId);
+    boolean cancelBooking(Booking booking, boolean releaseSeat);
     
     /**
      * Count confirmed bookings for a specific slot on a specific date.
@@ -108,4 +178,25 @@ public interface BookingDAO {
      * @return count of confirmed bookings
      */
     int countBookingsForSlotOnDate(String slotId, LocalDate date);
+    
+    /**
+     * Get the booked seats of every slot of a gym on a specific date in a
+     * single query, counted like GymSlotDAO.getBookedSeatsOnDate counts them.
+     *
+     * @param gymId the gym ID
+     * @param date the booking date
+     * @return booked seats by slot ID; slots without bookings are absent
+     */
+    Map<String, Integer> countBookingsForGymOnDate(String gymId, LocalDate date);
+    
+    /**
+     * Get the booked seats of every slot of a gym on each day of a date range in
+     * a single query, counted like GymSlotDAO.getBookedSeatsOnDate counts them.
+     *
+     * @param gymId the gym ID
+     * @param fromDate the first date (inclusive)
+     * @param toDate the last date (inclusive)
+     * @return booked seats by date and slot ID; days and slots without bookings are absent
+     */
+    Map<LocalDate, Map<String, Integer>> countBookingsForGymInDateRange(String gymId, LocalDate fromDate, LocalDate toDate);
 }
@@ -75,4 +75,19 @@ public interface GymAdminDAO {
      * @return Map containing various system statistics
      */
     java.util.Map<String, Integer> getSystemStatistics();
+    
+    /**
+     * Count confirmed bookings per gym and date over a date range
+     * @param fromDate First date, inclusive
+     * @param toDate Last date, inclusive
+     * @return Booking counts by gym ID, then by date; pairs without bookings are absent
+     */
+    java.util.Map<String, java.util.Map<java.time.LocalDate, Integer>> countConfirmedBookingsByGym(
+        java.time.LocalDate fromDate, java.time.LocalDate toDate);
+    
+    /**
+     * Sum the seats of the active slots of every gym, i.e. its capacity per day
+     * @return Seats by gym ID; gyms without active slots are absent
+     */
+    java.util.Map<String, Integer> getActiveSeatsByGym();
 }
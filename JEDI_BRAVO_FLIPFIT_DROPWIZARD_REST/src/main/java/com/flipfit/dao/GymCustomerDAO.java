@@ -72,4 +72,18 @@ public interface GymCustomerDAO {
      * @return Number of bookings made by the customer
      */
     int getCustomerBookingCount(String customerId);
+    
+    /**
+     * Get the user ID of a customer
+     * @param customerId Customer ID
+     * @return User ID, or null if the customer does not exist
+     */
+    String getUserIdByCustomerId(String customerId);
+    
+    /**
+     * Get the customer ID of a user
+     * @param userId User ID
+     * @return Customer ID, or null if the user is not a customer
+     */
+    String getCustomerIdByUserId(String userId);
 }
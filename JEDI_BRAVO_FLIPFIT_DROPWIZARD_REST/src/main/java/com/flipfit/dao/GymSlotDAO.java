@@ -1,7 +1,12 @@
 package com.flipfit.dao;
 
 import com.flipfit.bean.GymSlot;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 
 // TODO: Auto-generated Javadoc
 /**
@@ -38,6 +43,14 @@ public interface GymSlotDAO {
      */
     List<GymSlot> getSlotsByCenter(String gymId);
     
+    /**
+     * Get the active slots of a gym indexed by start time.
+     *
+     * @param gymId the gym ID
+     * @return read-only map from start time to the slots starting then
+     */
+    NavigableMap<LocalTime, List<GymSlot>> getSlotsByStartTime(String gymId);
+    
     /**
      * Check if seats are available in a slot.
      *
@@ -101,4 +114,41 @@ public interface GymSlotDAO {
      * @return the number of available seats
      */
     int getAvailableSeats(String slotId);
+    
+    /**
+     * Atomically reserve one seat in a slot on a specific date.
+     * The per-date inventory row is created from the slot capacity on first use,
+     * and the seat is only taken if booked is still below capacity.
+     *
+     * @param slotId the slot ID
+     * @param date the booking date
+     * @return true if a seat was reserved, false if the slot is full on that date
+     */
+    boolean reserveSeatOnDate(String slotId, LocalDate date);
+    
+    /**
+     * Release one previously reserved seat in a slot on a specific date.
+     *
+     * @param slotId the slot ID
+     * @param date the booking date
+     * @return true if a seat was released, false otherwise
+     */
+    boolean releaseSeatOnDate(String slotId, LocalDate date);
+    
+    /**
+     * Get the number of reserved seats in a slot on a specific date.
+     *
+     * @param slotId the slot ID
+     * @param date the booking date
+     * @return the number of reserved seats
+     */
+    int getBookedSeatsOnDate(String slotId, LocalDate date);
+    
+    /**
+     * Get the reserved seats of the slot-date inventory rows of the given dates.
+     *
+     * @param dates the dates to read
+     * @return reserved seats by date, then by slot ID; slot-dates without a row are absent
+     */
+    Map<LocalDate, Map<String, Integer>> getBookedSeatsOnDates(Collection<LocalDate> dates);
 }
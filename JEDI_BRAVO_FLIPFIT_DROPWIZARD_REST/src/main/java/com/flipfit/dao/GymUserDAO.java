@@ -36,6 +36,12 @@ public interface GymUserDAO {
      */
     List<GymUser> getAllUsers();
     
+    /**
+     * Retrieve the email addresses of all users
+     * @return List of all user emails
+     */
+    List<String> getAllEmails();
+    
     /**
      * Update an existing user's information
      * @param user GymUser object with updated information
@@ -1,6 +1,7 @@
 package com.flipfit.dao;
 
 import com.flipfit.bean.Notification;
+import java.sql.Timestamp;
 import java.util.List;
 
 /**
@@ -19,6 +20,14 @@ public interface NotificationDAO {
      */
     boolean insertNotification(Notification notification);
     
+    /**
+     * Insert several notifications with a single JDBC batch in one transaction.
+     *
+     * @param notifications the notifications to insert
+     * @return the number of notifications inserted; 0 if the batch was rolled back
+     */
+    int insertNotifications(List<Notification> notifications);
+    
     /**
      * Get all notifications for a user.
      *
@@ -35,21 +44,55 @@ public interface NotificationDAO {
      */
     List<Notification> getUnreadNotifications(String userId);
     
+    /**
+     * Get one page of a user's read or unread notifications, newest first.
+     * Pass the created_at and ID of the last notification already shown to
+     * get the next page, or nulls for the newest notifications.
+     *
+     * @param userId the user ID
+     * @param read whether to page through read or unread notifications
+     * @param afterCreatedAt the creation time of the last notification already shown, or null
+     * @param afterNotificationId the ID of the last notification already shown, or null
+     * @param limit the page size
+     * @return list of notifications, newest first
+     */
+    List<Notification> getNotificationPage(String userId, boolean read, Timestamp afterCreatedAt,
+                                           String afterNotificationId, int limit);
+    
+    /**
+     * Get the number of unread notifications of a user from the maintained
+     * counter, without counting rows.
+     *
+     * @param userId the user ID
+     * @return the unread count
+     */
+    int countUnread(String userId);
+    
     /**
      * Mark a notification as read.
      *
      * @param notificationId the notification ID
-     * @return true if update successful, false otherwise
+     * @return true if the notification was unread, false otherwise
      */
     boolean markAsRead(String notificationId);
     
+    /**
+     * Mark several of a user's notifications as read with a single JDBC batch.
+     * IDs of other users' notifications are ignored.
+     *
+     * @param userId the user ID
+     * @param notificationIds the notification IDs
+     * @return the number of notifications that were unread
+     */
+    int markAsRead(String userId, List<String> notificationIds);
+    
     /**
      * Mark all notifications as read for a user.
      *
      * @param userId the user ID
-     * @return true if update successful, false otherwise
+     * @return the number of notifications that were unread
      */
-    boolean markAllAsRead(String userId);
+    int markAllAsRead(String userId);
     
     /**
      * Delete a notification.
@@ -58,4 +101,14 @@ public interface NotificationDAO {
      * @return true if deletion successful, false otherwise
      */
     boolean deleteNotification(String notificationId);
+    
+    /**
+     * Move the oldest read notifications created before a cutoff to the
+     * archive, in one transaction.
+     *
+     * @param createdBefore the cutoff
+     * @param limit the most notifications to move
+     * @return the number of notifications archived
+     */
+    int archiveReadNotifications(Timestamp createdBefore, int limit);
 }
@@ -30,4 +30,20 @@ public interface WaitListDAO {
      * @return true if customer is already in waitlist
      */
     boolean isCustomerInWaitlistByDate(String customerId, String slotId, LocalDate requestedDate);
+    
+    /**
+     * Get every waiting entry, oldest first within each slot and date.
+     *
+     * @return list of waitlist entries
+     */
+    List<GymWaitList> getWaitingEntries();
+    
+    /**
+     * Set the status of several waitlist entries with one batch.
+     *
+     * @param waitListIds the waitlist IDs
+     * @param status the new status
+     * @return the number of entries updated
+     */
+    int updateWaitListStatuses(List<String> waitListIds, String status);
 }
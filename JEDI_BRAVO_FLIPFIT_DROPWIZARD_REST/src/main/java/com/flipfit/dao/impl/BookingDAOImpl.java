@@ -1,17 +1,23 @@
 package com.flipfit.dao.impl;
 
 import com.flipfit.bean.Booking;
+import com.flipfit.bean.BookingView;
 import com.flipfit.dao.BookingDAO;
-import com.flipfit.dao.GymSlotDAO;
 import com.flipfit.enums.BookingStatus;
 import com.flipfit.utils.DBConnection;
 import com.flipfit.constant.SQLConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 // TODO: Auto-generated Javadoc
 /**
@@ -24,7 +30,7 @@ import java.util.List;
  */
 public class BookingDAOImpl implements BookingDAO {
     
-    private final GymSlotDAO slotDAO = new GymSlotDAOImpl();
+    private static final Logger LOG = LoggerFactory.getLogger(BookingDAOImpl.class);
 
     /**
      * Insert a new booking.
@@ -45,7 +51,7 @@ public class BookingDAOImpl implements BookingDAO {
             
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
-            System.err.println("Error inserting booking: " + e.getMessage());
+            LOG.error("Error inserting booking", e);
             return false;
         }
     }
@@ -69,7 +75,7 @@ public class BookingDAOImpl implements BookingDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error getting booking by ID: " + e.getMessage());
+            LOG.error("Error getting booking by ID", e);
         }
         return null;
     }
@@ -95,11 +101,52 @@ public class BookingDAOImpl implements BookingDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error getting bookings by customer: " + e.getMessage());
+            LOG.error("Error getting bookings by customer", e);
         }
         return bookings;
     }
 
+    /**
+     * Get one page of a customer's confirmed bookings with slot and gym details.
+     *
+     * @param customerId the customer ID
+     * @param afterDate the booking date of the last row already returned, or null
+     * @param afterBookingId the booking ID of the last row already returned, or null
+     * @param limit the maximum number of rows
+     * @return list of booking views
+     */
+    @Override
+    public List<BookingView> getBookingViewsByCustomer(String customerId, LocalDate afterDate, String afterBookingId, int limit) {
+        List<BookingView> views = new ArrayList<>();
+        boolean firstPage = afterDate == null || afterBookingId == null;
+        String query = firstPage 
+            ? SQLConstants.SELECT_BOOKING_VIEWS_BY_CUSTOMER 
+            : SQLConstants.SELECT_BOOKING_VIEWS_BY_CUSTOMER_AFTER;
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+            
+            pstmt.setString(1, customerId);
+            if (firstPage) {
+                pstmt.setInt(2, limit);
+            } else {
+                pstmt.setDate(2, java.sql.Date.valueOf(afterDate));
+                pstmt.setDate(3, java.sql.Date.valueOf(afterDate));
+                pstmt.setString(4, afterBookingId);
+                pstmt.setInt(5, limit);
+            }
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    views.add(mapResultSetToBookingView(rs));
+                }
+            }
+        } catch (SQLException e) {
+            LOG.error("Error getting booking views by customer", e);
+        }
+        return views;
+    }
+
     /**
      * Get all bookings for a slot.
      *
@@ -121,7 +168,7 @@ public class BookingDAOImpl implements BookingDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error getting bookings by slot: " + e.getMessage());
+            LOG.error("Error getting bookings by slot", e);
         }
         return bookings;
     }
@@ -149,7 +196,7 @@ public class BookingDAOImpl implements BookingDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error getting customer bookings by date: " + e.getMessage());
+            LOG.error("Error getting customer bookings by date", e);
         }
         return bookings;
     }
@@ -177,11 +224,213 @@ public class BookingDAOImpl implements BookingDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error checking existing bookings: " + e.getMessage());
+            LOG.error("Error checking existing bookings", e);
+        }
+        return bookings;
+    }
+
+    /**
+     * Get a customer's confirmed bookings on a date whose slot overlaps a time
+     * window, joining Booking to GymSlot so the overlap is decided by the database.
+     *
+     * @param customerId the customer ID
+     * @param date the booking date
+     * @param startTime the start of the window
+     * @param endTime the end of the window
+     * @return the overlapping confirmed bookings
+     */
+    @Override
+    public List<Booking> getOverlappingBookings(String customerId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        List<Booking> bookings = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQLConstants.SELECT_OVERLAPPING_CUSTOMER_BOOKINGS)) {
+
+            pstmt.setString(1, customerId);
+            pstmt.setDate(2, Date.valueOf(date));
+            pstmt.setTime(3, Time.valueOf(endTime));
+            pstmt.setTime(4, Time.valueOf(startTime));
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    bookings.add(mapResultSetToBooking(rs));
+                }
+            }
+        } catch (SQLException e) {
+            LOG.error("Error getting bookings of customer {} overlapping {} - {} on {}", customerId, startTime, endTime, date, e);
+        }
+        return bookings;
+    }
+
+    /**
+     * Get a customer's booking of any status in a slot on a date.
+     *
+     * @param customerId the customer ID
+     * @param slotId the slot ID
+     * @param date the booking date
+     * @return the booking, or null if there is none
+     */
+    @Override
+    public Booking getCustomerBookingForSlot(String customerId, String slotId, LocalDate date) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQLConstants.SELECT_CUSTOMER_BOOKING_FOR_SLOT_DATE)) {
+
+            pstmt.setString(1, customerId);
+            pstmt.setString(2, slotId);
+            pstmt.setDate(3, Date.valueOf(date));
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToBooking(rs);
+                }
+            }
+        } catch (SQLException e) {
+            LOG.error("Error getting booking of customer {} in slot {} on {}", customerId, slotId, date, e);
+        }
+        return null;
+    }
+
+    /**
+     * Get a customer's bookings of any status over a date range.
+     *
+     * @param customerId the customer ID
+     * @param fromDate the first date (inclusive)
+     * @param toDate the last date (inclusive)
+     * @return list of bookings
+     */
+    @Override
+    public List<Booking> getCustomerBookingsInDateRange(String customerId, LocalDate fromDate, LocalDate toDate) {
+        List<Booking> bookings = new ArrayList<>();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQLConstants.SELECT_CUSTOMER_BOOKINGS_IN_DATE_RANGE)) {
+            
+            pstmt.setString(1, customerId);
+            pstmt.setDate(2, Date.valueOf(fromDate));
+            pstmt.setDate(3, Date.valueOf(toDate));
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    bookings.add(mapResultSetToBooking(rs));
+                }
+            }
+        } catch (SQLException e) {
+            LOG.error("Error getting bookings of customer {} from {} to {}", customerId, fromDate, toDate, e);
         }
         return bookings;
     }
 
+    /**
+     * Reserve seats and save several bookings with JDBC batches in one transaction:
+     * create the missing slot_date_inventory rows, reserve one seat per booking,
+     * insert or reuse the booking rows of the bookings that got a seat, then
+     * cancel the given confirmed bookings and release their seats.
+     *
+     * @param bookings the bookings to save
+     * @param reusedBookingIds IDs of existing rows to update instead of insert
+     * @param cancelledBookings confirmed bookings to cancel with the save
+     * @param allOrNothing true to save nothing unless every booking gets a seat
+     * @return for each booking, in order, whether it was saved; all false if the transaction was rolled back
+     */
+    @Override
+    public boolean[] insertBookingsWithSeats(List<Booking> bookings, Set<String> reusedBookingIds,
+                                             List<Booking> cancelledBookings, boolean allOrNothing) {
+        boolean[] saved = new boolean[bookings.size()];
+        if (bookings.isEmpty()) {
+            return saved;
+        }
+        
+        try (Connection conn = DBConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                // Seed the slot-dates of the cancelled bookings too, while they still count as confirmed
+                try (PreparedStatement pstmt = conn.prepareStatement(SQLConstants.INSERT_SLOT_DATE_INVENTORY_IF_ABSENT)) {
+                    Set<String> seeded = new HashSet<>();
+                    List<Booking> touched = new ArrayList<>(bookings);
+                    touched.addAll(cancelledBookings);
+                    for (Booking booking : touched) {
+                        if (seeded.add(booking.getSlotId() + '|' + booking.getBookingDate())) {
+                            pstmt.setDate(1, Date.valueOf(booking.getBookingDate()));
+                            pstmt.setDate(2, Date.valueOf(booking.getBookingDate()));
+                            pstmt.setString(3, booking.getSlotId());
+                            pstmt.addBatch();
+                        }
+                    }
+                    pstmt.executeBatch();
+                }
+                
+                // One conditional update per booking; its own update count says whether a seat was
+                // left. This relies on per-statement counts, i.e. rewriteBatchedStatements off.
+                boolean allReserved = true;
+                try (PreparedStatement pstmt = conn.prepareStatement(SQLConstants.RESERVE_SLOT_DATE_SEAT)) {
+                    for (Booking booking : bookings) {
+                        pstmt.setString(1, booking.getSlotId());
+                        pstmt.setDate(2, Date.valueOf(booking.getBookingDate()));
+                        pstmt.addBatch();
+                    }
+                    int[] counts = pstmt.executeBatch();
+                    for (int i = 0; i < counts.length; i++) {
+                        saved[i] = counts[i] == 1;
+                        allReserved &= saved[i];
+                    }
+                }
+                if (allOrNothing && !allReserved || !cancelledBookings.isEmpty() && !anySaved(saved)) {
+                    conn.rollback();
+                    return new boolean[bookings.size()];
+                }
+                
+                try (PreparedStatement insert = conn.prepareStatement(SQLConstants.INSERT_BOOKING);
+                     PreparedStatement reuse = conn.prepareStatement(SQLConstants.UPDATE_BOOKING_STATUS)) {
+                    int reused = 0;
+                    for (int i = 0; i < saved.length; i++) {
+                        if (!saved[i]) {
+                            continue;
+                        }
+                        Booking booking = bookings.get(i);
+                        if (reusedBookingIds.contains(booking.getBookingId())) {
+                            reuse.setString(1, booking.getBookingStatus().toString());
+                            reuse.setString(2, booking.getBookingId());
+                            reuse.addBatch();
+                            reused++;
+                        } else {
+                            insert.setString(1, booking.getBookingId());
+                            insert.setString(2, booking.getCustomerId());
+                            insert.setString(3, booking.getSlotId());
+                            insert.setDate(4, Date.valueOf(booking.getBookingDate()));
+                            insert.setString(5, booking.getBookingStatus().toString());
+                            insert.addBatch();
+                        }
+                    }
+                    insert.executeBatch();
+                    if (reused > 0) {
+                        for (int count : reuse.executeBatch()) {
+                            if (count == 0) {
+                                throw new SQLException("Reused booking row no longer exists");
+                            }
+                        }
+                    }
+                }
+                for (Booking cancelled : cancelledBookings) {
+                    if (!cancelConfirmed(conn, cancelled, true)) {
+                        throw new SQLException("Booking " + cancelled.getBookingId() + " is no longer confirmed");
+                    }
+                }
+                conn.commit();
+                return saved;
+            } catch (SQLException e) {
+                conn.rollback();
+                LOG.warn("Error saving booking batch of {}: {}", bookings.size(), e.getMessage());
+                return new boolean[bookings.size()];
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            LOG.error("Error saving booking batch", e);
+            return new boolean[bookings.size()];
+        }
+    }
+
     /**
      * Update booking status.
      *
@@ -199,7 +448,7 @@ public class BookingDAOImpl implements BookingDAO {
             
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
-            System.err.println("Error updating booking status: " + e.getMessage());
+            LOG.error("Error updating booking status", e);
             return false;
         }
     }
@@ -218,7 +467,7 @@ public class BookingDAOImpl implements BookingDAO {
             pstmt.setString(1, bookingId);
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
-            System.err.println("Error deleting booking: " + e.getMessage());
+            LOG.error("Error deleting booking", e);
             return false;
         }
     }
@@ -242,28 +491,76 @@ public class BookingDAOImpl implements BookingDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error counting bookings: " + e.getMessage());
+            LOG.error("Error counting bookings", e);
         }
         return 0;
     }
 
     /**
-     * Cancel a booking and update slot availability.
+     * Cancel a booking if it is still confirmed, and release its seat in the
+     * same transaction. The status check and the update are one statement, so
+     * a booking that is cancelled twice concurrently reports success (and frees
+     * its seat) once; a failure in between leaves both unchanged.
      *
-     * @param bookingId the booking ID
-     * @return true if cancellation successful, false otherwise
+     * @param booking the booking; its ID, slot and date are read
+     * @param releaseSeat true to release the booking's seat, false to keep it reserved
+     * @return true if this call cancelled a confirmed booking, false otherwise
      */
     @Override
-    public boolean cancelBooking(String bookingId) {
-        // Get booking details first
-        Booking booking = getBookingById(bookingId);
-        if (booking == null || booking.getBookingStatus() == BookingStatus.CANCELLED) {
+    public boolean cancelBooking(Booking booking, boolean releaseSeat) {
+        try (Connection conn = DBConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                boolean cancelled = cancelConfirmed(conn, booking, releaseSeat);
+                conn.commit();
+                return cancelled;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            LOG.error("Error cancelling booking {}", booking.getBookingId(), e);
             return false;
         }
-        
-        // Simply update booking status to CANCELLED
-        // No need to update available_seats since we calculate availability per date dynamically
-        return updateBookingStatus(bookingId, BookingStatus.CANCELLED);
+    }
+
+    /**
+     * Cancels a confirmed booking on the caller's transaction and, if it was
+     * still confirmed, optionally releases its seat.
+     *
+     * @param conn the connection, with auto-commit off
+     * @param booking the booking; its ID, slot and date are read
+     * @param releaseSeat true to release the booking's seat
+     * @return true if the booking was still confirmed and is now cancelled
+     * @throws SQLException if a statement fails
+     */
+    private boolean cancelConfirmed(Connection conn, Booking booking, boolean releaseSeat) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(SQLConstants.CANCEL_CONFIRMED_BOOKING)) {
+            pstmt.setString(1, booking.getBookingId());
+            if (pstmt.executeUpdate() != 1) {
+                return false;
+            }
+        }
+        if (releaseSeat) {
+            try (PreparedStatement pstmt = conn.prepareStatement(SQLConstants.RELEASE_SLOT_DATE_SEAT)) {
+                pstmt.setString(1, booking.getSlotId());
+                pstmt.setDate(2, Date.valueOf(booking.getBookingDate()));
+                pstmt.executeUpdate();
+            }
+        }
+        return true;
+    }
+
+    private static boolean anySaved(boolean[] saved) {
+        for (boolean bookingSaved : saved) {
+            if (bookingSaved) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -294,7 +591,7 @@ public class BookingDAOImpl implements BookingDAO {
             }
             return 0;
         } catch (SQLException e) {
-            System.err.println("Error counting bookings for slot " + slotId + " on " + date + ": " + e.getMessage());
+            LOG.error("Error counting bookings for slot {} on {}", slotId, date, e);
             return 0;
         } finally {
             try {
@@ -302,9 +599,58 @@ public class BookingDAOImpl implements BookingDAO {
                 if (pstmt != null) pstmt.close();
                 if (conn != null) conn.close();
             } catch (SQLException e) {
-                System.err.println("Error closing connection: " + e.getMessage());
+                LOG.error("Error closing connection", e);
+            }
+        }
+    }
+
+    /**
+     * Get the booked seats of every slot of a gym on a specific date.
+     *
+     * @param gymId the gym ID
+     * @param date the booking date
+     * @return booked seats by slot ID
+     */
+    @Override
+    public Map<String, Integer> countBookingsForGymOnDate(String gymId, LocalDate date) {
+        Map<String, Integer> counts = countBookingsForGymInDateRange(gymId, date, date).get(date);
+        return counts != null ? counts : new HashMap<>();
+    }
+
+    /**
+     * Get the booked seats of every slot of a gym on each day of a date range.
+     * Seats come from slot_date_inventory, like the single slot-date reads, so
+     * both agree (and the seat counter cache can mix them); slot-dates without
+     * an inventory row are counted from their confirmed bookings.
+     *
+     * @param gymId the gym ID
+     * @param fromDate the first date (inclusive)
+     * @param toDate the last date (inclusive)
+     * @return booked seats by date and slot ID
+     */
+    @Override
+    public Map<LocalDate, Map<String, Integer>> countBookingsForGymInDateRange(String gymId, LocalDate fromDate, LocalDate toDate) {
+        Map<LocalDate, Map<String, Integer>> counts = new HashMap<>();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQLConstants.BOOKED_SEATS_BY_GYM_AND_DATE_RANGE)) {
+            
+            for (int offset = 0; offset < 6; offset += 3) {
+                pstmt.setString(offset + 1, gymId);
+                pstmt.setDate(offset + 2, java.sql.Date.valueOf(fromDate));
+                pstmt.setDate(offset + 3, java.sql.Date.valueOf(toDate));
             }
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    counts.computeIfAbsent(rs.getDate("booking_date").toLocalDate(), d -> new HashMap<>())
+                          .put(rs.getString("slot_id"), rs.getInt("count"));
+                }
+            }
+        } catch (SQLException e) {
+            LOG.error("Error counting bookings for gym {} from {} to {}", gymId, fromDate, toDate, e);
         }
+        return counts;
     }
 
     /**
@@ -323,4 +669,26 @@ public class BookingDAOImpl implements BookingDAO {
         booking.setBookingStatus(BookingStatus.valueOf(rs.getString("booking_status")));
         return booking;
     }
+
+    /**
+     * Helper method to map a joined booking row to a BookingView.
+     *
+     * @param rs the result set
+     * @return the booking view
+     * @throws SQLException the SQL exception
+     */
+    private BookingView mapResultSetToBookingView(ResultSet rs) throws SQLException {
+        BookingView view = new BookingView();
+        view.setBookingId(rs.getString("booking_id"));
+        view.setCustomerId(rs.getString("customer_id"));
+        view.setSlotId(rs.getString("slot_id"));
+        view.setBookingDate(rs.getDate("booking_date").toLocalDate());
+        view.setBookingStatus(BookingStatus.valueOf(rs.getString("booking_status")));
+        view.setStartTime(rs.getTime("start_time").toLocalTime());
+        view.setEndTime(rs.getTime("end_time").toLocalTime());
+        view.setGymName(rs.getString("gym_name"));
+        view.setCity(rs.getString("city"));
+        view.setGymAddress(rs.getString("gym_address"));
+        return view;
+    }
 }
@@ -0,0 +1,169 @@
+package com.flipfit.dao.impl;
+
+import com.flipfit.bean.Booking;
+import com.flipfit.bean.BookingView;
+import com.flipfit.bean.GymSlot;
+import com.flipfit.dao.BookingDAO;
+import com.flipfit.dao.GymSlotDAO;
+import com.flipfit.enums.BookingStatus;
+import com.flipfit.utils.SeatCounterCache;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class CachingBookingDAOImpl.
+ * BookingDAOImpl with the per-gym booked seat counts served from the
+ * SeatCounterCache instead of COUNT(*) over Booking. Seats reserved by a
+ * batched insert, or released by a cancel, are written through to the cache.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName CachingBookingDAOImpl
+ */
+public class CachingBookingDAOImpl implements BookingDAO {
+
+    private final BookingDAO delegate;
+    private final GymSlotDAO slotDAO;
+
+    /**
+     * Instantiates a caching DAO backed by the JDBC implementations.
+     */
+    public CachingBookingDAOImpl() {
+        this(new BookingDAOImpl(), new CachingGymSlotDAOImpl());
+    }
+
+    /**
+     * Instantiates a caching DAO backed by the given DAOs.
+     *
+     * @param delegate the DAO that reads and writes the database
+     * @param slotDAO the DAO that lists the slots of a gym
+     */
+    public CachingBookingDAOImpl(BookingDAO delegate, GymSlotDAO slotDAO) {
+        this.delegate = delegate;
+        this.slotDAO = slotDAO;
+    }
+
+    @Override
+    public boolean insertBooking(Booking booking) {
+        return delegate.insertBooking(booking);
+    }
+
+    @Override
+    public Booking getBookingById(String bookingId) {
+        return delegate.getBookingById(bookingId);
+    }
+
+    @Override
+    public List<Booking> getBookingsByCustomer(String customerId) {
+        return delegate.getBookingsByCustomer(customerId);
+    }
+
+    @Override
+    public List<BookingView> getBookingViewsByCustomer(String customerId, LocalDate afterDate, String afterBookingId, int limit) {
+        return delegate.getBookingViewsByCustomer(customerId, afterDate, afterBookingId, limit);
+    }
+
+    @Override
+    public List<Booking> getBookingsBySlot(String slotId) {
+        return delegate.getBookingsBySlot(slotId);
+    }
+
+    @Override
+    public List<Booking> getCustomerBookingsByDate(String customerId, LocalDate date) {
+        return delegate.getCustomerBookingsByDate(customerId, date);
+    }
+
+    @Override
+    public List<Booking> checkExistingBookingsOnDate(String customerId, LocalDate date) {
+        return delegate.checkExistingBookingsOnDate(customerId, date);
+    }
+
+    @Override
+    public List<Booking> getOverlappingBookings(String customerId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        return delegate.getOverlappingBookings(customerId, date, startTime, endTime);
+    }
+
+    @Override
+    public Booking getCustomerBookingForSlot(String customerId, String slotId, LocalDate date) {
+        return delegate.getCustomerBookingForSlot(customerId, slotId, date);
+    }
+
+    @Override
+    public List<Booking> getCustomerBookingsInDateRange(String customerId, LocalDate fromDate, LocalDate toDate) {
+        return delegate.getCustomerBookingsInDateRange(customerId, fromDate, toDate);
+    }
+
+    @Override
+    public boolean[] insertBookingsWithSeats(List<Booking> bookings, Set<String> reusedBookingIds,
+                                             List<Booking> cancelledBookings, boolean allOrNothing) {
+        boolean[] saved = delegate.insertBookingsWithSeats(bookings, reusedBookingIds, cancelledBookings, allOrNothing);
+        boolean anySaved = false;
+        for (int i = 0; i < saved.length; i++) {
+            if (saved[i]) {
+                SeatCounterCache.getInstance().seatReserved(bookings.get(i).getSlotId(), bookings.get(i).getBookingDate());
+                anySaved = true;
+            }
+        }
+        // The cancels were committed with the saved bookings, or rolled back with them
+        if (anySaved) {
+            for (Booking cancelled : cancelledBookings) {
+                SeatCounterCache.getInstance().seatReleased(cancelled.getSlotId(), cancelled.getBookingDate());
+            }
+        }
+        return saved;
+    }
+
+    @Override
+    public boolean updateBookingStatus(String bookingId, BookingStatus status) {
+        return delegate.updateBookingStatus(bookingId, status);
+    }
+
+    @Override
+    public boolean deleteBooking(String bookingId) {
+        return delegate.deleteBooking(bookingId);
+    }
+
+    @Override
+    public int countBookingsByCustomer(String customerId) {
+        return delegate.countBookingsByCustomer(customerId);
+    }
+
+    @Override
+    public boolean cancelBooking(Booking booking, boolean releaseSeat) {
+        boolean cancelled = delegate.cancelBooking(booking, releaseSeat);
+        if (cancelled && releaseSeat) {
+            SeatCounterCache.getInstance().seatReleased(booking.getSlotId(), booking.getBookingDate());
+        }
+        return cancelled;
+    }
+
+    @Override
+    public int countBookingsForSlotOnDate(String slotId, LocalDate date) {
+        return delegate.countBookingsForSlotOnDate(slotId, date);
+    }
+
+    @Override
+    public Map<String, Integer> countBookingsForGymOnDate(String gymId, LocalDate date) {
+        Map<String, Integer> counts = countBookingsForGymInDateRange(gymId, date, date).get(date);
+        return counts != null ? counts : new HashMap<>();
+    }
+
+    @Override
+    public Map<LocalDate, Map<String, Integer>> countBookingsForGymInDateRange(String gymId, LocalDate fromDate, LocalDate toDate) {
+        List<String> slotIds = new ArrayList<>();
+        for (GymSlot slot : slotDAO.getSlotsByCenter(gymId)) {
+            slotIds.add(slot.getSlotId());
+        }
+        if (slotIds.isEmpty()) {
+            return delegate.countBookingsForGymInDateRange(gymId, fromDate, toDate);
+        }
+        return SeatCounterCache.getInstance().getBookedSeats(slotIds, fromDate, toDate,
+            () -> delegate.countBookingsForGymInDateRange(gymId, fromDate, toDate));
+    }
+}
@@ -0,0 +1,118 @@
+package com.flipfit.dao.impl;
+
+import com.flipfit.bean.GymCenter;
+import com.flipfit.bean.GymOwner;
+import com.flipfit.dao.GymAdminDAO;
+import com.flipfit.utils.CatalogCache;
+import com.flipfit.utils.CatalogVersions;
+import com.flipfit.utils.GymGeoIndex;
+import com.flipfit.utils.GymSearchIndex;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The Class CachingGymAdminDAOImpl.
+ * Invalidation in front of GymAdminDAOImpl.
+ * Approving or rejecting a center changes what customers see, so it
+ * invalidates the center in the shared CatalogCache, the search and geo
+ * indexes and the centers catalog version; reads go straight through.
+ *
+ * @author JEDI-BRAVO
+ */
+public class CachingGymAdminDAOImpl implements GymAdminDAO {
+
+    private final GymAdminDAO delegate;
+
+    /**
+     * Instantiates a caching DAO backed by the JDBC implementation.
+     */
+    public CachingGymAdminDAOImpl() {
+        this(new GymAdminDAOImpl());
+    }
+
+    /**
+     * Instantiates a caching DAO backed by the given DAO.
+     *
+     * @param delegate the DAO that reads and writes the database
+     */
+    public CachingGymAdminDAOImpl(GymAdminDAO delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public List<GymOwner> getPendingGymOwnerApprovals() {
+        return delegate.getPendingGymOwnerApprovals();
+    }
+
+    @Override
+    public List<GymCenter> getPendingGymCenterApprovals() {
+        return delegate.getPendingGymCenterApprovals();
+    }
+
+    @Override
+    public boolean approveGymOwner(String ownerId) {
+        return delegate.approveGymOwner(ownerId);
+    }
+
+    @Override
+    public boolean rejectGymOwner(String ownerId, String remarks) {
+        return delegate.rejectGymOwner(ownerId, remarks);
+    }
+
+    @Override
+    public boolean approveGymCenter(String gymId) {
+        boolean approved = delegate.approveGymCenter(gymId);
+        if (approved) {
+            centerChanged(gymId);
+        }
+        return approved;
+    }
+
+    @Override
+    public boolean rejectGymCenter(String gymId, String remarks) {
+        boolean rejected = delegate.rejectGymCenter(gymId, remarks);
+        // The center is updated before its registration row is written, so a
+        // failed rejection may still have changed it
+        centerChanged(gymId);
+        return rejected;
+    }
+
+    @Override
+    public List<Object> getAllUsers() {
+        return delegate.getAllUsers();
+    }
+
+    @Override
+    public List<Object> getAllBookings() {
+        return delegate.getAllBookings();
+    }
+
+    @Override
+    public List<GymCenter> getAllGymCenters() {
+        return delegate.getAllGymCenters();
+    }
+
+    @Override
+    public Map<String, Integer> getSystemStatistics() {
+        return delegate.getSystemStatistics();
+    }
+
+    @Override
+    public Map<String, Map<LocalDate, Integer>> countConfirmedBookingsByGym(LocalDate fromDate, LocalDate toDate) {
+        return delegate.countConfirmedBookingsByGym(fromDate, toDate);
+    }
+
+    @Override
+    public Map<String, Integer> getActiveSeatsByGym() {
+        return delegate.getActiveSeatsByGym();
+    }
+
+    private static void centerChanged(String gymId) {
+        CatalogCache.getInstance().invalidateCenter(gymId);
+        GymSearchIndex.getInstance().centerChanged(gymId);
+        GymGeoIndex.getInstance().centerChanged(gymId);
+        CatalogVersions.getInstance().centersChanged();
+    }
+}
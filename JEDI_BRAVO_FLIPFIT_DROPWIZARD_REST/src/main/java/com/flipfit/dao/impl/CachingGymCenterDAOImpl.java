@@ -0,0 +1,97 @@
+package com.flipfit.dao.impl;
+
+import com.flipfit.bean.GymCenter;
+import com.flipfit.dao.GymCenterDAO;
+import com.flipfit.utils.CatalogCache;
+import com.flipfit.utils.CatalogVersions;
+import com.flipfit.utils.GymGeoIndex;
+import com.flipfit.utils.GymSearchIndex;
+
+import java.util.List;
+
+/**
+ * The Class CachingGymCenterDAOImpl.
+ * Read-through cache in front of GymCenterDAOImpl.
+ * Center lookups by ID and by city are served from the shared CatalogCache;
+ * every write invalidates the affected entries.
+ *
+ * @author JEDI-BRAVO
+ */
+public class CachingGymCenterDAOImpl implements GymCenterDAO {
+
+    private final GymCenterDAO delegate;
+
+    /**
+     * Instantiates a caching DAO backed by the JDBC implementation.
+     */
+    public CachingGymCenterDAOImpl() {
+        this(new GymCenterDAOImpl());
+    }
+
+    /**
+     * Instantiates a caching DAO backed by the given DAO.
+     *
+     * @param delegate the DAO that reads and writes the database
+     */
+    public CachingGymCenterDAOImpl(GymCenterDAO delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean insertGymCenter(GymCenter center) {
+        boolean inserted = delegate.insertGymCenter(center);
+        if (inserted) {
+            CatalogCache.getInstance().invalidateCenter(center.getGymId());
+            GymSearchIndex.getInstance().centerChanged(center.getGymId());
+            GymGeoIndex.getInstance().centerChanged(center.getGymId());
+            CatalogVersions.getInstance().centersChanged();
+        }
+        return inserted;
+    }
+
+    @Override
+    public GymCenter getGymCenterById(String gymId) {
+        return CatalogCache.getInstance().getCenter(gymId, delegate::getGymCenterById);
+    }
+
+    @Override
+    public List<GymCenter> getGymCentersByOwner(String ownerId) {
+        return delegate.getGymCentersByOwner(ownerId);
+    }
+
+    @Override
+    public List<GymCenter> getGymCentersByCity(String city) {
+        return CatalogCache.getInstance().getCentersByCity(city, delegate::getGymCentersByCity);
+    }
+
+    @Override
+    public List<GymCenter> getAllGymCenters() {
+        return delegate.getAllGymCenters();
+    }
+
+    @Override
+    public boolean updateGymCenter(GymCenter center) {
+        boolean updated = delegate.updateGymCenter(center);
+        if (updated) {
+            CatalogCache.getInstance().invalidateCenter(center.getGymId());
+            GymSearchIndex.getInstance().centerChanged(center.getGymId());
+            GymGeoIndex.getInstance().centerChanged(center.getGymId());
+            CatalogVersions.getInstance().centersChanged();
+        }
+        return updated;
+    }
+
+    @Override
+    public boolean deleteGymCenter(String gymId) {
+        boolean deleted = delegate.deleteGymCenter(gymId);
+        if (deleted) {
+            CatalogCache.getInstance().invalidateCenter(gymId);
+            GymSearchIndex.getInstance().centerChanged(gymId);
+            GymGeoIndex.getInstance().centerChanged(gymId);
+            CatalogVersions.getInstance().centersChanged();
+            // The center's slots go with it
+            CatalogVersions.getInstance().slotsChanged();
+        }
+        return deleted;
+    }
+}
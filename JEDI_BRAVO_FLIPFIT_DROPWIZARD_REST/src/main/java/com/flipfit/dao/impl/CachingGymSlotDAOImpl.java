@@ -0,0 +1,168 @@
+package com.flipfit.dao.impl;
+
+import com.flipfit.bean.GymSlot;
+import com.flipfit.dao.GymSlotDAO;
+import com.flipfit.utils.CatalogCache;
+import com.flipfit.utils.CatalogVersions;
+import com.flipfit.utils.SeatCounterCache;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class CachingGymSlotDAOImpl.
+ * Read-through cache in front of GymSlotDAOImpl.
+ * Slot definitions are served from the shared CatalogCache; every write
+ * invalidates the affected entries. Booked seats per date are served from
+ * the SeatCounterCache, which every reserved and released seat updates.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName CachingGymSlotDAOImpl
+ */
+public class CachingGymSlotDAOImpl implements GymSlotDAO {
+
+    private final GymSlotDAO delegate;
+
+    /**
+     * Instantiates a caching DAO backed by the JDBC implementation.
+     */
+    public CachingGymSlotDAOImpl() {
+        this(new GymSlotDAOImpl());
+    }
+
+    /**
+     * Instantiates a caching DAO backed by the given DAO.
+     *
+     * @param delegate the DAO that reads and writes the database
+     */
+    public CachingGymSlotDAOImpl(GymSlotDAO delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean insertSlot(GymSlot slot) {
+        boolean inserted = delegate.insertSlot(slot);
+        if (inserted) {
+            CatalogCache.getInstance().invalidateSlot(slot.getSlotId(), slot.getGymId());
+            CatalogVersions.getInstance().slotsChanged();
+        }
+        return inserted;
+    }
+
+    @Override
+    public GymSlot getSlotById(String slotId) {
+        return CatalogCache.getInstance().getSlot(slotId, delegate::getSlotById);
+    }
+
+    @Override
+    public List<GymSlot> getSlotsByCenter(String gymId) {
+        return CatalogCache.getInstance().getSlotsByGym(gymId, delegate::getSlotsByCenter);
+    }
+
+    @Override
+    public NavigableMap<LocalTime, List<GymSlot>> getSlotsByStartTime(String gymId) {
+        return CatalogCache.getInstance().getSlotTimesByGym(gymId, delegate::getSlotsByCenter);
+    }
+
+    @Override
+    public boolean checkSlotAvailability(String slotId) {
+        return delegate.checkSlotAvailability(slotId);
+    }
+
+    @Override
+    public boolean updateAvailableSeats(String slotId, int seatsChange) {
+        boolean updated = delegate.updateAvailableSeats(slotId, seatsChange);
+        if (updated) {
+            CatalogCache.getInstance().invalidateSlot(slotId, gymIdOf(slotId));
+            CatalogVersions.getInstance().slotsChanged();
+        }
+        return updated;
+    }
+
+    @Override
+    public List<GymSlot> getAllAvailableSlots() {
+        return delegate.getAllAvailableSlots();
+    }
+
+    @Override
+    public List<GymSlot> getSlotsByCity(String city) {
+        return CatalogCache.getInstance().getSlotsByCity(city, delegate::getSlotsByCity);
+    }
+
+    @Override
+    public boolean deleteSlot(String slotId) {
+        String gymId = gymIdOf(slotId);
+        boolean deleted = delegate.deleteSlot(slotId);
+        if (deleted) {
+            CatalogCache.getInstance().invalidateSlot(slotId, gymId);
+            CatalogVersions.getInstance().slotsChanged();
+            SeatCounterCache.getInstance().invalidateSlot(slotId);
+        }
+        return deleted;
+    }
+
+    @Override
+    public boolean updateSlot(GymSlot slot) {
+        boolean updated = delegate.updateSlot(slot);
+        if (updated) {
+            CatalogCache.getInstance().invalidateSlot(slot.getSlotId(), slot.getGymId());
+            CatalogVersions.getInstance().slotsChanged();
+        }
+        return updated;
+    }
+
+    @Override
+    public int getSlotCapacity(String slotId) {
+        GymSlot slot = getSlotById(slotId);
+        return slot != null ? slot.getTotalSeats() : 0;
+    }
+
+    @Override
+    public int getAvailableSeats(String slotId) {
+        return delegate.getAvailableSeats(slotId);
+    }
+
+    @Override
+    public boolean reserveSeatOnDate(String slotId, LocalDate date) {
+        boolean reserved = delegate.reserveSeatOnDate(slotId, date);
+        if (reserved) {
+            SeatCounterCache.getInstance().seatReserved(slotId, date);
+        }
+        return reserved;
+    }
+
+    @Override
+    public boolean releaseSeatOnDate(String slotId, LocalDate date) {
+        boolean released = delegate.releaseSeatOnDate(slotId, date);
+        if (released) {
+            SeatCounterCache.getInstance().seatReleased(slotId, date);
+        }
+        return released;
+    }
+
+    @Override
+    public int getBookedSeatsOnDate(String slotId, LocalDate date) {
+        return SeatCounterCache.getInstance().getBookedSeats(slotId, date, delegate::getBookedSeatsOnDate);
+    }
+
+    @Override
+    public Map<LocalDate, Map<String, Integer>> getBookedSeatsOnDates(Collection<LocalDate> dates) {
+        return delegate.getBookedSeatsOnDates(dates);
+    }
+
+    /**
+     * Looks up the gym of a slot so its per-gym list can be invalidated.
+     *
+     * @param slotId the slot ID
+     * @return the gym ID, or null if unknown
+     */
+    private String gymIdOf(String slotId) {
+        GymSlot slot = getSlotById(slotId);
+        return slot != null ? slot.getGymId() : null;
+    }
+}
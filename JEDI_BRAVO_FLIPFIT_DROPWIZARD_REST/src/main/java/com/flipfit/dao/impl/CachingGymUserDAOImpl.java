@@ -0,0 +1,100 @@
+package com.flipfit.dao.impl;
+
+import com.flipfit.bean.GymUser;
+import com.flipfit.dao.GymUserDAO;
+import com.flipfit.utils.CatalogVersions;
+import com.flipfit.utils.EmailRegistry;
+
+import java.util.List;
+
+/**
+ * The Class CachingGymUserDAOImpl.
+ * GymUserDAOImpl with email existence checks answered by the shared
+ * EmailRegistry; only emails it cannot rule out are counted in the
+ * database. Inserted and updated emails are added to the registry, and
+ * user changes bump the owner list version, which embeds the users.
+ *
+ * @author JEDI-BRAVO
+ */
+public class CachingGymUserDAOImpl implements GymUserDAO {
+
+    private final GymUserDAO delegate;
+
+    /**
+     * Instantiates a caching DAO backed by the JDBC implementation.
+     */
+    public CachingGymUserDAOImpl() {
+        this(new GymUserDAOImpl());
+    }
+
+    /**
+     * Instantiates a caching DAO backed by the given DAO.
+     *
+     * @param delegate the DAO that reads and writes the database
+     */
+    public CachingGymUserDAOImpl(GymUserDAO delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean insertUser(GymUser user) {
+        boolean inserted = delegate.insertUser(user);
+        if (inserted) {
+            EmailRegistry.getInstance().add(user.getEmail());
+        }
+        return inserted;
+    }
+
+    @Override
+    public GymUser getUserById(String userId) {
+        return delegate.getUserById(userId);
+    }
+
+    @Override
+    public GymUser getUserByEmail(String email) {
+        return delegate.getUserByEmail(email);
+    }
+
+    @Override
+    public List<GymUser> getAllUsers() {
+        return delegate.getAllUsers();
+    }
+
+    @Override
+    public List<String> getAllEmails() {
+        return delegate.getAllEmails();
+    }
+
+    @Override
+    public boolean updateUser(GymUser user) {
+        boolean updated = delegate.updateUser(user);
+        if (updated) {
+            EmailRegistry.getInstance().add(user.getEmail());
+            // Gym owners are listed with their user
+            CatalogVersions.getInstance().ownersChanged();
+        }
+        return updated;
+    }
+
+    @Override
+    public boolean deleteUser(String userId) {
+        boolean deleted = delegate.deleteUser(userId);
+        if (deleted) {
+            // An owner's profile, gym centers and slots may go with the user
+            CatalogVersions.getInstance().ownersChanged();
+            CatalogVersions.getInstance().centersChanged();
+            CatalogVersions.getInstance().slotsChanged();
+        }
+        return deleted;
+    }
+
+    @Override
+    public GymUser authenticateUser(String email, String password) {
+        return delegate.authenticateUser(email, password);
+    }
+
+    @Override
+    public boolean emailExists(String email) {
+        return EmailRegistry.getInstance().exists(email, delegate::emailExists);
+    }
+}
@@ -2,11 +2,15 @@ package com.flipfit.dao.impl;
 
 import com.flipfit.bean.GymOwner;
 import com.flipfit.bean.GymCenter;
+import com.flipfit.constant.SQLConstants;
 import com.flipfit.dao.GymAdminDAO;
 import com.flipfit.dao.GymOwnerDAO;
-import com.flipfit.constants.DatabaseConstants;
+import com.flipfit.utils.DBConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.sql.*;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -18,6 +22,8 @@ import java.util.Map;
  */
 public class GymAdminDAOImpl implements GymAdminDAO {
     
+    private static final Logger LOG = LoggerFactory.getLogger(GymAdminDAOImpl.class);
+    
     private GymOwnerDAO gymOwnerDAO;
     
     public GymAdminDAOImpl() {
@@ -25,14 +31,10 @@ public class GymAdminDAOImpl implements GymAdminDAO {
     }
     
     /**
-     * Get database connection
+     * Get database connection from the shared connection pool
      */
     private Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(
-            DatabaseConstants.DB_URL,
-            DatabaseConstants.DB_USER,
-            DatabaseConstants.DB_PASSWORD
-        );
+        return DBConnection.getConnection();
     }
     
     @Override
@@ -54,7 +56,7 @@ public class GymAdminDAOImpl implements GymAdminDAO {
             }
             
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error getting pending gym centers", e);
         }
         return centers;
     }
@@ -79,7 +81,7 @@ public class GymAdminDAOImpl implements GymAdminDAO {
             return rowsAffected > 0;
             
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error rejecting gym owner", e);
             return false;
         }
     }
@@ -97,7 +99,7 @@ public class GymAdminDAOImpl implements GymAdminDAO {
             return rowsAffected > 0;
             
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error approving gym center", e);
             return false;
         }
     }
@@ -127,7 +129,7 @@ public class GymAdminDAOImpl implements GymAdminDAO {
             return rowsAffected > 0;
             
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error rejecting gym center", e);
             return false;
         }
     }
@@ -146,7 +148,7 @@ public class GymAdminDAOImpl implements GymAdminDAO {
             }
             
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error getting all users", e);
         }
         return users;
     }
@@ -165,7 +167,7 @@ public class GymAdminDAOImpl implements GymAdminDAO {
             }
             
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error getting all bookings", e);
         }
         return bookings;
     }
@@ -184,7 +186,7 @@ public class GymAdminDAOImpl implements GymAdminDAO {
             }
             
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error getting all gym centers", e);
         }
         return centers;
     }
@@ -193,57 +195,58 @@ public class GymAdminDAOImpl implements GymAdminDAO {
     public Map<String, Integer> getSystemStatistics() {
         Map<String, Integer> stats = new HashMap<>();
         
-        try (Connection conn = getConnection()) {
-            // Get total users
-            String sql = "SELECT COUNT(*) as count FROM User";
-            try (PreparedStatement pstmt = conn.prepareStatement(sql);
-                 ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    stats.put("total_users", rs.getInt("count"));
-                }
-            }
-            
-            // Get total gym owners
-            sql = "SELECT COUNT(*) as count FROM GymOwner";
-            try (PreparedStatement pstmt = conn.prepareStatement(sql);
-                 ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    stats.put("total_gym_owners", rs.getInt("count"));
-                }
-            }
-            
-            // Get total customers
-            sql = "SELECT COUNT(*) as count FROM GymCustomer";
-            try (PreparedStatement pstmt = conn.prepareStatement(sql);
-                 ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    stats.put("total_customers", rs.getInt("count"));
-                }
-            }
-            
-            // Get total bookings
-            sql = "SELECT COUNT(*) as count FROM Booking";
-            try (PreparedStatement pstmt = conn.prepareStatement(sql);
-                 ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    stats.put("total_bookings", rs.getInt("count"));
-                }
+        // All five totals in one round trip
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQLConstants.SELECT_SYSTEM_STATISTICS);
+             ResultSet rs = pstmt.executeQuery()) {
+            if (rs.next()) {
+                stats.put("total_users", rs.getInt("total_users"));
+                stats.put("total_gym_owners", rs.getInt("total_gym_owners"));
+                stats.put("total_customers", rs.getInt("total_customers"));
+                stats.put("total_bookings", rs.getInt("total_bookings"));
+                stats.put("total_gym_centers", rs.getInt("total_gym_centers"));
             }
-            
-            // Get total gym centers
-            sql = "SELECT COUNT(*) as count FROM GymCenter";
-            try (PreparedStatement pstmt = conn.prepareStatement(sql);
-                 ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    stats.put("total_gym_centers", rs.getInt("count"));
+        } catch (SQLException e) {
+            LOG.error("Error getting system statistics", e);
+        }
+        
+        return stats;
+    }
+    
+    @Override
+    public Map<String, Map<LocalDate, Integer>> countConfirmedBookingsByGym(LocalDate fromDate, LocalDate toDate) {
+        Map<String, Map<LocalDate, Integer>> counts = new HashMap<>();
+        
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQLConstants.COUNT_CONFIRMED_BOOKINGS_BY_GYM_AND_DATE)) {
+            pstmt.setDate(1, Date.valueOf(fromDate));
+            pstmt.setDate(2, Date.valueOf(toDate));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    counts.computeIfAbsent(rs.getString("gym_id"), gymId -> new HashMap<>())
+                        .put(rs.getDate("booking_date").toLocalDate(), rs.getInt("count"));
                 }
             }
-            
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error counting confirmed bookings by gym from {} to {}", fromDate, toDate, e);
         }
+        return counts;
+    }
+    
+    @Override
+    public Map<String, Integer> getActiveSeatsByGym() {
+        Map<String, Integer> seats = new HashMap<>();
         
-        return stats;
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQLConstants.SUM_ACTIVE_SEATS_BY_GYM);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                seats.put(rs.getString("gym_id"), rs.getInt("seats"));
+            }
+        } catch (SQLException e) {
+            LOG.error("Error summing active seats by gym", e);
+        }
+        return seats;
     }
     
     /**
@@ -261,6 +264,8 @@ public class GymAdminDAOImpl implements GymAdminDAO {
         center.setPhoneNumber(rs.getString("phone_number"));
         center.setEmail(rs.getString("email"));
         center.setTotalSlots(rs.getInt("total_slots"));
+        center.setLatitude(rs.getObject("latitude") != null ? rs.getDouble("latitude") : null);
+        center.setLongitude(rs.getObject("longitude") != null ? rs.getDouble("longitude") : null);
         center.setApproved(rs.getBoolean("is_approved"));
         center.setApprovalDate(rs.getTimestamp("approval_date"));
         center.setCreatedAt(rs.getTimestamp("created_at"));
@@ -4,6 +4,8 @@ import com.flipfit.bean.GymCenter;
 import com.flipfit.dao.GymCenterDAO;
 import com.flipfit.utils.DBConnection;
 import com.flipfit.constant.SQLConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -18,6 +20,8 @@ import java.util.List;
  */
 public class GymCenterDAOImpl implements GymCenterDAO {
 
+    private static final Logger LOG = LoggerFactory.getLogger(GymCenterDAOImpl.class);
+
     /**
      * Insert a new gym center.
      *
@@ -40,10 +44,12 @@ public class GymCenterDAOImpl implements GymCenterDAO {
             pstmt.setString(9, center.getEmail());
             pstmt.setInt(10, center.getTotalSlots());
             pstmt.setBoolean(11, center.isApproved());
+            pstmt.setObject(12, center.getLatitude(), Types.DOUBLE);
+            pstmt.setObject(13, center.getLongitude(), Types.DOUBLE);
             
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
-            System.err.println("Error inserting gym center: " + e.getMessage());
+            LOG.error("Error inserting gym center", e);
             return false;
         }
     }
@@ -67,7 +73,7 @@ public class GymCenterDAOImpl implements GymCenterDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error getting gym center by ID: " + e.getMessage());
+            LOG.error("Error getting gym center by ID", e);
         }
         return null;
     }
@@ -93,7 +99,7 @@ public class GymCenterDAOImpl implements GymCenterDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error getting gym centers by owner: " + e.getMessage());
+            LOG.error("Error getting gym centers by owner", e);
         }
         return centers;
     }
@@ -119,7 +125,7 @@ public class GymCenterDAOImpl implements GymCenterDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error getting gym centers by city: " + e.getMessage());
+            LOG.error("Error getting gym centers by city", e);
         }
         return centers;
     }
@@ -142,7 +148,7 @@ public class GymCenterDAOImpl implements GymCenterDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error getting all gym centers: " + e.getMessage());
+            LOG.error("Error getting all gym centers", e);
         }
         return centers;
     }
@@ -166,11 +172,13 @@ public class GymCenterDAOImpl implements GymCenterDAO {
             pstmt.setString(6, center.getPhoneNumber());
             pstmt.setString(7, center.getEmail());
             pstmt.setInt(8, center.getTotalSlots());
-            pstmt.setString(9, center.getGymId());
+            pstmt.setObject(9, center.getLatitude(), Types.DOUBLE);
+            pstmt.setObject(10, center.getLongitude(), Types.DOUBLE);
+            pstmt.setString(11, center.getGymId());
             
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
-            System.err.println("Error updating gym center: " + e.getMessage());
+            LOG.error("Error updating gym center", e);
             return false;
         }
     }
@@ -189,7 +197,7 @@ public class GymCenterDAOImpl implements GymCenterDAO {
             pstmt.setString(1, gymId);
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
-            System.err.println("Error deleting gym center: " + e.getMessage());
+            LOG.error("Error deleting gym center", e);
             return false;
         }
     }
@@ -213,6 +221,8 @@ public class GymCenterDAOImpl implements GymCenterDAO {
         center.setPhoneNumber(rs.getString("phone_number"));
         center.setEmail(rs.getString("email"));
         center.setTotalSlots(rs.getInt("total_slots"));
+        center.setLatitude(rs.getObject("latitude") != null ? rs.getDouble("latitude") : null);
+        center.setLongitude(rs.getObject("longitude") != null ? rs.getDouble("longitude") : null);
         center.setApproved(rs.getBoolean("is_approved"));
         center.setApprovalDate(rs.getTimestamp("approval_date"));
         center.setCreatedAt(rs.getTimestamp("created_at"));
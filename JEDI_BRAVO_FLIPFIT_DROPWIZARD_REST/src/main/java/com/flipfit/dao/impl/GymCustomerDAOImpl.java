@@ -3,7 +3,10 @@ package com.flipfit.dao.impl;
 import com.flipfit.bean.GymUser;
 import com.flipfit.dao.GymCustomerDAO;
 import com.flipfit.dao.GymUserDAO;
-import com.flipfit.constants.DatabaseConstants;
+import com.flipfit.utils.CustomerIdentityCache;
+import com.flipfit.utils.DBConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -16,6 +19,8 @@ import java.util.List;
  */
 public class GymCustomerDAOImpl implements GymCustomerDAO {
     
+    private static final Logger LOG = LoggerFactory.getLogger(GymCustomerDAOImpl.class);
+    
     private GymUserDAO gymUserDAO;
     
     public GymCustomerDAOImpl() {
@@ -23,14 +28,10 @@ public class GymCustomerDAOImpl implements GymCustomerDAO {
     }
     
     /**
-     * Get database connection
+     * Get database connection from the shared connection pool
      */
     private Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(
-            DatabaseConstants.DB_URL,
-            DatabaseConstants.DB_USER,
-            DatabaseConstants.DB_PASSWORD
-        );
+        return DBConnection.getConnection();
     }
     
     @Override
@@ -51,7 +52,7 @@ public class GymCustomerDAOImpl implements GymCustomerDAO {
             return rowsAffected > 0;
             
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error inserting customer", e);
             return false;
         }
     }
@@ -72,7 +73,7 @@ public class GymCustomerDAOImpl implements GymCustomerDAO {
             }
             
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error getting customer by ID", e);
         }
         return null;
     }
@@ -92,7 +93,7 @@ public class GymCustomerDAOImpl implements GymCustomerDAO {
             }
             
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error getting customer by user ID", e);
         }
         return null;
     }
@@ -115,7 +116,7 @@ public class GymCustomerDAOImpl implements GymCustomerDAO {
             }
             
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error getting all customers", e);
         }
         return customers;
     }
@@ -136,7 +137,7 @@ public class GymCustomerDAOImpl implements GymCustomerDAO {
             return rowsAffected > 0;
             
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error updating customer", e);
             return false;
         }
     }
@@ -159,7 +160,7 @@ public class GymCustomerDAOImpl implements GymCustomerDAO {
             return rowsAffected > 0;
             
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error updating membership", e);
             return false;
         }
     }
@@ -173,10 +174,13 @@ public class GymCustomerDAOImpl implements GymCustomerDAO {
             
             pstmt.setString(1, customerId);
             int rowsAffected = pstmt.executeUpdate();
+            if (rowsAffected > 0) {
+                CustomerIdentityCache.getInstance().evictCustomer(customerId);
+            }
             return rowsAffected > 0;
             
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error deleting customer", e);
             return false;
         }
     }
@@ -196,8 +200,48 @@ public class GymCustomerDAOImpl implements GymCustomerDAO {
             }
             
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error counting customer bookings", e);
         }
         return 0;
     }
+    
+    @Override
+    public String getUserIdByCustomerId(String customerId) {
+        String sql = "SELECT user_id FROM GymCustomer WHERE customer_id = ?";
+        
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, customerId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getString("user_id");
+                }
+            }
+            
+        } catch (SQLException e) {
+            LOG.error("Error getting user ID of customer", e);
+        }
+        return null;
+    }
+    
+    @Override
+    public String getCustomerIdByUserId(String userId) {
+        String sql = "SELECT customer_id FROM GymCustomer WHERE user_id = ?";
+        
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, userId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getString("customer_id");
+                }
+            }
+            
+        } catch (SQLException e) {
+            LOG.error("Error getting customer ID of user", e);
+        }
+        return null;
+    }
 }
@@ -4,7 +4,10 @@ import com.flipfit.bean.GymOwner;
 import com.flipfit.bean.GymUser;
 import com.flipfit.dao.GymOwnerDAO;
 import com.flipfit.dao.GymUserDAO;
-import com.flipfit.constants.DatabaseConstants;
+import com.flipfit.utils.CatalogVersions;
+import com.flipfit.utils.DBConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -16,6 +19,8 @@ import java.util.List;
  */
 public class GymOwnerDAOImpl implements GymOwnerDAO {
     
+    private static final Logger LOG = LoggerFactory.getLogger(GymOwnerDAOImpl.class);
+    
     private GymUserDAO gymUserDAO;
     
     public GymOwnerDAOImpl() {
@@ -23,14 +28,10 @@ public class GymOwnerDAOImpl implements GymOwnerDAO {
     }
     
     /**
-     * Get database connection
+     * Get database connection from the shared connection pool
      */
     private Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(
-            DatabaseConstants.DB_URL,
-            DatabaseConstants.DB_USER,
-            DatabaseConstants.DB_PASSWORD
-        );
+        return DBConnection.getConnection();
     }
     
     @Override
@@ -49,10 +50,13 @@ public class GymOwnerDAOImpl implements GymOwnerDAO {
             pstmt.setString(5, gstNumber);
             
             int rowsAffected = pstmt.executeUpdate();
+            if (rowsAffected > 0) {
+                CatalogVersions.getInstance().ownersChanged();
+            }
             return rowsAffected > 0;
             
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error inserting gym owner", e);
             return false;
         }
     }
@@ -72,7 +76,7 @@ public class GymOwnerDAOImpl implements GymOwnerDAO {
             }
             
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error getting gym owner by ID", e);
         }
         return null;
     }
@@ -92,7 +96,7 @@ public class GymOwnerDAOImpl implements GymOwnerDAO {
             }
             
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error getting gym owner by user ID", e);
         }
         return null;
     }
@@ -111,7 +115,7 @@ public class GymOwnerDAOImpl implements GymOwnerDAO {
             }
             
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error getting all gym owners", e);
         }
         return owners;
     }
@@ -130,7 +134,7 @@ public class GymOwnerDAOImpl implements GymOwnerDAO {
             }
             
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error getting pending gym owners", e);
         }
         return owners;
     }
@@ -145,10 +149,13 @@ public class GymOwnerDAOImpl implements GymOwnerDAO {
             
             pstmt.setString(1, ownerId);
             int rowsAffected = pstmt.executeUpdate();
+            if (rowsAffected > 0) {
+                CatalogVersions.getInstance().ownersChanged();
+            }
             return rowsAffected > 0;
             
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error approving gym owner", e);
             return false;
         }
     }
@@ -168,10 +175,13 @@ public class GymOwnerDAOImpl implements GymOwnerDAO {
             pstmt.setString(4, ownerId);
             
             int rowsAffected = pstmt.executeUpdate();
+            if (rowsAffected > 0) {
+                CatalogVersions.getInstance().ownersChanged();
+            }
             return rowsAffected > 0;
             
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error updating gym owner", e);
             return false;
         }
     }
@@ -185,10 +195,16 @@ public class GymOwnerDAOImpl implements GymOwnerDAO {
             
             pstmt.setString(1, ownerId);
             int rowsAffected = pstmt.executeUpdate();
+            if (rowsAffected > 0) {
+                CatalogVersions.getInstance().ownersChanged();
+                // Their gym centers and slots are deleted with them
+                CatalogVersions.getInstance().centersChanged();
+                CatalogVersions.getInstance().slotsChanged();
+            }
             return rowsAffected > 0;
             
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.error("Error deleting gym owner", e);
             return false;
         }
     }
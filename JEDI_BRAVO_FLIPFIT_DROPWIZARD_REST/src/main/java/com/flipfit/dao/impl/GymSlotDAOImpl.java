@@ -3,13 +3,21 @@ package com.flipfit.dao.impl;
 import com.flipfit.bean.GymSlot;
 import com.flipfit.dao.GymSlotDAO;
 import com.flipfit.utils.DBConnection;
+import com.flipfit.utils.SlotTimeIndex;
 import com.flipfit.constant.SQLConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.sql.*;
+import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 
 // TODO: Auto-generated Javadoc
 /**
@@ -22,6 +30,8 @@ import java.util.List;
  */
 public class GymSlotDAOImpl implements GymSlotDAO {
 
+    private static final Logger LOG = LoggerFactory.getLogger(GymSlotDAOImpl.class);
+
     /**
      * Insert a new gym slot.
      *
@@ -44,7 +54,7 @@ public class GymSlotDAOImpl implements GymSlotDAO {
             
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
-            System.err.println("Error inserting slot: " + e.getMessage());
+            LOG.error("Error inserting slot", e);
             return false;
         }
     }
@@ -68,7 +78,7 @@ public class GymSlotDAOImpl implements GymSlotDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error getting slot by ID: " + e.getMessage());
+            LOG.error("Error getting slot by ID", e);
         }
         return null;
     }
@@ -94,11 +104,22 @@ public class GymSlotDAOImpl implements GymSlotDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error getting slots by gym: " + e.getMessage());
+            LOG.error("Error getting slots by gym", e);
         }
         return slots;
     }
 
+    /**
+     * Get the active slots of a gym indexed by start time.
+     *
+     * @param gymId the gym ID
+     * @return read-only map from start time to the slots starting then
+     */
+    @Override
+    public NavigableMap<LocalTime, List<GymSlot>> getSlotsByStartTime(String gymId) {
+        return SlotTimeIndex.of(getSlotsByCenter(gymId));
+    }
+
     /**
      * Get available slots for a gym.
      *
@@ -119,7 +140,7 @@ public class GymSlotDAOImpl implements GymSlotDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error getting available slots: " + e.getMessage());
+            LOG.error("Error getting available slots", e);
         }
         return slots;
     }
@@ -148,7 +169,7 @@ public class GymSlotDAOImpl implements GymSlotDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error getting slots by time range: " + e.getMessage());
+            LOG.error("Error getting slots by time range", e);
         }
         return slots;
     }
@@ -172,7 +193,7 @@ public class GymSlotDAOImpl implements GymSlotDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error checking slot availability: " + e.getMessage());
+            LOG.error("Error checking slot availability", e);
         }
         return false;
     }
@@ -194,7 +215,7 @@ public class GymSlotDAOImpl implements GymSlotDAO {
             
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
-            System.err.println("Error updating available seats: " + e.getMessage());
+            LOG.error("Error updating available seats", e);
             return false;
         }
     }
@@ -216,7 +237,7 @@ public class GymSlotDAOImpl implements GymSlotDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error getting all available slots: " + e.getMessage());
+            LOG.error("Error getting all available slots", e);
         }
         return slots;
     }
@@ -241,7 +262,7 @@ public class GymSlotDAOImpl implements GymSlotDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error getting slots by city: " + e.getMessage());
+            LOG.error("Error getting slots by city", e);
         }
         return slots;
     }
@@ -260,7 +281,7 @@ public class GymSlotDAOImpl implements GymSlotDAO {
             pstmt.setString(1, slotId);
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
-            System.err.println("Error deleting slot: " + e.getMessage());
+            LOG.error("Error deleting slot", e);
             return false;
         }
     }
@@ -284,9 +305,18 @@ public class GymSlotDAOImpl implements GymSlotDAO {
             pstmt.setBoolean(6, slot.isActive());
             pstmt.setString(7, slot.getSlotId());
             
-            return pstmt.executeUpdate() > 0;
+            boolean updated = pstmt.executeUpdate() > 0;
+            if (updated) {
+                // Keep per-date inventory for today and later in line with the new capacity
+                try (PreparedStatement capacityStmt = conn.prepareStatement(SQLConstants.UPDATE_SLOT_DATE_CAPACITY)) {
+                    capacityStmt.setInt(1, slot.getTotalSeats());
+                    capacityStmt.setString(2, slot.getSlotId());
+                    capacityStmt.executeUpdate();
+                }
+            }
+            return updated;
         } catch (SQLException e) {
-            System.err.println("Error updating slot: " + e.getMessage());
+            LOG.error("Error updating slot", e);
             return false;
         }
     }
@@ -310,7 +340,7 @@ public class GymSlotDAOImpl implements GymSlotDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error getting slot capacity: " + e.getMessage());
+            LOG.error("Error getting slot capacity", e);
         }
         return 0;
     }
@@ -334,11 +364,151 @@ public class GymSlotDAOImpl implements GymSlotDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error getting available seats: " + e.getMessage());
+            LOG.error("Error getting available seats", e);
+        }
+        return 0;
+    }
+
+    /**
+     * Atomically reserve one seat in a slot on a specific date.
+     *
+     * @param slotId the slot ID
+     * @param date the booking date
+     * @return true if a seat was reserved, false if the slot is full on that date
+     */
+    @Override
+    public boolean reserveSeatOnDate(String slotId, LocalDate date) {
+        try (Connection conn = DBConnection.getConnection()) {
+            ensureInventoryRow(conn, slotId, date);
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(SQLConstants.RESERVE_SLOT_DATE_SEAT)) {
+                pstmt.setString(1, slotId);
+                pstmt.setDate(2, java.sql.Date.valueOf(date));
+                // Exactly one row changes only if booked was still below capacity
+                return pstmt.executeUpdate() == 1;
+            }
+        } catch (SQLException e) {
+            LOG.error("Error reserving seat for slot {} on {}", slotId, date, e);
+            return false;
+        }
+    }
+
+    /**
+     * Release one previously reserved seat in a slot on a specific date.
+     *
+     * @param slotId the slot ID
+     * @param date the booking date
+     * @return true if a seat was released, false otherwise
+     */
+    @Override
+    public boolean releaseSeatOnDate(String slotId, LocalDate date) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQLConstants.RELEASE_SLOT_DATE_SEAT)) {
+            
+            pstmt.setString(1, slotId);
+            pstmt.setDate(2, java.sql.Date.valueOf(date));
+            return pstmt.executeUpdate() == 1;
+        } catch (SQLException e) {
+            LOG.error("Error releasing seat for slot {} on {}", slotId, date, e);
+            return false;
+        }
+    }
+
+    /**
+     * Get the number of reserved seats in a slot on a specific date.
+     *
+     * @param slotId the slot ID
+     * @param date the booking date
+     * @return the number of reserved seats
+     */
+    @Override
+    public int getBookedSeatsOnDate(String slotId, LocalDate date) {
+        try (Connection conn = DBConnection.getConnection()) {
+            Integer booked = selectBookedSeats(conn, slotId, date);
+            if (booked == null) {
+                // First look at this slot-date: seed the row from existing bookings
+                ensureInventoryRow(conn, slotId, date);
+                booked = selectBookedSeats(conn, slotId, date);
+            }
+            return booked != null ? booked : 0;
+        } catch (SQLException e) {
+            LOG.error("Error getting booked seats for slot {} on {}", slotId, date, e);
         }
         return 0;
     }
 
+    /**
+     * Get the reserved seats of the slot-date inventory rows of the given dates,
+     * one indexed lookup per date on a single connection.
+     *
+     * @param dates the dates to read
+     * @return reserved seats by date, then by slot ID
+     */
+    @Override
+    public Map<LocalDate, Map<String, Integer>> getBookedSeatsOnDates(Collection<LocalDate> dates) {
+        Map<LocalDate, Map<String, Integer>> booked = new HashMap<>();
+        if (dates.isEmpty()) {
+            return booked;
+        }
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQLConstants.SELECT_SLOT_DATE_BOOKED_ON_DATE)) {
+            
+            for (LocalDate date : dates) {
+                pstmt.setDate(1, java.sql.Date.valueOf(date));
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        booked.computeIfAbsent(date, d -> new HashMap<>()).put(rs.getString("slot_id"), rs.getInt("booked"));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            LOG.error("Error getting booked seats on {} dates", dates.size(), e);
+        }
+        return booked;
+    }
+
+    /**
+     * Creates the inventory row for a slot-date if it does not exist yet.
+     * Concurrent callers are safe: the primary key lets only one insert win.
+     *
+     * @param conn the connection
+     * @param slotId the slot ID
+     * @param date the booking date
+     * @throws SQLException the SQL exception
+     */
+    private void ensureInventoryRow(Connection conn, String slotId, LocalDate date) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(SQLConstants.INSERT_SLOT_DATE_INVENTORY_IF_ABSENT)) {
+            pstmt.setDate(1, java.sql.Date.valueOf(date));
+            pstmt.setDate(2, java.sql.Date.valueOf(date));
+            pstmt.setString(3, slotId);
+            pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Reads the booked seats of a slot-date inventory row.
+     *
+     * @param conn the connection
+     * @param slotId the slot ID
+     * @param date the booking date
+     * @return the booked seats, or null if no row exists
+     * @throws SQLException the SQL exception
+     */
+    private Integer selectBookedSeats(Connection conn, String slotId, LocalDate date) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(SQLConstants.SELECT_SLOT_DATE_BOOKED)) {
+            pstmt.setString(1, slotId);
+            pstmt.setDate(2, java.sql.Date.valueOf(date));
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt("booked");
+                }
+            }
+        }
+        return null;
+    }
+
     /**
      * Helper method to map ResultSet to GymSlot object.
      *
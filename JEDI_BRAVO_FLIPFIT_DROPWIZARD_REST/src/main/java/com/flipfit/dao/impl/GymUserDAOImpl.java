@@ -6,6 +6,8 @@ import com.flipfit.enums.Role;
 import com.flipfit.utils.DBConnection;
 import com.flipfit.constant.SQLConstants;
 import com.flipfit.exception.UserNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -22,6 +24,8 @@ import java.util.List;
  */
 public class GymUserDAOImpl implements GymUserDAO {
     
+    private static final Logger LOG = LoggerFactory.getLogger(GymUserDAOImpl.class);
+    
     /**
      * Insert user.
      *
@@ -45,7 +49,7 @@ public class GymUserDAOImpl implements GymUserDAO {
             return rowsAffected > 0;
             
         } catch (SQLException e) {
-            System.err.println("Error inserting user: " + e.getMessage());
+            LOG.error("Error inserting user", e);
             return false;
         }
     }
@@ -70,7 +74,7 @@ public class GymUserDAOImpl implements GymUserDAO {
             }
             
         } catch (SQLException e) {
-            System.err.println("Error fetching user by ID: " + e.getMessage());
+            LOG.error("Error fetching user by ID", e);
         }
         return null;
     }
@@ -95,7 +99,7 @@ public class GymUserDAOImpl implements GymUserDAO {
             }
             
         } catch (SQLException e) {
-            System.err.println("Error fetching user by email: " + e.getMessage());
+            LOG.error("Error fetching user by email", e);
         }
         return null;
     }
@@ -118,11 +122,34 @@ public class GymUserDAOImpl implements GymUserDAO {
             }
             
         } catch (SQLException e) {
-            System.err.println("Error fetching all users: " + e.getMessage());
+            LOG.error("Error fetching all users", e);
         }
         return users;
     }
     
+    /**
+     * Gets all user emails.
+     *
+     * @return the list of all user emails
+     */
+    @Override
+    public List<String> getAllEmails() {
+        List<String> emails = new ArrayList<>();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQLConstants.SELECT_ALL_USER_EMAILS);
+             ResultSet rs = pstmt.executeQuery()) {
+            
+            while (rs.next()) {
+                emails.add(rs.getString("email"));
+            }
+            
+        } catch (SQLException e) {
+            LOG.error("Error fetching all user emails", e);
+        }
+        return emails;
+    }
+    
     /**
      * Update user.
      *
@@ -145,7 +172,7 @@ public class GymUserDAOImpl implements GymUserDAO {
             return rowsAffected > 0;
             
         } catch (SQLException e) {
-            System.err.println("Error updating user: " + e.getMessage());
+            LOG.error("Error updating user", e);
             return false;
         }
     }
@@ -171,10 +198,10 @@ public class GymUserDAOImpl implements GymUserDAO {
             return true;
             
         } catch (SQLException e) {
-            System.err.println("Error deleting user: " + e.getMessage());
+            LOG.error("Error deleting user", e);
             return false;
         } catch (UserNotFoundException e) {
-            System.err.println(e.getMessage());
+            LOG.debug(e.getMessage());
             return false;
         }
     }
@@ -200,7 +227,7 @@ public class GymUserDAOImpl implements GymUserDAO {
             }
             
         } catch (SQLException e) {
-            System.err.println("Error authenticating user: " + e.getMessage());
+            LOG.error("Error authenticating user", e);
         }
         return null;
     }
@@ -224,7 +251,7 @@ public class GymUserDAOImpl implements GymUserDAO {
             }
             
         } catch (SQLException e) {
-            System.err.println("Error checking email existence: " + e.getMessage());
+            LOG.error("Error checking email existence", e);
         }
         return false;
     }
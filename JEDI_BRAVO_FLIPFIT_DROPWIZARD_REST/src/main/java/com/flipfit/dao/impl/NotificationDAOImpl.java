@@ -4,19 +4,28 @@ import com.flipfit.bean.Notification;
 import com.flipfit.dao.NotificationDAO;
 import com.flipfit.utils.DBConnection;
 import com.flipfit.constant.SQLConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * The Class NotificationDAOImpl.
  * Implementation of NotificationDAO interface
  * Handles all database operations for notifications
+ * Every write that changes how many unread notifications a user has also
+ * updates notification_unread_count in the same transaction, so the unread
+ * count is a primary key lookup.
  * 
  * @author JEDI-BRAVO
  */
 public class NotificationDAOImpl implements NotificationDAO {
     
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationDAOImpl.class);
+    
     /**
      * Insert a new notification.
      *
@@ -25,20 +34,58 @@ public class NotificationDAOImpl implements NotificationDAO {
      */
     @Override
     public boolean insertNotification(Notification notification) {
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(SQLConstants.INSERT_NOTIFICATION)) {
-            
-            pstmt.setString(1, notification.getNotificationId());
-            pstmt.setString(2, notification.getUserId());
-            pstmt.setString(3, notification.getTitle());
-            pstmt.setString(4, notification.getMessage());
-            pstmt.setString(5, notification.getNotificationType());
-            pstmt.setBoolean(6, notification.isRead());
-            
-            return pstmt.executeUpdate() > 0;
+        List<Notification> notifications = new ArrayList<>();
+        notifications.add(notification);
+        return insertNotifications(notifications) > 0;
+    }
+    
+    /**
+     * Insert several notifications with a single JDBC batch in one transaction.
+     *
+     * @param notifications the notifications to insert
+     * @return the number of notifications inserted; 0 if the batch was rolled back
+     */
+    @Override
+    public int insertNotifications(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+        
+        try (Connection conn = DBConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(SQLConstants.INSERT_NOTIFICATION)) {
+                for (Notification notification : notifications) {
+                    pstmt.setString(1, notification.getNotificationId());
+                    pstmt.setString(2, notification.getUserId());
+                    pstmt.setString(3, notification.getTitle());
+                    pstmt.setString(4, notification.getMessage());
+                    pstmt.setString(5, notification.getNotificationType());
+                    pstmt.setBoolean(6, notification.isRead());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                
+                // Counter rows are updated in user ID order so concurrent batches cannot deadlock
+                Map<String, Integer> unreadByUser = new TreeMap<>();
+                for (Notification notification : notifications) {
+                    if (!notification.isRead()) {
+                        unreadByUser.merge(notification.getUserId(), 1, Integer::sum);
+                    }
+                }
+                addUnread(conn, unreadByUser);
+                conn.commit();
+                return notifications.size();
+            } catch (SQLException e) {
+                conn.rollback();
+                LOG.warn("Error inserting notification batch of {}: {}", notifications.size(), e.getMessage());
+                return 0;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
         } catch (SQLException e) {
-            System.err.println("Error inserting notification: " + e.getMessage());
-            return false;
+            LOG.error("Error inserting notification batch", e);
+            return 0;
         }
     }
     
@@ -63,7 +110,7 @@ public class NotificationDAOImpl implements NotificationDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error getting notifications: " + e.getMessage());
+            LOG.error("Error getting notifications", e);
         }
         return notifications;
     }
@@ -89,49 +136,171 @@ public class NotificationDAOImpl implements NotificationDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error getting unread notifications: " + e.getMessage());
+            LOG.error("Error getting unread notifications", e);
         }
         return notifications;
     }
     
     /**
-     * Mark a notification as read.
+     * Get one page of a user's read or unread notifications, newest first.
      *
-     * @param notificationId the notification ID
-     * @return true if update successful, false otherwise
+     * @param userId the user ID
+     * @param read whether to page through read or unread notifications
+     * @param afterCreatedAt the creation time of the last notification already shown, or null
+     * @param afterNotificationId the ID of the last notification already shown, or null
+     * @param limit the page size
+     * @return list of notifications, newest first
      */
     @Override
-    public boolean markAsRead(String notificationId) {
+    public List<Notification> getNotificationPage(String userId, boolean read, Timestamp afterCreatedAt,
+                                                  String afterNotificationId, int limit) {
+        List<Notification> notifications = new ArrayList<>();
+        boolean firstPage = afterCreatedAt == null || afterNotificationId == null;
+        String sql = firstPage ? SQLConstants.SELECT_NOTIFICATION_PAGE : SQLConstants.SELECT_NOTIFICATION_PAGE_AFTER;
+        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(SQLConstants.MARK_NOTIFICATION_READ)) {
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            pstmt.setString(1, notificationId);
-            return pstmt.executeUpdate() > 0;
+            int index = 1;
+            pstmt.setString(index++, userId);
+            pstmt.setBoolean(index++, read);
+            if (!firstPage) {
+                pstmt.setTimestamp(index++, afterCreatedAt);
+                pstmt.setTimestamp(index++, afterCreatedAt);
+                pstmt.setString(index++, afterNotificationId);
+            }
+            pstmt.setInt(index, limit);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    notifications.add(mapResultSetToNotification(rs));
+                }
+            }
         } catch (SQLException e) {
-            System.err.println("Error marking notification as read: " + e.getMessage());
-            return false;
+            LOG.error("Error getting notification page", e);
         }
+        return notifications;
     }
     
     /**
-     * Mark all notifications as read for a user.
+     * Get the number of unread notifications of a user from the maintained counter.
      *
      * @param userId the user ID
-     * @return true if update successful, false otherwise
+     * @return the unread count
      */
     @Override
-    public boolean markAllAsRead(String userId) {
+    public int countUnread(String userId) {
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(SQLConstants.MARK_ALL_NOTIFICATIONS_READ)) {
+             PreparedStatement pstmt = conn.prepareStatement(SQLConstants.SELECT_UNREAD_NOTIFICATION_COUNT)) {
             
             pstmt.setString(1, userId);
-            return pstmt.executeUpdate() > 0;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
         } catch (SQLException e) {
-            System.err.println("Error marking all notifications as read: " + e.getMessage());
+            LOG.error("Error counting unread notifications", e);
+            return 0;
+        }
+    }
+    
+    /**
+     * Mark a notification as read.
+     *
+     * @param notificationId the notification ID
+     * @return true if the notification was unread, false otherwise
+     */
+    @Override
+    public boolean markAsRead(String notificationId) {
+        try (Connection conn = DBConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                boolean marked = markReadWithCount(conn, notificationId);
+                conn.commit();
+                return marked;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            LOG.error("Error marking notification as read", e);
             return false;
         }
     }
     
+    /**
+     * Mark several of a user's notifications as read with a single JDBC batch.
+     *
+     * @param userId the user ID
+     * @param notificationIds the notification IDs
+     * @return the number of notifications that were unread
+     */
+    @Override
+    public int markAsRead(String userId, List<String> notificationIds) {
+        if (notificationIds.isEmpty()) {
+            return 0;
+        }
+        
+        try (Connection conn = DBConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(SQLConstants.MARK_USER_NOTIFICATION_READ)) {
+                for (String notificationId : notificationIds) {
+                    pstmt.setString(1, notificationId);
+                    pstmt.setString(2, userId);
+                    pstmt.addBatch();
+                }
+                int marked = 0;
+                for (int count : pstmt.executeBatch()) {
+                    marked += Math.max(count, 0);
+                }
+                subtractUnread(conn, userId, marked);
+                conn.commit();
+                return marked;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            LOG.error("Error marking notifications as read", e);
+            return 0;
+        }
+    }
+    
+    /**
+     * Mark all notifications as read for a user.
+     *
+     * @param userId the user ID
+     * @return the number of notifications that were unread
+     */
+    @Override
+    public int markAllAsRead(String userId) {
+        try (Connection conn = DBConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(SQLConstants.MARK_ALL_NOTIFICATIONS_READ)) {
+                pstmt.setString(1, userId);
+                int marked = pstmt.executeUpdate();
+                // Subtract rather than reset: notifications inserted meanwhile stay counted
+                subtractUnread(conn, userId, marked);
+                conn.commit();
+                return marked;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            LOG.error("Error marking all notifications as read", e);
+            return 0;
+        }
+    }
+    
     /**
      * Delete a notification.
      *
@@ -140,17 +309,147 @@ public class NotificationDAOImpl implements NotificationDAO {
      */
     @Override
     public boolean deleteNotification(String notificationId) {
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(SQLConstants.DELETE_NOTIFICATION)) {
-            
-            pstmt.setString(1, notificationId);
-            return pstmt.executeUpdate() > 0;
+        try (Connection conn = DBConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(SQLConstants.DELETE_NOTIFICATION)) {
+                // Marked read first so an unread notification leaves the count exactly once
+                markReadWithCount(conn, notificationId);
+                pstmt.setString(1, notificationId);
+                boolean deleted = pstmt.executeUpdate() > 0;
+                conn.commit();
+                return deleted;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
         } catch (SQLException e) {
-            System.err.println("Error deleting notification: " + e.getMessage());
+            LOG.error("Error deleting notification", e);
             return false;
         }
     }
     
+    /**
+     * Move the oldest read notifications created before a cutoff to
+     * NotificationArchive, with one batch of copies and one batch of deletes
+     * in a single transaction.
+     *
+     * @param createdBefore the cutoff
+     * @param limit the most notifications to move
+     * @return the number of notifications archived; 0 if the chunk was rolled back
+     */
+    @Override
+    public int archiveReadNotifications(Timestamp createdBefore, int limit) {
+        try (Connection conn = DBConnection.getConnection()) {
+            List<String> notificationIds = new ArrayList<>();
+            try (PreparedStatement pstmt = conn.prepareStatement(SQLConstants.SELECT_ARCHIVABLE_NOTIFICATIONS)) {
+                pstmt.setTimestamp(1, createdBefore);
+                pstmt.setInt(2, limit);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        notificationIds.add(rs.getString(1));
+                    }
+                }
+            }
+            if (notificationIds.isEmpty()) {
+                return 0;
+            }
+            
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement copy = conn.prepareStatement(SQLConstants.ARCHIVE_NOTIFICATION);
+                 PreparedStatement delete = conn.prepareStatement(SQLConstants.DELETE_ARCHIVED_NOTIFICATION)) {
+                for (String notificationId : notificationIds) {
+                    copy.setString(1, notificationId);
+                    copy.addBatch();
+                    delete.setString(1, notificationId);
+                    delete.addBatch();
+                }
+                copy.executeBatch();
+                int archived = 0;
+                for (int count : delete.executeBatch()) {
+                    archived += Math.max(count, 0);
+                }
+                conn.commit();
+                return archived;
+            } catch (SQLException e) {
+                conn.rollback();
+                LOG.warn("Error archiving notification chunk of {}: {}", notificationIds.size(), e.getMessage());
+                return 0;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            LOG.error("Error archiving notifications", e);
+            return 0;
+        }
+    }
+    
+    /**
+     * Marks a notification read and takes it off its user's unread count,
+     * in the caller's transaction.
+     *
+     * @param conn the connection
+     * @param notificationId the notification ID
+     * @return true if the notification was unread
+     * @throws SQLException the SQL exception
+     */
+    private boolean markReadWithCount(Connection conn, String notificationId) throws SQLException {
+        try (PreparedStatement mark = conn.prepareStatement(SQLConstants.MARK_NOTIFICATION_READ)) {
+            mark.setString(1, notificationId);
+            if (mark.executeUpdate() == 0) {
+                return false;
+            }
+        }
+        try (PreparedStatement subtract = conn.prepareStatement(SQLConstants.SUBTRACT_UNREAD_NOTIFICATION_OF)) {
+            subtract.setString(1, notificationId);
+            subtract.executeUpdate();
+        }
+        return true;
+    }
+    
+    /**
+     * Adds to the unread counts of several users, in the caller's transaction.
+     *
+     * @param conn the connection
+     * @param unreadByUser the new unread notifications by user ID
+     * @throws SQLException the SQL exception
+     */
+    private void addUnread(Connection conn, Map<String, Integer> unreadByUser) throws SQLException {
+        if (unreadByUser.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(SQLConstants.ADD_UNREAD_NOTIFICATIONS)) {
+            for (Map.Entry<String, Integer> entry : unreadByUser.entrySet()) {
+                pstmt.setString(1, entry.getKey());
+                pstmt.setInt(2, entry.getValue());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+    
+    /**
+     * Subtracts from a user's unread count, in the caller's transaction.
+     *
+     * @param conn the connection
+     * @param userId the user ID
+     * @param read the number of notifications that were marked read
+     * @throws SQLException the SQL exception
+     */
+    private void subtractUnread(Connection conn, String userId, int read) throws SQLException {
+        if (read <= 0) {
+            return;
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(SQLConstants.SUBTRACT_UNREAD_NOTIFICATIONS)) {
+            pstmt.setInt(1, read);
+            pstmt.setString(2, userId);
+            pstmt.executeUpdate();
+        }
+    }
+    
     /**
      * Helper method to map ResultSet to Notification object.
      *
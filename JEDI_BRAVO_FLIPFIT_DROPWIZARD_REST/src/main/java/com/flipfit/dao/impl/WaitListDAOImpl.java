@@ -4,6 +4,8 @@ import com.flipfit.bean.GymWaitList;
 import com.flipfit.dao.WaitListDAO;
 import com.flipfit.utils.DBConnection;
 import com.flipfit.constant.SQLConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -17,6 +19,8 @@ import java.util.List;
  */
 public class WaitListDAOImpl implements WaitListDAO {
     
+    private static final Logger LOG = LoggerFactory.getLogger(WaitListDAOImpl.class);
+    
     /**
      * Insert a new waitlist entry.
      *
@@ -36,7 +40,7 @@ public class WaitListDAOImpl implements WaitListDAO {
             
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
-            System.err.println("Error inserting waitlist: " + e.getMessage());
+            LOG.error("Error inserting waitlist", e);
             return false;
         }
     }
@@ -62,7 +66,7 @@ public class WaitListDAOImpl implements WaitListDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error getting waitlist: " + e.getMessage());
+            LOG.error("Error getting waitlist", e);
         }
         return waitList;
     }
@@ -84,7 +88,7 @@ public class WaitListDAOImpl implements WaitListDAO {
             
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
-            System.err.println("Error updating waitlist: " + e.getMessage());
+            LOG.error("Error updating waitlist", e);
             return false;
         }
     }
@@ -103,7 +107,7 @@ public class WaitListDAOImpl implements WaitListDAO {
             pstmt.setString(1, waitlistId);
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
-            System.err.println("Error deleting waitlist: " + e.getMessage());
+            LOG.error("Error deleting waitlist", e);
             return false;
         }
     }
@@ -127,7 +131,7 @@ public class WaitListDAOImpl implements WaitListDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error getting first waiting customer: " + e.getMessage());
+            LOG.error("Error getting first waiting customer", e);
         }
         return null;
     }
@@ -154,7 +158,7 @@ public class WaitListDAOImpl implements WaitListDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error getting first waiting customer by date: " + e.getMessage());
+            LOG.error("Error getting first waiting customer by date", e);
         }
         return null;
     }
@@ -182,11 +186,74 @@ public class WaitListDAOImpl implements WaitListDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error checking customer in waitlist by date: " + e.getMessage());
+            LOG.error("Error checking customer in waitlist by date", e);
         }
         return false;
     }
     
+    /**
+     * Get every waiting entry in arrival order.
+     *
+     * @return list of waitlist entries
+     */
+    @Override
+    public List<GymWaitList> getWaitingEntries() {
+        List<GymWaitList> waitList = new ArrayList<>();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQLConstants.SELECT_WAITING_WAITLIST);
+             ResultSet rs = pstmt.executeQuery()) {
+            
+            while (rs.next()) {
+                waitList.add(mapResultSetToWaitList(rs));
+            }
+        } catch (SQLException e) {
+            LOG.error("Error getting waiting entries", e);
+        }
+        return waitList;
+    }
+    
+    /**
+     * Set the status of several waitlist entries with a single JDBC batch in one transaction.
+     *
+     * @param waitListIds the waitlist IDs
+     * @param status the new status
+     * @return the number of entries updated; 0 if the batch was rolled back
+     */
+    @Override
+    public int updateWaitListStatuses(List<String> waitListIds, String status) {
+        if (waitListIds.isEmpty()) {
+            return 0;
+        }
+        
+        try (Connection conn = DBConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(SQLConstants.UPDATE_WAITLIST_STATUS)) {
+                for (String waitListId : waitListIds) {
+                    pstmt.setString(1, status);
+                    pstmt.setString(2, waitListId);
+                    pstmt.addBatch();
+                }
+                int updated = 0;
+                for (int count : pstmt.executeBatch()) {
+                    updated += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+                }
+                conn.commit();
+                return updated;
+            } catch (SQLException e) {
+                conn.rollback();
+                LOG.warn("Error updating {} waitlist entries to {}: {}", waitListIds.size(), status, e.getMessage());
+                return 0;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            LOG.error("Error updating waitlist status batch", e);
+            return 0;
+        }
+    }
+    
     /**
      * Helper method to map ResultSet to GymWaitList object.
      *
@@ -0,0 +1,195 @@
+package com.flipfit.dao.memory;
+
+import com.flipfit.bean.Booking;
+import com.flipfit.bean.GymCenter;
+import com.flipfit.bean.GymCustomer;
+import com.flipfit.bean.GymOwner;
+import com.flipfit.bean.GymSlot;
+import com.flipfit.bean.GymUser;
+import com.flipfit.bean.GymWaitList;
+import com.flipfit.bean.Notification;
+import com.flipfit.constant.SQLConstants;
+import com.flipfit.enums.BookingStatus;
+import com.flipfit.enums.Role;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class DatabaseImport.
+ * Reads every FlipFit table into an InMemoryStore.Tables document, using
+ * the same column mapping as the JDBC DAOs. Bookings whose status has no
+ * BookingStatus constant (PENDING, COMPLETED) are skipped, as the
+ * application never reads them.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName DatabaseImport
+ */
+final class DatabaseImport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DatabaseImport.class);
+
+    private DatabaseImport() {
+    }
+
+    /**
+     * Reads every table.
+     *
+     * @param dataSource the database to read
+     * @return the tables
+     * @throws SQLException if a table cannot be read
+     */
+    static InMemoryStore.Tables readTables(DataSource dataSource) throws SQLException {
+        InMemoryStore.Tables tables = new InMemoryStore.Tables();
+        try (Connection conn = dataSource.getConnection()) {
+            read(conn, SQLConstants.EXPORT_USERS, tables.users, rs -> {
+                GymUser user = new GymUser();
+                user.setUserId(rs.getString("user_id"));
+                user.setName(rs.getString("name"));
+                user.setEmail(rs.getString("email"));
+                user.setPassword(rs.getString("password"));
+                user.setAddress(rs.getString("address"));
+                user.setRole(Role.valueOf(rs.getString("role_name")));
+                return user;
+            });
+            read(conn, SQLConstants.EXPORT_GYM_OWNERS, tables.owners, rs -> {
+                GymOwner owner = new GymOwner();
+                owner.setOwnerId(rs.getString("owner_id"));
+                owner.setUserId(rs.getString("user_id"));
+                owner.setPanCard(rs.getString("pan_card"));
+                owner.setAadharCard(rs.getString("aadhar_card"));
+                owner.setGstNumber(rs.getString("gst_number"));
+                owner.setApproved(rs.getBoolean("is_approved"));
+                owner.setApprovalDate(rs.getTimestamp("approval_date"));
+                owner.setCreatedAt(rs.getTimestamp("created_at"));
+                return owner;
+            });
+            read(conn, SQLConstants.EXPORT_GYM_CUSTOMERS, tables.customers, rs -> {
+                GymCustomer customer = new GymCustomer();
+                customer.setCustomerId(rs.getString("customer_id"));
+                customer.setUserId(rs.getString("user_id"));
+                customer.setDateOfBirth(rs.getDate("date_of_birth"));
+                customer.setFitnessGoal(rs.getString("fitness_goal"));
+                customer.setMembershipStartDate(rs.getDate("membership_start_date"));
+                customer.setMembershipEndDate(rs.getDate("membership_end_date"));
+                customer.setPremium(rs.getBoolean("is_premium"));
+                customer.setCreatedAt(rs.getTimestamp("created_at"));
+                return customer;
+            });
+            read(conn, SQLConstants.EXPORT_GYM_CENTERS, tables.centers, rs -> {
+                GymCenter center = new GymCenter();
+                center.setGymId(rs.getString("gym_id"));
+                center.setOwnerId(rs.getString("owner_id"));
+                center.setGymName(rs.getString("gym_name"));
+                center.setGymAddress(rs.getString("gym_address"));
+                center.setCity(rs.getString("city"));
+                center.setState(rs.getString("state"));
+                center.setPincode(rs.getString("pincode"));
+                center.setPhoneNumber(rs.getString("phone_number"));
+                center.setEmail(rs.getString("email"));
+                center.setTotalSlots(rs.getInt("total_slots"));
+                center.setLatitude(rs.getObject("latitude") != null ? rs.getDouble("latitude") : null);
+                center.setLongitude(rs.getObject("longitude") != null ? rs.getDouble("longitude") : null);
+                center.setApproved(rs.getBoolean("is_approved"));
+                center.setApprovalDate(rs.getTimestamp("approval_date"));
+                center.setCreatedAt(rs.getTimestamp("created_at"));
+                center.setUpdatedAt(rs.getTimestamp("updated_at"));
+                return center;
+            });
+            read(conn, SQLConstants.EXPORT_SLOTS, tables.slots, rs -> {
+                GymSlot slot = new GymSlot();
+                slot.setSlotId(rs.getString("slot_id"));
+                slot.setGymId(rs.getString("gym_id"));
+                slot.setStartTime(rs.getTime("start_time").toLocalTime());
+                slot.setEndTime(rs.getTime("end_time").toLocalTime());
+                slot.setTotalSeats(rs.getInt("total_seats"));
+                slot.setAvailableSeats(rs.getInt("available_seats"));
+                slot.setPrice(rs.getBigDecimal("price"));
+                slot.setActive(rs.getBoolean("is_active"));
+                slot.setCreatedAt(rs.getTimestamp("created_at"));
+                return slot;
+            });
+            read(conn, SQLConstants.EXPORT_SLOT_DATE_INVENTORY, tables.inventory, rs -> {
+                InMemoryStore.InventoryRow row = new InMemoryStore.InventoryRow();
+                row.slotId = rs.getString("slot_id");
+                row.bookingDate = rs.getDate("booking_date").toLocalDate();
+                row.capacity = rs.getInt("capacity");
+                row.booked = rs.getInt("booked");
+                return row;
+            });
+            read(conn, SQLConstants.EXPORT_BOOKINGS, tables.bookings, rs -> {
+                BookingStatus status;
+                try {
+                    status = BookingStatus.valueOf(rs.getString("booking_status"));
+                } catch (IllegalArgumentException | NullPointerException e) {
+                    return null;
+                }
+                Booking booking = new Booking();
+                booking.setBookingId(rs.getString("booking_id"));
+                booking.setCustomerId(rs.getString("customer_id"));
+                booking.setSlotId(rs.getString("slot_id"));
+                booking.setBookingDate(rs.getDate("booking_date").toLocalDate());
+                booking.setBookingStatus(status);
+                return booking;
+            });
+            read(conn, SQLConstants.EXPORT_WAITLIST, tables.waitList, rs -> {
+                GymWaitList entry = new GymWaitList();
+                entry.setWaitlistId(rs.getString("waitlist_id"));
+                entry.setCustomerId(rs.getString("customer_id"));
+                entry.setSlotId(rs.getString("slot_id"));
+                entry.setRequestedDate(rs.getDate("requested_date").toLocalDate());
+                entry.setPriority(rs.getInt("priority"));
+                entry.setStatus(rs.getString("status"));
+                entry.setCreatedAt(rs.getTimestamp("created_at"));
+                return entry;
+            });
+            read(conn, SQLConstants.EXPORT_NOTIFICATIONS, tables.notifications, rs -> {
+                Notification notification = new Notification();
+                notification.setNotificationId(rs.getString("notification_id"));
+                notification.setUserId(rs.getString("user_id"));
+                notification.setTitle(rs.getString("title"));
+                notification.setMessage(rs.getString("message"));
+                notification.setNotificationType(rs.getString("notification_type"));
+                notification.setRead(rs.getBoolean("is_read"));
+                notification.setCreatedAt(rs.getTimestamp("created_at"));
+                return notification;
+            });
+        }
+        return tables;
+    }
+
+    private static <T> void read(Connection conn, String query, List<T> rows, RowMapper<T> mapper) throws SQLException {
+        int skipped = 0;
+        try (PreparedStatement pstmt = conn.prepareStatement(query);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                T row = mapper.map(rs);
+                if (row != null) {
+                    rows.add(row);
+                } else {
+                    skipped++;
+                }
+            }
+        }
+        if (skipped > 0) {
+            LOG.warn("Skipped {} rows of '{}' that the application cannot map", skipped, query);
+        }
+    }
+
+    /**
+     * Maps the current row of a result set.
+     *
+     * @param <T> the row type
+     */
+    @FunctionalInterface
+    private interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+}
@@ -0,0 +1,476 @@
+package com.flipfit.dao.memory;
+
+import com.flipfit.bean.Booking;
+import com.flipfit.bean.BookingView;
+import com.flipfit.bean.GymCenter;
+import com.flipfit.bean.GymSlot;
+import com.flipfit.dao.BookingDAO;
+import com.flipfit.enums.BookingStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class InMemoryBookingDAOImpl.
+ * BookingDAO on InMemoryStore. Customer lookups go through the
+ * customer index and slot counts through the slot-date index, so no query
+ * scans the whole Booking table.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName InMemoryBookingDAOImpl
+ */
+public class InMemoryBookingDAOImpl implements BookingDAO {
+
+    /** Newest first, like ORDER BY booking_date DESC, booking_id DESC. */
+    private static final Comparator<Booking> HISTORY_ORDER = Comparator
+        .comparing(Booking::getBookingDate).thenComparing(Booking::getBookingId).reversed();
+
+    private final InMemoryStore store;
+
+    /**
+     * Instantiates a new in-memory booking DAO.
+     *
+     * @param store the backing store
+     */
+    public InMemoryBookingDAOImpl(InMemoryStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Insert a new booking.
+     *
+     * @param booking the booking object
+     * @return true if insertion successful, false otherwise
+     */
+    @Override
+    public boolean insertBooking(Booking booking) {
+        return store.insertBooking(Rows.copy(booking));
+    }
+
+    /**
+     * Get booking by ID.
+     *
+     * @param bookingId the booking ID
+     * @return the booking object
+     */
+    @Override
+    public Booking getBookingById(String bookingId) {
+        return Rows.copy(store.bookings.get(bookingId));
+    }
+
+    /**
+     * Get all confirmed bookings of a customer, newest first.
+     *
+     * @param customerId the customer ID
+     * @return list of bookings
+     */
+    @Override
+    public List<Booking> getBookingsByCustomer(String customerId) {
+        Map<Booking, LocalTime> startTimes = new HashMap<>();
+        for (Booking booking : customerBookings(customerId)) {
+            GymSlot slot = store.slots.get(booking.getSlotId());
+            if (booking.getBookingStatus() == BookingStatus.CONFIRMED && slot != null) {
+                startTimes.put(Rows.copy(booking), slot.getStartTime());
+            }
+        }
+        List<Booking> bookings = new ArrayList<>(startTimes.keySet());
+        bookings.sort(Comparator.comparing(Booking::getBookingDate)
+            .thenComparing(startTimes::get, Comparator.nullsFirst(Comparator.<LocalTime>naturalOrder()))
+            .reversed());
+        return bookings;
+    }
+
+    /**
+     * Get one page of a customer's confirmed bookings, newest first, joined
+     * with slot times and gym details.
+     *
+     * @param customerId the customer ID
+     * @param afterDate booking date of the last row of the previous page, or null for the first page
+     * @param afterBookingId booking ID of the last row of the previous page, or null for the first page
+     * @param limit the maximum number of rows
+     * @return list of booking views
+     */
+    @Override
+    public List<BookingView> getBookingViewsByCustomer(String customerId, LocalDate afterDate, String afterBookingId, int limit) {
+        boolean firstPage = afterDate == null || afterBookingId == null;
+        List<Booking> bookings = new ArrayList<>();
+        for (Booking booking : customerBookings(customerId)) {
+            if (booking.getBookingStatus() != BookingStatus.CONFIRMED) {
+                continue;
+            }
+            int cmp = booking.getBookingDate().compareTo(afterDate != null ? afterDate : booking.getBookingDate());
+            if (firstPage || cmp < 0 || (cmp == 0 && booking.getBookingId().compareTo(afterBookingId) < 0)) {
+                bookings.add(booking);
+            }
+        }
+        bookings.sort(HISTORY_ORDER);
+
+        List<BookingView> views = new ArrayList<>();
+        for (Booking booking : bookings) {
+            if (views.size() >= limit) {
+                break;
+            }
+            GymSlot slot = store.slots.get(booking.getSlotId());
+            GymCenter center = slot != null ? store.centers.get(slot.getGymId()) : null;
+            if (center == null) {
+                continue;
+            }
+            BookingView view = new BookingView();
+            view.setBookingId(booking.getBookingId());
+            view.setCustomerId(booking.getCustomerId());
+            view.setSlotId(booking.getSlotId());
+            view.setBookingDate(booking.getBookingDate());
+            view.setBookingStatus(booking.getBookingStatus());
+            view.setStartTime(slot.getStartTime());
+            view.setEndTime(slot.getEndTime());
+            view.setGymName(center.getGymName());
+            view.setCity(center.getCity());
+            view.setGymAddress(center.getGymAddress());
+            views.add(view);
+        }
+        return views;
+    }
+
+    /**
+     * Get all confirmed bookings for a slot.
+     *
+     * @param slotId the slot ID
+     * @return list of bookings
+     */
+    @Override
+    public List<Booking> getBookingsBySlot(String slotId) {
+        List<Booking> bookings = new ArrayList<>();
+        ConcurrentNavigableMap<LocalDate, Set<String>> byDate = store.bookingIdsBySlotDate.get(slotId);
+        if (byDate == null) {
+            return bookings;
+        }
+        for (Set<String> ids : byDate.values()) {
+            for (String bookingId : ids) {
+                Booking booking = store.bookings.get(bookingId);
+                if (booking != null && booking.getBookingStatus() == BookingStatus.CONFIRMED) {
+                    bookings.add(Rows.copy(booking));
+                }
+            }
+        }
+        return bookings;
+    }
+
+    /**
+     * Get a customer's confirmed bookings on a date.
+     *
+     * @param customerId the customer ID
+     * @param date the booking date
+     * @return list of bookings
+     */
+    @Override
+    public List<Booking> getCustomerBookingsByDate(String customerId, LocalDate date) {
+        List<Booking> bookings = new ArrayList<>();
+        for (Booking booking : customerBookings(customerId)) {
+            if (booking.getBookingStatus() == BookingStatus.CONFIRMED && date.equals(booking.getBookingDate())) {
+                bookings.add(Rows.copy(booking));
+            }
+        }
+        return bookings;
+    }
+
+    /**
+     * Get a customer's bookings of any status on a date.
+     *
+     * @param customerId the customer ID
+     * @param date the booking date
+     * @return list of bookings
+     */
+    @Override
+    public List<Booking> checkExistingBookingsOnDate(String customerId, LocalDate date) {
+        List<Booking> bookings = new ArrayList<>();
+        for (Booking booking : customerBookings(customerId)) {
+            if (date.equals(booking.getBookingDate())) {
+                bookings.add(Rows.copy(booking));
+            }
+        }
+        return bookings;
+    }
+
+    /**
+     * Get a customer's confirmed bookings on a date whose slot overlaps a time
+     * window, from the customer-day interval index.
+     *
+     * @param customerId the customer ID
+     * @param date the booking date
+     * @param startTime the start of the window
+     * @param endTime the end of the window
+     * @return the overlapping confirmed bookings
+     */
+    @Override
+    public List<Booking> getOverlappingBookings(String customerId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        List<Booking> bookings = new ArrayList<>();
+        for (String bookingId : store.overlappingBookingIds(customerId, date, startTime, endTime)) {
+            Booking booking = store.bookings.get(bookingId);
+            if (booking != null && booking.getBookingStatus() == BookingStatus.CONFIRMED) {
+                bookings.add(Rows.copy(booking));
+            }
+        }
+        return bookings;
+    }
+
+    /**
+     * Get a customer's booking of any status in a slot on a date.
+     *
+     * @param customerId the customer ID
+     * @param slotId the slot ID
+     * @param date the booking date
+     * @return the booking, or null if there is none
+     */
+    @Override
+    public Booking getCustomerBookingForSlot(String customerId, String slotId, LocalDate date) {
+        String bookingId = store.bookingIdsByUniqueKey.get(customerId + '|' + slotId + '|' + date);
+        return bookingId != null ? Rows.copy(store.bookings.get(bookingId)) : null;
+    }
+
+    /**
+     * Get a customer's bookings of any status over a date range.
+     *
+     * @param customerId the customer ID
+     * @param fromDate the first date, inclusive
+     * @param toDate the last date, inclusive
+     * @return list of bookings
+     */
+    @Override
+    public List<Booking> getCustomerBookingsInDateRange(String customerId, LocalDate fromDate, LocalDate toDate) {
+        List<Booking> bookings = new ArrayList<>();
+        for (Booking booking : customerBookings(customerId)) {
+            if (!booking.getBookingDate().isBefore(fromDate) && !booking.getBookingDate().isAfter(toDate)) {
+                bookings.add(Rows.copy(booking));
+            }
+        }
+        return bookings;
+    }
+
+    /**
+     * Reserve seats, save several bookings and cancel the given confirmed
+     * bookings. Every change is undone when the batch is all-or-nothing and a
+     * seat is missing, when nothing was saved but bookings were to be
+     * cancelled, when a row cannot be saved, or when a booking to cancel is no
+     * longer confirmed, mirroring the rollback of the JDBC transaction.
+     *
+     * @param bookings the bookings to save
+     * @param reusedBookingIds IDs of existing rows to update instead of insert
+     * @param cancelledBookings confirmed bookings to cancel with the save
+     * @param allOrNothing true to save nothing unless every booking gets a seat
+     * @return for each booking, in order, whether it was saved
+     */
+    @Override
+    public boolean[] insertBookingsWithSeats(List<Booking> bookings, Set<String> reusedBookingIds,
+                                             List<Booking> cancelledBookings, boolean allOrNothing) {
+        boolean[] saved = new boolean[bookings.size()];
+        boolean allReserved = true;
+        boolean anyReserved = false;
+        for (int i = 0; i < saved.length; i++) {
+            Booking booking = bookings.get(i);
+            InMemoryStore.SeatCounter counter = store.seatCounter(booking.getSlotId(), booking.getBookingDate());
+            saved[i] = counter != null && counter.reserve();
+            allReserved &= saved[i];
+            anyReserved |= saved[i];
+        }
+        if (allOrNothing && !allReserved || !cancelledBookings.isEmpty() && !anyReserved) {
+            undo(bookings, saved, reusedBookingIds, 0);
+            return new boolean[saved.length];
+        }
+
+        for (int i = 0; i < saved.length; i++) {
+            if (!saved[i]) {
+                continue;
+            }
+            Booking booking = bookings.get(i);
+            boolean written = reusedBookingIds.contains(booking.getBookingId())
+                ? updateBookingStatus(booking.getBookingId(), booking.getBookingStatus())
+                : store.insertBooking(Rows.copy(booking));
+            if (!written) {
+                saved[i] = false;
+                store.seatCounter(booking.getSlotId(), booking.getBookingDate()).release();
+                undo(bookings, saved, reusedBookingIds, i);
+                return new boolean[saved.length];
+            }
+        }
+
+        for (int i = 0; i < cancelledBookings.size(); i++) {
+            if (!cancelBooking(cancelledBookings.get(i), true)) {
+                for (Booking cancelled : cancelledBookings.subList(0, i)) {
+                    updateBookingStatus(cancelled.getBookingId(), BookingStatus.CONFIRMED);
+                    store.seatCounter(cancelled.getSlotId(), cancelled.getBookingDate()).reserve();
+                }
+                undo(bookings, saved, reusedBookingIds, saved.length);
+                return new boolean[saved.length];
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * Update booking status.
+     *
+     * @param bookingId the booking ID
+     * @param status the new status
+     * @return true if update successful, false otherwise
+     */
+    @Override
+    public boolean updateBookingStatus(String bookingId, BookingStatus status) {
+        return store.bookings.computeIfPresent(bookingId, (id, booking) -> withStatus(booking, status)) != null;
+    }
+
+    /**
+     * Delete booking.
+     *
+     * @param bookingId the booking ID
+     * @return true if deletion successful, false otherwise
+     */
+    @Override
+    public boolean deleteBooking(String bookingId) {
+        return store.deleteBooking(bookingId);
+    }
+
+    /**
+     * Count a customer's confirmed bookings.
+     *
+     * @param customerId the customer ID
+     * @return the count
+     */
+    @Override
+    public int countBookingsByCustomer(String customerId) {
+        Set<String> ids = store.bookingIdsByCustomer.get(customerId);
+        return ids != null ? store.countConfirmed(ids) : 0;
+    }
+
+    /**
+     * Cancel a booking unless it is missing or already cancelled, releasing
+     * its seat counter while the booking's entry is still being updated.
+     *
+     * @param booking the booking; its ID is read
+     * @param releaseSeat true to release the booking's seat, false to keep it reserved
+     * @return true if cancelled, false otherwise
+     */
+    @Override
+    public boolean cancelBooking(Booking booking, boolean releaseSeat) {
+        boolean[] cancelled = new boolean[1];
+        store.bookings.computeIfPresent(booking.getBookingId(), (id, current) -> {
+            if (current.getBookingStatus() == BookingStatus.CANCELLED) {
+                return current;
+            }
+            cancelled[0] = true;
+            if (releaseSeat) {
+                InMemoryStore.SeatCounter counter =
+                    store.inventory.get(new InMemoryStore.SlotDate(current.getSlotId(), current.getBookingDate()));
+                if (counter != null) {
+                    counter.release();
+                }
+            }
+            return withStatus(current, BookingStatus.CANCELLED);
+        });
+        return cancelled[0];
+    }
+
+    /**
+     * Count confirmed bookings for a specific slot on a specific date.
+     *
+     * @param slotId the slot ID
+     * @param date the booking date
+     * @return count of confirmed bookings
+     */
+    @Override
+    public int countBookingsForSlotOnDate(String slotId, LocalDate date) {
+        return store.countConfirmed(slotId, date);
+    }
+
+    /**
+     * Get the booked seats per slot of a gym on one date.
+     *
+     * @param gymId the gym ID
+     * @param date the booking date
+     * @return booked seats by slot ID
+     */
+    @Override
+    public Map<String, Integer> countBookingsForGymOnDate(String gymId, LocalDate date) {
+        Map<String, Integer> counts = countBookingsForGymInDateRange(gymId, date, date).get(date);
+        return counts != null ? counts : new HashMap<>();
+    }
+
+    /**
+     * Get the booked seats per date and slot of a gym over a date range, from
+     * the seat counters like getBookedSeatsOnDate; slot-dates without a counter
+     * yet are counted from their confirmed bookings.
+     *
+     * @param gymId the gym ID
+     * @param fromDate the first date, inclusive
+     * @param toDate the last date, inclusive
+     * @return booked seats by date, then by slot ID
+     */
+    @Override
+    public Map<LocalDate, Map<String, Integer>> countBookingsForGymInDateRange(String gymId, LocalDate fromDate, LocalDate toDate) {
+        Map<LocalDate, Map<String, Integer>> counts = new HashMap<>();
+        Set<String> slotIds = store.slotIdsByGym.get(gymId);
+        if (slotIds == null || fromDate.isAfter(toDate)) {
+            return counts;
+        }
+        for (String slotId : slotIds) {
+            ConcurrentNavigableMap<LocalDate, Set<String>> byDate = store.bookingIdsBySlotDate.get(slotId);
+            for (LocalDate date = fromDate; !date.isAfter(toDate); date = date.plusDays(1)) {
+                InMemoryStore.SeatCounter counter = store.inventory.get(new InMemoryStore.SlotDate(slotId, date));
+                Set<String> bookingIds = byDate != null ? byDate.get(date) : null;
+                int count = counter != null ? counter.booked() : bookingIds != null ? store.countConfirmed(bookingIds) : 0;
+                if (count > 0) {
+                    counts.computeIfAbsent(date, d -> new HashMap<>()).put(slotId, count);
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Gives back the seats of a partially saved batch and reverts the rows
+     * saved before index written.
+     */
+    private void undo(List<Booking> bookings, boolean[] saved, Set<String> reusedBookingIds, int written) {
+        for (int i = 0; i < saved.length; i++) {
+            if (!saved[i]) {
+                continue;
+            }
+            Booking booking = bookings.get(i);
+            if (i < written) {
+                if (reusedBookingIds.contains(booking.getBookingId())) {
+                    updateBookingStatus(booking.getBookingId(), BookingStatus.CANCELLED);
+                } else {
+                    store.deleteBooking(booking.getBookingId());
+                }
+            }
+            store.seatCounter(booking.getSlotId(), booking.getBookingDate()).release();
+        }
+    }
+
+    private List<Booking> customerBookings(String customerId) {
+        List<Booking> bookings = new ArrayList<>();
+        Set<String> ids = store.bookingIdsByCustomer.get(customerId);
+        if (ids != null) {
+            for (String bookingId : ids) {
+                Booking booking = store.bookings.get(bookingId);
+                if (booking != null) {
+                    bookings.add(booking);
+                }
+            }
+        }
+        return bookings;
+    }
+
+    private static Booking withStatus(Booking booking, BookingStatus status) {
+        Booking updated = Rows.copy(booking);
+        updated.setBookingStatus(status);
+        return updated;
+    }
+}
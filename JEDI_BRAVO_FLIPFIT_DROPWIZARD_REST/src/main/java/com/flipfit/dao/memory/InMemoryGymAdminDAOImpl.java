@@ -0,0 +1,225 @@
+package com.flipfit.dao.memory;
+
+import com.flipfit.bean.Booking;
+import com.flipfit.bean.GymCenter;
+import com.flipfit.bean.GymOwner;
+import com.flipfit.bean.GymSlot;
+import com.flipfit.dao.GymAdminDAO;
+import com.flipfit.enums.BookingStatus;
+import com.flipfit.utils.CatalogVersions;
+import com.flipfit.utils.GymGeoIndex;
+import com.flipfit.utils.GymSearchIndex;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class InMemoryGymAdminDAOImpl.
+ * GymAdminDAO on InMemoryStore. The in-memory engine keeps no
+ * Registration table, so rejections only change the approval flags.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName InMemoryGymAdminDAOImpl
+ */
+public class InMemoryGymAdminDAOImpl implements GymAdminDAO {
+
+    private final InMemoryStore store;
+    private final InMemoryGymOwnerDAOImpl gymOwnerDAO;
+    private final InMemoryGymCenterDAOImpl gymCenterDAO;
+
+    /**
+     * Instantiates a new in-memory admin DAO.
+     *
+     * @param store the backing store
+     */
+    public InMemoryGymAdminDAOImpl(InMemoryStore store) {
+        this.store = store;
+        this.gymOwnerDAO = new InMemoryGymOwnerDAOImpl(store);
+        this.gymCenterDAO = new InMemoryGymCenterDAOImpl(store);
+    }
+
+    /**
+     * Get the gym owners awaiting approval.
+     *
+     * @return list of gym owners
+     */
+    @Override
+    public List<GymOwner> getPendingGymOwnerApprovals() {
+        return gymOwnerDAO.getPendingGymOwners();
+    }
+
+    /**
+     * Get the gym centers awaiting approval.
+     *
+     * @return list of gym centers
+     */
+    @Override
+    public List<GymCenter> getPendingGymCenterApprovals() {
+        return gymCenterDAO.centers(center -> !center.isApproved());
+    }
+
+    /**
+     * Approve a gym owner.
+     *
+     * @param ownerId the owner ID
+     * @return true if approval successful, false otherwise
+     */
+    @Override
+    public boolean approveGymOwner(String ownerId) {
+        return gymOwnerDAO.approveGymOwner(ownerId);
+    }
+
+    /**
+     * Reject a gym owner.
+     *
+     * @param ownerId the owner ID
+     * @param remarks the rejection remarks
+     * @return true if the owner exists, false otherwise
+     */
+    @Override
+    public boolean rejectGymOwner(String ownerId, String remarks) {
+        return store.owners.containsKey(ownerId);
+    }
+
+    /**
+     * Approve a gym center.
+     *
+     * @param gymId the gym ID
+     * @return true if approval successful, false otherwise
+     */
+    @Override
+    public boolean approveGymCenter(String gymId) {
+        return setApproved(gymId, true);
+    }
+
+    /**
+     * Reject a gym center.
+     *
+     * @param gymId the gym ID
+     * @param remarks the rejection remarks
+     * @return true if rejection successful, false otherwise
+     */
+    @Override
+    public boolean rejectGymCenter(String gymId, String remarks) {
+        return setApproved(gymId, false);
+    }
+
+    /**
+     * Get the IDs of all users.
+     *
+     * @return list of user IDs
+     */
+    @Override
+    public List<Object> getAllUsers() {
+        return new ArrayList<>(store.users.keySet());
+    }
+
+    /**
+     * Get the IDs of all bookings.
+     *
+     * @return list of booking IDs
+     */
+    @Override
+    public List<Object> getAllBookings() {
+        return new ArrayList<>(store.bookings.keySet());
+    }
+
+    /**
+     * Get every gym center, approved or not.
+     *
+     * @return list of gym centers
+     */
+    @Override
+    public List<GymCenter> getAllGymCenters() {
+        return gymCenterDAO.centers(center -> true);
+    }
+
+    /**
+     * Get the row counts of the main tables.
+     *
+     * @return count by statistic name
+     */
+    @Override
+    public Map<String, Integer> getSystemStatistics() {
+        Map<String, Integer> stats = new HashMap<>();
+        stats.put("total_users", store.users.size());
+        stats.put("total_gym_owners", store.owners.size());
+        stats.put("total_customers", store.customers.size());
+        stats.put("total_bookings", store.bookings.size());
+        stats.put("total_gym_centers", store.centers.size());
+        return stats;
+    }
+
+    /**
+     * Count confirmed bookings per gym and date from the slot-date index.
+     *
+     * @param fromDate the first date, inclusive
+     * @param toDate the last date, inclusive
+     * @return booking counts by gym ID, then by date
+     */
+    @Override
+    public Map<String, Map<LocalDate, Integer>> countConfirmedBookingsByGym(LocalDate fromDate, LocalDate toDate) {
+        Map<String, Map<LocalDate, Integer>> counts = new HashMap<>();
+        for (Map.Entry<String, Set<String>> gym : store.slotIdsByGym.entrySet()) {
+            for (String slotId : gym.getValue()) {
+                NavigableMap<LocalDate, Set<String>> byDate = store.bookingIdsBySlotDate.get(slotId);
+                if (byDate == null) {
+                    continue;
+                }
+                for (Map.Entry<LocalDate, Set<String>> date : byDate.subMap(fromDate, true, toDate, true).entrySet()) {
+                    int confirmed = 0;
+                    for (String bookingId : date.getValue()) {
+                        Booking booking = store.bookings.get(bookingId);
+                        if (booking != null && booking.getBookingStatus() == BookingStatus.CONFIRMED) {
+                            confirmed++;
+                        }
+                    }
+                    if (confirmed > 0) {
+                        counts.computeIfAbsent(gym.getKey(), gymId -> new HashMap<>()).merge(date.getKey(), confirmed, Integer::sum);
+                    }
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Sum the seats of the active slots of every gym.
+     *
+     * @return seats by gym ID
+     */
+    @Override
+    public Map<String, Integer> getActiveSeatsByGym() {
+        Map<String, Integer> seats = new HashMap<>();
+        for (GymSlot slot : store.slots.values()) {
+            if (slot.isActive()) {
+                seats.merge(slot.getGymId(), slot.getTotalSeats(), Integer::sum);
+            }
+        }
+        return seats;
+    }
+
+    private boolean setApproved(String gymId, boolean approved) {
+        boolean updated = store.centers.computeIfPresent(gymId, (id, existing) -> {
+            GymCenter row = Rows.copy(existing);
+            row.setApproved(approved);
+            if (approved) {
+                row.setApprovalDate(InMemoryStore.now());
+            }
+            row.setUpdatedAt(InMemoryStore.now());
+            return row;
+        }) != null;
+        if (updated) {
+            GymSearchIndex.getInstance().centerChanged(gymId);
+            GymGeoIndex.getInstance().centerChanged(gymId);
+            CatalogVersions.getInstance().centersChanged();
+        }
+        return updated;
+    }
+}
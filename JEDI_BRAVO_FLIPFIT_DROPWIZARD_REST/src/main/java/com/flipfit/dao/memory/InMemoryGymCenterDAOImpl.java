@@ -0,0 +1,163 @@
+package com.flipfit.dao.memory;
+
+import com.flipfit.bean.GymCenter;
+import com.flipfit.dao.GymCenterDAO;
+import com.flipfit.utils.CatalogVersions;
+import com.flipfit.utils.GymGeoIndex;
+import com.flipfit.utils.GymSearchIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class InMemoryGymCenterDAOImpl.
+ * GymCenterDAO on InMemoryStore.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName InMemoryGymCenterDAOImpl
+ */
+public class InMemoryGymCenterDAOImpl implements GymCenterDAO {
+
+    private final InMemoryStore store;
+
+    /**
+     * Instantiates a new in-memory gym center DAO.
+     *
+     * @param store the backing store
+     */
+    public InMemoryGymCenterDAOImpl(InMemoryStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Insert a new gym center.
+     *
+     * @param center the gym center object
+     * @return true if insertion successful, false otherwise
+     */
+    @Override
+    public boolean insertGymCenter(GymCenter center) {
+        GymCenter row = Rows.copy(center);
+        row.setApprovalDate(null);
+        row.setCreatedAt(InMemoryStore.now());
+        row.setUpdatedAt(row.getCreatedAt());
+        boolean inserted = store.insertCenter(row);
+        if (inserted) {
+            GymSearchIndex.getInstance().centerChanged(row.getGymId());
+            GymGeoIndex.getInstance().centerChanged(row.getGymId());
+            CatalogVersions.getInstance().centersChanged();
+        }
+        return inserted;
+    }
+
+    /**
+     * Get gym center by ID.
+     *
+     * @param gymId the gym ID
+     * @return the gym center object
+     */
+    @Override
+    public GymCenter getGymCenterById(String gymId) {
+        return Rows.copy(store.centers.get(gymId));
+    }
+
+    /**
+     * Get the gym centers of an owner.
+     *
+     * @param ownerId the owner ID
+     * @return list of gym centers
+     */
+    @Override
+    public List<GymCenter> getGymCentersByOwner(String ownerId) {
+        return centers(center -> ownerId.equals(center.getOwnerId()));
+    }
+
+    /**
+     * Get the approved gym centers of a city.
+     *
+     * @param city the city
+     * @return list of gym centers
+     */
+    @Override
+    public List<GymCenter> getGymCentersByCity(String city) {
+        return centers(center -> center.isApproved() && city.equals(center.getCity()));
+    }
+
+    /**
+     * Get every approved gym center.
+     *
+     * @return list of gym centers
+     */
+    @Override
+    public List<GymCenter> getAllGymCenters() {
+        return centers(GymCenter::isApproved);
+    }
+
+    /**
+     * Update the details of a gym center.
+     *
+     * @param center the gym center object
+     * @return true if update successful, false otherwise
+     */
+    @Override
+    public boolean updateGymCenter(GymCenter center) {
+        boolean updated = store.centers.computeIfPresent(center.getGymId(), (id, existing) -> {
+            GymCenter row = Rows.copy(existing);
+            row.setGymName(center.getGymName());
+            row.setGymAddress(center.getGymAddress());
+            row.setCity(center.getCity());
+            row.setState(center.getState());
+            row.setPincode(center.getPincode());
+            row.setPhoneNumber(center.getPhoneNumber());
+            row.setEmail(center.getEmail());
+            row.setTotalSlots(center.getTotalSlots());
+            row.setLatitude(center.getLatitude());
+            row.setLongitude(center.getLongitude());
+            row.setUpdatedAt(InMemoryStore.now());
+            return row;
+        }) != null;
+        if (updated) {
+            GymSearchIndex.getInstance().centerChanged(center.getGymId());
+            GymGeoIndex.getInstance().centerChanged(center.getGymId());
+            CatalogVersions.getInstance().centersChanged();
+        }
+        return updated;
+    }
+
+    /**
+     * Delete gym center.
+     *
+     * @param gymId the gym ID
+     * @return true if deletion successful, false otherwise
+     */
+    @Override
+    public boolean deleteGymCenter(String gymId) {
+        boolean deleted = store.deleteCenter(gymId);
+        if (deleted) {
+            GymSearchIndex.getInstance().centerChanged(gymId);
+            GymGeoIndex.getInstance().centerChanged(gymId);
+            CatalogVersions.getInstance().centersChanged();
+            // The center's slots go with it
+            CatalogVersions.getInstance().slotsChanged();
+        }
+        return deleted;
+    }
+
+    /**
+     * Copies the gym centers matching a filter.
+     *
+     * @param filter the filter
+     * @return list of gym centers
+     */
+    List<GymCenter> centers(Predicate<GymCenter> filter) {
+        List<GymCenter> centers = new ArrayList<>();
+        for (GymCenter center : store.centers.values()) {
+            if (filter.test(center)) {
+                centers.add(Rows.copy(center));
+            }
+        }
+        return centers;
+    }
+}
@@ -0,0 +1,185 @@
+package com.flipfit.dao.memory;
+
+import com.flipfit.bean.GymCustomer;
+import com.flipfit.bean.GymUser;
+import com.flipfit.dao.GymCustomerDAO;
+import com.flipfit.utils.CustomerIdentityCache;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class InMemoryGymCustomerDAOImpl.
+ * GymCustomerDAO on InMemoryStore.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName InMemoryGymCustomerDAOImpl
+ */
+public class InMemoryGymCustomerDAOImpl implements GymCustomerDAO {
+
+    private final InMemoryStore store;
+
+    /**
+     * Instantiates a new in-memory customer DAO.
+     *
+     * @param store the backing store
+     */
+    public InMemoryGymCustomerDAOImpl(InMemoryStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Insert a new gym customer.
+     *
+     * @param customerId the customer ID
+     * @param userId the user ID
+     * @param dateOfBirth the date of birth
+     * @param fitnessGoal the fitness goal
+     * @return true if insertion successful, false otherwise
+     */
+    @Override
+    public boolean insertGymCustomer(String customerId, String userId, Date dateOfBirth, String fitnessGoal) {
+        GymCustomer customer = new GymCustomer();
+        customer.setCustomerId(customerId);
+        customer.setUserId(userId);
+        customer.setDateOfBirth(toSqlDate(dateOfBirth));
+        customer.setFitnessGoal(fitnessGoal);
+        customer.setCreatedAt(InMemoryStore.now());
+        return store.insertCustomer(customer);
+    }
+
+    /**
+     * Get the user of a gym customer.
+     *
+     * @param customerId the customer ID
+     * @return the user object
+     */
+    @Override
+    public GymUser getGymCustomerById(String customerId) {
+        GymCustomer customer = store.customers.get(customerId);
+        return customer != null ? Rows.copy(store.users.get(customer.getUserId())) : null;
+    }
+
+    /**
+     * Get the user of a gym customer by user ID.
+     *
+     * @param userId the user ID
+     * @return the user object
+     */
+    @Override
+    public GymUser getGymCustomerByUserId(String userId) {
+        return store.customerIdsByUser.containsKey(userId) ? Rows.copy(store.users.get(userId)) : null;
+    }
+
+    /**
+     * Get the users of all gym customers.
+     *
+     * @return list of users
+     */
+    @Override
+    public List<GymUser> getAllGymCustomers() {
+        List<GymUser> customers = new ArrayList<>();
+        for (GymCustomer customer : store.customers.values()) {
+            GymUser user = store.users.get(customer.getUserId());
+            if (user != null) {
+                customers.add(Rows.copy(user));
+            }
+        }
+        return customers;
+    }
+
+    /**
+     * Update a gym customer's profile.
+     *
+     * @param customerId the customer ID
+     * @param dateOfBirth the date of birth
+     * @param fitnessGoal the fitness goal
+     * @return true if update successful, false otherwise
+     */
+    @Override
+    public boolean updateGymCustomer(String customerId, Date dateOfBirth, String fitnessGoal) {
+        return store.customers.computeIfPresent(customerId, (id, existing) -> {
+            GymCustomer row = Rows.copy(existing);
+            row.setDateOfBirth(toSqlDate(dateOfBirth));
+            row.setFitnessGoal(fitnessGoal);
+            return row;
+        }) != null;
+    }
+
+    /**
+     * Update a gym customer's membership.
+     *
+     * @param customerId the customer ID
+     * @param membershipStartDate the membership start date
+     * @param membershipEndDate the membership end date
+     * @param isPremium whether the membership is premium
+     * @return true if update successful, false otherwise
+     */
+    @Override
+    public boolean updateMembership(String customerId, Date membershipStartDate, Date membershipEndDate, boolean isPremium) {
+        return store.customers.computeIfPresent(customerId, (id, existing) -> {
+            GymCustomer row = Rows.copy(existing);
+            row.setMembershipStartDate(toSqlDate(membershipStartDate));
+            row.setMembershipEndDate(toSqlDate(membershipEndDate));
+            row.setPremium(isPremium);
+            return row;
+        }) != null;
+    }
+
+    /**
+     * Delete a gym customer with their bookings and waitlist entries.
+     *
+     * @param customerId the customer ID
+     * @return true if deletion successful, false otherwise
+     */
+    @Override
+    public boolean deleteGymCustomer(String customerId) {
+        boolean deleted = store.deleteCustomer(customerId);
+        if (deleted) {
+            CustomerIdentityCache.getInstance().evictCustomer(customerId);
+        }
+        return deleted;
+    }
+
+    /**
+     * Count all bookings of a customer.
+     *
+     * @param customerId the customer ID
+     * @return the count
+     */
+    @Override
+    public int getCustomerBookingCount(String customerId) {
+        Set<String> ids = store.bookingIdsByCustomer.get(customerId);
+        return ids != null ? ids.size() : 0;
+    }
+
+    /**
+     * Get the user ID of a customer.
+     *
+     * @param customerId the customer ID
+     * @return the user ID, or null if the customer does not exist
+     */
+    @Override
+    public String getUserIdByCustomerId(String customerId) {
+        GymCustomer customer = store.customers.get(customerId);
+        return customer != null ? customer.getUserId() : null;
+    }
+
+    /**
+     * Get the customer ID of a user.
+     *
+     * @param userId the user ID
+     * @return the customer ID, or null if the user is not a customer
+     */
+    @Override
+    public String getCustomerIdByUserId(String userId) {
+        return store.customerIdsByUser.get(userId);
+    }
+
+    private static java.sql.Date toSqlDate(Date date) {
+        return date != null ? new java.sql.Date(date.getTime()) : null;
+    }
+}
@@ -0,0 +1,181 @@
+package com.flipfit.dao.memory;
+
+import com.flipfit.bean.GymOwner;
+import com.flipfit.dao.GymOwnerDAO;
+import com.flipfit.utils.CatalogVersions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class InMemoryGymOwnerDAOImpl.
+ * GymOwnerDAO on InMemoryStore. Owners are returned with their user
+ * attached, like the JDBC implementation.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName InMemoryGymOwnerDAOImpl
+ */
+public class InMemoryGymOwnerDAOImpl implements GymOwnerDAO {
+
+    private final InMemoryStore store;
+
+    /**
+     * Instantiates a new in-memory gym owner DAO.
+     *
+     * @param store the backing store
+     */
+    public InMemoryGymOwnerDAOImpl(InMemoryStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Insert a new gym owner.
+     *
+     * @param ownerId the owner ID
+     * @param userId the user ID
+     * @param panCard the PAN card number
+     * @param aadharCard the Aadhar card number
+     * @param gstNumber the GST number
+     * @return true if insertion successful, false otherwise
+     */
+    @Override
+    public boolean insertGymOwner(String ownerId, String userId, String panCard, String aadharCard, String gstNumber) {
+        GymOwner owner = new GymOwner();
+        owner.setOwnerId(ownerId);
+        owner.setUserId(userId);
+        owner.setPanCard(panCard);
+        owner.setAadharCard(aadharCard);
+        owner.setGstNumber(gstNumber);
+        owner.setCreatedAt(InMemoryStore.now());
+        boolean inserted = store.insertOwner(owner);
+        if (inserted) {
+            CatalogVersions.getInstance().ownersChanged();
+        }
+        return inserted;
+    }
+
+    /**
+     * Get gym owner by ID.
+     *
+     * @param ownerId the owner ID
+     * @return the gym owner object
+     */
+    @Override
+    public GymOwner getGymOwnerById(String ownerId) {
+        return withUser(store.owners.get(ownerId));
+    }
+
+    /**
+     * Get gym owner by user ID.
+     *
+     * @param userId the user ID
+     * @return the gym owner object
+     */
+    @Override
+    public GymOwner getGymOwnerByUserId(String userId) {
+        String ownerId = store.ownerIdsByUser.get(userId);
+        return ownerId != null ? withUser(store.owners.get(ownerId)) : null;
+    }
+
+    /**
+     * Get all gym owners.
+     *
+     * @return list of gym owners
+     */
+    @Override
+    public List<GymOwner> getAllGymOwners() {
+        return owners(owner -> true);
+    }
+
+    /**
+     * Get the gym owners awaiting approval.
+     *
+     * @return list of gym owners
+     */
+    @Override
+    public List<GymOwner> getPendingGymOwners() {
+        return owners(owner -> !owner.isApproved());
+    }
+
+    /**
+     * Approve a gym owner.
+     *
+     * @param ownerId the owner ID
+     * @return true if approval successful, false otherwise
+     */
+    @Override
+    public boolean approveGymOwner(String ownerId) {
+        boolean updated = store.owners.computeIfPresent(ownerId, (id, existing) -> {
+            GymOwner row = Rows.copy(existing);
+            row.setApproved(true);
+            row.setApprovalDate(InMemoryStore.now());
+            return row;
+        }) != null;
+        if (updated) {
+            CatalogVersions.getInstance().ownersChanged();
+        }
+        return updated;
+    }
+
+    /**
+     * Update a gym owner's documents.
+     *
+     * @param ownerId the owner ID
+     * @param panCard the PAN card number
+     * @param aadharCard the Aadhar card number
+     * @param gstNumber the GST number
+     * @return true if update successful, false otherwise
+     */
+    @Override
+    public boolean updateGymOwner(String ownerId, String panCard, String aadharCard, String gstNumber) {
+        boolean updated = store.owners.computeIfPresent(ownerId, (id, existing) -> {
+            GymOwner row = Rows.copy(existing);
+            row.setPanCard(panCard);
+            row.setAadharCard(aadharCard);
+            row.setGstNumber(gstNumber);
+            return row;
+        }) != null;
+        if (updated) {
+            CatalogVersions.getInstance().ownersChanged();
+        }
+        return updated;
+    }
+
+    /**
+     * Delete a gym owner with their gym centers.
+     *
+     * @param ownerId the owner ID
+     * @return true if deletion successful, false otherwise
+     */
+    @Override
+    public boolean deleteGymOwner(String ownerId) {
+        boolean deleted = store.deleteOwner(ownerId);
+        if (deleted) {
+            CatalogVersions.getInstance().ownersChanged();
+            // Their gym centers and slots are deleted with them
+            CatalogVersions.getInstance().centersChanged();
+            CatalogVersions.getInstance().slotsChanged();
+        }
+        return deleted;
+    }
+
+    private List<GymOwner> owners(Predicate<GymOwner> filter) {
+        List<GymOwner> owners = new ArrayList<>();
+        for (GymOwner owner : store.owners.values()) {
+            if (filter.test(owner)) {
+                owners.add(withUser(owner));
+            }
+        }
+        return owners;
+    }
+
+    private GymOwner withUser(GymOwner row) {
+        GymOwner owner = Rows.copy(row);
+        if (owner != null) {
+            owner.setUser(Rows.copy(store.users.get(owner.getUserId())));
+        }
+        return owner;
+    }
+}
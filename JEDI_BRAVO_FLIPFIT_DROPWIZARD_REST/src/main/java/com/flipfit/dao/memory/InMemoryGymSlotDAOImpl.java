@@ -0,0 +1,314 @@
+package com.flipfit.dao.memory;
+
+import com.flipfit.bean.GymCenter;
+import com.flipfit.bean.GymSlot;
+import com.flipfit.dao.GymSlotDAO;
+import com.flipfit.utils.CatalogVersions;
+import com.flipfit.utils.SlotTimeIndex;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class InMemoryGymSlotDAOImpl.
+ * GymSlotDAO on InMemoryStore. Per-date seats are counted by the store's
+ * SeatCounter for each slot-date, which reserves and releases under its own
+ * lock, the way the conditional UPDATE on slot_date_inventory does.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName InMemoryGymSlotDAOImpl
+ */
+public class InMemoryGymSlotDAOImpl implements GymSlotDAO {
+
+    private final InMemoryStore store;
+
+    /**
+     * Instantiates a new in-memory slot DAO.
+     *
+     * @param store the backing store
+     */
+    public InMemoryGymSlotDAOImpl(InMemoryStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Insert a new slot.
+     *
+     * @param slot the slot object
+     * @return true if insertion successful, false otherwise
+     */
+    @Override
+    public boolean insertSlot(GymSlot slot) {
+        GymSlot row = Rows.copy(slot);
+        if (row.getCreatedAt() == null) {
+            row.setCreatedAt(InMemoryStore.now());
+        }
+        boolean inserted = store.insertSlot(row);
+        if (inserted) {
+            CatalogVersions.getInstance().slotsChanged();
+        }
+        return inserted;
+    }
+
+    /**
+     * Get slot by ID.
+     *
+     * @param slotId the slot ID
+     * @return the slot object
+     */
+    @Override
+    public GymSlot getSlotById(String slotId) {
+        GymSlot slot = store.slots.get(slotId);
+        return slot != null && store.centers.containsKey(slot.getGymId()) ? Rows.copy(slot) : null;
+    }
+
+    /**
+     * Get the active slots of a gym center, ordered by start time.
+     *
+     * @param gymId the gym ID
+     * @return list of slots
+     */
+    @Override
+    public List<GymSlot> getSlotsByCenter(String gymId) {
+        List<GymSlot> slots = new ArrayList<>();
+        Set<String> slotIds = store.slotIdsByGym.get(gymId);
+        if (slotIds == null || !store.centers.containsKey(gymId)) {
+            return slots;
+        }
+        for (String slotId : slotIds) {
+            GymSlot slot = store.slots.get(slotId);
+            if (slot != null && slot.isActive()) {
+                slots.add(Rows.copy(slot));
+            }
+        }
+        slots.sort(Comparator.comparing(GymSlot::getStartTime));
+        return slots;
+    }
+
+    /**
+     * Get the active slots of a gym indexed by start time. Built from the
+     * gym's slot set on each call; the sets are small and held in memory.
+     *
+     * @param gymId the gym ID
+     * @return read-only map from start time to the slots starting then
+     */
+    @Override
+    public NavigableMap<LocalTime, List<GymSlot>> getSlotsByStartTime(String gymId) {
+        return SlotTimeIndex.of(getSlotsByCenter(gymId));
+    }
+
+    /**
+     * Check whether an active slot has available seats.
+     *
+     * @param slotId the slot ID
+     * @return true if seats are available, false otherwise
+     */
+    @Override
+    public boolean checkSlotAvailability(String slotId) {
+        GymSlot slot = store.slots.get(slotId);
+        return slot != null && slot.isActive() && slot.getAvailableSeats() > 0;
+    }
+
+    /**
+     * Add a (possibly negative) change to the available seats of a slot.
+     *
+     * @param slotId the slot ID
+     * @param seatsChange the change in seats
+     * @return true if update successful, false otherwise
+     */
+    @Override
+    public boolean updateAvailableSeats(String slotId, int seatsChange) {
+        boolean updated = store.slots.computeIfPresent(slotId, (id, slot) -> {
+            GymSlot row = Rows.copy(slot);
+            row.setAvailableSeats(slot.getAvailableSeats() + seatsChange);
+            return row;
+        }) != null;
+        if (updated) {
+            CatalogVersions.getInstance().slotsChanged();
+        }
+        return updated;
+    }
+
+    /**
+     * Get every active slot with available seats, ordered by gym name and start time.
+     *
+     * @return list of slots
+     */
+    @Override
+    public List<GymSlot> getAllAvailableSlots() {
+        return availableSlots(null);
+    }
+
+    /**
+     * Get the active slots with available seats in a city, ordered by gym name and start time.
+     *
+     * @param city the city
+     * @return list of slots
+     */
+    @Override
+    public List<GymSlot> getSlotsByCity(String city) {
+        return availableSlots(city);
+    }
+
+    /**
+     * Delete slot.
+     *
+     * @param slotId the slot ID
+     * @return true if deletion successful, false otherwise
+     */
+    @Override
+    public boolean deleteSlot(String slotId) {
+        boolean deleted = store.deleteSlot(slotId);
+        if (deleted) {
+            CatalogVersions.getInstance().slotsChanged();
+        }
+        return deleted;
+    }
+
+    /**
+     * Update slot, carrying a new capacity into the seat counters of today
+     * and later dates.
+     *
+     * @param slot the slot object
+     * @return true if update successful, false otherwise
+     */
+    @Override
+    public boolean updateSlot(GymSlot slot) {
+        boolean[] timesChanged = new boolean[1];
+        boolean updated = store.slots.computeIfPresent(slot.getSlotId(), (id, existing) -> {
+            timesChanged[0] = !Objects.equals(existing.getStartTime(), slot.getStartTime())
+                || !Objects.equals(existing.getEndTime(), slot.getEndTime());
+            GymSlot row = Rows.copy(existing);
+            row.setStartTime(slot.getStartTime());
+            row.setEndTime(slot.getEndTime());
+            row.setTotalSeats(slot.getTotalSeats());
+            row.setAvailableSeats(slot.getAvailableSeats());
+            row.setPrice(slot.getPrice());
+            row.setActive(slot.isActive());
+            return row;
+        }) != null;
+        if (updated && timesChanged[0]) {
+            store.reindexSlotIntervals(slot.getSlotId());
+        }
+        if (updated) {
+            CatalogVersions.getInstance().slotsChanged();
+            LocalDate today = LocalDate.now();
+            for (Map.Entry<InMemoryStore.SlotDate, InMemoryStore.SeatCounter> entry : store.inventory.entrySet()) {
+                if (entry.getKey().slotId.equals(slot.getSlotId()) && !entry.getKey().date.isBefore(today)) {
+                    entry.getValue().setCapacity(slot.getTotalSeats());
+                }
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Get the total seats of a slot.
+     *
+     * @param slotId the slot ID
+     * @return the capacity, or 0 if the slot does not exist
+     */
+    @Override
+    public int getSlotCapacity(String slotId) {
+        GymSlot slot = store.slots.get(slotId);
+        return slot != null ? slot.getTotalSeats() : 0;
+    }
+
+    /**
+     * Get the available seats of a slot.
+     *
+     * @param slotId the slot ID
+     * @return the available seats, or 0 if the slot does not exist
+     */
+    @Override
+    public int getAvailableSeats(String slotId) {
+        GymSlot slot = store.slots.get(slotId);
+        return slot != null ? slot.getAvailableSeats() : 0;
+    }
+
+    /**
+     * Atomically reserve one seat in a slot on a specific date.
+     *
+     * @param slotId the slot ID
+     * @param date the booking date
+     * @return true if a seat was reserved, false if the slot is full or missing
+     */
+    @Override
+    public boolean reserveSeatOnDate(String slotId, LocalDate date) {
+        InMemoryStore.SeatCounter counter = store.seatCounter(slotId, date);
+        return counter != null && counter.reserve();
+    }
+
+    /**
+     * Release one previously reserved seat in a slot on a specific date.
+     *
+     * @param slotId the slot ID
+     * @param date the booking date
+     * @return true if a seat was released, false otherwise
+     */
+    @Override
+    public boolean releaseSeatOnDate(String slotId, LocalDate date) {
+        InMemoryStore.SeatCounter counter = store.inventory.get(new InMemoryStore.SlotDate(slotId, date));
+        return counter != null && counter.release();
+    }
+
+    /**
+     * Get the number of seats booked in a slot on a specific date.
+     *
+     * @param slotId the slot ID
+     * @param date the booking date
+     * @return the booked seats
+     */
+    @Override
+    public int getBookedSeatsOnDate(String slotId, LocalDate date) {
+        InMemoryStore.SeatCounter counter = store.seatCounter(slotId, date);
+        return counter != null ? counter.booked() : 0;
+    }
+
+    /**
+     * Get the booked seats of the slot-date counters of the given dates.
+     *
+     * @param dates the dates to read
+     * @return booked seats by date, then by slot ID
+     */
+    @Override
+    public Map<LocalDate, Map<String, Integer>> getBookedSeatsOnDates(Collection<LocalDate> dates) {
+        Map<LocalDate, Map<String, Integer>> booked = new HashMap<>();
+        Set<LocalDate> wanted = new HashSet<>(dates);
+        for (Map.Entry<InMemoryStore.SlotDate, InMemoryStore.SeatCounter> entry : store.inventory.entrySet()) {
+            if (wanted.contains(entry.getKey().date)) {
+                booked.computeIfAbsent(entry.getKey().date, d -> new HashMap<>())
+                    .put(entry.getKey().slotId, entry.getValue().booked());
+            }
+        }
+        return booked;
+    }
+
+    private List<GymSlot> availableSlots(String city) {
+        List<GymSlot> slots = new ArrayList<>();
+        Map<String, String> gymNames = new HashMap<>();
+        for (GymSlot slot : store.slots.values()) {
+            GymCenter center = store.centers.get(slot.getGymId());
+            if (center == null || !slot.isActive() || slot.getAvailableSeats() <= 0
+                    || (city != null && !city.equals(center.getCity()))) {
+                continue;
+            }
+            slots.add(Rows.copy(slot));
+            gymNames.put(slot.getSlotId(), center.getGymName());
+        }
+        slots.sort(Comparator.comparing((GymSlot slot) -> gymNames.get(slot.getSlotId()), Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(GymSlot::getStartTime));
+        return slots;
+    }
+}
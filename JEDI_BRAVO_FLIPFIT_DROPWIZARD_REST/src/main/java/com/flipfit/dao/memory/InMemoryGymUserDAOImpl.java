@@ -0,0 +1,147 @@
+package com.flipfit.dao.memory;
+
+import com.flipfit.bean.GymUser;
+import com.flipfit.dao.GymUserDAO;
+import com.flipfit.utils.CatalogVersions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class InMemoryGymUserDAOImpl.
+ * GymUserDAO on InMemoryStore. Email lookups use the store's email index,
+ * which also keeps User.email unique.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName InMemoryGymUserDAOImpl
+ */
+public class InMemoryGymUserDAOImpl implements GymUserDAO {
+
+    private final InMemoryStore store;
+
+    /**
+     * Instantiates a new in-memory user DAO.
+     *
+     * @param store the backing store
+     */
+    public InMemoryGymUserDAOImpl(InMemoryStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Insert a new user.
+     *
+     * @param user the user object
+     * @return true if insertion successful, false otherwise
+     */
+    @Override
+    public boolean insertUser(GymUser user) {
+        return store.insertUser(Rows.copy(user));
+    }
+
+    /**
+     * Get user by ID.
+     *
+     * @param userId the user ID
+     * @return the user object
+     */
+    @Override
+    public GymUser getUserById(String userId) {
+        return Rows.copy(store.users.get(userId));
+    }
+
+    /**
+     * Get user by email.
+     *
+     * @param email the email
+     * @return the user object
+     */
+    @Override
+    public GymUser getUserByEmail(String email) {
+        String userId = store.userIdsByEmail.get(email);
+        return userId != null ? Rows.copy(store.users.get(userId)) : null;
+    }
+
+    /**
+     * Get all users.
+     *
+     * @return list of users
+     */
+    @Override
+    public List<GymUser> getAllUsers() {
+        List<GymUser> users = new ArrayList<>();
+        for (GymUser user : store.users.values()) {
+            users.add(Rows.copy(user));
+        }
+        return users;
+    }
+
+    /**
+     * Get all user emails.
+     *
+     * @return list of emails
+     */
+    @Override
+    public List<String> getAllEmails() {
+        return new ArrayList<>(store.userIdsByEmail.keySet());
+    }
+
+    /**
+     * Update user.
+     *
+     * @param user the user object
+     * @return true if update successful, false otherwise
+     */
+    @Override
+    public boolean updateUser(GymUser user) {
+        boolean updated = store.updateUser(Rows.copy(user));
+        if (updated) {
+            // Gym owners are listed with their user
+            CatalogVersions.getInstance().ownersChanged();
+        }
+        return updated;
+    }
+
+    /**
+     * Delete user with their owner or customer profile and notifications.
+     *
+     * @param userId the user ID
+     * @return true if deletion successful, false otherwise
+     */
+    @Override
+    public boolean deleteUser(String userId) {
+        boolean deleted = store.deleteUser(userId);
+        if (deleted) {
+            // An owner's profile, gym centers and slots go with the user
+            CatalogVersions.getInstance().ownersChanged();
+            CatalogVersions.getInstance().centersChanged();
+            CatalogVersions.getInstance().slotsChanged();
+        }
+        return deleted;
+    }
+
+    /**
+     * Authenticate user.
+     *
+     * @param email the email
+     * @param password the password
+     * @return the user object if authenticated, null otherwise
+     */
+    @Override
+    public GymUser authenticateUser(String email, String password) {
+        GymUser user = getUserByEmail(email);
+        return user != null && password != null && password.equals(user.getPassword()) ? user : null;
+    }
+
+    /**
+     * Check if email exists.
+     *
+     * @param email the email
+     * @return true if email exists, false otherwise
+     */
+    @Override
+    public boolean emailExists(String email) {
+        return email != null && store.userIdsByEmail.containsKey(email);
+    }
+}
@@ -0,0 +1,231 @@
+package com.flipfit.dao.memory;
+
+import com.flipfit.bean.Notification;
+import com.flipfit.dao.NotificationDAO;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class InMemoryNotificationDAOImpl.
+ * NotificationDAO on InMemoryStore. Each user keeps their notifications
+ * in arrival order, read newest first, and an unread count maintained by
+ * every insert, mark-read and delete. There is no archive table: archived
+ * notifications are dropped.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName InMemoryNotificationDAOImpl
+ */
+public class InMemoryNotificationDAOImpl implements NotificationDAO {
+
+    /** Feed order: newest first, ties broken by notification ID like the MySQL query. */
+    private static final Comparator<Notification> FEED_ORDER = Comparator
+        .comparing(Notification::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+        .thenComparing(Notification::getNotificationId, Comparator.reverseOrder());
+
+    private final InMemoryStore store;
+
+    /**
+     * Instantiates a new in-memory notification DAO.
+     *
+     * @param store the backing store
+     */
+    public InMemoryNotificationDAOImpl(InMemoryStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Insert a new notification.
+     *
+     * @param notification the notification object
+     * @return true if insertion successful, false otherwise
+     */
+    @Override
+    public boolean insertNotification(Notification notification) {
+        Notification row = Rows.copy(notification);
+        row.setCreatedAt(InMemoryStore.now());
+        return store.insertNotification(row);
+    }
+
+    /**
+     * Insert a batch of notifications.
+     *
+     * @param notifications the notifications
+     * @return the number of notifications inserted
+     */
+    @Override
+    public int insertNotifications(List<Notification> notifications) {
+        int inserted = 0;
+        for (Notification notification : notifications) {
+            if (insertNotification(notification)) {
+                inserted++;
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * Get all notifications for a user, newest first.
+     *
+     * @param userId the user ID
+     * @return list of notifications
+     */
+    @Override
+    public List<Notification> getNotificationsByUser(String userId) {
+        return notifications(userId, false);
+    }
+
+    /**
+     * Get the unread notifications for a user, newest first.
+     *
+     * @param userId the user ID
+     * @return list of notifications
+     */
+    @Override
+    public List<Notification> getUnreadNotifications(String userId) {
+        return notifications(userId, true);
+    }
+
+    /**
+     * Get one page of a user's read or unread notifications, newest first.
+     *
+     * @param userId the user ID
+     * @param read whether to page through read or unread notifications
+     * @param afterCreatedAt the creation time of the last notification already shown, or null
+     * @param afterNotificationId the ID of the last notification already shown, or null
+     * @param limit the page size
+     * @return list of notifications, newest first
+     */
+    @Override
+    public List<Notification> getNotificationPage(String userId, boolean read, Timestamp afterCreatedAt,
+                                                  String afterNotificationId, int limit) {
+        boolean firstPage = afterCreatedAt == null || afterNotificationId == null;
+        List<Notification> notifications = new ArrayList<>();
+        for (String notificationId : store.notificationIds(userId)) {
+            Notification notification = store.notifications.get(notificationId);
+            if (notification == null || notification.isRead() != read || notification.getCreatedAt() == null) {
+                continue;
+            }
+            int cmp = notification.getCreatedAt().compareTo(firstPage ? notification.getCreatedAt() : afterCreatedAt);
+            if (firstPage || cmp < 0 || (cmp == 0 && notification.getNotificationId().compareTo(afterNotificationId) < 0)) {
+                notifications.add(notification);
+            }
+        }
+        notifications.sort(FEED_ORDER);
+
+        List<Notification> page = new ArrayList<>();
+        for (Notification notification : notifications.subList(0, Math.min(limit, notifications.size()))) {
+            page.add(Rows.copy(notification));
+        }
+        return page;
+    }
+
+    /**
+     * Get the number of unread notifications of a user.
+     *
+     * @param userId the user ID
+     * @return the unread count
+     */
+    @Override
+    public int countUnread(String userId) {
+        return store.unreadNotifications(userId);
+    }
+
+    /**
+     * Mark a notification as read.
+     *
+     * @param notificationId the notification ID
+     * @return true if the notification was unread, false otherwise
+     */
+    @Override
+    public boolean markAsRead(String notificationId) {
+        return store.markNotificationRead(notificationId);
+    }
+
+    /**
+     * Mark several of a user's notifications as read.
+     *
+     * @param userId the user ID
+     * @param notificationIds the notification IDs
+     * @return the number of notifications that were unread
+     */
+    @Override
+    public int markAsRead(String userId, List<String> notificationIds) {
+        int marked = 0;
+        for (String notificationId : notificationIds) {
+            Notification notification = store.notifications.get(notificationId);
+            if (notification != null && userId.equals(notification.getUserId()) && markAsRead(notificationId)) {
+                marked++;
+            }
+        }
+        return marked;
+    }
+
+    /**
+     * Mark all notifications of a user as read.
+     *
+     * @param userId the user ID
+     * @return the number of notifications that were unread
+     */
+    @Override
+    public int markAllAsRead(String userId) {
+        int marked = 0;
+        for (String notificationId : store.notificationIds(userId)) {
+            if (markAsRead(notificationId)) {
+                marked++;
+            }
+        }
+        return marked;
+    }
+
+    /**
+     * Delete notification.
+     *
+     * @param notificationId the notification ID
+     * @return true if deletion successful, false otherwise
+     */
+    @Override
+    public boolean deleteNotification(String notificationId) {
+        return store.deleteNotification(notificationId);
+    }
+
+    /**
+     * Drop the oldest read notifications created before a cutoff.
+     *
+     * @param createdBefore the cutoff
+     * @param limit the most notifications to drop
+     * @return the number of notifications dropped
+     */
+    @Override
+    public int archiveReadNotifications(Timestamp createdBefore, int limit) {
+        List<Notification> candidates = new ArrayList<>();
+        for (Notification notification : store.notifications.values()) {
+            if (notification.isRead() && notification.getCreatedAt() != null && notification.getCreatedAt().before(createdBefore)) {
+                candidates.add(notification);
+            }
+        }
+        candidates.sort(Comparator.comparing(Notification::getCreatedAt));
+
+        int archived = 0;
+        for (Notification notification : candidates.subList(0, Math.min(limit, candidates.size()))) {
+            if (store.deleteNotification(notification.getNotificationId())) {
+                archived++;
+            }
+        }
+        return archived;
+    }
+
+    private List<Notification> notifications(String userId, boolean unreadOnly) {
+        List<Notification> notifications = new ArrayList<>();
+        for (String notificationId : store.notificationIds(userId)) {
+            Notification notification = store.notifications.get(notificationId);
+            if (notification != null && !(unreadOnly && notification.isRead())) {
+                notifications.add(Rows.copy(notification));
+            }
+        }
+        return notifications;
+    }
+}
@@ -0,0 +1,1101 @@
+package com.flipfit.dao.memory;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flipfit.bean.Booking;
+import com.flipfit.bean.GymCenter;
+import com.flipfit.bean.GymCustomer;
+import com.flipfit.bean.GymOwner;
+import com.flipfit.bean.GymSlot;
+import com.flipfit.bean.GymUser;
+import com.flipfit.bean.GymWaitList;
+import com.flipfit.bean.Notification;
+import com.flipfit.config.StorageConfiguration;
+import com.flipfit.enums.BookingStatus;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.lifecycle.Managed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class InMemoryStore.
+ * The tables of the FlipFit schema held in concurrent maps, with the
+ * secondary indexes the DAO queries need: bookings by customer and by
+ * slot and date, the slot time intervals of each customer's bookings per
+ * day, slots by gym, waitlist entries by slot and date in arrival
+ * order, and notifications by user in arrival order with the unread count
+ * of each user. Every insert and
+ * delete keeps the indexes in step; deletes cascade like the foreign keys
+ * of the MySQL schema, and the unique keys on User.email and on
+ * Booking (customer_id, slot_id, booking_date) are enforced.
+ * Rows are never shared with callers: the DAOs copy them on the way in and
+ * out, and updates replace the stored row.
+ * A snapshot is a JSON file of every table. It is written without stopping
+ * writers, so it is a recent state rather than a transactionally
+ * consistent one.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName InMemoryStore
+ */
+public final class InMemoryStore implements Managed {
+
+    /** The logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(InMemoryStore.class);
+
+    /** The shared instance used by the in-memory DAOs. */
+    private static volatile InMemoryStore instance =
+        new InMemoryStore(new StorageConfiguration(), Jackson.newObjectMapper(), new MetricRegistry());
+
+    // ---------- Tables and indexes ----------
+    final ConcurrentMap<String, GymUser> users = new ConcurrentHashMap<>();
+    final ConcurrentMap<String, String> userIdsByEmail = new ConcurrentHashMap<>();
+    final ConcurrentMap<String, GymOwner> owners = new ConcurrentHashMap<>();
+    final ConcurrentMap<String, String> ownerIdsByUser = new ConcurrentHashMap<>();
+    final ConcurrentMap<String, GymCustomer> customers = new ConcurrentHashMap<>();
+    final ConcurrentMap<String, String> customerIdsByUser = new ConcurrentHashMap<>();
+    final ConcurrentMap<String, GymCenter> centers = new ConcurrentHashMap<>();
+    final ConcurrentMap<String, GymSlot> slots = new ConcurrentHashMap<>();
+    final ConcurrentMap<String, Set<String>> slotIdsByGym = new ConcurrentHashMap<>();
+    final ConcurrentMap<SlotDate, SeatCounter> inventory = new ConcurrentHashMap<>();
+    final ConcurrentMap<String, Booking> bookings = new ConcurrentHashMap<>();
+    final ConcurrentMap<String, Set<String>> bookingIdsByCustomer = new ConcurrentHashMap<>();
+    final ConcurrentMap<String, ConcurrentNavigableMap<LocalDate, Set<String>>> bookingIdsBySlotDate = new ConcurrentHashMap<>();
+    final ConcurrentMap<String, String> bookingIdsByUniqueKey = new ConcurrentHashMap<>();
+    final ConcurrentMap<String, DayIntervals> bookingIntervalsByCustomerDay = new ConcurrentHashMap<>();
+    final ConcurrentMap<String, GymWaitList> waitList = new ConcurrentHashMap<>();
+    final ConcurrentMap<SlotDate, ConcurrentNavigableMap<Long, String>> waitListIdsBySlotDate = new ConcurrentHashMap<>();
+    final ConcurrentMap<String, Notification> notifications = new ConcurrentHashMap<>();
+    final ConcurrentMap<String, ConcurrentNavigableMap<Long, String>> notificationIdsByUser = new ConcurrentHashMap<>();
+    final ConcurrentMap<String, AtomicInteger> unreadNotificationsByUser = new ConcurrentHashMap<>();
+
+    /** Arrival order of waitlist entries and notifications (MySQL orders them by created_at). */
+    private final ConcurrentMap<String, Long> waitListArrival = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> notificationArrival = new ConcurrentHashMap<>();
+    private final AtomicLong arrivals = new AtomicLong();
+
+    /** Serializes user writes so User.email stays unique. */
+    private final Object userWriteLock = new Object();
+
+    // ---------- Snapshots ----------
+    private final Path snapshotFile;
+    private final long snapshotIntervalMillis;
+    private final ObjectMapper objectMapper;
+    private final Timer snapshotWrites;
+    private final Meter snapshotFailures;
+    private ScheduledExecutorService snapshotScheduler;
+
+    /**
+     * Instantiates a new, empty store.
+     *
+     * @param configuration the storage configuration
+     * @param objectMapper the mapper used for snapshots
+     * @param metrics the metric registry
+     */
+    public InMemoryStore(StorageConfiguration configuration, ObjectMapper objectMapper, MetricRegistry metrics) {
+        this.snapshotFile = configuration.getSnapshotFile() != null ? Paths.get(configuration.getSnapshotFile()) : null;
+        this.snapshotIntervalMillis = configuration.getSnapshotInterval().toMilliseconds();
+        // Beans expose derived getters (e.g. GymSlot.isAvailable) that have no setter
+        this.objectMapper = objectMapper.copy().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.snapshotWrites = metrics.timer(MetricRegistry.name(InMemoryStore.class, "snapshotWrites"));
+        this.snapshotFailures = metrics.meter(MetricRegistry.name(InMemoryStore.class, "snapshotFailures"));
+    }
+
+    /**
+     * Replaces the shared instance and registers its table size gauges.
+     * Called once at application start-up; the returned store must be
+     * handed to the Dropwizard lifecycle for periodic snapshots.
+     *
+     * @param configuration the storage configuration
+     * @param objectMapper the mapper used for snapshots
+     * @param metrics the metric registry
+     * @return the new shared store
+     */
+    public static InMemoryStore configure(StorageConfiguration configuration, ObjectMapper objectMapper, MetricRegistry metrics) {
+        InMemoryStore store = new InMemoryStore(configuration, objectMapper, metrics);
+        store.registerSizeGauge(metrics, "users", store.users);
+        store.registerSizeGauge(metrics, "gymCenters", store.centers);
+        store.registerSizeGauge(metrics, "slots", store.slots);
+        store.registerSizeGauge(metrics, "bookings", store.bookings);
+        store.registerSizeGauge(metrics, "waitList", store.waitList);
+        store.registerSizeGauge(metrics, "notifications", store.notifications);
+        instance = store;
+        return store;
+    }
+
+    /**
+     * Gets the shared instance.
+     *
+     * @return the in-memory store
+     */
+    public static InMemoryStore getInstance() {
+        return instance;
+    }
+
+    /**
+     * Starts periodic snapshots if a snapshot file and interval are configured.
+     */
+    @Override
+    public synchronized void start() {
+        if (snapshotFile == null || snapshotIntervalMillis <= 0 || snapshotScheduler != null) {
+            return;
+        }
+        snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "flipfit-memory-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotScheduler.scheduleWithFixedDelay(this::writeSnapshotQuietly,
+            snapshotIntervalMillis, snapshotIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops periodic snapshots and writes a final one.
+     *
+     * @throws Exception if the final snapshot cannot be written
+     */
+    @Override
+    public synchronized void stop() throws Exception {
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdown();
+            snapshotScheduler.awaitTermination(1, TimeUnit.MINUTES);
+            snapshotScheduler = null;
+        }
+        if (snapshotFile != null) {
+            writeSnapshot();
+        }
+    }
+
+    // ---------- Users ----------
+
+    /**
+     * Inserts a user unless the ID or the email is taken.
+     *
+     * @param user the user row
+     * @return true if inserted
+     */
+    boolean insertUser(GymUser user) {
+        synchronized (userWriteLock) {
+            if (users.containsKey(user.getUserId())
+                    || (user.getEmail() != null && userIdsByEmail.containsKey(user.getEmail()))) {
+                return false;
+            }
+            users.put(user.getUserId(), user);
+            if (user.getEmail() != null) {
+                userIdsByEmail.put(user.getEmail(), user.getUserId());
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Replaces a user unless the new email belongs to another user.
+     *
+     * @param user the updated user row
+     * @return true if replaced
+     */
+    boolean updateUser(GymUser user) {
+        synchronized (userWriteLock) {
+            GymUser existing = users.get(user.getUserId());
+            if (existing == null) {
+                return false;
+            }
+            String owner = user.getEmail() != null ? userIdsByEmail.get(user.getEmail()) : null;
+            if (owner != null && !owner.equals(user.getUserId())) {
+                return false;
+            }
+            if (existing.getEmail() != null) {
+                userIdsByEmail.remove(existing.getEmail(), user.getUserId());
+            }
+            if (user.getEmail() != null) {
+                userIdsByEmail.put(user.getEmail(), user.getUserId());
+            }
+            users.put(user.getUserId(), user);
+            return true;
+        }
+    }
+
+    /**
+     * Deletes a user with their owner and customer rows and notifications.
+     *
+     * @param userId the user ID
+     * @return true if the user existed
+     */
+    boolean deleteUser(String userId) {
+        GymUser removed;
+        synchronized (userWriteLock) {
+            removed = users.remove(userId);
+            if (removed != null && removed.getEmail() != null) {
+                userIdsByEmail.remove(removed.getEmail(), userId);
+            }
+        }
+        if (removed == null) {
+            return false;
+        }
+        String ownerId = ownerIdsByUser.get(userId);
+        if (ownerId != null) {
+            deleteOwner(ownerId);
+        }
+        String customerId = customerIdsByUser.get(userId);
+        if (customerId != null) {
+            deleteCustomer(customerId);
+        }
+        ConcurrentNavigableMap<Long, String> userNotifications = notificationIdsByUser.remove(userId);
+        if (userNotifications != null) {
+            for (String notificationId : userNotifications.values()) {
+                notifications.remove(notificationId);
+                notificationArrival.remove(notificationId);
+            }
+        }
+        unreadNotificationsByUser.remove(userId);
+        return true;
+    }
+
+    // ---------- Gym owners and customers ----------
+
+    /**
+     * Inserts a gym owner unless the ID is taken or the user does not exist.
+     *
+     * @param owner the owner row
+     * @return true if inserted
+     */
+    boolean insertOwner(GymOwner owner) {
+        if (!users.containsKey(owner.getUserId()) || owners.putIfAbsent(owner.getOwnerId(), owner) != null) {
+            return false;
+        }
+        ownerIdsByUser.put(owner.getUserId(), owner.getOwnerId());
+        return true;
+    }
+
+    /**
+     * Deletes a gym owner with their gym centers.
+     *
+     * @param ownerId the owner ID
+     * @return true if the owner existed
+     */
+    boolean deleteOwner(String ownerId) {
+        GymOwner removed = owners.remove(ownerId);
+        if (removed == null) {
+            return false;
+        }
+        ownerIdsByUser.remove(removed.getUserId(), ownerId);
+        for (GymCenter center : new ArrayList<>(centers.values())) {
+            if (ownerId.equals(center.getOwnerId())) {
+                deleteCenter(center.getGymId());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Inserts a customer unless the ID is taken or the user does not exist.
+     *
+     * @param customer the customer row
+     * @return true if inserted
+     */
+    boolean insertCustomer(GymCustomer customer) {
+        if (!users.containsKey(customer.getUserId()) || customers.putIfAbsent(customer.getCustomerId(), customer) != null) {
+            return false;
+        }
+        customerIdsByUser.put(customer.getUserId(), customer.getCustomerId());
+        return true;
+    }
+
+    /**
+     * Deletes a customer with their bookings and waitlist entries.
+     *
+     * @param customerId the customer ID
+     * @return true if the customer existed
+     */
+    boolean deleteCustomer(String customerId) {
+        GymCustomer removed = customers.remove(customerId);
+        if (removed == null) {
+            return false;
+        }
+        customerIdsByUser.remove(removed.getUserId(), customerId);
+        Set<String> customerBookings = bookingIdsByCustomer.get(customerId);
+        if (customerBookings != null) {
+            for (String bookingId : new ArrayList<>(customerBookings)) {
+                deleteBooking(bookingId);
+            }
+        }
+        for (GymWaitList entry : new ArrayList<>(waitList.values())) {
+            if (customerId.equals(entry.getCustomerId())) {
+                deleteWaitList(entry.getWaitlistId());
+            }
+        }
+        return true;
+    }
+
+    // ---------- Gym centers and slots ----------
+
+    /**
+     * Inserts a gym center unless the ID is taken or the owner does not exist.
+     *
+     * @param center the center row
+     * @return true if inserted
+     */
+    boolean insertCenter(GymCenter center) {
+        return owners.containsKey(center.getOwnerId()) && centers.putIfAbsent(center.getGymId(), center) == null;
+    }
+
+    /**
+     * Deletes a gym center with its slots.
+     *
+     * @param gymId the gym ID
+     * @return true if the center existed
+     */
+    boolean deleteCenter(String gymId) {
+        if (centers.remove(gymId) == null) {
+            return false;
+        }
+        Set<String> gymSlots = slotIdsByGym.get(gymId);
+        if (gymSlots != null) {
+            for (String slotId : new ArrayList<>(gymSlots)) {
+                deleteSlot(slotId);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Inserts a slot unless the ID is taken or the gym does not exist.
+     *
+     * @param slot the slot row
+     * @return true if inserted
+     */
+    boolean insertSlot(GymSlot slot) {
+        if (!centers.containsKey(slot.getGymId()) || slots.putIfAbsent(slot.getSlotId(), slot) != null) {
+            return false;
+        }
+        slotIdsByGym.computeIfAbsent(slot.getGymId(), k -> ConcurrentHashMap.newKeySet()).add(slot.getSlotId());
+        return true;
+    }
+
+    /**
+     * Deletes a slot with its bookings, waitlist entries and seat counters.
+     *
+     * @param slotId the slot ID
+     * @return true if the slot existed
+     */
+    boolean deleteSlot(String slotId) {
+        GymSlot removed = slots.remove(slotId);
+        if (removed == null) {
+            return false;
+        }
+        Set<String> gymSlots = slotIdsByGym.get(removed.getGymId());
+        if (gymSlots != null) {
+            gymSlots.remove(slotId);
+        }
+        ConcurrentNavigableMap<LocalDate, Set<String>> byDate = bookingIdsBySlotDate.get(slotId);
+        if (byDate != null) {
+            for (Set<String> ids : byDate.values()) {
+                for (String bookingId : new ArrayList<>(ids)) {
+                    deleteBooking(bookingId);
+                }
+            }
+            bookingIdsBySlotDate.remove(slotId);
+        }
+        inventory.keySet().removeIf(key -> key.slotId.equals(slotId));
+        for (GymWaitList entry : new ArrayList<>(waitList.values())) {
+            if (slotId.equals(entry.getSlotId())) {
+                deleteWaitList(entry.getWaitlistId());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the seat counter of a slot-date, creating it from the slot
+     * capacity and the confirmed bookings on first use.
+     *
+     * @param slotId the slot ID
+     * @param date the booking date
+     * @return the counter, or null if the slot does not exist
+     */
+    SeatCounter seatCounter(String slotId, LocalDate date) {
+        return inventory.computeIfAbsent(new SlotDate(slotId, date), key -> {
+            GymSlot slot = slots.get(slotId);
+            return slot != null ? new SeatCounter(slot.getTotalSeats(), countConfirmed(slotId, date)) : null;
+        });
+    }
+
+    // ---------- Bookings ----------
+
+    /**
+     * Inserts a booking unless the ID or (customer, slot, date) is taken,
+     * or the customer or slot does not exist.
+     *
+     * @param booking the booking row
+     * @return true if inserted
+     */
+    boolean insertBooking(Booking booking) {
+        if (!customers.containsKey(booking.getCustomerId()) || !slots.containsKey(booking.getSlotId())) {
+            return false;
+        }
+        String uniqueKey = uniqueKey(booking);
+        if (bookingIdsByUniqueKey.putIfAbsent(uniqueKey, booking.getBookingId()) != null) {
+            return false;
+        }
+        if (bookings.putIfAbsent(booking.getBookingId(), booking) != null) {
+            bookingIdsByUniqueKey.remove(uniqueKey, booking.getBookingId());
+            return false;
+        }
+        bookingIdsByCustomer.computeIfAbsent(booking.getCustomerId(), k -> ConcurrentHashMap.newKeySet())
+            .add(booking.getBookingId());
+        bookingIdsBySlotDate.computeIfAbsent(booking.getSlotId(), k -> new ConcurrentSkipListMap<>())
+            .computeIfAbsent(booking.getBookingDate(), k -> ConcurrentHashMap.newKeySet())
+            .add(booking.getBookingId());
+        indexInterval(booking);
+        return true;
+    }
+
+    /**
+     * Deletes a booking. Like the database, this does not release its seat.
+     *
+     * @param bookingId the booking ID
+     * @return true if the booking existed
+     */
+    boolean deleteBooking(String bookingId) {
+        Booking removed = bookings.remove(bookingId);
+        if (removed == null) {
+            return false;
+        }
+        bookingIdsByUniqueKey.remove(uniqueKey(removed), bookingId);
+        Set<String> customerBookings = bookingIdsByCustomer.get(removed.getCustomerId());
+        if (customerBookings != null) {
+            customerBookings.remove(bookingId);
+        }
+        ConcurrentNavigableMap<LocalDate, Set<String>> byDate = bookingIdsBySlotDate.get(removed.getSlotId());
+        if (byDate != null) {
+            Set<String> ids = byDate.get(removed.getBookingDate());
+            if (ids != null) {
+                ids.remove(bookingId);
+            }
+        }
+        bookingIntervalsByCustomerDay.computeIfPresent(customerDayKey(removed.getCustomerId(), removed.getBookingDate()),
+            (key, intervals) -> intervals.remove(bookingId) ? null : intervals);
+        return true;
+    }
+
+    /**
+     * Gets the IDs of a customer's bookings of any status on one date whose
+     * slot overlaps the given times. Touching slots overlap.
+     *
+     * @param customerId the customer ID
+     * @param date the booking date
+     * @param startTime the start of the window
+     * @param endTime the end of the window
+     * @return the booking IDs
+     */
+    List<String> overlappingBookingIds(String customerId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        DayIntervals intervals = bookingIntervalsByCustomerDay.get(customerDayKey(customerId, date));
+        return intervals != null ? intervals.overlapping(startTime, endTime) : Collections.emptyList();
+    }
+
+    /**
+     * Re-indexes the intervals of a slot's bookings after its times changed.
+     *
+     * @param slotId the slot ID
+     */
+    void reindexSlotIntervals(String slotId) {
+        ConcurrentNavigableMap<LocalDate, Set<String>> byDate = bookingIdsBySlotDate.get(slotId);
+        if (byDate == null) {
+            return;
+        }
+        for (Set<String> ids : byDate.values()) {
+            for (String bookingId : ids) {
+                Booking booking = bookings.get(bookingId);
+                if (booking != null) {
+                    indexInterval(booking);
+                }
+            }
+        }
+    }
+
+    private void indexInterval(Booking booking) {
+        GymSlot slot = slots.get(booking.getSlotId());
+        if (slot == null || slot.getStartTime() == null || slot.getEndTime() == null) {
+            return;
+        }
+        bookingIntervalsByCustomerDay.compute(customerDayKey(booking.getCustomerId(), booking.getBookingDate()),
+            (key, intervals) -> {
+                DayIntervals day = intervals != null ? intervals : new DayIntervals();
+                day.add(booking.getBookingId(), slot.getStartTime(), slot.getEndTime());
+                return day;
+            });
+    }
+
+    /**
+     * Gets the IDs of the bookings of a slot on one date.
+     *
+     * @param slotId the slot ID
+     * @param date the booking date
+     * @return the booking IDs; empty if there are none
+     */
+    Set<String> bookingIds(String slotId, LocalDate date) {
+        ConcurrentNavigableMap<LocalDate, Set<String>> byDate = bookingIdsBySlotDate.get(slotId);
+        Set<String> ids = byDate != null ? byDate.get(date) : null;
+        return ids != null ? ids : Collections.emptySet();
+    }
+
+    /**
+     * Counts the confirmed bookings of a slot on one date.
+     *
+     * @param slotId the slot ID
+     * @param date the booking date
+     * @return the count
+     */
+    int countConfirmed(String slotId, LocalDate date) {
+        return countConfirmed(bookingIds(slotId, date));
+    }
+
+    /**
+     * Counts the confirmed bookings among the given IDs.
+     *
+     * @param bookingIds the booking IDs
+     * @return the count
+     */
+    int countConfirmed(Iterable<String> bookingIds) {
+        int count = 0;
+        for (String bookingId : bookingIds) {
+            Booking booking = bookings.get(bookingId);
+            if (booking != null && booking.getBookingStatus() == BookingStatus.CONFIRMED) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static String uniqueKey(Booking booking) {
+        return booking.getCustomerId() + '|' + booking.getSlotId() + '|' + booking.getBookingDate();
+    }
+
+    private static String customerDayKey(String customerId, LocalDate date) {
+        return customerId + '|' + date;
+    }
+
+    // ---------- Waitlist ----------
+
+    /**
+     * Inserts a waitlist entry unless the ID is taken, or the customer or
+     * slot does not exist.
+     *
+     * @param entry the waitlist row
+     * @return true if inserted
+     */
+    boolean insertWaitList(GymWaitList entry) {
+        if (!customers.containsKey(entry.getCustomerId()) || !slots.containsKey(entry.getSlotId())
+                || waitList.putIfAbsent(entry.getWaitlistId(), entry) != null) {
+            return false;
+        }
+        long arrival = arrivals.incrementAndGet();
+        waitListArrival.put(entry.getWaitlistId(), arrival);
+        waitListIdsBySlotDate.computeIfAbsent(new SlotDate(entry.getSlotId(), entry.getRequestedDate()),
+            k -> new ConcurrentSkipListMap<>()).put(arrival, entry.getWaitlistId());
+        return true;
+    }
+
+    /**
+     * Deletes a waitlist entry.
+     *
+     * @param waitlistId the waitlist ID
+     * @return true if the entry existed
+     */
+    boolean deleteWaitList(String waitlistId) {
+        GymWaitList removed = waitList.remove(waitlistId);
+        if (removed == null) {
+            return false;
+        }
+        Long arrival = waitListArrival.remove(waitlistId);
+        ConcurrentNavigableMap<Long, String> queue =
+            waitListIdsBySlotDate.get(new SlotDate(removed.getSlotId(), removed.getRequestedDate()));
+        if (queue != null && arrival != null) {
+            queue.remove(arrival, waitlistId);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the waitlist IDs of a slot on one date, oldest first.
+     *
+     * @param slotId the slot ID
+     * @param date the requested date
+     * @return the waitlist IDs
+     */
+    Iterable<String> waitListIds(String slotId, LocalDate date) {
+        ConcurrentNavigableMap<Long, String> queue = waitListIdsBySlotDate.get(new SlotDate(slotId, date));
+        return queue != null ? queue.values() : Collections.emptyList();
+    }
+
+    /**
+     * Gets the waitlist IDs of a slot on every date, oldest first.
+     *
+     * @param slotId the slot ID
+     * @return the waitlist IDs
+     */
+    List<String> waitListIds(String slotId) {
+        List<Map.Entry<Long, String>> entries = new ArrayList<>();
+        for (Map.Entry<SlotDate, ConcurrentNavigableMap<Long, String>> queue : waitListIdsBySlotDate.entrySet()) {
+            if (queue.getKey().slotId.equals(slotId)) {
+                entries.addAll(queue.getValue().entrySet());
+            }
+        }
+        entries.sort(Map.Entry.comparingByKey());
+        List<String> ids = new ArrayList<>(entries.size());
+        for (Map.Entry<Long, String> entry : entries) {
+            ids.add(entry.getValue());
+        }
+        return ids;
+    }
+
+    // ---------- Notifications ----------
+
+    /**
+     * Inserts a notification unless the ID is taken or the user does not exist.
+     *
+     * @param notification the notification row
+     * @return true if inserted
+     */
+    boolean insertNotification(Notification notification) {
+        if (!users.containsKey(notification.getUserId())
+                || notifications.putIfAbsent(notification.getNotificationId(), notification) != null) {
+            return false;
+        }
+        long arrival = arrivals.incrementAndGet();
+        notificationArrival.put(notification.getNotificationId(), arrival);
+        notificationIdsByUser.computeIfAbsent(notification.getUserId(), k -> new ConcurrentSkipListMap<>())
+            .put(arrival, notification.getNotificationId());
+        if (!notification.isRead()) {
+            unreadCounter(notification.getUserId()).incrementAndGet();
+        }
+        return true;
+    }
+
+    /**
+     * Marks a notification read, taking it off its user's unread count.
+     *
+     * @param notificationId the notification ID
+     * @return true if the notification was unread
+     */
+    boolean markNotificationRead(String notificationId) {
+        Notification[] unread = new Notification[1];
+        notifications.computeIfPresent(notificationId, (id, existing) -> {
+            if (existing.isRead()) {
+                return existing;
+            }
+            unread[0] = existing;
+            Notification row = Rows.copy(existing);
+            row.setRead(true);
+            return row;
+        });
+        if (unread[0] == null) {
+            return false;
+        }
+        unreadCounter(unread[0].getUserId()).decrementAndGet();
+        return true;
+    }
+
+    /**
+     * Gets the number of unread notifications of a user.
+     *
+     * @param userId the user ID
+     * @return the unread count
+     */
+    int unreadNotifications(String userId) {
+        AtomicInteger unread = unreadNotificationsByUser.get(userId);
+        return unread != null ? Math.max(unread.get(), 0) : 0;
+    }
+
+    private AtomicInteger unreadCounter(String userId) {
+        return unreadNotificationsByUser.computeIfAbsent(userId, k -> new AtomicInteger());
+    }
+
+    /**
+     * Deletes a notification.
+     *
+     * @param notificationId the notification ID
+     * @return true if the notification existed
+     */
+    boolean deleteNotification(String notificationId) {
+        Notification removed = notifications.remove(notificationId);
+        if (removed == null) {
+            return false;
+        }
+        if (!removed.isRead()) {
+            unreadCounter(removed.getUserId()).decrementAndGet();
+        }
+        Long arrival = notificationArrival.remove(notificationId);
+        ConcurrentNavigableMap<Long, String> userNotifications = notificationIdsByUser.get(removed.getUserId());
+        if (userNotifications != null && arrival != null) {
+            userNotifications.remove(arrival, notificationId);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the notification IDs of a user, newest first.
+     *
+     * @param userId the user ID
+     * @return the notification IDs
+     */
+    Iterable<String> notificationIds(String userId) {
+        ConcurrentNavigableMap<Long, String> userNotifications = notificationIdsByUser.get(userId);
+        return userNotifications != null ? userNotifications.descendingMap().values() : Collections.emptyList();
+    }
+
+    // ---------- Loading and snapshots ----------
+
+    /**
+     * Removes every row.
+     */
+    void clear() {
+        synchronized (userWriteLock) {
+            users.clear();
+            userIdsByEmail.clear();
+        }
+        owners.clear();
+        ownerIdsByUser.clear();
+        customers.clear();
+        customerIdsByUser.clear();
+        centers.clear();
+        slots.clear();
+        slotIdsByGym.clear();
+        inventory.clear();
+        bookings.clear();
+        bookingIdsByCustomer.clear();
+        bookingIdsBySlotDate.clear();
+        bookingIdsByUniqueKey.clear();
+        bookingIntervalsByCustomerDay.clear();
+        waitList.clear();
+        waitListIdsBySlotDate.clear();
+        waitListArrival.clear();
+        notifications.clear();
+        notificationIdsByUser.clear();
+        notificationArrival.clear();
+        unreadNotificationsByUser.clear();
+    }
+
+    /**
+     * Replaces the contents of the store with the given tables. Waitlist
+     * entries and notifications keep their list order as arrival order.
+     *
+     * @param tables the tables to load
+     */
+    void load(Tables tables) {
+        clear();
+        tables.users.forEach(this::insertUser);
+        tables.owners.forEach(this::insertOwner);
+        tables.customers.forEach(this::insertCustomer);
+        tables.centers.forEach(this::insertCenter);
+        tables.slots.forEach(this::insertSlot);
+        for (InventoryRow row : tables.inventory) {
+            if (slots.containsKey(row.slotId)) {
+                inventory.put(new SlotDate(row.slotId, row.bookingDate), new SeatCounter(row.capacity, row.booked));
+            }
+        }
+        tables.bookings.forEach(this::insertBooking);
+        tables.waitList.forEach(this::insertWaitList);
+        tables.notifications.forEach(this::insertNotification);
+        LOG.info("In-memory store loaded: {} users, {} gym centers, {} slots, {} bookings, {} notifications",
+            users.size(), centers.size(), slots.size(), bookings.size(), notifications.size());
+    }
+
+    /**
+     * Loads the snapshot file, if one is configured and exists.
+     *
+     * @throws IOException if the file cannot be read
+     */
+    public void loadSnapshot() throws IOException {
+        if (snapshotFile == null || !Files.exists(snapshotFile)) {
+            LOG.info("No snapshot to load, starting with empty in-memory tables");
+            return;
+        }
+        load(objectMapper.readValue(snapshotFile.toFile(), Tables.class));
+    }
+
+    /**
+     * Copies every table from a FlipFit database.
+     *
+     * @param dataSource the database to copy
+     * @throws java.sql.SQLException if a table cannot be read
+     */
+    public void loadFromDatabase(javax.sql.DataSource dataSource) throws java.sql.SQLException {
+        load(DatabaseImport.readTables(dataSource));
+    }
+
+    /**
+     * Writes every table to the snapshot file, replacing it atomically
+     * where the file system allows.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void writeSnapshot() throws IOException {
+        if (snapshotFile == null) {
+            return;
+        }
+        try (Timer.Context ignored = snapshotWrites.time()) {
+            Path directory = snapshotFile.toAbsolutePath().getParent();
+            Path temp = Files.createTempFile(directory, snapshotFile.getFileName().toString(), ".tmp");
+            try {
+                objectMapper.writeValue(temp.toFile(), tables());
+                try {
+                    Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    private void writeSnapshotQuietly() {
+        try {
+            writeSnapshot();
+        } catch (IOException | RuntimeException e) {
+            snapshotFailures.mark();
+            LOG.error("Error writing in-memory snapshot to {}", snapshotFile, e);
+        }
+    }
+
+    /**
+     * Copies the current rows into a Tables document.
+     *
+     * @return the tables
+     */
+    Tables tables() {
+        Tables tables = new Tables();
+        tables.users = new ArrayList<>(users.values());
+        tables.owners = new ArrayList<>(owners.values());
+        tables.customers = new ArrayList<>(customers.values());
+        tables.centers = new ArrayList<>(centers.values());
+        tables.slots = new ArrayList<>(slots.values());
+        tables.inventory = new ArrayList<>();
+        for (Map.Entry<SlotDate, SeatCounter> entry : inventory.entrySet()) {
+            InventoryRow row = new InventoryRow();
+            row.slotId = entry.getKey().slotId;
+            row.bookingDate = entry.getKey().date;
+            synchronized (entry.getValue()) {
+                row.capacity = entry.getValue().capacity;
+                row.booked = entry.getValue().booked;
+            }
+            tables.inventory.add(row);
+        }
+        tables.bookings = new ArrayList<>(bookings.values());
+        tables.waitList = inArrivalOrder(waitList, waitListArrival);
+        tables.notifications = inArrivalOrder(notifications, notificationArrival);
+        return tables;
+    }
+
+    private static <T> List<T> inArrivalOrder(Map<String, T> rows, Map<String, Long> arrival) {
+        List<Map.Entry<String, T>> entries = new ArrayList<>(rows.entrySet());
+        entries.sort((a, b) -> Long.compare(
+            arrival.getOrDefault(a.getKey(), Long.MAX_VALUE), arrival.getOrDefault(b.getKey(), Long.MAX_VALUE)));
+        List<T> ordered = new ArrayList<>(entries.size());
+        for (Map.Entry<String, T> entry : entries) {
+            ordered.add(entry.getValue());
+        }
+        return ordered;
+    }
+
+    private void registerSizeGauge(MetricRegistry metrics, String table, Map<?, ?> rows) {
+        String name = MetricRegistry.name(InMemoryStore.class, table, "size");
+        metrics.remove(name);
+        metrics.register(name, (Gauge<Integer>) rows::size);
+    }
+
+    /**
+     * Gets the current time as a row timestamp.
+     *
+     * @return the timestamp
+     */
+    static Timestamp now() {
+        return new Timestamp(System.currentTimeMillis());
+    }
+
+    // ---------- Row types ----------
+
+    /**
+     * Key of the slot-date indexes.
+     */
+    static final class SlotDate {
+        final String slotId;
+        final LocalDate date;
+
+        SlotDate(String slotId, LocalDate date) {
+            this.slotId = slotId;
+            this.date = date;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SlotDate)) {
+                return false;
+            }
+            SlotDate other = (SlotDate) o;
+            return slotId.equals(other.slotId) && Objects.equals(date, other.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * slotId.hashCode() + Objects.hashCode(date);
+        }
+    }
+
+    /**
+     * Booked seats of one slot-date (the slot_date_inventory row).
+     */
+    static final class SeatCounter {
+        int capacity;
+        int booked;
+
+        SeatCounter(int capacity, int booked) {
+            this.capacity = capacity;
+            this.booked = booked;
+        }
+
+        synchronized boolean reserve() {
+            if (booked >= capacity) {
+                return false;
+            }
+            booked++;
+            return true;
+        }
+
+        synchronized boolean release() {
+            if (booked <= 0) {
+                return false;
+            }
+            booked--;
+            return true;
+        }
+
+        synchronized int booked() {
+            return booked;
+        }
+
+        synchronized void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+
+    /**
+     * The slot time intervals of one customer's bookings on one day, sorted by
+     * start time. An overlap query walks back from the window end only as far
+     * as the longest interval can reach, so it touches the candidates rather
+     * than every booking of the day.
+     */
+    static final class DayIntervals {
+        /** Booking end (second of day) by booking ID, grouped by start (second of day). */
+        private final NavigableMap<Integer, Map<String, Integer>> byStart = new TreeMap<>();
+        private final Map<String, Integer> startOf = new HashMap<>();
+        private int maxLength;
+
+        synchronized void add(String bookingId, LocalTime startTime, LocalTime endTime) {
+            remove(bookingId);
+            int start = startTime.toSecondOfDay();
+            int end = endTime.toSecondOfDay();
+            byStart.computeIfAbsent(start, k -> new HashMap<>()).put(bookingId, end);
+            startOf.put(bookingId, start);
+            maxLength = Math.max(maxLength, end - start);
+        }
+
+        /**
+         * Removes a booking.
+         *
+         * @return true if no booking is left
+         */
+        synchronized boolean remove(String bookingId) {
+            Integer start = startOf.remove(bookingId);
+            if (start != null) {
+                Map<String, Integer> atStart = byStart.get(start);
+                atStart.remove(bookingId);
+                if (atStart.isEmpty()) {
+                    byStart.remove(start);
+                }
+            }
+            if (startOf.isEmpty()) {
+                maxLength = 0;
+            }
+            return startOf.isEmpty();
+        }
+
+        synchronized List<String> overlapping(LocalTime startTime, LocalTime endTime) {
+            int start = startTime.toSecondOfDay();
+            List<String> ids = new ArrayList<>();
+            for (Map.Entry<Integer, Map<String, Integer>> entry
+                    : byStart.headMap(endTime.toSecondOfDay(), true).descendingMap().entrySet()) {
+                if (entry.getKey() < start - maxLength) {
+                    break;
+                }
+                for (Map.Entry<String, Integer> booking : entry.getValue().entrySet()) {
+                    if (booking.getValue() >= start) {
+                        ids.add(booking.getKey());
+                    }
+                }
+            }
+            return ids;
+        }
+    }
+
+    /**
+     * Every table, as written to and read from a snapshot.
+     */
+    static final class Tables {
+        public List<GymUser> users = new ArrayList<>();
+        public List<GymOwner> owners = new ArrayList<>();
+        public List<GymCustomer> customers = new ArrayList<>();
+        public List<GymCenter> centers = new ArrayList<>();
+        public List<GymSlot> slots = new ArrayList<>();
+        public List<InventoryRow> inventory = new ArrayList<>();
+        public List<Booking> bookings = new ArrayList<>();
+        public List<GymWaitList> waitList = new ArrayList<>();
+        public List<Notification> notifications = new ArrayList<>();
+    }
+
+    /**
+     * A slot_date_inventory row in a snapshot.
+     */
+    static final class InventoryRow {
+        public String slotId;
+        public LocalDate bookingDate;
+        public int capacity;
+        public int booked;
+    }
+}
@@ -0,0 +1,183 @@
+package com.flipfit.dao.memory;
+
+import com.flipfit.bean.GymWaitList;
+import com.flipfit.dao.WaitListDAO;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class InMemoryWaitListDAOImpl.
+ * WaitListDAO on InMemoryStore. Each slot-date keeps its entries in
+ * arrival order, so the first waiting customer is found without sorting.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName InMemoryWaitListDAOImpl
+ */
+public class InMemoryWaitListDAOImpl implements WaitListDAO {
+
+    /** Status of an entry still waiting for a seat. */
+    private static final String WAITING = "WAITING";
+
+    private final InMemoryStore store;
+
+    /**
+     * Instantiates a new in-memory waitlist DAO.
+     *
+     * @param store the backing store
+     */
+    public InMemoryWaitListDAOImpl(InMemoryStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Insert a new waitlist entry with status WAITING.
+     *
+     * @param waitList the waitlist object
+     * @return true if insertion successful, false otherwise
+     */
+    @Override
+    public boolean insertWaitList(GymWaitList waitList) {
+        GymWaitList row = Rows.copy(waitList);
+        row.setStatus(WAITING);
+        row.setCreatedAt(InMemoryStore.now());
+        return store.insertWaitList(row);
+    }
+
+    /**
+     * Get the waiting entries of a slot, oldest first.
+     *
+     * @param slotId the slot ID
+     * @return list of waitlist entries
+     */
+    @Override
+    public List<GymWaitList> getWaitListBySlot(String slotId) {
+        List<GymWaitList> waitList = new ArrayList<>();
+        for (String waitlistId : store.waitListIds(slotId)) {
+            GymWaitList entry = store.waitList.get(waitlistId);
+            if (entry != null && WAITING.equals(entry.getStatus()) && store.customers.containsKey(entry.getCustomerId())) {
+                waitList.add(Rows.copy(entry));
+            }
+        }
+        return waitList;
+    }
+
+    /**
+     * Update the status of a waitlist entry.
+     *
+     * @param waitListId the waitlist ID
+     * @param status the new status
+     * @return true if update successful, false otherwise
+     */
+    @Override
+    public boolean updateWaitListStatus(String waitListId, String status) {
+        return store.waitList.computeIfPresent(waitListId, (id, existing) -> {
+            GymWaitList row = Rows.copy(existing);
+            row.setStatus(status);
+            return row;
+        }) != null;
+    }
+
+    /**
+     * Delete a waitlist entry.
+     *
+     * @param waitListId the waitlist ID
+     * @return true if deletion successful, false otherwise
+     */
+    @Override
+    public boolean deleteWaitList(String waitListId) {
+        return store.deleteWaitList(waitListId);
+    }
+
+    /**
+     * Get the oldest waiting entry of a slot on any date.
+     *
+     * @param slotId the slot ID
+     * @return the waitlist entry, or null if nobody is waiting
+     */
+    @Override
+    public GymWaitList getFirstWaitingCustomer(String slotId) {
+        return firstWaiting(store.waitListIds(slotId));
+    }
+
+    /**
+     * Get the oldest waiting entry of a slot on a date.
+     *
+     * @param slotId the slot ID
+     * @param requestedDate the requested date
+     * @return the waitlist entry, or null if nobody is waiting
+     */
+    @Override
+    public GymWaitList getFirstWaitingCustomerByDate(String slotId, LocalDate requestedDate) {
+        return firstWaiting(store.waitListIds(slotId, requestedDate));
+    }
+
+    /**
+     * Check whether a customer is waiting for a slot on a date.
+     *
+     * @param customerId the customer ID
+     * @param slotId the slot ID
+     * @param requestedDate the requested date
+     * @return true if the customer is waiting, false otherwise
+     */
+    @Override
+    public boolean isCustomerInWaitlistByDate(String customerId, String slotId, LocalDate requestedDate) {
+        for (String waitlistId : store.waitListIds(slotId, requestedDate)) {
+            GymWaitList entry = store.waitList.get(waitlistId);
+            if (entry != null && WAITING.equals(entry.getStatus()) && customerId.equals(entry.getCustomerId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get every waiting entry, in arrival order within each slot-date.
+     *
+     * @return list of waitlist entries
+     */
+    @Override
+    public List<GymWaitList> getWaitingEntries() {
+        List<GymWaitList> waitList = new ArrayList<>();
+        for (Map<Long, String> queue : store.waitListIdsBySlotDate.values()) {
+            for (String waitlistId : queue.values()) {
+                GymWaitList entry = store.waitList.get(waitlistId);
+                if (entry != null && WAITING.equals(entry.getStatus())) {
+                    waitList.add(Rows.copy(entry));
+                }
+            }
+        }
+        return waitList;
+    }
+
+    /**
+     * Set the status of several waitlist entries.
+     *
+     * @param waitListIds the waitlist IDs
+     * @param status the new status
+     * @return the number of entries updated
+     */
+    @Override
+    public int updateWaitListStatuses(List<String> waitListIds, String status) {
+        int updated = 0;
+        for (String waitListId : waitListIds) {
+            if (updateWaitListStatus(waitListId, status)) {
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    private GymWaitList firstWaiting(Iterable<String> waitlistIds) {
+        for (String waitlistId : waitlistIds) {
+            GymWaitList entry = store.waitList.get(waitlistId);
+            if (entry != null && WAITING.equals(entry.getStatus())) {
+                return Rows.copy(entry);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,155 @@
+package com.flipfit.dao.memory;
+
+import com.flipfit.bean.Booking;
+import com.flipfit.bean.GymCenter;
+import com.flipfit.bean.GymCustomer;
+import com.flipfit.bean.GymOwner;
+import com.flipfit.bean.GymSlot;
+import com.flipfit.bean.GymUser;
+import com.flipfit.bean.GymWaitList;
+import com.flipfit.bean.Notification;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class Rows.
+ * Copies of the beans holding the columns the JDBC DAOs map, so that rows
+ * stored in InMemoryStore are never shared with callers.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName Rows
+ */
+final class Rows {
+
+    private Rows() {
+    }
+
+    static GymUser copy(GymUser source) {
+        if (source == null) {
+            return null;
+        }
+        GymUser user = new GymUser();
+        user.setUserId(source.getUserId());
+        user.setName(source.getName());
+        user.setEmail(source.getEmail());
+        user.setPassword(source.getPassword());
+        user.setAddress(source.getAddress());
+        user.setRole(source.getRole());
+        return user;
+    }
+
+    static GymOwner copy(GymOwner source) {
+        if (source == null) {
+            return null;
+        }
+        GymOwner owner = new GymOwner();
+        owner.setOwnerId(source.getOwnerId());
+        owner.setUserId(source.getUserId());
+        owner.setPanCard(source.getPanCard());
+        owner.setAadharCard(source.getAadharCard());
+        owner.setGstNumber(source.getGstNumber());
+        owner.setApproved(source.isApproved());
+        owner.setApprovalDate(source.getApprovalDate());
+        owner.setCreatedAt(source.getCreatedAt());
+        return owner;
+    }
+
+    static GymCustomer copy(GymCustomer source) {
+        if (source == null) {
+            return null;
+        }
+        GymCustomer customer = new GymCustomer();
+        customer.setCustomerId(source.getCustomerId());
+        customer.setUserId(source.getUserId());
+        customer.setDateOfBirth(source.getDateOfBirth());
+        customer.setFitnessGoal(source.getFitnessGoal());
+        customer.setMembershipStartDate(source.getMembershipStartDate());
+        customer.setMembershipEndDate(source.getMembershipEndDate());
+        customer.setPremium(source.isPremium());
+        customer.setCreatedAt(source.getCreatedAt());
+        return customer;
+    }
+
+    static GymCenter copy(GymCenter source) {
+        if (source == null) {
+            return null;
+        }
+        GymCenter center = new GymCenter();
+        center.setGymId(source.getGymId());
+        center.setOwnerId(source.getOwnerId());
+        center.setGymName(source.getGymName());
+        center.setGymAddress(source.getGymAddress());
+        center.setCity(source.getCity());
+        center.setState(source.getState());
+        center.setPincode(source.getPincode());
+        center.setPhoneNumber(source.getPhoneNumber());
+        center.setEmail(source.getEmail());
+        center.setTotalSlots(source.getTotalSlots());
+        center.setLatitude(source.getLatitude());
+        center.setLongitude(source.getLongitude());
+        center.setApproved(source.isApproved());
+        center.setApprovalDate(source.getApprovalDate());
+        center.setCreatedAt(source.getCreatedAt());
+        center.setUpdatedAt(source.getUpdatedAt());
+        return center;
+    }
+
+    static GymSlot copy(GymSlot source) {
+        if (source == null) {
+            return null;
+        }
+        GymSlot slot = new GymSlot();
+        slot.setSlotId(source.getSlotId());
+        slot.setGymId(source.getGymId());
+        slot.setStartTime(source.getStartTime());
+        slot.setEndTime(source.getEndTime());
+        slot.setTotalSeats(source.getTotalSeats());
+        slot.setAvailableSeats(source.getAvailableSeats());
+        slot.setPrice(source.getPrice());
+        slot.setActive(source.isActive());
+        slot.setCreatedAt(source.getCreatedAt());
+        return slot;
+    }
+
+    static Booking copy(Booking source) {
+        if (source == null) {
+            return null;
+        }
+        Booking booking = new Booking();
+        booking.setBookingId(source.getBookingId());
+        booking.setCustomerId(source.getCustomerId());
+        booking.setSlotId(source.getSlotId());
+        booking.setBookingDate(source.getBookingDate());
+        booking.setBookingStatus(source.getBookingStatus());
+        return booking;
+    }
+
+    static GymWaitList copy(GymWaitList source) {
+        if (source == null) {
+            return null;
+        }
+        GymWaitList entry = new GymWaitList();
+        entry.setWaitlistId(source.getWaitlistId());
+        entry.setCustomerId(source.getCustomerId());
+        entry.setSlotId(source.getSlotId());
+        entry.setRequestedDate(source.getRequestedDate());
+        entry.setPriority(source.getPriority());
+        entry.setStatus(source.getStatus());
+        entry.setCreatedAt(source.getCreatedAt());
+        return entry;
+    }
+
+    static Notification copy(Notification source) {
+        if (source == null) {
+            return null;
+        }
+        Notification notification = new Notification();
+        notification.setNotificationId(source.getNotificationId());
+        notification.setUserId(source.getUserId());
+        notification.setTitle(source.getTitle());
+        notification.setMessage(source.getMessage());
+        notification.setNotificationType(source.getNotificationType());
+        notification.setRead(source.isRead());
+        notification.setCreatedAt(source.getCreatedAt());
+        return notification;
+    }
+}
@@ -0,0 +1,6 @@
+package com.flipfit.enums;
+
+public enum BulkBookingMode {
+    ALL_OR_NOTHING,
+    BEST_EFFORT
+}
@@ -0,0 +1,58 @@
+package com.flipfit.health;
+
+import com.codahale.metrics.health.HealthCheck;
+import io.dropwizard.db.TimeBoundHealthCheck;
+import io.dropwizard.util.Duration;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Health check for the pooled FlipFit database.
+ * Borrows a connection from the pool and runs the configured validation query,
+ * failing if the query does not complete within the validation timeout.
+ *
+ * @author JEDI-BRAVO
+ * @version 1.0
+ * @since 2026-01-28
+ */
+public class DatabaseHealthCheck extends HealthCheck {
+
+    private final DataSource dataSource;
+    private final String validationQuery;
+    private final TimeBoundHealthCheck timeBoundHealthCheck;
+
+    /**
+     * Constructor for the database health check.
+     *
+     * @param executor The executor the validation query runs on
+     * @param timeout The maximum time the validation query may take
+     * @param dataSource The pooled data source to check
+     * @param validationQuery The query used to validate a connection
+     */
+    public DatabaseHealthCheck(ExecutorService executor, Duration timeout,
+                               DataSource dataSource, String validationQuery) {
+        this.dataSource = dataSource;
+        this.validationQuery = validationQuery;
+        this.timeBoundHealthCheck = new TimeBoundHealthCheck(executor, timeout);
+    }
+
+    /**
+     * Runs the validation query against a pooled connection.
+     *
+     * @return Healthy if the query succeeds, unhealthy otherwise
+     */
+    @Override
+    protected Result check() {
+        return timeBoundHealthCheck.check(() -> {
+            try (Connection conn = dataSource.getConnection();
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(validationQuery)) {
+                return rs.next() ? Result.healthy() : Result.unhealthy("Validation query returned no rows");
+            }
+        });
+    }
+}
@@ -1,14 +1,19 @@
 package com.flipfit.rest;
 
+import com.codahale.metrics.annotation.ResponseMetered;
+import com.codahale.metrics.annotation.Timed;
 import com.flipfit.bean.GymCenter;
 import com.flipfit.bean.GymOwner;
 import com.flipfit.business.AdminService;
 import com.flipfit.business.GymOwnerService;
 import com.flipfit.business.impl.AdminServiceImpl;
 import com.flipfit.business.impl.GymOwnerServiceImpl;
+import com.flipfit.utils.CatalogVersions;
 
 import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import java.util.HashMap;
 import java.util.List;
@@ -44,6 +49,8 @@ public class AdminController {
      * @return Response with list of pending gym owners
      */
     @GET
+    @Timed
+    @ResponseMetered
     @Path("/owners/pending")
     public Response getPendingGymOwners() {
         try {
@@ -63,6 +70,8 @@ public class AdminController {
      * @return Response with list of approved gym owners
      */
     @GET
+    @Timed
+    @ResponseMetered
     @Path("/owners/approved")
     public Response getApprovedGymOwners() {
         try {
@@ -88,6 +97,8 @@ public class AdminController {
      * @return Response with list of pending gym centers
      */
     @GET
+    @Timed
+    @ResponseMetered
     @Path("/centers/pending")
     public Response getPendingGymCenters() {
         try {
@@ -107,6 +118,8 @@ public class AdminController {
      * @return Response with list of approved gym centers
      */
     @GET
+    @Timed
+    @ResponseMetered
     @Path("/centers/approved")
     public Response getApprovedGymCenters() {
         try {
@@ -132,6 +145,8 @@ public class AdminController {
      * @return Response with approval status
      */
     @PUT
+    @Timed
+    @ResponseMetered
     @Path("/owner/approve/{ownerId}")
     public Response approveGymOwner(@PathParam("ownerId") String ownerId) {
         try {
@@ -162,6 +177,8 @@ public class AdminController {
      * @return Response with approval status
      */
     @PUT
+    @Timed
+    @ResponseMetered
     @Path("/center/approve/{gymId}")
     public Response approveGymCenter(@PathParam("gymId") String gymId) {
         try {
@@ -193,6 +210,8 @@ public class AdminController {
      * @return Response with rejection status
      */
     @POST
+    @Timed
+    @ResponseMetered
     @Path("/owner/reject/{ownerId}")
     public Response rejectGymOwner(@PathParam("ownerId") String ownerId, Map<String, String> rejectionData) {
         try {
@@ -225,6 +244,8 @@ public class AdminController {
      * @return Response with rejection status
      */
     @POST
+    @Timed
+    @ResponseMetered
     @Path("/center/reject/{gymId}")
     public Response rejectGymCenter(@PathParam("gymId") String gymId, Map<String, String> rejectionData) {
         try {
@@ -250,15 +271,18 @@ public class AdminController {
     }
     
     /**
-     * Get system statistics.
+     * Get system statistics. Served from the in-memory snapshot, which is
+     * republished every second and recounted from the database periodically.
      * 
      * @return Response with system statistics
      */
     @GET
+    @Timed
+    @ResponseMetered
     @Path("/statistics")
     public Response getStatistics() {
         try {
-            Map<String, Integer> stats = adminService.getSystemStatistics();
+            Map<String, Object> stats = adminService.getSystemStatistics();
             return Response.ok(stats).build();
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
@@ -273,6 +297,8 @@ public class AdminController {
      * @return Response with list of all gym owners
      */
     @GET
+    @Timed
+    @ResponseMetered
     @Path("/owners")
     public Response getAllGymOwners() {
         try {
@@ -289,14 +315,22 @@ public class AdminController {
     /**
      * Get all gym centers (both approved and pending).
      * 
-     * @return Response with list of all gym centers
+     * @param request The request, for If-None-Match / If-Modified-Since
+     * @return Response with list of all gym centers, or 304 if unchanged
      */
     @GET
+    @Timed
+    @ResponseMetered
     @Path("/centers")
-    public Response getAllGymCenters() {
+    public Response getAllGymCenters(@Context Request request) {
         try {
+            CatalogVersions.Validators validators = CatalogVersions.getInstance().validators(CatalogVersions.Resource.CENTERS);
+            Response notModified = validators.notModified(request);
+            if (notModified != null) {
+                return notModified;
+            }
             List<GymCenter> centers = adminService.viewAllGymCenters();
-            return Response.ok(centers).build();
+            return validators.ok(centers);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Failed to fetch gym centers: " + e.getMessage());
@@ -1,6 +1,9 @@
 package com.flipfit.rest;
 
+import com.codahale.metrics.annotation.ResponseMetered;
+import com.codahale.metrics.annotation.Timed;
 import com.flipfit.bean.GymCustomer;
+import com.flipfit.bean.GymOwner;
 import com.flipfit.bean.GymUser;
 import com.flipfit.business.CustomerService;
 import com.flipfit.business.GymOwnerService;
@@ -11,10 +14,14 @@ import com.flipfit.business.impl.UserServiceImpl;
 import com.flipfit.enums.Role;
 import com.flipfit.exception.InvalidCredentialsException;
 import com.flipfit.exception.RegistrationFailedException;
+import com.flipfit.utils.AuthTokens;
+import com.flipfit.utils.CustomerIdentityCache;
 
 import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
@@ -48,12 +55,15 @@ public class AuthController {
     
     /**
      * Login endpoint for all user types.
-     * Returns user details with current login timestamp using Java Date/Time API.
+     * Returns user details with current login timestamp using Java Date/Time API,
+     * and a signed access token to send as "Authorization: Bearer" on later requests.
      * 
      * @param credentials Map containing email, password, and role
      * @return Response with user details and login timestamp
      */
     @POST
+    @Timed
+    @ResponseMetered
     @Path("/login")
     public Response login(Map<String, String> credentials) {
         try {
@@ -79,23 +89,28 @@ public class AuthController {
             response.put("loginTime", formattedLoginTime);
             response.put("welcomeMessage", "Welcome " + user.getName() + "!");
             
-            // For customers, fetch the customer_id from GymCustomer table
+            // For customers, add the customer_id (served from the identity cache); for owners, the owner_id
+            String subjectId = null;
             if (role == Role.CUSTOMER) {
-                try {
-                    java.sql.Connection conn = com.flipfit.utils.DBConnection.getConnection();
-                    java.sql.PreparedStatement stmt = conn.prepareStatement(
-                        "SELECT customer_id FROM GymCustomer WHERE user_id = ?"
-                    );
-                    stmt.setString(1, user.getUserId());
-                    java.sql.ResultSet rs = stmt.executeQuery();
-                    if (rs.next()) {
-                        response.put("customerId", rs.getString("customer_id"));
-                    }
-                    rs.close();
-                    stmt.close();
-                } catch (Exception e) {
-                    System.err.println("Error fetching customer_id: " + e.getMessage());
+                subjectId = CustomerIdentityCache.getInstance().getCustomerId(user.getUserId());
+                if (subjectId != null) {
+                    response.put("customerId", subjectId);
                 }
+            } else if (role == Role.GYM_OWNER) {
+                GymOwner owner = gymOwnerService.getGymOwnerByUserId(user.getUserId());
+                if (owner != null) {
+                    subjectId = owner.getOwnerId();
+                    response.put("ownerId", subjectId);
+                }
+            }
+            
+            // The token carries the identity resolved above, so later requests need no lookups
+            AuthTokens tokens = AuthTokens.getInstance();
+            if (tokens.isEnabled()) {
+                AuthTokens.Claims claims = tokens.issue(user.getUserId(), role, subjectId);
+                response.put("token", tokens.encode(claims));
+                response.put("tokenType", "Bearer");
+                response.put("expiresAt", claims.getExpiresAt().toString());
             }
             
             if (user == null) {
@@ -113,6 +128,29 @@ public class AuthController {
         }
     }
     
+    /**
+     * Logout endpoint; revokes the access token the request was made with.
+     * 
+     * @param securityContext The security context set by the token filter
+     * @return Response with logout status
+     */
+    @POST
+    @Timed
+    @ResponseMetered
+    @Path("/logout")
+    public Response logout(@Context SecurityContext securityContext) {
+        if (!(securityContext.getUserPrincipal() instanceof AuthTokens.Claims)) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "No access token to revoke");
+            return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+        }
+        AuthTokens.getInstance().revoke((AuthTokens.Claims) securityContext.getUserPrincipal());
+        
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Logged out successfully");
+        return Response.ok(response).build();
+    }
+    
     /**
      * Registration endpoint for gym customers.
      * 
@@ -120,6 +158,8 @@ public class AuthController {
      * @return Response with registration status
      */
     @POST
+    @Timed
+    @ResponseMetered
     @Path("/register/customer")
     public Response registerCustomer(Map<String, String> registrationData) {
         try {
@@ -164,6 +204,8 @@ public class AuthController {
      * @return Response with registration status
      */
     @POST
+    @Timed
+    @ResponseMetered
     @Path("/register/owner")
     public Response registerGymOwner(Map<String, String> registrationData) {
         try {
@@ -207,16 +249,26 @@ public class AuthController {
      * Change password endpoint for authenticated users.
      * 
      * @param passwordData Map containing userId, oldPassword, and newPassword
+     * @param securityContext The security context set by the token filter
      * @return Response with password change status
      */
     @PUT
+    @Timed
+    @ResponseMetered
     @Path("/password/change")
-    public Response changePassword(Map<String, String> passwordData) {
+    public Response changePassword(Map<String, String> passwordData, @Context SecurityContext securityContext) {
         try {
             String userId = passwordData.get("userId");
             String oldPassword = passwordData.get("oldPassword");
             String newPassword = passwordData.get("newPassword");
             
+            if (securityContext.getUserPrincipal() instanceof AuthTokens.Claims
+                    && !securityContext.getUserPrincipal().getName().equals(userId)) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Not allowed for another user");
+                return Response.status(Response.Status.FORBIDDEN).entity(error).build();
+            }
+            
             userService.changePassword(userId, oldPassword, newPassword);
             
             Map<String, String> response = new HashMap<>();
@@ -0,0 +1,183 @@
+package com.flipfit.rest;
+
+import com.flipfit.enums.Role;
+import com.flipfit.exception.InvalidCredentialsException;
+import com.flipfit.utils.AuthTokens;
+
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.PathSegment;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.ext.Provider;
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request filter for the signed access tokens issued at login.
+ * Checks the Bearer token in memory, exposes its claims as the request's
+ * user principal and applies the role and ownership rules of each resource:
+ * /admin is for admins, /owner for gym owners and /customer for customers,
+ * and a customer or owner ID in the path must be the caller's own unless
+ * the caller is an admin. Login and registration stay open.
+ *
+ * @author JEDI-BRAVO
+ * @version 1.0
+ * @since 2026-01-28
+ */
+@Provider
+@Priority(Priorities.AUTHENTICATION)
+public class AuthTokenFilter implements ContainerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final AuthTokens tokens;
+
+    /**
+     * Constructor taking the token issuer to check against.
+     *
+     * @param tokens The token issuer
+     */
+    public AuthTokenFilter(AuthTokens tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Authenticates and authorizes a request before it reaches a resource.
+     *
+     * @param requestContext The request context
+     */
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        List<PathSegment> segments = requestContext.getUriInfo().getPathSegments();
+        String resource = segment(segments, 0);
+        if ("auth".equals(resource) && isOpen(segment(segments, 1))) {
+            return;
+        }
+
+        String header = requestContext.getHeaderString(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            if (tokens.isRequired()) {
+                abort(requestContext, Response.Status.UNAUTHORIZED, "Authentication required");
+            }
+            return;
+        }
+
+        AuthTokens.Claims claims;
+        try {
+            claims = tokens.verify(header.substring(BEARER.length()).trim());
+        } catch (InvalidCredentialsException e) {
+            abort(requestContext, Response.Status.UNAUTHORIZED, e.getMessage());
+            return;
+        }
+
+        String denied = authorize(claims, resource, segments);
+        if (denied != null) {
+            abort(requestContext, Response.Status.FORBIDDEN, denied);
+            return;
+        }
+        requestContext.setSecurityContext(
+            new TokenSecurityContext(claims, requestContext.getSecurityContext().isSecure()));
+    }
+
+    /**
+     * Applies the role and ownership rules of the requested resource.
+     *
+     * @param claims The caller's token claims
+     * @param resource The first path segment
+     * @param segments All path segments
+     * @return The reason the request is denied, or null if it is allowed
+     */
+    private static String authorize(AuthTokens.Claims claims, String resource, List<PathSegment> segments) {
+        Role role = claims.getRole();
+        if (resource == null || role == Role.ADMIN) {
+            return null;
+        }
+        String action = segment(segments, 1);
+        switch (resource) {
+            case "admin":
+                return "Admin access required";
+            case "owner":
+                if (role != Role.GYM_OWNER) {
+                    return "Gym owner access required";
+                }
+                // /owner/profile/{ownerId}, /owner/update/{ownerId}; the owner lists are filtered by the resource
+                if (("profile".equals(action) || "update".equals(action))
+                        && !claims.mayActFor(segment(segments, 2))) {
+                    return "Not allowed for another gym owner";
+                }
+                return null;
+            case "customer":
+                if (role != Role.CUSTOMER) {
+                    return "Customer access required";
+                }
+                // /customer/bookings/{customerId}, /customer/notifications/{customerId}/...; a booking ID is
+                // checked against its customer by the resource, which has to load the booking anyway
+                if (("bookings".equals(action) || "notifications".equals(action))
+                        && !claims.mayActFor(segment(segments, 2))) {
+                    return "Not allowed for another customer";
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    private static boolean isOpen(String action) {
+        return "login".equals(action) || "register".equals(action);
+    }
+
+    private static String segment(List<PathSegment> segments, int index) {
+        return index < segments.size() ? segments.get(index).getPath() : null;
+    }
+
+    private static void abort(ContainerRequestContext requestContext, Response.Status status, String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        Response.ResponseBuilder response = Response.status(status).type(MediaType.APPLICATION_JSON).entity(error);
+        if (status == Response.Status.UNAUTHORIZED) {
+            response.header(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+        }
+        requestContext.abortWith(response.build());
+    }
+
+    /**
+     * Security context backed by the claims of a verified token.
+     */
+    private static final class TokenSecurityContext implements SecurityContext {
+
+        private final AuthTokens.Claims claims;
+        private final boolean secure;
+
+        TokenSecurityContext(AuthTokens.Claims claims, boolean secure) {
+            this.claims = claims;
+            this.secure = secure;
+        }
+
+        @Override
+        public Principal getUserPrincipal() {
+            return claims;
+        }
+
+        @Override
+        public boolean isUserInRole(String role) {
+            return claims.getRole().name().equals(role);
+        }
+
+        @Override
+        public boolean isSecure() {
+            return secure;
+        }
+
+        @Override
+        public String getAuthenticationScheme() {
+            return "Bearer";
+        }
+    }
+}
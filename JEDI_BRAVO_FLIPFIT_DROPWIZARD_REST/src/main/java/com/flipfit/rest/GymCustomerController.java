@@ -1,18 +1,41 @@
 package com.flipfit.rest;
 
+import com.codahale.metrics.annotation.ResponseMetered;
+import com.codahale.metrics.annotation.Timed;
 import com.flipfit.bean.*;
 import com.flipfit.business.BookingService;
 import com.flipfit.business.impl.BookingServiceImpl;
+import com.flipfit.enums.BulkBookingMode;
 import com.flipfit.exception.BookingFailedException;
+import com.flipfit.utils.AuthTokens;
+import com.flipfit.utils.CatalogVersions;
+import com.flipfit.utils.GymGeoIndex;
+import com.flipfit.utils.GymSearchIndex;
+import com.flipfit.utils.SeatStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.sse.Sse;
+import javax.ws.rs.sse.SseEventSink;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * REST Controller for gym customer operations.
@@ -28,6 +51,23 @@ import java.util.Map;
 @Consumes(MediaType.APPLICATION_JSON)
 public class GymCustomerController {
     
+    private static final Logger LOG = LoggerFactory.getLogger(GymCustomerController.class);
+    
+    /** Longest date range served by the multi-day availability endpoint. */
+    private static final int MAX_AVAILABILITY_RANGE_DAYS = 31;
+    
+    /** Largest page served by the booking history endpoint. */
+    private static final int MAX_BOOKINGS_PAGE_SIZE = 200;
+    
+    /** Largest page served by the notification feed. */
+    private static final int MAX_NOTIFICATIONS_PAGE_SIZE = 200;
+    
+    /** Most notification IDs accepted by one mark-as-read request. */
+    private static final int MAX_MARK_READ_IDS = 500;
+    
+    /** Most slots on each side returned by the nearest-slot search. */
+    private static final int MAX_NEAREST_SLOTS = 20;
+    
     private final BookingService bookingService;
     
     /**
@@ -41,14 +81,22 @@ public class GymCustomerController {
      * Get all available gym slots for a specific gym center.
      * 
      * @param gymId The gym center ID
-     * @return Response with list of available slots
+     * @param request The request, for If-None-Match / If-Modified-Since
+     * @return Response with list of available slots, or 304 if unchanged
      */
     @GET
+    @Timed
+    @ResponseMetered
     @Path("/slots/available/{gymId}")
-    public Response getAvailableSlots(@PathParam("gymId") String gymId) {
+    public Response getAvailableSlots(@PathParam("gymId") String gymId, @Context Request request) {
         try {
+            CatalogVersions.Validators validators = CatalogVersions.getInstance().validators(CatalogVersions.Resource.SLOTS);
+            Response notModified = validators.notModified(request);
+            if (notModified != null) {
+                return notModified;
+            }
             List<GymSlot> slots = bookingService.viewAvailableSlots(gymId);
-            return Response.ok(slots).build();
+            return validators.ok(GymSlotView.of(slots));
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Failed to fetch slots: " + e.getMessage());
@@ -60,14 +108,24 @@ public class GymCustomerController {
      * Get available gym slots by city.
      * 
      * @param city The city to filter slots
-     * @return Response with list of available slots in the city
+     * @param request The request, for If-None-Match / If-Modified-Since
+     * @return Response with list of available slots in the city, or 304 if unchanged
      */
     @GET
+    @Timed
+    @ResponseMetered
     @Path("/slots/city/{city}")
-    public Response getSlotsByCity(@PathParam("city") String city) {
+    public Response getSlotsByCity(@PathParam("city") String city, @Context Request request) {
         try {
+            // Slots are listed with their center's city and name
+            CatalogVersions.Validators validators = CatalogVersions.getInstance().validators(
+                CatalogVersions.Resource.SLOTS, CatalogVersions.Resource.CENTERS);
+            Response notModified = validators.notModified(request);
+            if (notModified != null) {
+                return notModified;
+            }
             List<GymSlot> slots = bookingService.viewAvailableSlotsByCity(city);
-            return Response.ok(slots).build();
+            return validators.ok(GymSlotView.of(slots));
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Failed to fetch slots: " + e.getMessage());
@@ -84,36 +142,19 @@ public class GymCustomerController {
      * @return Response with slots showing date-specific availability
      */
     @GET
+    @Timed
+    @ResponseMetered
     @Path("/slots/available/{gymId}/{date}")
     public Response getAvailableSlotsForDate(
             @PathParam("gymId") String gymId,
             @PathParam("date") String dateStr) {
         try {
             LocalDate date = LocalDate.parse(dateStr);
-            List<GymSlot> slots = bookingService.viewAvailableSlots(gymId);
             
-            // Enhance each slot with date-specific availability
-            List<Map<String, Object>> slotsWithAvailability = new java.util.ArrayList<>();
-            
-            for (GymSlot slot : slots) {
-                Map<String, Object> slotInfo = new HashMap<>();
-                slotInfo.put("slotId", slot.getSlotId());
-                slotInfo.put("gymId", slot.getGymId());
-                slotInfo.put("startTime", slot.getStartTime());
-                slotInfo.put("endTime", slot.getEndTime());
-                slotInfo.put("totalSeats", slot.getTotalSeats());
-                slotInfo.put("price", slot.getPrice());
-                slotInfo.put("isActive", slot.isActive());
-                
-                // Calculate date-specific availability
-                int bookedSeats = bookingService.countBookingsForSlotOnDate(slot.getSlotId(), date);
-                int availableSeats = slot.getTotalSeats() - bookedSeats;
-                
-                slotInfo.put("availableSeats", availableSeats);
-                slotInfo.put("bookedSeats", bookedSeats);
-                slotInfo.put("bookingDate", dateStr);
-                
-                slotsWithAvailability.add(slotInfo);
+            // Booked seats for all slots of the gym come from one grouped query
+            List<SlotAvailabilityView> slotsWithAvailability = new ArrayList<>();
+            for (SlotAvailability availability : bookingService.getSlotAvailabilityForDate(gymId, date)) {
+                slotsWithAvailability.add(new SlotAvailabilityView(availability));
             }
             
             return Response.ok(slotsWithAvailability).build();
@@ -124,18 +165,115 @@ public class GymCustomerController {
         }
     }
     
+    /**
+     * Stream date-specific availability for a gym as Server-Sent Events.
+     * The first event ("snapshot") carries the same slots as the availability
+     * endpoint for the date; every later event ("seats") carries only the
+     * slots whose booked seats changed, as bookings, cancellations and
+     * waitlist promotions happen. While the stream is open the client does
+     * not need to poll. Answers 503 when the stream is off or full, in which
+     * case the client keeps polling.
+     * 
+     * @param gymId The gym center ID
+     * @param dateStr The date (YYYY-MM-DD format)
+     * @param sink The client's event sink
+     * @param sse The SSE context
+     */
+    @GET
+    @Timed
+    @ResponseMetered
+    @Path("/slots/available/{gymId}/{date}/stream")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    public void streamAvailableSlotsForDate(
+            @PathParam("gymId") String gymId,
+            @PathParam("date") String dateStr,
+            @Context SseEventSink sink,
+            @Context Sse sse) {
+        LocalDate date;
+        try {
+            date = LocalDate.parse(dateStr);
+        } catch (java.time.format.DateTimeParseException e) {
+            throw errorResponse(Response.Status.BAD_REQUEST, "Invalid date format. Use YYYY-MM-DD");
+        }
+        
+        boolean subscribed = SeatStream.getInstance().subscribe(gymId, date, sink, sse,
+            () -> bookingService.getSlotAvailabilityForDate(gymId, date), SlotAvailabilityView::new);
+        if (!subscribed) {
+            LOG.debug("Seat stream for gym {} on {} refused", gymId, date);
+            throw errorResponse(Response.Status.SERVICE_UNAVAILABLE, "Live availability is not available, poll instead");
+        }
+    }
+    
+    /**
+     * Get date-specific availability for a gym over a range of days.
+     * Backs the weekly calendar view with a single booking query.
+     * 
+     * @param gymId The gym center ID
+     * @param fromStr The first date (YYYY-MM-DD format, inclusive)
+     * @param toStr The last date (YYYY-MM-DD format, inclusive)
+     * @return Response with slot availability keyed by date
+     */
+    @GET
+    @Timed
+    @ResponseMetered
+    @Path("/slots/available/{gymId}/{fromDate}/{toDate}")
+    public Response getAvailableSlotsForDateRange(
+            @PathParam("gymId") String gymId,
+            @PathParam("fromDate") String fromStr,
+            @PathParam("toDate") String toStr) {
+        try {
+            LocalDate fromDate = LocalDate.parse(fromStr);
+            LocalDate toDate = LocalDate.parse(toStr);
+            
+            long days = java.time.temporal.ChronoUnit.DAYS.between(fromDate, toDate) + 1;
+            if (days < 1 || days > MAX_AVAILABILITY_RANGE_DAYS) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Date range must be between 1 and " + MAX_AVAILABILITY_RANGE_DAYS + " days");
+                return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+            }
+            
+            Map<String, List<SlotAvailabilityView>> availabilityByDate = new LinkedHashMap<>();
+            for (Map.Entry<LocalDate, List<SlotAvailability>> day :
+                    bookingService.getSlotAvailabilityForDateRange(gymId, fromDate, toDate).entrySet()) {
+                List<SlotAvailabilityView> slotsWithAvailability = new ArrayList<>();
+                for (SlotAvailability availability : day.getValue()) {
+                    slotsWithAvailability.add(new SlotAvailabilityView(availability));
+                }
+                availabilityByDate.put(day.getKey().toString(), slotsWithAvailability);
+            }
+            
+            return Response.ok(availabilityByDate).build();
+        } catch (java.time.format.DateTimeParseException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Invalid date format. Use YYYY-MM-DD");
+            return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to fetch slots: " + e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity(error).build();
+        }
+    }
+    
     /**
      * Get all gym centers in a specific city.
      * 
      * @param city The city to search
-     * @return Response with list of gym centers
+     * @param request The request, for If-None-Match / If-Modified-Since
+     * @return Response with list of gym centers, or 304 if unchanged
      */
     @GET
+    @Timed
+    @ResponseMetered
     @Path("/centers/city/{city}")
-    public Response getGymCentersByCity(@PathParam("city") String city) {
+    public Response getGymCentersByCity(@PathParam("city") String city, @Context Request request) {
         try {
+            CatalogVersions.Validators validators = CatalogVersions.getInstance().validators(CatalogVersions.Resource.CENTERS);
+            Response notModified = validators.notModified(request);
+            if (notModified != null) {
+                return notModified;
+            }
             List<GymCenter> centers = bookingService.viewGymCentersByCity(city);
-            return Response.ok(centers).build();
+            return validators.ok(GymCenterView.of(centers));
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Failed to fetch gym centers: " + e.getMessage());
@@ -143,50 +281,161 @@ public class GymCustomerController {
         }
     }
     
+    /**
+     * Typeahead search over approved gym centers by city, locality, pincode
+     * or gym name. Every word of the query must match the start of a word of
+     * the gym (or a close misspelling of one); city aliases such as
+     * "bengaluru" match too. Served from the in-memory search index.
+     * 
+     * @param query The text typed so far
+     * @param limit Maximum number of gyms (default 10, at most the configured maxResults)
+     * @return Response with the matching cities and gyms, best first
+     */
+    @GET
+    @Timed
+    @ResponseMetered
+    @Path("/search/typeahead")
+    public Response typeahead(@QueryParam("q") String query,
+                              @QueryParam("limit") @DefaultValue("10") int limit) {
+        GymSearchIndex searchIndex = GymSearchIndex.getInstance();
+        if (!searchIndex.isEnabled()) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Gym search is disabled");
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE).entity(error).build();
+        }
+        if (query == null || query.trim().isEmpty()) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "q is required");
+            return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+        }
+        if (limit < 1 || limit > searchIndex.getMaxResults()) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "limit must be between 1 and " + searchIndex.getMaxResults());
+            return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+        }
+        try {
+            List<GymSuggestions.City> cities = new ArrayList<>();
+            for (Map.Entry<String, Integer> city : searchIndex.suggestCities(query, limit).entrySet()) {
+                cities.add(new GymSuggestions.City(city.getKey(), city.getValue()));
+            }
+            List<GymSuggestions.Gym> gyms = new ArrayList<>();
+            for (GymSearchIndex.Hit hit : searchIndex.search(query, limit)) {
+                gyms.add(new GymSuggestions.Gym(hit.getCenter(), hit.getMatchedOn().name()));
+            }
+            return Response.ok(new GymSuggestions(query, cities, gyms)).build();
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to search gym centers: " + e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity(error).build();
+        }
+    }
+    
+    /**
+     * Find the gyms nearest to a position that have an open seat in a slot
+     * starting within the next hours, nearest first, with those slots.
+     * Answers in one pass over the spatial index and the seat counts, so
+     * clients no longer fetch a whole city and sort it themselves.
+     * 
+     * @param latitude The customer's latitude
+     * @param longitude The customer's longitude
+     * @param radiusKm Search radius in kilometres (default 10, at most the configured maxRadiusKm)
+     * @param withinHours How many hours ahead a slot may start (default 3, at most the configured maxWindowHours)
+     * @param limit Maximum number of gyms (default 5, at most the configured maxResults)
+     * @return Response with the gyms, their distance and open slots
+     */
+    @GET
+    @Timed
+    @ResponseMetered
+    @Path("/centers/nearby")
+    public Response findNearbyGyms(@QueryParam("lat") Double latitude,
+                                   @QueryParam("lng") Double longitude,
+                                   @QueryParam("radiusKm") @DefaultValue("10") double radiusKm,
+                                   @QueryParam("withinHours") @DefaultValue("3") int withinHours,
+                                   @QueryParam("limit") @DefaultValue("5") int limit) {
+        GymGeoIndex geoIndex = GymGeoIndex.getInstance();
+        if (!geoIndex.isEnabled()) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Nearby search is disabled");
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE).entity(error).build();
+        }
+        String invalid = null;
+        if (latitude == null || longitude == null || Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+            invalid = "lat must be between -90 and 90 and lng between -180 and 180";
+        } else if (radiusKm <= 0 || radiusKm > geoIndex.getMaxRadiusKm()) {
+            invalid = "radiusKm must be greater than 0 and at most " + geoIndex.getMaxRadiusKm();
+        } else if (withinHours < 1 || withinHours > geoIndex.getMaxWindowHours()) {
+            invalid = "withinHours must be between 1 and " + geoIndex.getMaxWindowHours();
+        } else if (limit < 1 || limit > geoIndex.getMaxResults()) {
+            invalid = "limit must be between 1 and " + geoIndex.getMaxResults();
+        }
+        if (invalid != null) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", invalid);
+            return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+        }
+        try {
+            List<NearbyGymView> gyms = new ArrayList<>();
+            for (NearbyGym nearby : bookingService.findNearbyGymsWithOpenSeats(latitude, longitude, radiusKm, withinHours, limit)) {
+                List<SlotAvailabilityView> openSlots = new ArrayList<>();
+                for (SlotAvailability availability : nearby.getOpenSlots()) {
+                    openSlots.add(new SlotAvailabilityView(availability));
+                }
+                gyms.add(new NearbyGymView(nearby.getCenter(), nearby.getDistanceKm(), openSlots));
+            }
+            return Response.ok(gyms).build();
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to find nearby gyms: " + e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity(error).build();
+        }
+    }
+    
     /**
      * Book a gym slot.
      * 
-     * @param bookingData Map containing customerId, slotId, and bookingDate
+     * @param bookingData The customer, slot and booking date
+     * @param securityContext The security context set by the token filter
      * @return Response with booking confirmation
      */
     @POST
+    @Timed
+    @ResponseMetered
     @Path("/booking/create")
-    public Response bookSlot(Map<String, String> bookingData) {
+    public Response bookSlot(BookingRequest bookingData, @Context SecurityContext securityContext) {
         try {
-            String customerId = bookingData.get("customerId");
-            String slotId = bookingData.get("slotId");
-            String dateStr = bookingData.get("bookingDate");
+            String customerId = bookingData.getCustomerId();
+            String slotId = bookingData.getSlotId();
+            String dateStr = bookingData.getBookingDate();
             
-            System.out.println("[DEBUG] Booking Request - Customer: " + customerId + ", Slot: " + slotId + ", Date: " + dateStr);
+            Response forbidden = forbiddenForOtherCustomer(securityContext, customerId);
+            if (forbidden != null) {
+                return forbidden;
+            }
+            
+            LOG.debug("Booking request: customer={}, slot={}, date={}", customerId, slotId, dateStr);
             
             LocalDate bookingDate = LocalDate.parse(dateStr);
             
             Booking booking = bookingService.bookSlot(customerId, slotId, bookingDate);
             
             if (booking != null) {
-                System.out.println("[SUCCESS] Booking created: " + booking.getBookingId());
-                Map<String, String> response = new HashMap<>();
-                response.put("message", "Slot booked successfully");
-                response.put("bookingId", booking.getBookingId());
-                response.put("customerId", customerId);
-                response.put("slotId", slotId);
-                response.put("bookingDate", bookingDate.toString());
+                BookingConfirmation response = new BookingConfirmation("Slot booked successfully",
+                    booking.getBookingId(), customerId, slotId, bookingDate.toString());
                 return Response.status(Response.Status.CREATED).entity(response).build();
             } else {
-                System.out.println("[ERROR] Booking returned null");
+                LOG.warn("Booking for customer {} in slot {} returned no booking", customerId, slotId);
                 Map<String, String> error = new HashMap<>();
                 error.put("error", "Booking failed. Slot may be full or invalid.");
                 return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
             }
             
         } catch (BookingFailedException e) {
-            System.out.println("[ERROR] BookingFailedException: " + e.getMessage());
+            LOG.debug("Booking rejected: {}", e.getMessage());
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
             return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
         } catch (Exception e) {
-            System.out.println("[ERROR] Exception: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Booking request failed", e);
             Map<String, String> error = new HashMap<>();
             error.put("error", "Booking failed: " + e.getMessage());
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity(error).build();
@@ -194,61 +443,146 @@ public class GymCustomerController {
     }
     
     /**
-     * View all bookings for a customer.
+     * Book several slots in one request, either an explicit list of
+     * (slotId, bookingDate) items or one slotId repeated over fromDate..toDate
+     * on the given daysOfWeek. Mode is ALL_OR_NOTHING or BEST_EFFORT (default).
+     * Every item gets its own result; the response is 201 when anything was
+     * booked, 200 when every item was already booked and 409 otherwise.
+     * 
+     * @param request Bulk booking request
+     * @param securityContext The security context set by the token filter
+     * @return Response with per-item results
+     */
+    @POST
+    @Timed
+    @ResponseMetered
+    @Path("/booking/bulk")
+    public Response bookSlots(BulkBookingRequest request, @Context SecurityContext securityContext) {
+        try {
+            if (request == null || request.getCustomerId() == null) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "customerId is required");
+                return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+            }
+            Response forbidden = forbiddenForOtherCustomer(securityContext, request.getCustomerId());
+            if (forbidden != null) {
+                return forbidden;
+            }
+            BulkBookingMode mode = request.getMode() != null 
+                ? BulkBookingMode.valueOf(request.getMode().toUpperCase()) 
+                : BulkBookingMode.BEST_EFFORT;
+            
+            List<BulkBookingResult> results;
+            if (request.getItems() != null && !request.getItems().isEmpty()) {
+                List<Booking> requested = new ArrayList<>();
+                for (BulkBookingRequest.Item item : request.getItems()) {
+                    Booking booking = new Booking();
+                    booking.setSlotId(item.getSlotId());
+                    booking.setBookingDate(item.getBookingDate() != null ? LocalDate.parse(item.getBookingDate()) : null);
+                    requested.add(booking);
+                }
+                results = bookingService.bookSlots(request.getCustomerId(), requested, mode);
+            } else if (request.getSlotId() != null && request.getFromDate() != null && request.getToDate() != null) {
+                Set<DayOfWeek> daysOfWeek = EnumSet.noneOf(DayOfWeek.class);
+                if (request.getDaysOfWeek() != null) {
+                    for (String day : request.getDaysOfWeek()) {
+                        daysOfWeek.add(DayOfWeek.valueOf(day.toUpperCase()));
+                    }
+                }
+                results = bookingService.bookRecurring(request.getCustomerId(), request.getSlotId(),
+                    LocalDate.parse(request.getFromDate()), LocalDate.parse(request.getToDate()), daysOfWeek, mode);
+            } else {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Provide either items or slotId with fromDate and toDate");
+                return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+            }
+            
+            int booked = 0;
+            int unbooked = 0;
+            for (BulkBookingResult result : results) {
+                if (result.getStatus() == BulkBookingResult.Status.BOOKED) {
+                    booked++;
+                } else if (result.getStatus() != BulkBookingResult.Status.ALREADY_BOOKED) {
+                    unbooked++;
+                }
+            }
+            BulkBookingResponse response = new BulkBookingResponse(request.getCustomerId(), mode.name(), booked, results);
+            // A retried request whose items are all already booked is not a conflict
+            Response.Status status = booked > 0 ? Response.Status.CREATED
+                : unbooked > 0 ? Response.Status.CONFLICT : Response.Status.OK;
+            return Response.status(status).entity(response).build();
+        } catch (java.time.format.DateTimeParseException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Invalid date format. Use YYYY-MM-DD");
+            return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Invalid mode or day of week: " + e.getMessage());
+            return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+        } catch (BookingFailedException e) {
+            LOG.debug("Bulk booking rejected: {}", e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+        } catch (Exception e) {
+            LOG.error("Bulk booking request failed", e);
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Bulk booking failed: " + e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity(error).build();
+        }
+    }
+    
+    /**
+     * View bookings for a customer, newest first, with slot times and gym name.
+     * Results are paged by keyset: when more bookings exist, the response carries
+     * a Link header (rel="next") with the afterDate/afterBookingId cursor.
      * 
      * @param customerId The customer ID
+     * @param afterDate Booking date of the last booking already shown (YYYY-MM-DD), optional
+     * @param afterBookingId Booking ID of the last booking already shown, optional
+     * @param limit Page size (default 50, at most 200)
+     * @param uriInfo The request URI, used to build the next-page link
      * @return Response with list of bookings
      */
     @GET
+    @Timed
+    @ResponseMetered
     @Path("/bookings/{customerId}")
-    public Response viewBookings(@PathParam("customerId") String customerId) {
+    public Response viewBookings(@PathParam("customerId") String customerId,
+                                 @QueryParam("afterDate") String afterDate,
+                                 @QueryParam("afterBookingId") String afterBookingId,
+                                 @QueryParam("limit") @DefaultValue("50") int limit,
+                                 @Context UriInfo uriInfo) {
         try {
-            List<Booking> bookings = bookingService.viewMyBookings(customerId);
-            List<Map<String, Object>> enrichedBookings = new java.util.ArrayList<>();
-            
-            // Enhance each booking with slot and gym center details
-            for (Booking booking : bookings) {
-                Map<String, Object> bookingMap = new HashMap<>();
-                bookingMap.put("bookingId", booking.getBookingId());
-                bookingMap.put("customerId", booking.getCustomerId());
-                bookingMap.put("slotId", booking.getSlotId());
-                bookingMap.put("bookingDate", booking.getBookingDate());
-                bookingMap.put("bookingStatus", booking.getBookingStatus());
-                
-                try {
-                    java.sql.Connection conn = com.flipfit.utils.DBConnection.getConnection();
-                    java.sql.PreparedStatement stmt = conn.prepareStatement(
-                        "SELECT s.start_time, s.end_time, g.gym_name " +
-                        "FROM GymSlot s " +
-                        "JOIN GymCenter g ON s.gym_id = g.gym_id " +
-                        "WHERE s.slot_id = ?"
-                    );
-                    stmt.setString(1, booking.getSlotId());
-                    java.sql.ResultSet rs = stmt.executeQuery();
-                    
-                    if (rs.next()) {
-                        bookingMap.put("gymName", rs.getString("gym_name"));
-                        bookingMap.put("startTime", rs.getTime("start_time").toLocalTime());
-                        bookingMap.put("endTime", rs.getTime("end_time").toLocalTime());
-                    } else {
-                        bookingMap.put("gymName", "Unknown");
-                        bookingMap.put("startTime", null);
-                        bookingMap.put("endTime", null);
-                    }
-                    rs.close();
-                    stmt.close();
-                } catch (Exception e) {
-                    System.err.println("Error fetching slot details for " + booking.getSlotId() + ": " + e.getMessage());
-                    e.printStackTrace();
-                    bookingMap.put("gymName", "Error");
-                    bookingMap.put("startTime", null);
-                    bookingMap.put("endTime", null);
-                }
-                
-                enrichedBookings.add(bookingMap);
+            if (limit < 1 || limit > MAX_BOOKINGS_PAGE_SIZE) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "limit must be between 1 and " + MAX_BOOKINGS_PAGE_SIZE);
+                return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
             }
+            if ((afterDate == null) != (afterBookingId == null)) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "afterDate and afterBookingId must be given together");
+                return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+            }
+            
+            // One joined query returns the bookings with slot and gym details
+            List<BookingView> bookings = bookingService.viewMyBookingHistory(
+                customerId, afterDate != null ? LocalDate.parse(afterDate) : null, afterBookingId, limit);
             
-            return Response.ok(enrichedBookings).build();
+            Response.ResponseBuilder response = Response.ok(bookings);
+            if (bookings.size() == limit) {
+                BookingView last = bookings.get(bookings.size() - 1);
+                response.link(uriInfo.getRequestUriBuilder()
+                    .replaceQueryParam("afterDate", last.getBookingDate())
+                    .replaceQueryParam("afterBookingId", last.getBookingId())
+                    .replaceQueryParam("limit", limit)
+                    .build(), "next");
+            }
+            return response.build();
+        } catch (java.time.format.DateTimeParseException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Invalid date format. Use YYYY-MM-DD");
+            return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Failed to fetch bookings: " + e.getMessage());
@@ -260,19 +594,30 @@ public class GymCustomerController {
      * Cancel a booking.
      * 
      * @param bookingId The booking ID to cancel
+     * @param securityContext The security context set by the token filter
      * @return Response with cancellation status
      */
     @DELETE
+    @Timed
+    @ResponseMetered
     @Path("/booking/{bookingId}")
-    public Response cancelBooking(@PathParam("bookingId") String bookingId) {
+    public Response cancelBooking(@PathParam("bookingId") String bookingId, @Context SecurityContext securityContext) {
         try {
+            Booking booking = bookingService.getBookingById(bookingId);
+            if (booking == null) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Booking not found");
+                return Response.status(Response.Status.NOT_FOUND).entity(error).build();
+            }
+            Response forbidden = forbiddenForOtherCustomer(securityContext, booking.getCustomerId());
+            if (forbidden != null) {
+                return forbidden;
+            }
+            
             boolean success = bookingService.cancelBooking(bookingId);
             
             if (success) {
-                Map<String, String> response = new HashMap<>();
-                response.put("message", "Booking cancelled successfully");
-                response.put("bookingId", bookingId);
-                return Response.ok(response).build();
+                return Response.ok(new BookingConfirmation("Booking cancelled successfully", bookingId)).build();
             } else {
                 Map<String, String> error = new HashMap<>();
                 error.put("error", "Cancellation failed. Booking may not exist.");
@@ -289,24 +634,28 @@ public class GymCustomerController {
     /**
      * Join waitlist for a slot.
      * 
-     * @param waitlistData Map containing customerId, slotId, and requestedDate
+     * @param waitlistData The customer, slot and requested date
+     * @param securityContext The security context set by the token filter
      * @return Response with waitlist confirmation
      */
     @POST
+    @Timed
+    @ResponseMetered
     @Path("/waitlist/join")
-    public Response joinWaitlist(Map<String, String> waitlistData) {
+    public Response joinWaitlist(WaitlistRequest waitlistData, @Context SecurityContext securityContext) {
         try {
-            String customerId = waitlistData.get("customerId");
-            String slotId = waitlistData.get("slotId");
-            LocalDate requestedDate = LocalDate.parse(waitlistData.get("requestedDate"));
+            String customerId = waitlistData.getCustomerId();
+            Response forbidden = forbiddenForOtherCustomer(securityContext, customerId);
+            if (forbidden != null) {
+                return forbidden;
+            }
+            String slotId = waitlistData.getSlotId();
+            LocalDate requestedDate = LocalDate.parse(waitlistData.getRequestedDate());
             
             boolean success = bookingService.addToWaitList(customerId, slotId, requestedDate);
             
             if (success) {
-                Map<String, String> response = new HashMap<>();
-                response.put("message", "Added to waitlist successfully");
-                response.put("customerId", customerId);
-                response.put("slotId", slotId);
+                WaitlistConfirmation response = new WaitlistConfirmation("Added to waitlist successfully", customerId, slotId);
                 return Response.status(Response.Status.CREATED).entity(response).build();
             } else {
                 Map<String, String> error = new HashMap<>();
@@ -322,13 +671,16 @@ public class GymCustomerController {
     }
     
     /**
-     * Find nearest available slot.
+     * Find the slot with a free seat today that starts nearest to the
+     * preferred time.
      * 
      * @param gymId The gym center ID
      * @param preferredTime The preferred time
      * @return Response with nearest available slot
      */
     @GET
+    @Timed
+    @ResponseMetered
     @Path("/slots/nearest/{gymId}/{preferredTime}")
     public Response findNearestSlot(@PathParam("gymId") String gymId, 
                                    @PathParam("preferredTime") String preferredTime) {
@@ -337,7 +689,7 @@ public class GymCustomerController {
             GymSlot slot = bookingService.findNearestAvailableSlot(gymId, time);
             
             if (slot != null) {
-                return Response.ok(slot).build();
+                return Response.ok(new GymSlotView(slot)).build();
             } else {
                 Map<String, String> error = new HashMap<>();
                 error.put("message", "No available slots found");
@@ -352,21 +704,210 @@ public class GymCustomerController {
     }
     
     /**
-     * Get notifications for a customer.
+     * Find the k slots with a free seat on a date that start nearest before
+     * the preferred time and the k nearest at or after it, using the seats
+     * booked on that date. With sameCity=true the other approved gyms in the
+     * gym's city are searched too.
+     * 
+     * @param gymId The gym center ID
+     * @param dateStr The date (YYYY-MM-DD format), today or later
+     * @param preferredTime The preferred time (HH:mm)
+     * @param k Number of slots on each side (default 3, at most 20)
+     * @param sameCity Whether to include the other gyms in the same city
+     * @return Response with the nearest slots before and after the preferred time
+     */
+    @GET
+    @Timed
+    @ResponseMetered
+    @Path("/slots/nearest/{gymId}/{date}/{preferredTime}")
+    public Response findNearestSlotsOnDate(@PathParam("gymId") String gymId,
+                                           @PathParam("date") String dateStr,
+                                           @PathParam("preferredTime") String preferredTime,
+                                           @QueryParam("k") @DefaultValue("3") int k,
+                                           @QueryParam("sameCity") @DefaultValue("false") boolean sameCity) {
+        try {
+            LocalDate date = LocalDate.parse(dateStr);
+            LocalTime time = LocalTime.parse(preferredTime);
+            if (date.isBefore(LocalDate.now())) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Date must be today or later");
+                return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+            }
+            if (k < 1 || k > MAX_NEAREST_SLOTS) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "k must be between 1 and " + MAX_NEAREST_SLOTS);
+                return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+            }
+            
+            NearestSlots nearest = bookingService.findNearestSlots(gymId, date, time, k, sameCity);
+            List<SlotAvailabilityView> before = new ArrayList<>();
+            for (SlotAvailability availability : nearest.getBefore()) {
+                before.add(new SlotAvailabilityView(availability));
+            }
+            List<SlotAvailabilityView> after = new ArrayList<>();
+            for (SlotAvailability availability : nearest.getAfter()) {
+                after.add(new SlotAvailabilityView(availability));
+            }
+            return Response.ok(new NearestSlotsView(gymId, date.toString(), time.toString(), before, after)).build();
+        } catch (java.time.format.DateTimeParseException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Invalid date or time. Use YYYY-MM-DD and HH:mm");
+            return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Search failed: " + e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity(error).build();
+        }
+    }
+    
+    /**
+     * Get notifications for a customer, unread first and newest first within
+     * each. Results are paged by keyset: when more notifications may exist, the
+     * response carries a Link header (rel="next") with the
+     * afterRead/afterCreatedAt/afterNotificationId cursor.
      * 
      * @param customerId The customer ID
+     * @param afterRead Whether the last notification already shown was read, optional
+     * @param afterCreatedAt Creation time of the last notification already shown (ISO-8601 instant), optional
+     * @param afterNotificationId Notification ID of the last notification already shown, optional
+     * @param limit Page size (default 50, at most 200)
+     * @param uriInfo The request URI, used to build the next-page link
      * @return Response with list of notifications
      */
     @GET
+    @Timed
+    @ResponseMetered
     @Path("/notifications/{customerId}")
-    public Response getNotifications(@PathParam("customerId") String customerId) {
+    public Response getNotifications(@PathParam("customerId") String customerId,
+                                     @QueryParam("afterRead") Boolean afterRead,
+                                     @QueryParam("afterCreatedAt") String afterCreatedAt,
+                                     @QueryParam("afterNotificationId") String afterNotificationId,
+                                     @QueryParam("limit") @DefaultValue("50") int limit,
+                                     @Context UriInfo uriInfo) {
         try {
-            List<Notification> notifications = bookingService.getNotifications(customerId);
-            return Response.ok(notifications).build();
+            if (limit < 1 || limit > MAX_NOTIFICATIONS_PAGE_SIZE) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "limit must be between 1 and " + MAX_NOTIFICATIONS_PAGE_SIZE);
+                return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+            }
+            if ((afterRead == null) != (afterCreatedAt == null) || (afterCreatedAt == null) != (afterNotificationId == null)) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "afterRead, afterCreatedAt and afterNotificationId must be given together");
+                return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+            }
+            
+            List<Notification> notifications = bookingService.getNotifications(customerId, afterRead,
+                afterCreatedAt != null ? Timestamp.from(Instant.parse(afterCreatedAt)) : null, afterNotificationId, limit);
+            
+            Response.ResponseBuilder response = Response.ok(NotificationView.of(notifications));
+            if (notifications.size() == limit) {
+                Notification last = notifications.get(notifications.size() - 1);
+                response.link(uriInfo.getRequestUriBuilder()
+                    .replaceQueryParam("afterRead", last.isRead())
+                    .replaceQueryParam("afterCreatedAt", last.getCreatedAt().toInstant())
+                    .replaceQueryParam("afterNotificationId", last.getNotificationId())
+                    .replaceQueryParam("limit", limit)
+                    .build(), "next");
+            }
+            return response.build();
+        } catch (java.time.format.DateTimeParseException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Invalid afterCreatedAt. Use an ISO-8601 instant, e.g. 2026-01-28T10:15:30Z");
+            return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Failed to fetch notifications: " + e.getMessage());
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity(error).build();
         }
     }
+    
+    /**
+     * Get the number of unread notifications of a customer.
+     * 
+     * @param customerId The customer ID
+     * @return Response with the unread count
+     */
+    @GET
+    @Timed
+    @ResponseMetered
+    @Path("/notifications/{customerId}/unread-count")
+    public Response getUnreadNotificationCount(@PathParam("customerId") String customerId) {
+        try {
+            int unread = bookingService.getUnreadNotificationCount(customerId);
+            return Response.ok(new UnreadNotificationCount(customerId, unread)).build();
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to fetch unread count: " + e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity(error).build();
+        }
+    }
+    
+    /**
+     * Mark notifications of a customer as read: the listed ones, or all of
+     * them with "all": true.
+     * 
+     * @param customerId The customer ID
+     * @param request The notifications to mark
+     * @return Response with the number of notifications marked
+     */
+    @POST
+    @Timed
+    @ResponseMetered
+    @Path("/notifications/{customerId}/read")
+    public Response markNotificationsRead(@PathParam("customerId") String customerId,
+                                          MarkNotificationsReadRequest request) {
+        try {
+            boolean hasIds = request != null && request.getNotificationIds() != null && !request.getNotificationIds().isEmpty();
+            if (request == null || hasIds == request.isAll()) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Give either notificationIds or all=true");
+                return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+            }
+            if (hasIds && request.getNotificationIds().size() > MAX_MARK_READ_IDS) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "At most " + MAX_MARK_READ_IDS + " notificationIds per request");
+                return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+            }
+            
+            int marked = bookingService.markNotificationsRead(customerId, hasIds ? request.getNotificationIds() : null);
+            return Response.ok(new MarkNotificationsReadResult(customerId, marked)).build();
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to mark notifications: " + e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity(error).build();
+        }
+    }
+    
+    /**
+     * Checks a customer ID taken from the request body, or the owner of a
+     * booking, against the caller's access token; path IDs are checked by the
+     * token filter.
+     * 
+     * @param securityContext The security context set by the token filter
+     * @param customerId The customer ID in the request
+     * @return A 403 response if the caller may not act for the customer, otherwise null
+     */
+    private Response forbiddenForOtherCustomer(SecurityContext securityContext, String customerId) {
+        if (securityContext.getUserPrincipal() instanceof AuthTokens.Claims
+                && !((AuthTokens.Claims) securityContext.getUserPrincipal()).mayActFor(customerId)) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Not allowed for another customer");
+            return Response.status(Response.Status.FORBIDDEN).entity(error).build();
+        }
+        return null;
+    }
+    
+    /**
+     * Builds the exception for an error answered before a stream is opened.
+     * 
+     * @param status The response status
+     * @param message The error message
+     * @return Exception carrying the JSON error response
+     */
+    private WebApplicationException errorResponse(Response.Status status, String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        return new WebApplicationException(Response.status(status)
+            .type(MediaType.APPLICATION_JSON_TYPE).entity(error).build());
+    }
 }
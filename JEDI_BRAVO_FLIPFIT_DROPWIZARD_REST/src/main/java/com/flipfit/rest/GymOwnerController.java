@@ -1,12 +1,21 @@
 package com.flipfit.rest;
 
+import com.codahale.metrics.annotation.ResponseMetered;
+import com.codahale.metrics.annotation.Timed;
 import com.flipfit.bean.GymOwner;
 import com.flipfit.business.GymOwnerService;
 import com.flipfit.business.impl.GymOwnerServiceImpl;
+import com.flipfit.enums.Role;
+import com.flipfit.utils.AuthTokens;
+import com.flipfit.utils.CatalogVersions;
 
 import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -41,6 +50,8 @@ public class GymOwnerController {
      * @return Response with owner details
      */
     @GET
+    @Timed
+    @ResponseMetered
     @Path("/profile/{ownerId}")
     public Response getOwnerProfile(@PathParam("ownerId") String ownerId) {
         try {
@@ -62,16 +73,27 @@ public class GymOwnerController {
     }
     
     /**
-     * Get all gym owners.
+     * Get all gym owners. A gym owner only gets their own entry; admins get all.
      * 
-     * @return Response with list of all gym owners
+     * @param request The request, for If-None-Match / If-Modified-Since
+     * @param securityContext The security context set by the token filter
+     * @return Response with list of all gym owners, or 304 if unchanged
      */
     @GET
+    @Timed
+    @ResponseMetered
     @Path("/all")
-    public Response getAllOwners() {
+    public Response getAllOwners(@Context Request request, @Context SecurityContext securityContext) {
         try {
-            List<GymOwner> owners = gymOwnerService.getAllGymOwners();
-            return Response.ok(owners).build();
+            // The body is filtered per caller, so the tag is too
+            CatalogVersions.Validators validators = CatalogVersions.getInstance().validators(
+                visibilityScope(securityContext), CatalogVersions.Resource.OWNERS);
+            Response notModified = validators.notModified(request);
+            if (notModified != null) {
+                return notModified;
+            }
+            List<GymOwner> owners = visibleTo(securityContext, gymOwnerService.getAllGymOwners());
+            return validators.ok(owners);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Failed to fetch gym owners: " + e.getMessage());
@@ -80,15 +102,18 @@ public class GymOwnerController {
     }
     
     /**
-     * Get pending approval gym owners.
+     * Get pending approval gym owners. A gym owner only gets their own entry; admins get all.
      * 
+     * @param securityContext The security context set by the token filter
      * @return Response with list of pending gym owners
      */
     @GET
+    @Timed
+    @ResponseMetered
     @Path("/pending")
-    public Response getPendingApprovals() {
+    public Response getPendingApprovals(@Context SecurityContext securityContext) {
         try {
-            List<GymOwner> pending = gymOwnerService.getPendingApprovals();
+            List<GymOwner> pending = visibleTo(securityContext, gymOwnerService.getPendingApprovals());
             return Response.ok(pending).build();
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
@@ -105,6 +130,8 @@ public class GymOwnerController {
      * @return Response with update status
      */
     @PUT
+    @Timed
+    @ResponseMetered
     @Path("/update/{ownerId}")
     public Response updateOwner(@PathParam("ownerId") String ownerId, 
                                 Map<String, String> ownerData) {
@@ -132,4 +159,43 @@ public class GymOwnerController {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity(error).build();
         }
     }
+    
+    /**
+     * Keeps the owners the caller may act for: all of them for an admin,
+     * only their own entry for a gym owner.
+     * 
+     * @param securityContext The security context set by the token filter
+     * @param owners The owners
+     * @return The owners visible to the caller
+     */
+    private List<GymOwner> visibleTo(SecurityContext securityContext, List<GymOwner> owners) {
+        if (!(securityContext.getUserPrincipal() instanceof AuthTokens.Claims)) {
+            return owners;
+        }
+        AuthTokens.Claims claims = (AuthTokens.Claims) securityContext.getUserPrincipal();
+        List<GymOwner> visible = new ArrayList<>();
+        for (GymOwner owner : owners) {
+            if (claims.mayActFor(owner.getOwnerId())) {
+                visible.add(owner);
+            }
+        }
+        return visible;
+    }
+
+    /**
+     * Names what visibleTo keeps for the caller, for the ETag of a filtered list.
+     * 
+     * @param securityContext The security context set by the token filter
+     * @return "all", "none" or the caller's owner ID
+     */
+    private static String visibilityScope(SecurityContext securityContext) {
+        if (!(securityContext.getUserPrincipal() instanceof AuthTokens.Claims)) {
+            return "all";
+        }
+        AuthTokens.Claims claims = (AuthTokens.Claims) securityContext.getUserPrincipal();
+        if (claims.getRole() == Role.ADMIN) {
+            return "all";
+        }
+        return claims.getSubjectId() == null ? "none" : "owner:" + claims.getSubjectId();
+    }
 }
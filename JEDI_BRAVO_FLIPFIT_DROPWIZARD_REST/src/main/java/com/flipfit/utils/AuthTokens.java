@@ -0,0 +1,337 @@
+package com.flipfit.utils;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.flipfit.config.AuthTokenConfiguration;
+import com.flipfit.enums.Role;
+import com.flipfit.exception.InvalidCredentialsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.Principal;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class AuthTokens.
+ * Issues and checks the signed access tokens handed out at login. A token
+ * is the URL-safe Base64 of "userId|role|customerOrOwnerId|expiry|tokenId"
+ * followed by a dot and its HMAC-SHA256, so checking one is a MAC over a
+ * few dozen bytes and needs no database or cache lookup. Logged-out tokens
+ * are kept in a bounded revocation set until they would have expired
+ * anyway. Without a configured secret a random key is drawn at start-up,
+ * which invalidates tokens on restart and across nodes, so that is only
+ * allowed while tokens are not required.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName AuthTokens
+ */
+public final class AuthTokens {
+
+    /** The logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(AuthTokens.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final char SEPARATOR = '|';
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /** The shared instance used by the login endpoint and the request filter. */
+    private static volatile AuthTokens instance =
+        new AuthTokens(new AuthTokenConfiguration(), new MetricRegistry());
+
+    /**
+     * The identity carried by a valid token.
+     */
+    public static final class Claims implements Principal {
+        private final String userId;
+        private final Role role;
+        private final String subjectId;
+        private final long expiresAt;
+        private final String tokenId;
+
+        Claims(String userId, Role role, String subjectId, long expiresAt, String tokenId) {
+            this.userId = userId;
+            this.role = role;
+            this.subjectId = subjectId;
+            this.expiresAt = expiresAt;
+            this.tokenId = tokenId;
+        }
+
+        @Override
+        public String getName() {
+            return userId;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public Role getRole() {
+            return role;
+        }
+
+        /**
+         * Gets the customer ID of a customer or the owner ID of a gym owner.
+         *
+         * @return the subject ID, or null for admins and incomplete profiles
+         */
+        public String getSubjectId() {
+            return subjectId;
+        }
+
+        public Instant getExpiresAt() {
+            return Instant.ofEpochSecond(expiresAt);
+        }
+
+        public String getTokenId() {
+            return tokenId;
+        }
+
+        /**
+         * Checks whether this user may act for a customer or gym owner:
+         * admins may act for anyone, others only for themselves.
+         *
+         * @param subjectId the customer or owner ID in the request
+         * @return true if the request is allowed
+         */
+        public boolean mayActFor(String subjectId) {
+            return role == Role.ADMIN || (this.subjectId != null && this.subjectId.equals(subjectId));
+        }
+    }
+
+    private final boolean enabled;
+    private final boolean required;
+    private final long ttlSeconds;
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    /** Expiry (epoch seconds) by token ID; entries leave the set when the token expires. */
+    private final Cache<String, Long> revoked;
+
+    private final Meter issued;
+    private final Meter accepted;
+    private final Meter rejected;
+
+    /**
+     * Instantiates the token issuer.
+     *
+     * @param configuration the token configuration
+     * @param metrics the metric registry
+     * @throws IllegalArgumentException if tokens are required without a secret, or the secret is too short
+     */
+    public AuthTokens(AuthTokenConfiguration configuration, MetricRegistry metrics) {
+        this.enabled = configuration.isEnabled();
+        this.required = configuration.isRequired();
+        this.ttlSeconds = Math.max(1, configuration.getTtl().toSeconds());
+        if (enabled && required && (configuration.getSecret() == null || configuration.getSecret().isEmpty())) {
+            // A random key would reject every token after a restart or on another node
+            throw new IllegalArgumentException("authTokens.secret must be set when authTokens.required is true");
+        }
+        this.key = new SecretKeySpec(secret(configuration.getSecret()), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        this.revoked = Caffeine.newBuilder()
+            .maximumSize(configuration.getMaxRevoked())
+            .expireAfter(new Expiry<String, Long>() {
+                @Override
+                public long expireAfterCreate(String tokenId, Long expiresAt, long currentTime) {
+                    return TimeUnit.SECONDS.toNanos(Math.max(0, expiresAt - Instant.now().getEpochSecond()));
+                }
+
+                @Override
+                public long expireAfterUpdate(String tokenId, Long expiresAt, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(String tokenId, Long expiresAt, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+
+        this.issued = metrics.meter(MetricRegistry.name(AuthTokens.class, "issued"));
+        this.accepted = metrics.meter(MetricRegistry.name(AuthTokens.class, "accepted"));
+        this.rejected = metrics.meter(MetricRegistry.name(AuthTokens.class, "rejected"));
+        String revokedName = MetricRegistry.name(AuthTokens.class, "revoked");
+        metrics.remove(revokedName);
+        metrics.register(revokedName, (Gauge<Long>) revoked::estimatedSize);
+    }
+
+    /**
+     * Replaces the shared instance and registers its metrics.
+     * Called once at application start-up.
+     *
+     * @param configuration the token configuration
+     * @param metrics the metric registry
+     * @return the new shared instance
+     */
+    public static AuthTokens configure(AuthTokenConfiguration configuration, MetricRegistry metrics) {
+        AuthTokens tokens = new AuthTokens(configuration, metrics);
+        if (tokens.enabled && (configuration.getSecret() == null || configuration.getSecret().isEmpty())) {
+            LOG.warn("No authTokens.secret configured; using a random key, tokens will not survive a restart");
+        }
+        instance = tokens;
+        return tokens;
+    }
+
+    /**
+     * Gets the shared instance.
+     *
+     * @return the token issuer
+     */
+    public static AuthTokens getInstance() {
+        return instance;
+    }
+
+    /**
+     * Checks whether tokens are issued at login and checked on requests.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Checks whether protected resources reject requests without a token.
+     *
+     * @return true if a token is required
+     */
+    public boolean isRequired() {
+        return required;
+    }
+
+    /**
+     * Issues a token for a logged-in user.
+     *
+     * @param userId the user ID
+     * @param role the role the user logged in with
+     * @param subjectId the customer or owner ID, or null
+     * @return the claims of the new token
+     */
+    public Claims issue(String userId, Role role, String subjectId) {
+        byte[] id = new byte[12];
+        RANDOM.nextBytes(id);
+        long expiresAt = Instant.now().getEpochSecond() + ttlSeconds;
+        issued.mark();
+        return new Claims(userId, role, subjectId, expiresAt, ENCODER.encodeToString(id));
+    }
+
+    /**
+     * Encodes and signs the claims of a token.
+     *
+     * @param claims the claims returned by {@link #issue}
+     * @return the token to hand to the client
+     */
+    public String encode(Claims claims) {
+        String payload = claims.userId + SEPARATOR + claims.role.name() + SEPARATOR
+            + (claims.subjectId != null ? claims.subjectId : "") + SEPARATOR
+            + claims.expiresAt + SEPARATOR + claims.tokenId;
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + '.' + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    /**
+     * Checks a token's signature, expiry and revocation.
+     *
+     * @param token the token sent by the client
+     * @return the claims of the token
+     * @throws InvalidCredentialsException if the token is malformed, forged, expired or revoked
+     */
+    public Claims verify(String token) throws InvalidCredentialsException {
+        try {
+            int dot = token.indexOf('.');
+            if (dot <= 0) {
+                throw new InvalidCredentialsException("Invalid token");
+            }
+            byte[] payloadBytes;
+            byte[] signature;
+            try {
+                payloadBytes = DECODER.decode(token.substring(0, dot));
+                signature = DECODER.decode(token.substring(dot + 1));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidCredentialsException("Invalid token");
+            }
+            if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+                throw new InvalidCredentialsException("Invalid token");
+            }
+            Claims claims = parse(new String(payloadBytes, StandardCharsets.UTF_8));
+            if (claims.expiresAt <= Instant.now().getEpochSecond()) {
+                throw new InvalidCredentialsException("Token expired");
+            }
+            if (revoked.getIfPresent(claims.tokenId) != null) {
+                throw new InvalidCredentialsException("Token revoked");
+            }
+            accepted.mark();
+            return claims;
+        } catch (InvalidCredentialsException e) {
+            rejected.mark();
+            throw e;
+        }
+    }
+
+    /**
+     * Revokes a token, e.g. on logout. The revocation is local to this node.
+     *
+     * @param claims the claims of the token
+     */
+    public void revoke(Claims claims) {
+        revoked.put(claims.tokenId, claims.expiresAt);
+    }
+
+    private static Claims parse(String payload) throws InvalidCredentialsException {
+        String[] fields = payload.split("\\|", -1);
+        if (fields.length != 5) {
+            throw new InvalidCredentialsException("Invalid token");
+        }
+        try {
+            return new Claims(fields[0], Role.valueOf(fields[1]), fields[2].isEmpty() ? null : fields[2],
+                Long.parseLong(fields[3]), fields[4]);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCredentialsException("Invalid token");
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not initialize " + ALGORITHM, e);
+        }
+    }
+
+    private static byte[] secret(String configured) {
+        if (configured != null && !configured.isEmpty()) {
+            byte[] bytes = configured.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length < MIN_SECRET_BYTES) {
+                throw new IllegalArgumentException("authTokens.secret must be at least " + MIN_SECRET_BYTES + " bytes");
+            }
+            return bytes;
+        }
+        byte[] bytes = new byte[MIN_SECRET_BYTES];
+        RANDOM.nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,168 @@
+package com.flipfit.utils;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class BookingLockManager.
+ * Striped lock manager for booking operations.
+ * Keys such as (slotId, date) and (customerId, date) are hashed onto a fixed
+ * array of locks. Locks for a request are always taken in ascending stripe
+ * order, so two requests can never wait on each other in a cycle.
+ * In GLOBAL mode there is a single stripe, reproducing the old JVM-wide lock.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName BookingLockManager
+ */
+public final class BookingLockManager {
+
+    /**
+     * The locking mode.
+     */
+    public enum Mode {
+        /** One lock for every booking in the JVM. */
+        GLOBAL,
+        /** Locks keyed on slot-date and customer-date. */
+        STRIPED
+    }
+
+    /** The shared instance used by the booking service. */
+    private static volatile BookingLockManager instance = new BookingLockManager(Mode.STRIPED, 256);
+
+    /** The lock mode. */
+    private final Mode mode;
+
+    /** The lock stripes. */
+    private final ReentrantLock[] stripes;
+
+    /** Mask used to map a hash onto a stripe index. */
+    private final int mask;
+
+    /**
+     * Instantiates a new booking lock manager.
+     *
+     * @param mode the lock mode
+     * @param stripeCount the requested number of stripes (rounded up to a power of two)
+     */
+    public BookingLockManager(Mode mode, int stripeCount) {
+        this.mode = mode;
+        int size = 1;
+        while (mode == Mode.STRIPED && size < stripeCount) {
+            size <<= 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Replaces the shared instance. Called once at application start-up.
+     *
+     * @param mode the lock mode
+     * @param stripeCount the number of stripes
+     */
+    public static void configure(Mode mode, int stripeCount) {
+        instance = new BookingLockManager(mode, stripeCount);
+    }
+
+    /**
+     * Gets the shared instance.
+     *
+     * @return the booking lock manager
+     */
+    public static BookingLockManager getInstance() {
+        return instance;
+    }
+
+    /**
+     * Builds the lock key for a slot on a date.
+     *
+     * @param slotId the slot ID
+     * @param date the booking date
+     * @return the lock key
+     */
+    public static String slotDateKey(String slotId, LocalDate date) {
+        return "slot:" + slotId + "|" + date;
+    }
+
+    /**
+     * Builds the lock key for a customer on a date.
+     *
+     * @param customerId the customer ID
+     * @param date the booking date
+     * @return the lock key
+     */
+    public static String customerDateKey(String customerId, LocalDate date) {
+        return "customer:" + customerId + "|" + date;
+    }
+
+    /**
+     * Gets the lock mode.
+     *
+     * @return the mode
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Acquires the locks for all given keys in a deadlock-free order.
+     * The returned handle releases them when closed. Callers must take all
+     * keys they need in one call rather than nesting lock() calls.
+     *
+     * @param keys the lock keys
+     * @return the handle holding the locks
+     */
+    public LockHandle lock(String... keys) {
+        int[] indexes = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            indexes[i] = stripeIndex(keys[i]);
+        }
+        Arrays.sort(indexes);
+
+        // Drop duplicate stripes so each lock is taken only once
+        int distinct = 0;
+        for (int i = 0; i < indexes.length; i++) {
+            if (i == 0 || indexes[i] != indexes[i - 1]) {
+                indexes[distinct++] = indexes[i];
+            }
+        }
+        int[] ordered = Arrays.copyOf(indexes, distinct);
+
+        for (int index : ordered) {
+            stripes[index].lock();
+        }
+        return new LockHandle(ordered);
+    }
+
+    /**
+     * Maps a key onto a stripe index.
+     */
+    private int stripeIndex(String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return h & mask;
+    }
+
+    /**
+     * Holds a set of acquired stripes and releases them in reverse order.
+     */
+    public final class LockHandle implements AutoCloseable {
+        private final int[] held;
+
+        private LockHandle(int[] held) {
+            this.held = held;
+        }
+
+        @Override
+        public void close() {
+            for (int i = held.length - 1; i >= 0; i--) {
+                stripes[held[i]].unlock();
+            }
+        }
+    }
+}
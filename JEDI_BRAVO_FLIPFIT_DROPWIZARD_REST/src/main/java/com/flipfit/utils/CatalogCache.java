@@ -0,0 +1,268 @@
+package com.flipfit.utils;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.flipfit.bean.GymCenter;
+import com.flipfit.bean.GymSlot;
+import com.flipfit.config.CatalogCacheConfiguration;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class CatalogCache.
+ * Bounded, expiring read-through cache for gym slot and gym center lookups.
+ * Slots and centers change rarely but are read on every booking, so the
+ * caching DAOs serve them from here and the write paths invalidate the
+ * affected entries. Cached beans are shared and must be treated as read-only.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName CatalogCache
+ */
+public final class CatalogCache {
+
+    /** The shared instance used by the caching DAOs. */
+    private static volatile CatalogCache instance = new CatalogCache(new CatalogCacheConfiguration());
+
+    /** Whether lookups go through the cache at all. */
+    private final boolean enabled;
+
+    /** Slots by slot ID. */
+    private final Cache<String, GymSlot> slotsById;
+
+    /** Active slots by gym ID. */
+    private final Cache<String, List<GymSlot>> slotsByGym;
+
+    /** Active slots by start time, by gym ID. */
+    private final Cache<String, NavigableMap<LocalTime, List<GymSlot>>> slotTimesByGym;
+
+    /** Available slots by city. */
+    private final Cache<String, List<GymSlot>> slotsByCity;
+
+    /** Gym centers by gym ID. */
+    private final Cache<String, GymCenter> centersById;
+
+    /** Approved gym centers by city. */
+    private final Cache<String, List<GymCenter>> centersByCity;
+
+    /**
+     * Instantiates a new catalog cache.
+     *
+     * @param configuration the cache configuration
+     */
+    public CatalogCache(CatalogCacheConfiguration configuration) {
+        this.enabled = configuration.isEnabled();
+        this.slotsById = newCache(configuration);
+        this.slotsByGym = newCache(configuration);
+        this.slotTimesByGym = newCache(configuration);
+        this.slotsByCity = newCache(configuration);
+        this.centersById = newCache(configuration);
+        this.centersByCity = newCache(configuration);
+    }
+
+    /**
+     * Replaces the shared instance and registers its metrics.
+     * Called once at application start-up.
+     *
+     * @param configuration the cache configuration
+     * @param metrics the metric registry
+     */
+    public static void configure(CatalogCacheConfiguration configuration, MetricRegistry metrics) {
+        CatalogCache cache = new CatalogCache(configuration);
+        cache.registerMetrics(metrics);
+        instance = cache;
+    }
+
+    /**
+     * Gets the shared instance.
+     *
+     * @return the catalog cache
+     */
+    public static CatalogCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Gets a slot, loading it on a miss.
+     *
+     * @param slotId the slot ID
+     * @param loader loads the slot from the database
+     * @return the slot, or null if it does not exist
+     */
+    public GymSlot getSlot(String slotId, Function<String, GymSlot> loader) {
+        return get(slotsById, slotId, loader);
+    }
+
+    /**
+     * Gets the slots of a gym, loading them on a miss.
+     *
+     * @param gymId the gym ID
+     * @param loader loads the slots from the database
+     * @return a mutable copy of the slots
+     */
+    public List<GymSlot> getSlotsByGym(String gymId, Function<String, List<GymSlot>> loader) {
+        return getList(slotsByGym, gymId, loader);
+    }
+
+    /**
+     * Gets the start-time index of a gym's active slots, building it on a miss.
+     *
+     * @param gymId the gym ID
+     * @param loader loads the slots from the database
+     * @return the read-only index
+     */
+    public NavigableMap<LocalTime, List<GymSlot>> getSlotTimesByGym(String gymId, Function<String, List<GymSlot>> loader) {
+        if (!enabled || gymId == null) {
+            return SlotTimeIndex.of(loader.apply(gymId));
+        }
+        // Like the slot lists, a gym without slots (or a failed load) is not cached
+        NavigableMap<LocalTime, List<GymSlot>> index = slotTimesByGym.get(gymId, k -> {
+            NavigableMap<LocalTime, List<GymSlot>> built = SlotTimeIndex.of(getSlotsByGym(k, loader));
+            return built.isEmpty() ? null : built;
+        });
+        return index != null ? index : Collections.emptyNavigableMap();
+    }
+
+    /**
+     * Gets the available slots of a city, loading them on a miss.
+     *
+     * @param city the city name
+     * @param loader loads the slots from the database
+     * @return a mutable copy of the slots
+     */
+    public List<GymSlot> getSlotsByCity(String city, Function<String, List<GymSlot>> loader) {
+        return getList(slotsByCity, city, loader);
+    }
+
+    /**
+     * Gets a gym center, loading it on a miss.
+     *
+     * @param gymId the gym ID
+     * @param loader loads the center from the database
+     * @return the center, or null if it does not exist
+     */
+    public GymCenter getCenter(String gymId, Function<String, GymCenter> loader) {
+        return get(centersById, gymId, loader);
+    }
+
+    /**
+     * Gets the approved gym centers of a city, loading them on a miss.
+     *
+     * @param city the city name
+     * @param loader loads the centers from the database
+     * @return a mutable copy of the centers
+     */
+    public List<GymCenter> getCentersByCity(String city, Function<String, List<GymCenter>> loader) {
+        return getList(centersByCity, city, loader);
+    }
+
+    /**
+     * Drops everything cached for a slot after it was inserted, updated or deleted.
+     *
+     * @param slotId the slot ID
+     * @param gymId the gym the slot belongs to, or null if unknown
+     */
+    public void invalidateSlot(String slotId, String gymId) {
+        slotsById.invalidate(slotId);
+        if (gymId != null) {
+            slotsByGym.invalidate(gymId);
+            slotTimesByGym.invalidate(gymId);
+        } else {
+            slotsByGym.invalidateAll();
+            slotTimesByGym.invalidateAll();
+        }
+        slotsByCity.invalidateAll();
+    }
+
+    /**
+     * Drops everything cached for a gym center after it was changed, approved or rejected.
+     * Slot rows carry the center's name and city, so slot entries go too.
+     *
+     * @param gymId the gym ID
+     */
+    public void invalidateCenter(String gymId) {
+        centersById.invalidate(gymId);
+        centersByCity.invalidateAll();
+        slotsById.invalidateAll();
+        slotsByGym.invalidate(gymId);
+        slotTimesByGym.invalidate(gymId);
+        slotsByCity.invalidateAll();
+    }
+
+    /**
+     * Drops every cached entry.
+     */
+    public void invalidateAll() {
+        slotsById.invalidateAll();
+        slotsByGym.invalidateAll();
+        slotTimesByGym.invalidateAll();
+        slotsByCity.invalidateAll();
+        centersById.invalidateAll();
+        centersByCity.invalidateAll();
+    }
+
+    /**
+     * Registers hit, miss, eviction, hit ratio and size gauges for every cache.
+     *
+     * @param metrics the metric registry
+     */
+    private void registerMetrics(MetricRegistry metrics) {
+        registerMetrics(metrics, "slotsById", slotsById);
+        registerMetrics(metrics, "slotsByGym", slotsByGym);
+        registerMetrics(metrics, "slotTimesByGym", slotTimesByGym);
+        registerMetrics(metrics, "slotsByCity", slotsByCity);
+        registerMetrics(metrics, "centersById", centersById);
+        registerMetrics(metrics, "centersByCity", centersByCity);
+    }
+
+    private static void registerMetrics(MetricRegistry metrics, String name, Cache<?, ?> cache) {
+        register(metrics, name, "hits", () -> cache.stats().hitCount());
+        register(metrics, name, "misses", () -> cache.stats().missCount());
+        register(metrics, name, "evictions", () -> cache.stats().evictionCount());
+        register(metrics, name, "hitRatio", () -> cache.stats().hitRate());
+        register(metrics, name, "size", cache::estimatedSize);
+    }
+
+    private static <T> void register(MetricRegistry metrics, String cacheName, String metric, Supplier<T> value) {
+        String metricName = MetricRegistry.name(CatalogCache.class, cacheName, metric);
+        metrics.remove(metricName);
+        metrics.register(metricName, (Gauge<T>) value::get);
+    }
+
+    private <V> V get(Cache<String, V> cache, String key, Function<String, V> loader) {
+        if (!enabled || key == null) {
+            return loader.apply(key);
+        }
+        // A null result (row not found or query failed) is not cached
+        return cache.get(key, loader);
+    }
+
+    private <V> List<V> getList(Cache<String, List<V>> cache, String key, Function<String, List<V>> loader) {
+        if (!enabled || key == null) {
+            return loader.apply(key);
+        }
+        // Empty results are not cached: the DAOs also return an empty list when the query fails
+        List<V> cached = cache.get(key, k -> {
+            List<V> loaded = loader.apply(k);
+            return loaded == null || loaded.isEmpty() ? null : Collections.unmodifiableList(new ArrayList<>(loaded));
+        });
+        return cached != null ? new ArrayList<>(cached) : new ArrayList<>();
+    }
+
+    private static <V> Cache<String, V> newCache(CatalogCacheConfiguration configuration) {
+        return Caffeine.newBuilder()
+            .maximumSize(configuration.getMaximumSize())
+            .expireAfterWrite(configuration.getTtl().toMilliseconds(), TimeUnit.MILLISECONDS)
+            .recordStats()
+            .build();
+    }
+}
@@ -0,0 +1,240 @@
+package com.flipfit.utils;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.flipfit.config.CatalogHttpCacheConfiguration;
+
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class CatalogVersions.
+ * Version counters for the catalog data behind the cacheable endpoints:
+ * gym centers, slots and gym owners. The DAO writes that change one of them
+ * bump its counter, and responses built from it carry a weak ETag and a
+ * Last-Modified taken from the counters, so a client revalidating an
+ * unchanged list gets 304 without a query or serialization. Tags include
+ * a random per-process epoch, so counters restarting at zero never match
+ * an old tag, and roll over every maxStaleness to bound how long changes
+ * made by other nodes go unnoticed.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName CatalogVersions
+ */
+public final class CatalogVersions {
+
+    /** The shared instance used by the DAOs and the catalog endpoints. */
+    private static volatile CatalogVersions instance =
+        new CatalogVersions(new CatalogHttpCacheConfiguration(), new MetricRegistry());
+
+    /**
+     * A family of catalog data with its own version.
+     */
+    public enum Resource {
+        CENTERS, SLOTS, OWNERS
+    }
+
+    /** Current version and last change time of one resource. */
+    private static final class Version {
+        private final AtomicLong number = new AtomicLong();
+        private final AtomicLong lastModified;
+
+        Version(long now) {
+            this.lastModified = new AtomicLong(now);
+        }
+    }
+
+    private final boolean enabled;
+    private final long maxStalenessMillis;
+    private final CacheControl cacheControl;
+    private final String epoch;
+    private final Map<Resource, Version> versions = new EnumMap<>(Resource.class);
+
+    private final Meter requests;
+    private final Meter notModified;
+
+    /**
+     * Instantiates the version counters.
+     *
+     * @param configuration the HTTP cache configuration
+     * @param metrics the metric registry
+     */
+    public CatalogVersions(CatalogHttpCacheConfiguration configuration, MetricRegistry metrics) {
+        this.enabled = configuration.isEnabled();
+        this.maxStalenessMillis = configuration.getMaxStaleness().toMilliseconds();
+        this.cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setNoTransform(false);
+        cacheControl.setMaxAge((int) configuration.getMaxAge().toSeconds());
+        cacheControl.setMustRevalidate(true);
+        this.epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+        long now = seconds(System.currentTimeMillis());
+        for (Resource resource : Resource.values()) {
+            versions.put(resource, new Version(now));
+        }
+
+        this.requests = metrics.meter(MetricRegistry.name(CatalogVersions.class, "requests"));
+        this.notModified = metrics.meter(MetricRegistry.name(CatalogVersions.class, "notModified"));
+        String ratioName = MetricRegistry.name(CatalogVersions.class, "notModifiedRatio");
+        metrics.remove(ratioName);
+        metrics.register(ratioName, (Gauge<Double>) () -> {
+            long total = requests.getCount();
+            return total == 0 ? 0.0 : (double) notModified.getCount() / total;
+        });
+    }
+
+    /**
+     * Replaces the shared instance and registers its metrics.
+     * Called once at application start-up.
+     *
+     * @param configuration the HTTP cache configuration
+     * @param metrics the metric registry
+     * @return the new shared instance
+     */
+    public static CatalogVersions configure(CatalogHttpCacheConfiguration configuration, MetricRegistry metrics) {
+        CatalogVersions catalogVersions = new CatalogVersions(configuration, metrics);
+        instance = catalogVersions;
+        return catalogVersions;
+    }
+
+    /**
+     * Gets the shared instance.
+     *
+     * @return the version counters
+     */
+    public static CatalogVersions getInstance() {
+        return instance;
+    }
+
+    /**
+     * Records a change to gym centers (insert, update, delete, approve, reject).
+     */
+    public void centersChanged() {
+        bump(Resource.CENTERS);
+    }
+
+    /**
+     * Records a change to slots (insert, update, delete).
+     */
+    public void slotsChanged() {
+        bump(Resource.SLOTS);
+    }
+
+    /**
+     * Records a change to gym owners (register, approve, update, delete).
+     */
+    public void ownersChanged() {
+        bump(Resource.OWNERS);
+    }
+
+    /**
+     * Takes the validators of a response built from the given resources.
+     * Must be called before the data is read, so the tag is never newer
+     * than the data it is sent with.
+     *
+     * @param resources the resources the response is built from
+     * @return the validators
+     */
+    public Validators validators(Resource... resources) {
+        return validators(null, resources);
+    }
+
+    /**
+     * Takes the validators of a response built from the given resources and
+     * filtered for one kind of caller. The scope is part of the ETag, so a
+     * tag handed to one caller never validates another caller's copy, and no
+     * Last-Modified is sent, since a date cannot tell callers apart.
+     *
+     * @param scope what the body was filtered for, or null if it is the same for every caller
+     * @param resources the resources the response is built from
+     * @return the validators
+     */
+    public Validators validators(String scope, Resource... resources) {
+        StringBuilder tag = new StringBuilder(epoch);
+        long lastModified = 0;
+        for (Resource resource : resources) {
+            Version version = versions.get(resource);
+            tag.append('-').append(version.number.get());
+            lastModified = Math.max(lastModified, version.lastModified.get());
+        }
+        if (maxStalenessMillis > 0) {
+            long now = System.currentTimeMillis();
+            tag.append('-').append(now / maxStalenessMillis);
+            lastModified = Math.max(lastModified, seconds(now - now % maxStalenessMillis));
+        }
+        if (scope != null) {
+            tag.append('-').append(scope);
+            return new Validators(new EntityTag(tag.toString(), true), null);
+        }
+        return new Validators(new EntityTag(tag.toString(), true), new Date(lastModified));
+    }
+
+    /**
+     * The ETag and Last-Modified of one response.
+     */
+    public final class Validators {
+        private final EntityTag entityTag;
+        private final Date lastModified;
+
+        Validators(EntityTag entityTag, Date lastModified) {
+            this.entityTag = entityTag;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * Checks the request's If-None-Match / If-Modified-Since headers.
+         *
+         * @param request the request
+         * @return a 304 response if the client's copy is current, otherwise null
+         */
+        public Response notModified(Request request) {
+            if (!enabled) {
+                return null;
+            }
+            requests.mark();
+            Response.ResponseBuilder builder = lastModified == null
+                ? request.evaluatePreconditions(entityTag)
+                : request.evaluatePreconditions(lastModified, entityTag);
+            if (builder == null) {
+                return null;
+            }
+            notModified.mark();
+            return builder.cacheControl(cacheControl).lastModified(lastModified).build();
+        }
+
+        /**
+         * Builds a 200 response carrying these validators.
+         *
+         * @param entity the response entity
+         * @return the response
+         */
+        public Response ok(Object entity) {
+            Response.ResponseBuilder builder = Response.ok(entity);
+            if (enabled) {
+                builder.tag(entityTag).lastModified(lastModified).cacheControl(cacheControl);
+            }
+            return builder.build();
+        }
+    }
+
+    private void bump(Resource resource) {
+        Version version = versions.get(resource);
+        version.number.incrementAndGet();
+        // Whole seconds, as sent in Last-Modified; each change moves it on by at least one
+        long now = seconds(System.currentTimeMillis());
+        version.lastModified.accumulateAndGet(now, (previous, current) -> Math.max(previous + 1000, current));
+    }
+
+    private static long seconds(long millis) {
+        return millis - millis % 1000;
+    }
+}
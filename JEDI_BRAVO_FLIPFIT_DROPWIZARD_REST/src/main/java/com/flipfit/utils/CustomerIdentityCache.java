@@ -0,0 +1,138 @@
+package com.flipfit.utils;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.flipfit.dao.GymCustomerDAO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class CustomerIdentityCache.
+ * Bidirectional customer_id / user_id mapping. A customer's user never
+ * changes once the GymCustomer row exists, so entries do not expire; they
+ * are filled lazily on lookup, eagerly on registration, and dropped when the
+ * customer is deleted. Both directions are bounded in size.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName CustomerIdentityCache
+ */
+public final class CustomerIdentityCache {
+
+    /** Default number of mappings kept per direction. */
+    public static final long DEFAULT_MAXIMUM_SIZE = 100_000;
+
+    /** The shared instance used by services and controllers. */
+    private static volatile CustomerIdentityCache instance = new CustomerIdentityCache(DEFAULT_MAXIMUM_SIZE);
+
+    private final GymCustomerDAO customerDAO = DAOFactory.getGymCustomerDAO();
+
+    /** user_id by customer_id. */
+    private final Cache<String, String> userIdsByCustomer;
+
+    /** customer_id by user_id. */
+    private final Cache<String, String> customerIdsByUser;
+
+    /**
+     * Instantiates a new identity cache.
+     *
+     * @param maximumSize the maximum number of mappings per direction
+     */
+    public CustomerIdentityCache(long maximumSize) {
+        this.userIdsByCustomer = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+        this.customerIdsByUser = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+
+    /**
+     * Replaces the shared instance and registers its metrics.
+     * Called once at application start-up.
+     *
+     * @param maximumSize the maximum number of mappings per direction
+     * @param metrics the metric registry
+     */
+    public static void configure(long maximumSize, MetricRegistry metrics) {
+        CustomerIdentityCache cache = new CustomerIdentityCache(maximumSize);
+        cache.registerMetrics(metrics, "userIdsByCustomer", cache.userIdsByCustomer);
+        cache.registerMetrics(metrics, "customerIdsByUser", cache.customerIdsByUser);
+        instance = cache;
+    }
+
+    /**
+     * Gets the shared instance.
+     *
+     * @return the identity cache
+     */
+    public static CustomerIdentityCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Gets the user ID of a customer.
+     *
+     * @param customerId the customer ID
+     * @return the user ID, or null if the customer does not exist
+     */
+    public String getUserId(String customerId) {
+        if (customerId == null) {
+            return null;
+        }
+        String userId = userIdsByCustomer.get(customerId, customerDAO::getUserIdByCustomerId);
+        if (userId != null) {
+            customerIdsByUser.put(userId, customerId);
+        }
+        return userId;
+    }
+
+    /**
+     * Gets the customer ID of a user.
+     *
+     * @param userId the user ID
+     * @return the customer ID, or null if the user is not a customer
+     */
+    public String getCustomerId(String userId) {
+        if (userId == null) {
+            return null;
+        }
+        String customerId = customerIdsByUser.get(userId, customerDAO::getCustomerIdByUserId);
+        if (customerId != null) {
+            userIdsByCustomer.put(customerId, userId);
+        }
+        return customerId;
+    }
+
+    /**
+     * Records a new mapping, e.g. right after a customer registers.
+     *
+     * @param customerId the customer ID
+     * @param userId the user ID
+     */
+    public void put(String customerId, String userId) {
+        userIdsByCustomer.put(customerId, userId);
+        customerIdsByUser.put(userId, customerId);
+    }
+
+    /**
+     * Drops the mapping of a deleted customer.
+     *
+     * @param customerId the customer ID
+     */
+    public void evictCustomer(String customerId) {
+        String userId = userIdsByCustomer.getIfPresent(customerId);
+        userIdsByCustomer.invalidate(customerId);
+        if (userId != null) {
+            customerIdsByUser.invalidate(userId);
+        }
+    }
+
+    private void registerMetrics(MetricRegistry metrics, String name, Cache<String, String> cache) {
+        register(metrics, name, "hits", () -> cache.stats().hitCount());
+        register(metrics, name, "misses", () -> cache.stats().missCount());
+        register(metrics, name, "size", cache::estimatedSize);
+    }
+
+    private static void register(MetricRegistry metrics, String cacheName, String metric, Gauge<Long> gauge) {
+        String metricName = MetricRegistry.name(CustomerIdentityCache.class, cacheName, metric);
+        metrics.remove(metricName);
+        metrics.register(metricName, gauge);
+    }
+}
@@ -0,0 +1,165 @@
+package com.flipfit.utils;
+
+import com.flipfit.config.StorageConfiguration;
+import com.flipfit.dao.BookingDAO;
+import com.flipfit.dao.GymAdminDAO;
+import com.flipfit.dao.GymCenterDAO;
+import com.flipfit.dao.GymCustomerDAO;
+import com.flipfit.dao.GymOwnerDAO;
+import com.flipfit.dao.GymSlotDAO;
+import com.flipfit.dao.GymUserDAO;
+import com.flipfit.dao.NotificationDAO;
+import com.flipfit.dao.WaitListDAO;
+import com.flipfit.dao.impl.CachingBookingDAOImpl;
+import com.flipfit.dao.impl.CachingGymAdminDAOImpl;
+import com.flipfit.dao.impl.CachingGymCenterDAOImpl;
+import com.flipfit.dao.impl.CachingGymSlotDAOImpl;
+import com.flipfit.dao.impl.CachingGymUserDAOImpl;
+import com.flipfit.dao.impl.GymCustomerDAOImpl;
+import com.flipfit.dao.impl.GymOwnerDAOImpl;
+import com.flipfit.dao.impl.NotificationDAOImpl;
+import com.flipfit.dao.impl.WaitListDAOImpl;
+import com.flipfit.dao.memory.InMemoryBookingDAOImpl;
+import com.flipfit.dao.memory.InMemoryGymAdminDAOImpl;
+import com.flipfit.dao.memory.InMemoryGymCenterDAOImpl;
+import com.flipfit.dao.memory.InMemoryGymCustomerDAOImpl;
+import com.flipfit.dao.memory.InMemoryGymOwnerDAOImpl;
+import com.flipfit.dao.memory.InMemoryGymSlotDAOImpl;
+import com.flipfit.dao.memory.InMemoryGymUserDAOImpl;
+import com.flipfit.dao.memory.InMemoryNotificationDAOImpl;
+import com.flipfit.dao.memory.InMemoryStore;
+import com.flipfit.dao.memory.InMemoryWaitListDAOImpl;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class DAOFactory.
+ * Creates the DAOs of the configured storage engine: the JDBC
+ * implementations (with the catalog cache in front of slots, centers and
+ * center approvals, and the seat counter cache in front of booked seat counts) for MYSQL, or the InMemoryStore implementations for MEMORY. Every DAO is
+ * returned instrumented. Services and shared utilities obtain their DAOs
+ * here instead of instantiating an implementation.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName DAOFactory
+ */
+public final class DAOFactory {
+
+    /** The configured storage engine. */
+    private static volatile StorageConfiguration.Type type = StorageConfiguration.Type.MYSQL;
+
+    private DAOFactory() {
+    }
+
+    /**
+     * Selects the storage engine. Called once at application start-up,
+     * before any service is created.
+     *
+     * @param storageType the storage engine
+     */
+    public static void configure(StorageConfiguration.Type storageType) {
+        type = storageType;
+    }
+
+    /**
+     * Gets the configured storage engine.
+     *
+     * @return the storage type
+     */
+    public static StorageConfiguration.Type getType() {
+        return type;
+    }
+
+    /**
+     * Creates a booking DAO.
+     *
+     * @return the booking DAO
+     */
+    public static BookingDAO getBookingDAO() {
+        return InstrumentedDAO.wrap(BookingDAO.class,
+            inMemory() ? new InMemoryBookingDAOImpl(InMemoryStore.getInstance()) : new CachingBookingDAOImpl());
+    }
+
+    /**
+     * Creates a slot DAO.
+     *
+     * @return the slot DAO
+     */
+    public static GymSlotDAO getGymSlotDAO() {
+        return InstrumentedDAO.wrap(GymSlotDAO.class,
+            inMemory() ? new InMemoryGymSlotDAOImpl(InMemoryStore.getInstance()) : new CachingGymSlotDAOImpl());
+    }
+
+    /**
+     * Creates a gym center DAO.
+     *
+     * @return the gym center DAO
+     */
+    public static GymCenterDAO getGymCenterDAO() {
+        return InstrumentedDAO.wrap(GymCenterDAO.class,
+            inMemory() ? new InMemoryGymCenterDAOImpl(InMemoryStore.getInstance()) : new CachingGymCenterDAOImpl());
+    }
+
+    /**
+     * Creates a waitlist DAO.
+     *
+     * @return the waitlist DAO
+     */
+    public static WaitListDAO getWaitListDAO() {
+        return InstrumentedDAO.wrap(WaitListDAO.class,
+            inMemory() ? new InMemoryWaitListDAOImpl(InMemoryStore.getInstance()) : new WaitListDAOImpl());
+    }
+
+    /**
+     * Creates a notification DAO.
+     *
+     * @return the notification DAO
+     */
+    public static NotificationDAO getNotificationDAO() {
+        return InstrumentedDAO.wrap(NotificationDAO.class,
+            inMemory() ? new InMemoryNotificationDAOImpl(InMemoryStore.getInstance()) : new NotificationDAOImpl());
+    }
+
+    /**
+     * Creates a gym customer DAO.
+     *
+     * @return the gym customer DAO
+     */
+    public static GymCustomerDAO getGymCustomerDAO() {
+        return InstrumentedDAO.wrap(GymCustomerDAO.class,
+            inMemory() ? new InMemoryGymCustomerDAOImpl(InMemoryStore.getInstance()) : new GymCustomerDAOImpl());
+    }
+
+    /**
+     * Creates a gym admin DAO.
+     *
+     * @return the gym admin DAO
+     */
+    public static GymAdminDAO getGymAdminDAO() {
+        return InstrumentedDAO.wrap(GymAdminDAO.class,
+            inMemory() ? new InMemoryGymAdminDAOImpl(InMemoryStore.getInstance()) : new CachingGymAdminDAOImpl());
+    }
+
+    /**
+     * Creates a user DAO.
+     *
+     * @return the user DAO
+     */
+    public static GymUserDAO getGymUserDAO() {
+        return InstrumentedDAO.wrap(GymUserDAO.class,
+            inMemory() ? new InMemoryGymUserDAOImpl(InMemoryStore.getInstance()) : new CachingGymUserDAOImpl());
+    }
+
+    /**
+     * Creates a gym owner DAO.
+     *
+     * @return the gym owner DAO
+     */
+    public static GymOwnerDAO getGymOwnerDAO() {
+        return InstrumentedDAO.wrap(GymOwnerDAO.class,
+            inMemory() ? new InMemoryGymOwnerDAOImpl(InMemoryStore.getInstance()) : new GymOwnerDAOImpl());
+    }
+
+    private static boolean inMemory() {
+        return type == StorageConfiguration.Type.MEMORY;
+    }
+}
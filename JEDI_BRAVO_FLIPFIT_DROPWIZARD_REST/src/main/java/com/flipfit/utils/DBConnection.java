@@ -1,5 +1,11 @@
 package com.flipfit.utils;
 
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
@@ -7,39 +13,78 @@ import java.sql.SQLException;
 // TODO: Auto-generated Javadoc
 /**
  * The Class DBConnection.
- * Utility class for managing database connections
+ * Utility class for managing database connections.
+ * Connections are borrowed from the pooled DataSource installed by
+ * {@code FlipFitApplication}; closing a connection returns it to the pool.
  *
  * @author JEDI-BRAVO
  * @ClassName DBConnection
  */
 public class DBConnection {
-    
+
+    /** The logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(DBConnection.class);
+
     /** The database URL. */
     private static final String DB_URL = "jdbc:mysql://localhost:3306/Flipfit_schema";
-    
+
     /** The database user. */
     private static final String DB_USER = "root";
-    
+
     /** The database password. */
     private static final String DB_PASSWORD = "";
-    
+
     /** The database driver. */
     private static final String DB_DRIVER = "com.mysql.cj.jdbc.Driver";
-    
+
+    /** The pooled data source shared by all DAOs. */
+    private static volatile DataSource dataSource;
+
+    /** The timer measuring how long callers wait to acquire a connection. */
+    private static volatile Timer acquireTimer;
+
     /**
      * Private constructor to prevent instantiation.
      */
     private DBConnection() {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
     }
-    
+
+    /**
+     * Installs the pooled data source used by {@link #getConnection()}.
+     *
+     * @param pooledDataSource the pooled data source
+     * @param metrics the metric registry for the acquire latency timer
+     */
+    public static void initialize(DataSource pooledDataSource, MetricRegistry metrics) {
+        acquireTimer = metrics.timer(MetricRegistry.name(DBConnection.class, "acquire"));
+        dataSource = pooledDataSource;
+    }
+
+    /**
+     * Gets the pooled data source, or null if none has been installed.
+     *
+     * @return the data source
+     */
+    public static DataSource getDataSource() {
+        return dataSource;
+    }
+
     /**
      * Gets the database connection.
+     * Falls back to a direct DriverManager connection when no pool has been
+     * installed (e.g. when DAOs are used outside the Dropwizard application).
      *
      * @return the connection object
      * @throws SQLException if connection fails
      */
     public static Connection getConnection() throws SQLException {
+        DataSource pool = dataSource;
+        if (pool != null) {
+            try (Timer.Context ignored = acquireTimer.time()) {
+                return pool.getConnection();
+            }
+        }
         try {
             Class.forName(DB_DRIVER);
             return DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
@@ -47,7 +92,7 @@ public class DBConnection {
             throw new SQLException("MySQL JDBC Driver not found", e);
         }
     }
-    
+
     /**
      * Close connection.
      *
@@ -58,7 +103,7 @@ public class DBConnection {
             try {
                 connection.close();
             } catch (SQLException e) {
-                e.printStackTrace();
+                LOG.warn("Error closing connection", e);
             }
         }
     }
@@ -0,0 +1,270 @@
+package com.flipfit.utils;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.flipfit.config.EmailRegistryConfiguration;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import io.dropwizard.lifecycle.Managed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class EmailRegistry.
+ * Bloom filter over the registered user emails, checked before the
+ * database by the signup and "is this email taken" paths. An email the
+ * filter has never seen is certainly new and answered from memory; a
+ * possible hit falls through to the database, and hits the database denies
+ * are counted as false positives. Emails are lower-cased as the database
+ * collation compares them case-insensitively; non-ASCII emails always go to
+ * the database. Registrations add to the filter, and it is rebuilt
+ * periodically to pick up other nodes' signups and shed deleted users.
+ * Until the first load succeeds every check goes to the database.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName EmailRegistry
+ */
+public final class EmailRegistry implements Managed {
+
+    /** The logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(EmailRegistry.class);
+
+    /** The shared instance used by the user DAO. */
+    private static volatile EmailRegistry instance =
+        new EmailRegistry(disabled(), new MetricRegistry());
+
+    private final boolean enabled;
+    private final long expectedEmails;
+    private final double falsePositiveRate;
+    private final long refreshIntervalMillis;
+
+    /** The filter answering checks, or null until loaded. */
+    private volatile BloomFilter<CharSequence> filter;
+    /** The filter being rebuilt, which registrations are also added to. */
+    private volatile BloomFilter<CharSequence> next;
+
+    private final Meter negatives;
+    private final Meter possibleHits;
+    private final Meter falsePositives;
+
+    private ScheduledExecutorService refresher;
+
+    /**
+     * Instantiates a new email registry.
+     *
+     * @param configuration the registry configuration
+     * @param metrics the metric registry
+     */
+    public EmailRegistry(EmailRegistryConfiguration configuration, MetricRegistry metrics) {
+        this.enabled = configuration.isEnabled();
+        this.expectedEmails = configuration.getExpectedEmails();
+        this.falsePositiveRate = configuration.getFalsePositiveRate();
+        this.refreshIntervalMillis = configuration.getRefreshInterval().toMilliseconds();
+
+        this.negatives = metrics.meter(MetricRegistry.name(EmailRegistry.class, "negatives"));
+        this.possibleHits = metrics.meter(MetricRegistry.name(EmailRegistry.class, "possibleHits"));
+        this.falsePositives = metrics.meter(MetricRegistry.name(EmailRegistry.class, "falsePositives"));
+        register(metrics, "falsePositiveRate", () -> {
+            long hits = possibleHits.getCount();
+            return hits == 0 ? 0.0 : (double) falsePositives.getCount() / hits;
+        });
+        register(metrics, "expectedFalsePositiveRate", () -> {
+            BloomFilter<CharSequence> current = filter;
+            return current == null ? 0.0 : current.expectedFpp();
+        });
+        register(metrics, "emails", () -> {
+            BloomFilter<CharSequence> current = filter;
+            return current == null ? 0L : current.approximateElementCount();
+        });
+    }
+
+    /**
+     * Replaces the shared instance. Called once at application start-up;
+     * the returned registry must be handed to the Dropwizard lifecycle so it
+     * is loaded and rebuilt periodically.
+     *
+     * @param configuration the registry configuration
+     * @param metrics the metric registry
+     * @return the new shared registry
+     */
+    public static EmailRegistry configure(EmailRegistryConfiguration configuration, MetricRegistry metrics) {
+        EmailRegistry registry = new EmailRegistry(configuration, metrics);
+        instance = registry;
+        return registry;
+    }
+
+    /**
+     * Gets the shared instance.
+     *
+     * @return the email registry
+     */
+    public static EmailRegistry getInstance() {
+        return instance;
+    }
+
+    /**
+     * Loads the registered emails and starts the periodic rebuild.
+     */
+    @Override
+    public synchronized void start() {
+        if (!enabled || refresher != null) {
+            return;
+        }
+        rebuildQuietly();
+        if (refreshIntervalMillis > 0) {
+            refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "flipfit-email-registry");
+                thread.setDaemon(true);
+                return thread;
+            });
+            refresher.scheduleWithFixedDelay(this::rebuildQuietly,
+                refreshIntervalMillis, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the periodic rebuild.
+     *
+     * @throws InterruptedException if interrupted while waiting for a running rebuild
+     */
+    @Override
+    public synchronized void stop() throws InterruptedException {
+        if (refresher != null) {
+            refresher.shutdown();
+            refresher.awaitTermination(1, TimeUnit.MINUTES);
+            refresher = null;
+        }
+    }
+
+    /**
+     * Checks whether an email is registered, asking the database only if
+     * the filter cannot rule it out.
+     *
+     * @param email the email to check
+     * @param database the exact check against the database
+     * @return true if the email is registered
+     */
+    public boolean exists(String email, Predicate<String> database) {
+        BloomFilter<CharSequence> current = filter;
+        String key = key(email);
+        if (current == null || key == null) {
+            return database.test(email);
+        }
+        if (!current.mightContain(key)) {
+            negatives.mark();
+            return false;
+        }
+        possibleHits.mark();
+        boolean exists = database.test(email);
+        if (!exists) {
+            falsePositives.mark();
+        }
+        return exists;
+    }
+
+    /**
+     * Records a newly registered (or changed) email.
+     *
+     * @param email the email
+     */
+    public void add(String email) {
+        String key = key(email);
+        if (key == null) {
+            return;
+        }
+        BloomFilter<CharSequence> current = filter;
+        if (current != null) {
+            current.put(key);
+        }
+        // Read after the database write, so a rebuild that misses this email in its query is still seen here
+        BloomFilter<CharSequence> rebuilding = next;
+        if (rebuilding != null) {
+            rebuilding.put(key);
+        }
+    }
+
+    /**
+     * Rebuilds the filter from the users table. An empty result (no users
+     * yet, or a failed query) keeps the current filter, or before the first
+     * load keeps the checks going to the database.
+     */
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long users = 0;
+        BloomFilter<CharSequence> current = filter;
+        if (current != null) {
+            users = current.approximateElementCount();
+        }
+        BloomFilter<CharSequence> rebuilt = BloomFilter.create(
+            Funnels.stringFunnel(StandardCharsets.UTF_8), Math.max(expectedEmails, 2 * users), falsePositiveRate);
+        next = rebuilt;
+        try {
+            List<String> emails = DAOFactory.getGymUserDAO().getAllEmails();
+            if (emails.isEmpty()) {
+                LOG.debug("No user emails loaded; email checks go to the database");
+                return;
+            }
+            for (String email : emails) {
+                String key = key(email);
+                if (key != null) {
+                    rebuilt.put(key);
+                }
+            }
+            filter = rebuilt;
+            LOG.debug("Email registry rebuilt with {} emails", emails.size());
+        } finally {
+            next = null;
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            LOG.error("Error rebuilding email registry", e);
+        }
+    }
+
+    /**
+     * Normalizes an email the way the database compares it.
+     *
+     * @param email the email
+     * @return the filter key, or null if the filter cannot answer for it
+     */
+    private static String key(String email) {
+        if (email == null) {
+            return null;
+        }
+        String key = email.trim();
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) > 0x7f) {
+                return null;
+            }
+        }
+        return key.toLowerCase(Locale.ROOT);
+    }
+
+    private static EmailRegistryConfiguration disabled() {
+        EmailRegistryConfiguration configuration = new EmailRegistryConfiguration();
+        configuration.setEnabled(false);
+        return configuration;
+    }
+
+    private static <T> void register(MetricRegistry metrics, String name, Gauge<T> gauge) {
+        String fullName = MetricRegistry.name(EmailRegistry.class, name);
+        metrics.remove(fullName);
+        metrics.register(fullName, gauge);
+    }
+}
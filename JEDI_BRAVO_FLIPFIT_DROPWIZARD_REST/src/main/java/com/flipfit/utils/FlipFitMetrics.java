@@ -0,0 +1,43 @@
+package com.flipfit.utils;
+
+import com.codahale.metrics.MetricRegistry;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class FlipFitMetrics.
+ * Holds the metric registry shared by services and DAOs that are not
+ * created by Dropwizard. The application points it at the environment's
+ * registry at start-up, so everything recorded here is served by the admin
+ * connector; until then (e.g. in the console client) a private registry is
+ * used and nothing is reported.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName FlipFitMetrics
+ */
+public final class FlipFitMetrics {
+
+    /** The shared registry. */
+    private static volatile MetricRegistry registry = new MetricRegistry();
+
+    private FlipFitMetrics() {
+    }
+
+    /**
+     * Replaces the shared registry. Called once at application start-up,
+     * before any service is created.
+     *
+     * @param metrics the metric registry
+     */
+    public static void configure(MetricRegistry metrics) {
+        registry = metrics;
+    }
+
+    /**
+     * Gets the shared registry.
+     *
+     * @return the metric registry
+     */
+    public static MetricRegistry getRegistry() {
+        return registry;
+    }
+}
@@ -0,0 +1,384 @@
+package com.flipfit.utils;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.flipfit.bean.GymCenter;
+import com.flipfit.config.NearbySearchConfiguration;
+import io.dropwizard.lifecycle.Managed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class GymGeoIndex.
+ * Keeps the approved gym centers that have a position in a uniform grid of
+ * square cells (cellSizeKm on a side at the equator), so a nearby search
+ * only looks at the cells around the customer. Searches walk the grid ring
+ * by ring outwards and hand gyms to the caller nearest first, which lets
+ * the caller check seat availability gym by gym and stop as soon as it has
+ * enough. The approval and update paths re-index the center they changed;
+ * a periodic rebuild picks up changes made by other nodes.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName GymGeoIndex
+ */
+public final class GymGeoIndex implements Managed {
+
+    /** The logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(GymGeoIndex.class);
+
+    /** Mean Earth radius, for haversine distances. */
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    /** The shared instance used by the DAOs and the nearby endpoint. */
+    private static volatile GymGeoIndex instance =
+        new GymGeoIndex(new NearbySearchConfiguration(), new MetricRegistry());
+
+    private final boolean enabled;
+    private final double cellDegrees;
+    private final double maxRadiusKm;
+    private final int maxResults;
+    private final int maxWindowHours;
+    private final long refreshIntervalMillis;
+
+    private volatile Grid grid = new Grid();
+
+    private final Timer searches;
+    private final Meter updates;
+
+    private ScheduledExecutorService refresher;
+
+    /**
+     * Instantiates a new gym geo index.
+     *
+     * @param configuration the nearby search configuration
+     * @param metrics the metric registry
+     */
+    public GymGeoIndex(NearbySearchConfiguration configuration, MetricRegistry metrics) {
+        this.enabled = configuration.isEnabled();
+        this.cellDegrees = configuration.getCellSizeKm() / KM_PER_DEGREE;
+        this.maxRadiusKm = configuration.getMaxRadiusKm();
+        this.maxResults = configuration.getMaxResults();
+        this.maxWindowHours = configuration.getMaxWindowHours();
+        this.refreshIntervalMillis = configuration.getRefreshInterval().toMilliseconds();
+
+        this.searches = metrics.timer(MetricRegistry.name(GymGeoIndex.class, "searches"));
+        this.updates = metrics.meter(MetricRegistry.name(GymGeoIndex.class, "updates"));
+        register(metrics, "gyms", () -> grid.positions.size());
+        register(metrics, "cells", () -> grid.cells.size());
+    }
+
+    /**
+     * Replaces the shared instance. Called once at application start-up;
+     * the returned index must be handed to the Dropwizard lifecycle so it is
+     * loaded and rebuilt periodically.
+     *
+     * @param configuration the nearby search configuration
+     * @param metrics the metric registry
+     * @return the new shared index
+     */
+    public static GymGeoIndex configure(NearbySearchConfiguration configuration, MetricRegistry metrics) {
+        GymGeoIndex geoIndex = new GymGeoIndex(configuration, metrics);
+        instance = geoIndex;
+        return geoIndex;
+    }
+
+    /**
+     * Gets the shared instance.
+     *
+     * @return the gym geo index
+     */
+    public static GymGeoIndex getInstance() {
+        return instance;
+    }
+
+    /**
+     * Loads the approved gym centers and starts the periodic rebuild.
+     */
+    @Override
+    public synchronized void start() {
+        if (!enabled || refresher != null) {
+            return;
+        }
+        rebuildQuietly();
+        if (refreshIntervalMillis > 0) {
+            refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "flipfit-gym-geo-index");
+                thread.setDaemon(true);
+                return thread;
+            });
+            refresher.scheduleWithFixedDelay(this::rebuildQuietly,
+                refreshIntervalMillis, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the periodic rebuild.
+     *
+     * @throws InterruptedException if interrupted while waiting for a running rebuild
+     */
+    @Override
+    public synchronized void stop() throws InterruptedException {
+        if (refresher != null) {
+            refresher.shutdown();
+            refresher.awaitTermination(1, TimeUnit.MINUTES);
+            refresher = null;
+        }
+    }
+
+    /**
+     * Checks whether the nearby search is enabled.
+     *
+     * @return true if searches are served
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the largest search radius.
+     *
+     * @return the maximum radius in kilometres
+     */
+    public double getMaxRadiusKm() {
+        return maxRadiusKm;
+    }
+
+    /**
+     * Gets the largest number of gyms returned by one search.
+     *
+     * @return the maximum results
+     */
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    /**
+     * Gets the longest look-ahead for open seats.
+     *
+     * @return the maximum window in hours
+     */
+    public int getMaxWindowHours() {
+        return maxWindowHours;
+    }
+
+    /**
+     * Hands the gyms within a radius to a matcher, nearest first, until it
+     * accepted limit of them. The matcher returns null to skip a gym.
+     *
+     * @param <T> the type of the accepted results
+     * @param latitude the customer's latitude
+     * @param longitude the customer's longitude
+     * @param radiusKm the search radius in kilometres
+     * @param limit the largest number of gyms to accept
+     * @param matcher called with each gym and its distance in kilometres
+     * @return the accepted results, nearest first
+     */
+    public <T> List<T> nearest(double latitude, double longitude, double radiusKm, int limit,
+                               BiFunction<GymCenter, Double, T> matcher) {
+        try (Timer.Context ignored = searches.time()) {
+            Grid current = grid;
+            List<T> accepted = new ArrayList<>();
+            if (current.positions.isEmpty()) {
+                return accepted;
+            }
+            int centerRow = row(latitude);
+            int centerColumn = column(longitude);
+            PriorityQueue<Candidate> candidates = new PriorityQueue<>();
+            int maxRing = (int) Math.ceil(radiusKm / (cellDegrees * KM_PER_DEGREE * shrink(latitude, radiusKm))) + 1;
+            for (int ring = 0; ring <= maxRing && accepted.size() < limit; ring++) {
+                for (int row = centerRow - ring; row <= centerRow + ring; row++) {
+                    // Inner rows of the ring only have its first and last column
+                    boolean edgeRow = row == centerRow - ring || row == centerRow + ring;
+                    int step = edgeRow ? 1 : 2 * ring;
+                    for (int column = centerColumn - ring; column <= centerColumn + ring; column += step) {
+                        Set<String> cell = current.cells.get(key(row, column));
+                        if (cell == null) {
+                            continue;
+                        }
+                        for (String gymId : cell) {
+                            GymCenter center = current.positions.get(gymId);
+                            if (center == null) {
+                                continue;
+                            }
+                            double distance = distanceKm(latitude, longitude, center.getLatitude(), center.getLongitude());
+                            if (distance <= radiusKm) {
+                                candidates.add(new Candidate(center, distance));
+                            }
+                        }
+                    }
+                }
+                // Every gym in an unvisited ring is at least this far away
+                double settled = ring == maxRing ? Double.MAX_VALUE
+                    : ring * cellDegrees * KM_PER_DEGREE * shrink(latitude, (ring + 1) * cellDegrees * KM_PER_DEGREE);
+                while (!candidates.isEmpty() && candidates.peek().distanceKm <= settled && accepted.size() < limit) {
+                    Candidate candidate = candidates.poll();
+                    T result = matcher.apply(candidate.center, candidate.distanceKm);
+                    if (result != null) {
+                        accepted.add(result);
+                    }
+                }
+            }
+            return accepted;
+        }
+    }
+
+    /**
+     * Re-indexes a gym center after it was approved, rejected, updated,
+     * inserted or deleted. Only approved centers with a position are indexed.
+     *
+     * @param gymId the gym ID
+     */
+    public void centerChanged(String gymId) {
+        if (!enabled || gymId == null) {
+            return;
+        }
+        GymCenter center = DAOFactory.getGymCenterDAO().getGymCenterById(gymId);
+        synchronized (this) {
+            Grid current = grid;
+            current.remove(gymId);
+            if (center != null && center.isApproved() && hasPosition(center)) {
+                current.add(center, key(row(center.getLatitude()), column(center.getLongitude())));
+            }
+        }
+        updates.mark();
+    }
+
+    /**
+     * Rebuilds the grid from the approved gym centers.
+     */
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        Grid rebuilt = new Grid();
+        for (GymCenter center : DAOFactory.getGymCenterDAO().getAllGymCenters()) {
+            if (center.isApproved() && hasPosition(center)) {
+                rebuilt.add(center, key(row(center.getLatitude()), column(center.getLongitude())));
+            }
+        }
+        grid = rebuilt;
+        LOG.debug("Gym geo index rebuilt with {} gyms in {} cells", rebuilt.positions.size(), rebuilt.cells.size());
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            LOG.error("Error rebuilding gym geo index", e);
+        }
+    }
+
+    /**
+     * Great-circle distance between two positions.
+     *
+     * @param latitude1 the first latitude
+     * @param longitude1 the first longitude
+     * @param latitude2 the second latitude
+     * @param longitude2 the second longitude
+     * @return the distance in kilometres
+     */
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dLatitude = Math.toRadians(latitude2 - latitude1);
+        double dLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(dLatitude / 2) * Math.sin(dLatitude / 2)
+            + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+            * Math.sin(dLongitude / 2) * Math.sin(dLongitude / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static boolean hasPosition(GymCenter center) {
+        return center.getLatitude() != null && center.getLongitude() != null;
+    }
+
+    /**
+     * How much narrower cells get towards the poles, at the widest latitude
+     * within reach of a search; cells are as many degrees wide as they are
+     * tall, so they are fewer kilometres wide away from the equator.
+     */
+    private static double shrink(double latitude, double reachKm) {
+        double widest = Math.min(89, Math.abs(latitude) + reachKm / KM_PER_DEGREE);
+        return Math.cos(Math.toRadians(widest));
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor(latitude / cellDegrees);
+    }
+
+    private int column(double longitude) {
+        return (int) Math.floor(longitude / cellDegrees);
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+
+    private static void register(MetricRegistry metrics, String name, Gauge<Integer> gauge) {
+        String fullName = MetricRegistry.name(GymGeoIndex.class, name);
+        metrics.remove(fullName);
+        metrics.register(fullName, gauge);
+    }
+
+    /**
+     * A gym within the search radius, ordered by distance.
+     */
+    private static final class Candidate implements Comparable<Candidate> {
+        final GymCenter center;
+        final double distanceKm;
+
+        Candidate(GymCenter center, double distanceKm) {
+            this.center = center;
+            this.distanceKm = distanceKm;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            return Double.compare(distanceKm, other.distanceKm);
+        }
+    }
+
+    /**
+     * The grid. Writers hold the lock of the owning GymGeoIndex; readers
+     * use the concurrent maps without locking.
+     */
+    private static final class Grid {
+        final ConcurrentMap<String, GymCenter> positions = new ConcurrentHashMap<>();
+        /** Gym IDs by cell key. */
+        final ConcurrentMap<Long, Set<String>> cells = new ConcurrentHashMap<>();
+        /** The cell each gym was indexed under, for removal. */
+        final Map<String, Long> cellByGym = new HashMap<>();
+
+        void add(GymCenter center, long cell) {
+            positions.put(center.getGymId(), center);
+            cells.computeIfAbsent(cell, c -> ConcurrentHashMap.newKeySet()).add(center.getGymId());
+            cellByGym.put(center.getGymId(), cell);
+        }
+
+        void remove(String gymId) {
+            positions.remove(gymId);
+            Long cell = cellByGym.remove(gymId);
+            if (cell != null) {
+                cells.computeIfPresent(cell, (c, gymIds) -> {
+                    gymIds.remove(gymId);
+                    return gymIds.isEmpty() ? null : gymIds;
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,582 @@
+package com.flipfit.utils;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.flipfit.bean.GymCenter;
+import com.flipfit.config.GymSearchConfiguration;
+import io.dropwizard.lifecycle.Managed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class GymSearchIndex.
+ * In-memory search over the approved gym centers by city, locality
+ * (gym_address), pincode and gym name, for typeahead. Names are normalized
+ * (case, accents, punctuation) and split into terms kept in a sorted map,
+ * so every query token is a prefix range scan; a token that matches no term
+ * falls back to trigram similarity to catch misspellings. Configured aliases
+ * are indexed next to the names they stand for. Lookups never touch the
+ * database: the approval and update paths re-index the center they changed,
+ * and a periodic rebuild picks up changes made by other nodes.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName GymSearchIndex
+ */
+public final class GymSearchIndex implements Managed {
+
+    /** The logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(GymSearchIndex.class);
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    /** Terms read per query token, so a one-letter prefix stays cheap. */
+    private static final int MAX_TERMS_PER_TOKEN = 256;
+    /** Smallest trigram (Dice) similarity accepted as a misspelling. */
+    private static final double FUZZY_THRESHOLD = 0.6;
+    /** Extra score for a token equal to a whole term. */
+    private static final int EXACT_BONUS = 10;
+
+    /** The shared instance used by the DAOs and the typeahead endpoint. */
+    private static volatile GymSearchIndex instance =
+        new GymSearchIndex(new GymSearchConfiguration(), new MetricRegistry());
+
+    /**
+     * The gym center field a term was taken from, with its ranking weight.
+     */
+    public enum Field {
+        CITY(40), LOCALITY(30), PINCODE(30), NAME(20);
+
+        private final int weight;
+
+        Field(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private final boolean enabled;
+    private final long refreshIntervalMillis;
+    private final int maxResults;
+    /** Alternative names by the normalized name they stand for, in both directions. */
+    private final Map<String, Set<String>> aliases = new HashMap<>();
+
+    private volatile Index index = new Index();
+
+    private final Timer lookups;
+    private final Meter updates;
+
+    private ScheduledExecutorService refresher;
+
+    /**
+     * Instantiates a new gym search index.
+     *
+     * @param configuration the index configuration
+     * @param metrics the metric registry
+     */
+    public GymSearchIndex(GymSearchConfiguration configuration, MetricRegistry metrics) {
+        this.enabled = configuration.isEnabled();
+        this.refreshIntervalMillis = configuration.getRefreshInterval().toMilliseconds();
+        this.maxResults = configuration.getMaxResults();
+        for (Map.Entry<String, String> alias : configuration.getAliases().entrySet()) {
+            String from = normalize(alias.getKey());
+            String to = normalize(alias.getValue());
+            if (!from.isEmpty() && !to.isEmpty()) {
+                aliases.computeIfAbsent(from, k -> new HashSet<>()).add(to);
+                aliases.computeIfAbsent(to, k -> new HashSet<>()).add(from);
+            }
+        }
+
+        this.lookups = metrics.timer(MetricRegistry.name(GymSearchIndex.class, "lookups"));
+        this.updates = metrics.meter(MetricRegistry.name(GymSearchIndex.class, "updates"));
+        register(metrics, "gyms", () -> index.gyms.size());
+        register(metrics, "terms", () -> index.postings.size());
+    }
+
+    /**
+     * Replaces the shared instance. Called once at application start-up;
+     * the returned index must be handed to the Dropwizard lifecycle so it is
+     * loaded and rebuilt periodically.
+     *
+     * @param configuration the index configuration
+     * @param metrics the metric registry
+     * @return the new shared index
+     */
+    public static GymSearchIndex configure(GymSearchConfiguration configuration, MetricRegistry metrics) {
+        GymSearchIndex searchIndex = new GymSearchIndex(configuration, metrics);
+        instance = searchIndex;
+        return searchIndex;
+    }
+
+    /**
+     * Gets the shared instance.
+     *
+     * @return the gym search index
+     */
+    public static GymSearchIndex getInstance() {
+        return instance;
+    }
+
+    /**
+     * Loads the approved gym centers and starts the periodic rebuild.
+     */
+    @Override
+    public synchronized void start() {
+        if (!enabled || refresher != null) {
+            return;
+        }
+        rebuildQuietly();
+        if (refreshIntervalMillis > 0) {
+            refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "flipfit-gym-search-index");
+                thread.setDaemon(true);
+                return thread;
+            });
+            refresher.scheduleWithFixedDelay(this::rebuildQuietly,
+                refreshIntervalMillis, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the periodic rebuild.
+     *
+     * @throws InterruptedException if interrupted while waiting for a running rebuild
+     */
+    @Override
+    public synchronized void stop() throws InterruptedException {
+        if (refresher != null) {
+            refresher.shutdown();
+            refresher.awaitTermination(1, TimeUnit.MINUTES);
+            refresher = null;
+        }
+    }
+
+    /**
+     * Checks whether the index is enabled.
+     *
+     * @return true if lookups are served
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the largest number of gyms returned by one lookup.
+     *
+     * @return the maximum results
+     */
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    /**
+     * Finds the gym centers matching every token of a query, best first:
+     * city matches rank above locality and pincode matches, which rank above
+     * gym name matches, and whole terms above prefixes and misspellings.
+     *
+     * @param query the text typed by the customer
+     * @param limit the largest number of gyms to return
+     * @return the matching gyms
+     */
+    public List<Hit> search(String query, int limit) {
+        try (Timer.Context ignored = lookups.time()) {
+            Index current = index;
+            Map<String, Hit> hits = null;
+            for (String token : tokens(query)) {
+                Map<String, Hit> tokenHits = match(current, token);
+                if (hits == null) {
+                    hits = tokenHits;
+                } else {
+                    hits.keySet().retainAll(tokenHits.keySet());
+                    for (Hit hit : hits.values()) {
+                        hit.add(tokenHits.get(hit.center.getGymId()));
+                    }
+                }
+                if (hits.isEmpty()) {
+                    break;
+                }
+            }
+            if (hits == null) {
+                return Collections.emptyList();
+            }
+            List<Hit> ranked = new ArrayList<>(hits.values());
+            ranked.sort((a, b) -> a.score != b.score ? Integer.compare(b.score, a.score)
+                : String.valueOf(a.center.getGymName()).compareToIgnoreCase(String.valueOf(b.center.getGymName())));
+            return ranked.size() > limit ? new ArrayList<>(ranked.subList(0, limit)) : ranked;
+        }
+    }
+
+    /**
+     * Suggests the cities starting with a query, with their number of
+     * approved gyms, most gyms first. Aliases suggest the city they stand for.
+     *
+     * @param query the text typed by the customer
+     * @param limit the largest number of cities to return
+     * @return gym count by city name as stored
+     */
+    public Map<String, Integer> suggestCities(String query, int limit) {
+        try (Timer.Context ignored = lookups.time()) {
+            String prefix = normalize(query);
+            if (prefix.isEmpty()) {
+                return Collections.emptyMap();
+            }
+            Map<String, Set<String>> gymsByCity = new HashMap<>();
+            int scanned = 0;
+            for (Map<String, String> cityGyms : index.cities.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                for (Map.Entry<String, String> gym : cityGyms.entrySet()) {
+                    gymsByCity.computeIfAbsent(gym.getValue(), city -> new HashSet<>()).add(gym.getKey());
+                }
+                if (++scanned >= MAX_TERMS_PER_TOKEN) {
+                    break;
+                }
+            }
+            List<Map.Entry<String, Set<String>>> ranked = new ArrayList<>(gymsByCity.entrySet());
+            ranked.sort((a, b) -> a.getValue().size() != b.getValue().size()
+                ? Integer.compare(b.getValue().size(), a.getValue().size()) : a.getKey().compareTo(b.getKey()));
+            Map<String, Integer> cities = new LinkedHashMap<>();
+            for (Map.Entry<String, Set<String>> city : ranked) {
+                if (cities.size() >= limit) {
+                    break;
+                }
+                cities.put(city.getKey(), city.getValue().size());
+            }
+            return cities;
+        }
+    }
+
+    /**
+     * Resolves a city name as typed (any case, accents or alias) to the name
+     * stored on the gym centers, so exact-match queries find them.
+     *
+     * @param city the city name as typed
+     * @return the stored city name with the most gyms, or null if no gym matches
+     */
+    public String resolveCity(String city) {
+        if (!enabled || city == null) {
+            return null;
+        }
+        Map<String, String> cityGyms = index.cities.get(normalize(city));
+        if (cityGyms == null || cityGyms.isEmpty()) {
+            return null;
+        }
+        Map<String, Integer> counts = new HashMap<>();
+        for (String stored : cityGyms.values()) {
+            counts.merge(stored, 1, Integer::sum);
+        }
+        return Collections.max(counts.entrySet(), Map.Entry.comparingByValue()).getKey();
+    }
+
+    /**
+     * Re-indexes a gym center after it was approved, rejected, updated,
+     * inserted or deleted. Only approved centers are indexed.
+     *
+     * @param gymId the gym ID
+     */
+    public void centerChanged(String gymId) {
+        if (!enabled || gymId == null) {
+            return;
+        }
+        GymCenter center = DAOFactory.getGymCenterDAO().getGymCenterById(gymId);
+        synchronized (this) {
+            Index current = index;
+            current.remove(gymId);
+            if (center != null && center.isApproved()) {
+                current.add(center, this);
+            }
+        }
+        updates.mark();
+    }
+
+    /**
+     * Rebuilds the index from the approved gym centers.
+     */
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        Index rebuilt = new Index();
+        List<GymCenter> centers = DAOFactory.getGymCenterDAO().getAllGymCenters();
+        for (GymCenter center : centers) {
+            if (center.isApproved()) {
+                rebuilt.add(center, this);
+            }
+        }
+        index = rebuilt;
+        LOG.debug("Gym search index rebuilt with {} gyms and {} terms", rebuilt.gyms.size(), rebuilt.postings.size());
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            LOG.error("Error rebuilding gym search index", e);
+        }
+    }
+
+    private Map<String, Hit> match(Index current, String token) {
+        Map<String, Hit> hits = new HashMap<>();
+        int scanned = 0;
+        for (Map.Entry<String, ConcurrentMap<String, Field>> term
+                : current.postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            int bonus = term.getKey().equals(token) ? EXACT_BONUS : 0;
+            collect(current, term.getValue(), bonus, 1, hits);
+            if (++scanned >= MAX_TERMS_PER_TOKEN) {
+                break;
+            }
+        }
+        if (hits.isEmpty() && token.length() >= 3) {
+            // No term starts with the token: look for a misspelling of one
+            List<String> grams = trigrams(token);
+            Map<String, Integer> shared = new HashMap<>();
+            for (String gram : grams) {
+                Set<String> terms = current.trigrams.get(gram);
+                if (terms != null) {
+                    for (String term : terms) {
+                        shared.merge(term, 1, Integer::sum);
+                    }
+                }
+            }
+            for (Map.Entry<String, Integer> term : shared.entrySet()) {
+                double similarity = 2.0 * term.getValue() / (grams.size() + term.getKey().length() - 1);
+                ConcurrentMap<String, Field> postings = current.postings.get(term.getKey());
+                if (similarity >= FUZZY_THRESHOLD && postings != null) {
+                    collect(current, postings, 0, 2, hits);
+                }
+            }
+        }
+        return hits;
+    }
+
+    private static void collect(Index current, Map<String, Field> postings, int bonus, int divisor, Map<String, Hit> hits) {
+        for (Map.Entry<String, Field> posting : postings.entrySet()) {
+            GymCenter center = current.gyms.get(posting.getKey());
+            if (center == null) {
+                continue;
+            }
+            int score = (posting.getValue().weight + bonus) / divisor;
+            Hit hit = hits.get(posting.getKey());
+            if (hit == null || hit.score < score) {
+                hits.put(posting.getKey(), new Hit(center, posting.getValue(), score));
+            }
+        }
+    }
+
+    /**
+     * Lower-cases a name and strips accents and punctuation.
+     *
+     * @param text the name
+     * @return the words of the name separated by single spaces
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static List<String> tokens(String text) {
+        String normalized = normalize(text);
+        List<String> tokens = new ArrayList<>();
+        for (String token : normalized.split(" ")) {
+            if (!token.isEmpty() && !tokens.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Trigrams of a term, anchored at its start so the first letters count.
+     *
+     * @param term the term
+     * @return the trigrams, one per character of the term
+     */
+    private static List<String> trigrams(String term) {
+        String anchored = "^" + term;
+        List<String> grams = new ArrayList<>(anchored.length() - 2);
+        for (int i = 0; i + 3 <= anchored.length(); i++) {
+            grams.add(anchored.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private Set<String> withAliases(String name) {
+        Set<String> names = new HashSet<>();
+        names.add(name);
+        names.addAll(aliases.getOrDefault(name, Collections.emptySet()));
+        return names;
+    }
+
+    private static void register(MetricRegistry metrics, String name, Gauge<Integer> gauge) {
+        String fullName = MetricRegistry.name(GymSearchIndex.class, name);
+        metrics.remove(fullName);
+        metrics.register(fullName, gauge);
+    }
+
+    /**
+     * One gym center matching a query.
+     */
+    public static final class Hit {
+        private final GymCenter center;
+        private Field matchedOn;
+        private int best;
+        private int score;
+
+        private Hit(GymCenter center, Field matchedOn, int score) {
+            this.center = center;
+            this.matchedOn = matchedOn;
+            this.best = score;
+            this.score = score;
+        }
+
+        private void add(Hit other) {
+            score += other.score;
+            if (other.best > best) {
+                best = other.best;
+                matchedOn = other.matchedOn;
+            }
+        }
+
+        /**
+         * Gets the matching gym center.
+         *
+         * @return the gym center
+         */
+        public GymCenter getCenter() {
+            return center;
+        }
+
+        /**
+         * Gets the field of the best matching query token.
+         *
+         * @return the field
+         */
+        public Field getMatchedOn() {
+            return matchedOn;
+        }
+
+        /**
+         * Gets the ranking score.
+         *
+         * @return the score
+         */
+        public int getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * The index structures. Writers hold the lock of the owning
+     * GymSearchIndex; readers use the concurrent maps without locking.
+     */
+    private static final class Index {
+        final ConcurrentMap<String, GymCenter> gyms = new ConcurrentHashMap<>();
+        /** Gym IDs, with the field the term came from, by term. */
+        final ConcurrentNavigableMap<String, ConcurrentMap<String, Field>> postings = new ConcurrentSkipListMap<>();
+        /** Terms by trigram, for misspelled tokens. */
+        final ConcurrentMap<String, Set<String>> trigrams = new ConcurrentHashMap<>();
+        /** Stored city names by gym ID, by normalized city name or alias. */
+        final ConcurrentNavigableMap<String, ConcurrentMap<String, String>> cities = new ConcurrentSkipListMap<>();
+        /** What each gym was indexed under, for removal. */
+        final Map<String, Map<String, Field>> termsByGym = new HashMap<>();
+        final Map<String, Set<String>> cityKeysByGym = new HashMap<>();
+
+        void add(GymCenter center, GymSearchIndex owner) {
+            String gymId = center.getGymId();
+            Map<String, Field> terms = new HashMap<>();
+            addTerms(terms, owner.withAliases(normalize(center.getCity())), Field.CITY, owner);
+            addTerms(terms, Collections.singleton(normalize(center.getGymAddress())), Field.LOCALITY, owner);
+            addTerms(terms, Collections.singleton(normalize(center.getPincode())), Field.PINCODE, owner);
+            addTerms(terms, Collections.singleton(normalize(center.getGymName())), Field.NAME, owner);
+
+            gyms.put(gymId, center);
+            for (Map.Entry<String, Field> term : terms.entrySet()) {
+                postings.computeIfAbsent(term.getKey(), t -> {
+                    for (String gram : GymSearchIndex.trigrams(t)) {
+                        trigrams.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(t);
+                    }
+                    return new ConcurrentHashMap<>();
+                }).put(gymId, term.getValue());
+            }
+            termsByGym.put(gymId, terms);
+
+            Set<String> cityKeys = new HashSet<>();
+            for (String city : owner.withAliases(normalize(center.getCity()))) {
+                if (!city.isEmpty()) {
+                    cityKeys.add(city);
+                    cities.computeIfAbsent(city, c -> new ConcurrentHashMap<>()).put(gymId, center.getCity());
+                }
+            }
+            cityKeysByGym.put(gymId, cityKeys);
+        }
+
+        void remove(String gymId) {
+            gyms.remove(gymId);
+            Map<String, Field> terms = termsByGym.remove(gymId);
+            if (terms != null) {
+                for (String term : terms.keySet()) {
+                    ConcurrentMap<String, Field> remaining = postings.computeIfPresent(term, (t, ids) -> {
+                        ids.remove(gymId);
+                        return ids.isEmpty() ? null : ids;
+                    });
+                    if (remaining == null) {
+                        for (String gram : GymSearchIndex.trigrams(term)) {
+                            trigrams.computeIfPresent(gram, (g, grammed) -> {
+                                grammed.remove(term);
+                                return grammed.isEmpty() ? null : grammed;
+                            });
+                        }
+                    }
+                }
+            }
+            Set<String> cityKeys = cityKeysByGym.remove(gymId);
+            if (cityKeys != null) {
+                for (String city : cityKeys) {
+                    cities.computeIfPresent(city, (c, cityGyms) -> {
+                        cityGyms.remove(gymId);
+                        return cityGyms.isEmpty() ? null : cityGyms;
+                    });
+                }
+            }
+        }
+
+        private static void addTerms(Map<String, Field> terms, Set<String> names, Field field, GymSearchIndex owner) {
+            for (String name : names) {
+                if (name.isEmpty()) {
+                    continue;
+                }
+                for (String word : name.split(" ")) {
+                    for (String term : owner.withAliases(word)) {
+                        terms.merge(term, field, (a, b) -> a.weight >= b.weight ? a : b);
+                    }
+                }
+                if (name.indexOf(' ') > 0) {
+                    // "new delhi" is also found as "newdelhi"
+                    terms.merge(name.replace(" ", ""), field, (a, b) -> a.weight >= b.weight ? a : b);
+                }
+            }
+        }
+    }
+}
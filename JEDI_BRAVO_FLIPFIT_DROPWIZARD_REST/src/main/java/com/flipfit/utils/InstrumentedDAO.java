@@ -0,0 +1,68 @@
+package com.flipfit.utils;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class InstrumentedDAO.
+ * Wraps a DAO in a proxy that times every call of its interface. Each method
+ * gets a timer named after the DAO interface and method (for example
+ * com.flipfit.dao.BookingDAO.insertBooking) and an exceptions meter next to
+ * it. The metrics are looked up once, when the DAO is wrapped.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName InstrumentedDAO
+ */
+public final class InstrumentedDAO implements InvocationHandler {
+
+    private final Object target;
+    private final Map<Method, Timer> timers = new HashMap<>();
+    private final Map<Method, Meter> exceptions = new HashMap<>();
+
+    private InstrumentedDAO(Class<?> daoInterface, Object target, MetricRegistry metrics) {
+        this.target = target;
+        for (Method method : daoInterface.getMethods()) {
+            timers.put(method, metrics.timer(MetricRegistry.name(daoInterface, method.getName())));
+            exceptions.put(method, metrics.meter(MetricRegistry.name(daoInterface, method.getName(), "exceptions")));
+        }
+    }
+
+    /**
+     * Wraps a DAO so that every call of its interface is timed in the shared registry.
+     *
+     * @param <T> the DAO interface type
+     * @param daoInterface the DAO interface
+     * @param target the DAO implementation
+     * @return the instrumented DAO
+     */
+    public static <T> T wrap(Class<T> daoInterface, T target) {
+        return daoInterface.cast(Proxy.newProxyInstance(
+            daoInterface.getClassLoader(),
+            new Class<?>[] {daoInterface},
+            new InstrumentedDAO(daoInterface, target, FlipFitMetrics.getRegistry())));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Timer timer = timers.get(method);
+        if (timer == null) {
+            // Object methods (toString, equals, hashCode)
+            return method.invoke(target, args);
+        }
+        try (Timer.Context ignored = timer.time()) {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            exceptions.get(method).mark();
+            throw e.getCause();
+        }
+    }
+}
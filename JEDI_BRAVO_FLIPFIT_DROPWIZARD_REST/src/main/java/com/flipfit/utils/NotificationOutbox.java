@@ -0,0 +1,327 @@
+package com.flipfit.utils;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.flipfit.bean.Notification;
+import com.flipfit.config.NotificationOutboxConfiguration;
+import com.flipfit.dao.NotificationDAO;
+import io.dropwizard.lifecycle.Managed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class NotificationOutbox.
+ * In-process outbox for user notifications. Callers only enqueue; a single
+ * background worker resolves customer IDs to user IDs and writes the queued
+ * notifications with JDBC batch inserts. The queue is bounded: when it is
+ * full the configured overflow policy drops the notification (optionally
+ * after waiting) and counts it. On shutdown the worker drains the queue
+ * before the DataSource is closed.
+ * Until the outbox is started (e.g. in the console client) notifications
+ * are written synchronously, as before.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName NotificationOutbox
+ */
+public final class NotificationOutbox implements Managed {
+
+    /** The logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationOutbox.class);
+
+    /** The shared instance used by the services. */
+    private static volatile NotificationOutbox instance =
+        new NotificationOutbox(new NotificationOutboxConfiguration(), new MetricRegistry());
+
+    private final BlockingQueue<Entry> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final NotificationOutboxConfiguration.OverflowPolicy overflowPolicy;
+    private final long enqueueTimeoutMillis;
+    private final long shutdownTimeoutMillis;
+
+    private final NotificationDAO notificationDAO = DAOFactory.getNotificationDAO();
+
+    private final Meter enqueued;
+    private final Meter dropped;
+    private final Meter written;
+    private final Meter failed;
+    private final Timer batchWrites;
+    private final Histogram batchSizes;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    /**
+     * Instantiates a new notification outbox.
+     *
+     * @param configuration the outbox configuration
+     * @param metrics the metric registry
+     */
+    public NotificationOutbox(NotificationOutboxConfiguration configuration, MetricRegistry metrics) {
+        this.queue = new ArrayBlockingQueue<>(configuration.getQueueCapacity());
+        this.batchSize = configuration.getBatchSize();
+        this.flushIntervalMillis = configuration.getFlushInterval().toMilliseconds();
+        this.overflowPolicy = configuration.getOverflowPolicy();
+        this.enqueueTimeoutMillis = configuration.getEnqueueTimeout().toMilliseconds();
+        this.shutdownTimeoutMillis = configuration.getShutdownTimeout().toMilliseconds();
+
+        this.enqueued = metrics.meter(MetricRegistry.name(NotificationOutbox.class, "enqueued"));
+        this.dropped = metrics.meter(MetricRegistry.name(NotificationOutbox.class, "dropped"));
+        this.written = metrics.meter(MetricRegistry.name(NotificationOutbox.class, "written"));
+        this.failed = metrics.meter(MetricRegistry.name(NotificationOutbox.class, "failed"));
+        this.batchWrites = metrics.timer(MetricRegistry.name(NotificationOutbox.class, "batchWrites"));
+        this.batchSizes = metrics.histogram(MetricRegistry.name(NotificationOutbox.class, "batchSize"));
+        String depthName = MetricRegistry.name(NotificationOutbox.class, "queueDepth");
+        metrics.remove(depthName);
+        metrics.register(depthName, (Gauge<Integer>) queue::size);
+    }
+
+    /**
+     * Replaces the shared instance. Called once at application start-up;
+     * the returned outbox must be handed to the Dropwizard lifecycle.
+     *
+     * @param configuration the outbox configuration
+     * @param metrics the metric registry
+     * @return the new shared outbox
+     */
+    public static NotificationOutbox configure(NotificationOutboxConfiguration configuration, MetricRegistry metrics) {
+        NotificationOutbox outbox = new NotificationOutbox(configuration, metrics);
+        instance = outbox;
+        return outbox;
+    }
+
+    /**
+     * Gets the shared instance.
+     *
+     * @return the notification outbox
+     */
+    public static NotificationOutbox getInstance() {
+        return instance;
+    }
+
+    /**
+     * Queues a notification for a customer. The customer ID is mapped to the
+     * user ID on the worker thread, off the caller's path.
+     *
+     * @param customerId the customer ID
+     * @param title the title
+     * @param message the message
+     * @param notificationType the notification type
+     */
+    public void notifyCustomer(String customerId, String title, String message, String notificationType) {
+        enqueue(new Entry(customerId, newNotification(null, title, message, notificationType)));
+    }
+
+    /**
+     * Queues a notification for a user.
+     *
+     * @param userId the user ID
+     * @param title the title
+     * @param message the message
+     * @param notificationType the notification type
+     */
+    public void notifyUser(String userId, String title, String message, String notificationType) {
+        enqueue(new Entry(null, newNotification(userId, title, message, notificationType)));
+    }
+
+    /**
+     * Starts the background worker.
+     */
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::drainLoop, "flipfit-notification-outbox");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Stops accepting work into the queue and waits for the worker to drain it.
+     * Anything still queued after the shutdown timeout is written inline.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Override
+    public synchronized void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        worker.join(shutdownTimeoutMillis);
+        if (worker.isAlive()) {
+            LOG.warn("Notification outbox did not drain within {} ms, interrupting worker", shutdownTimeoutMillis);
+            worker.interrupt();
+            worker.join();
+        }
+
+        // Entries enqueued while the worker was exiting
+        List<Entry> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            writeBatch(remaining);
+        }
+        LOG.info("Notification outbox stopped");
+    }
+
+    /**
+     * Gets the number of queued notifications.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void enqueue(Entry entry) {
+        if (!running) {
+            writeBatch(Collections.singletonList(entry));
+            return;
+        }
+        enqueued.mark();
+
+        boolean accepted;
+        if (overflowPolicy == NotificationOutboxConfiguration.OverflowPolicy.BLOCK) {
+            try {
+                accepted = queue.offer(entry, enqueueTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                accepted = false;
+            }
+        } else {
+            accepted = queue.offer(entry);
+        }
+
+        if (!accepted) {
+            dropped.mark();
+            LOG.warn("Notification outbox full, dropped notification: {}", entry.notification.getTitle());
+        }
+    }
+
+    /**
+     * Worker loop: collects up to batchSize entries, waiting at most the flush
+     * interval after the first one, then writes them in one batch. Keeps going
+     * after stop() until the queue is empty.
+     */
+    private void drainLoop() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.currentTimeMillis() + flushIntervalMillis;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (batch.size() >= batchSize || !running || remaining <= 0) {
+                        break;
+                    }
+                    Entry next = queue.poll(remaining, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (!batch.isEmpty()) {
+                    writeBatch(batch);
+                }
+                return;
+            } catch (RuntimeException e) {
+                LOG.error("Notification outbox worker error", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Resolves user IDs and writes one batch, falling back to row-by-row
+     * inserts if the batch fails so one bad row does not lose the others.
+     */
+    private void writeBatch(List<Entry> batch) {
+        Map<String, String> userIds = new HashMap<>();
+        List<Notification> notifications = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            if (entry.customerId != null) {
+                entry.notification.setUserId(userIds.computeIfAbsent(entry.customerId, this::resolveUserId));
+            }
+            notifications.add(entry.notification);
+        }
+
+        batchSizes.update(notifications.size());
+        try (Timer.Context ignored = batchWrites.time()) {
+            int inserted = notificationDAO.insertNotifications(notifications);
+            if (inserted == notifications.size()) {
+                written.mark(inserted);
+                return;
+            }
+        }
+
+        for (Notification notification : notifications) {
+            if (notificationDAO.insertNotification(notification)) {
+                written.mark();
+            } else {
+                failed.mark();
+            }
+        }
+    }
+
+    /**
+     * Maps a customer ID to the user ID that owns its notifications.
+     *
+     * @param customerId the customer ID
+     * @return the user ID, or the customer ID if it cannot be resolved
+     */
+    private String resolveUserId(String customerId) {
+        String userId = CustomerIdentityCache.getInstance().getUserId(customerId);
+        return userId != null ? userId : customerId;
+    }
+
+    private static Notification newNotification(String userId, String title, String message, String notificationType) {
+        Notification notification = new Notification();
+        notification.setNotificationId("NOT" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+        notification.setUserId(userId);
+        notification.setTitle(title);
+        notification.setMessage(message);
+        notification.setNotificationType(notificationType);
+        notification.setRead(false);
+        return notification;
+    }
+
+    /**
+     * A queued notification, with the customer whose user ID is still to be resolved.
+     */
+    private static final class Entry {
+        private final String customerId;
+        private final Notification notification;
+
+        private Entry(String customerId, Notification notification) {
+            this.customerId = customerId;
+            this.notification = notification;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.flipfit.utils;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.flipfit.config.NotificationRetentionConfiguration;
+import io.dropwizard.lifecycle.Managed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Timestamp;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class NotificationRetention.
+ * Periodically moves read notifications past their retention to
+ * NotificationArchive, so the feed and unread-count queries only scan live
+ * rows. Each run archives bounded chunks, one short transaction each, and
+ * pauses between them so it never holds locks on Notification for long.
+ * Unread notifications are never archived.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName NotificationRetention
+ */
+public final class NotificationRetention implements Managed {
+
+    /** The logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationRetention.class);
+
+    private final boolean enabled;
+    private final long readRetentionMillis;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final long intervalMillis;
+    private final long chunkPauseMillis;
+
+    private final Meter archived;
+    private final Timer runs;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Instantiates a new notification retention job.
+     *
+     * @param configuration the retention configuration
+     * @param metrics the metric registry
+     */
+    public NotificationRetention(NotificationRetentionConfiguration configuration, MetricRegistry metrics) {
+        this.enabled = configuration.isEnabled();
+        this.readRetentionMillis = configuration.getReadRetention().toMilliseconds();
+        this.chunkSize = configuration.getChunkSize();
+        this.maxChunksPerRun = configuration.getMaxChunksPerRun();
+        this.intervalMillis = configuration.getInterval().toMilliseconds();
+        this.chunkPauseMillis = configuration.getChunkPause().toMilliseconds();
+
+        this.archived = metrics.meter(MetricRegistry.name(NotificationRetention.class, "archived"));
+        this.runs = metrics.timer(MetricRegistry.name(NotificationRetention.class, "runs"));
+    }
+
+    /**
+     * Starts the periodic runs if an interval is configured.
+     */
+    @Override
+    public synchronized void start() {
+        if (!enabled || intervalMillis <= 0 || scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "flipfit-notification-retention");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic runs; a running one stops after its current chunk.
+     *
+     * @throws InterruptedException if interrupted while waiting for a running chunk
+     */
+    @Override
+    public synchronized void stop() throws InterruptedException {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Archives read notifications created before the retention cut-off,
+     * chunk by chunk, until a chunk comes back short or maxChunksPerRun
+     * chunks were archived.
+     *
+     * @return the number of notifications archived
+     * @throws InterruptedException if interrupted while pausing between chunks
+     */
+    public int archiveExpired() throws InterruptedException {
+        if (!enabled) {
+            return 0;
+        }
+        Timestamp cutoff = new Timestamp(System.currentTimeMillis() - readRetentionMillis);
+        int total = 0;
+        try (Timer.Context ignored = runs.time()) {
+            for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+                int moved = DAOFactory.getNotificationDAO().archiveReadNotifications(cutoff, chunkSize);
+                archived.mark(moved);
+                total += moved;
+                if (moved < chunkSize) {
+                    break;
+                }
+                if (chunkPauseMillis > 0) {
+                    Thread.sleep(chunkPauseMillis);
+                }
+            }
+        }
+        if (total > 0) {
+            LOG.info("Archived {} read notifications created before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    private void runQuietly() {
+        try {
+            archiveExpired();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            LOG.error("Error archiving read notifications", e);
+        }
+    }
+}
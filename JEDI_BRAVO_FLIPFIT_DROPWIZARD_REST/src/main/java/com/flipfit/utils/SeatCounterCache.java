@@ -0,0 +1,402 @@
+package com.flipfit.utils;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.flipfit.config.SeatCounterCacheConfiguration;
+import io.dropwizard.lifecycle.Managed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToIntBiFunction;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class SeatCounterCache.
+ * Booked seat counts per (slot, date), so availability reads are map
+ * lookups instead of database queries. A counter is loaded on first read
+ * and then written through by the booking paths: the caching DAOs adjust
+ * it after every seat they reserve or release in slot_date_inventory.
+ * Loads run outside the map, so a slow query never blocks other keys; a
+ * counter whose slot-date was written while it loaded is not kept.
+ * Counters of past dates are never cached and are dropped by the periodic
+ * reconciliation, which also repairs drift (seats taken by other nodes)
+ * by reading slot_date_inventory for the dates of the cached counters.
+ * The database stays authoritative for bookings: the conditional seat
+ * update refuses to go past capacity whatever the cache says.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName SeatCounterCache
+ */
+public final class SeatCounterCache implements Managed {
+
+    /** The logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(SeatCounterCache.class);
+
+    /** The shared instance used by the caching DAOs. */
+    private static volatile SeatCounterCache instance =
+        new SeatCounterCache(new SeatCounterCacheConfiguration(), new MetricRegistry());
+
+    private final boolean enabled;
+    private final int maximumSize;
+    private final long reconcileIntervalMillis;
+
+    /** Booked seats by slot-date. */
+    private final ConcurrentMap<SlotDate, Integer> counters = new ConcurrentHashMap<>();
+    /** Loads in flight by slot-date, so a write-through during a load can mark it stale. */
+    private final ConcurrentMap<SlotDate, Load> loads = new ConcurrentHashMap<>();
+
+    private final Meter hits;
+    private final Meter misses;
+    private final Meter evictions;
+    private final Meter corrections;
+    private final Timer reconciliations;
+
+    private ScheduledExecutorService reconciler;
+
+    /**
+     * Instantiates a new seat counter cache.
+     *
+     * @param configuration the cache configuration
+     * @param metrics the metric registry
+     */
+    public SeatCounterCache(SeatCounterCacheConfiguration configuration, MetricRegistry metrics) {
+        this.enabled = configuration.isEnabled();
+        this.maximumSize = configuration.getMaximumSize();
+        this.reconcileIntervalMillis = configuration.getReconcileInterval().toMilliseconds();
+
+        this.hits = metrics.meter(MetricRegistry.name(SeatCounterCache.class, "hits"));
+        this.misses = metrics.meter(MetricRegistry.name(SeatCounterCache.class, "misses"));
+        this.evictions = metrics.meter(MetricRegistry.name(SeatCounterCache.class, "evictions"));
+        this.corrections = metrics.meter(MetricRegistry.name(SeatCounterCache.class, "corrections"));
+        this.reconciliations = metrics.timer(MetricRegistry.name(SeatCounterCache.class, "reconciliations"));
+        String size = MetricRegistry.name(SeatCounterCache.class, "size");
+        metrics.remove(size);
+        metrics.register(size, (Gauge<Integer>) counters::size);
+    }
+
+    /**
+     * Replaces the shared instance. Called once at application start-up;
+     * the returned cache must be handed to the Dropwizard lifecycle for
+     * periodic reconciliation.
+     *
+     * @param configuration the cache configuration
+     * @param metrics the metric registry
+     * @return the new shared cache
+     */
+    public static SeatCounterCache configure(SeatCounterCacheConfiguration configuration, MetricRegistry metrics) {
+        SeatCounterCache cache = new SeatCounterCache(configuration, metrics);
+        instance = cache;
+        return cache;
+    }
+
+    /**
+     * Gets the shared instance.
+     *
+     * @return the seat counter cache
+     */
+    public static SeatCounterCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Starts periodic reconciliation if an interval is configured.
+     */
+    @Override
+    public synchronized void start() {
+        if (!enabled || reconcileIntervalMillis <= 0 || reconciler != null) {
+            return;
+        }
+        reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "flipfit-seat-counter-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(this::reconcileQuietly,
+            reconcileIntervalMillis, reconcileIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops periodic reconciliation.
+     *
+     * @throws InterruptedException if interrupted while waiting for a running reconciliation
+     */
+    @Override
+    public synchronized void stop() throws InterruptedException {
+        if (reconciler != null) {
+            reconciler.shutdown();
+            reconciler.awaitTermination(1, TimeUnit.MINUTES);
+            reconciler = null;
+        }
+    }
+
+    /**
+     * Gets the booked seats of a slot-date, loading the counter on a miss.
+     *
+     * @param slotId the slot ID
+     * @param date the date
+     * @param loader reads the booked seats from the database
+     * @return the booked seats
+     */
+    public int getBookedSeats(String slotId, LocalDate date, ToIntBiFunction<String, LocalDate> loader) {
+        if (!enabled || slotId == null || date == null) {
+            return loader.applyAsInt(slotId, date);
+        }
+        SlotDate key = new SlotDate(slotId, date);
+        Integer booked = counters.get(key);
+        if (booked != null) {
+            hits.mark();
+            return booked;
+        }
+        misses.mark();
+        if (!cacheable(date)) {
+            return loader.applyAsInt(slotId, date);
+        }
+        Load load = new Load();
+        if (loads.putIfAbsent(key, load) != null) {
+            // Another thread is loading this counter; read through without caching
+            return loader.applyAsInt(slotId, date);
+        }
+        try {
+            int loaded = loader.applyAsInt(slotId, date);
+            Integer existing = counters.putIfAbsent(key, loaded);
+            return existing != null ? existing : loaded;
+        } finally {
+            finishLoads(Collections.singletonMap(key, load));
+        }
+    }
+
+    /**
+     * Gets the booked seats of several slots over a date range. Answered from
+     * the counters when all of them are cached; otherwise the loader runs
+     * once and fills in the missing counters.
+     *
+     * @param slotIds the slot IDs
+     * @param fromDate the first date, inclusive
+     * @param toDate the last date, inclusive
+     * @param loader reads booked seats by date, then by slot ID, for the whole range
+     * @return booked seats by date, then by slot ID, for every date and slot
+     */
+    public Map<LocalDate, Map<String, Integer>> getBookedSeats(Collection<String> slotIds, LocalDate fromDate, LocalDate toDate,
+            Supplier<Map<LocalDate, Map<String, Integer>>> loader) {
+        if (!enabled || fromDate.isAfter(toDate)) {
+            return loader.get();
+        }
+        Map<LocalDate, Map<String, Integer>> booked = new LinkedHashMap<>();
+        Map<SlotDate, Load> started = new HashMap<>();
+        boolean missing = false;
+        for (LocalDate date = fromDate; !date.isAfter(toDate); date = date.plusDays(1)) {
+            Map<String, Integer> bySlot = new HashMap<>();
+            for (String slotId : slotIds) {
+                SlotDate key = new SlotDate(slotId, date);
+                Integer count = counters.get(key);
+                if (count != null) {
+                    hits.mark();
+                    bySlot.put(slotId, count);
+                } else {
+                    misses.mark();
+                    missing = true;
+                    Load load = new Load();
+                    if (cacheable(date) && loads.putIfAbsent(key, load) == null) {
+                        started.put(key, load);
+                    }
+                }
+            }
+            booked.put(date, bySlot);
+        }
+        if (!missing) {
+            return booked;
+        }
+
+        try {
+            Map<LocalDate, Map<String, Integer>> loaded = loader.get();
+            for (Map.Entry<LocalDate, Map<String, Integer>> day : booked.entrySet()) {
+                Map<String, Integer> loadedBySlot = loaded.getOrDefault(day.getKey(), Collections.emptyMap());
+                for (String slotId : slotIds) {
+                    if (day.getValue().containsKey(slotId)) {
+                        continue;
+                    }
+                    int count = loadedBySlot.getOrDefault(slotId, 0);
+                    SlotDate key = new SlotDate(slotId, day.getKey());
+                    if (started.containsKey(key)) {
+                        Integer existing = counters.putIfAbsent(key, count);
+                        count = existing != null ? existing : count;
+                    }
+                    day.getValue().put(slotId, count);
+                }
+            }
+            return booked;
+        } finally {
+            finishLoads(started);
+        }
+    }
+
+    /**
+     * Records a seat reserved in slot_date_inventory.
+     *
+     * @param slotId the slot ID
+     * @param date the date
+     */
+    public void seatReserved(String slotId, LocalDate date) {
+        adjust(slotId, date, 1);
+    }
+
+    /**
+     * Records a seat released in slot_date_inventory.
+     *
+     * @param slotId the slot ID
+     * @param date the date
+     */
+    public void seatReleased(String slotId, LocalDate date) {
+        adjust(slotId, date, -1);
+    }
+
+    /**
+     * Drops the counters of a slot, e.g. after it was deleted.
+     *
+     * @param slotId the slot ID
+     */
+    public void invalidateSlot(String slotId) {
+        counters.keySet().removeIf(key -> key.slotId.equals(slotId));
+    }
+
+    /**
+     * Drops every counter.
+     */
+    public void invalidateAll() {
+        counters.clear();
+    }
+
+    /**
+     * Drops the counters of past dates and corrects counters that differ from
+     * slot_date_inventory. A counter is only corrected if no write-through
+     * changed it while the database was read.
+     */
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        try (Timer.Context ignored = reconciliations.time()) {
+            LocalDate today = LocalDate.now();
+            int before = counters.size();
+            counters.keySet().removeIf(key -> key.date.isBefore(today));
+            evictions.mark(before - counters.size());
+            if (counters.isEmpty()) {
+                return;
+            }
+
+            Map<SlotDate, Integer> snapshot = new HashMap<>(counters);
+            Set<LocalDate> dates = new HashSet<>();
+            for (SlotDate key : snapshot.keySet()) {
+                dates.add(key.date);
+            }
+            Map<LocalDate, Map<String, Integer>> inventory = DAOFactory.getGymSlotDAO().getBookedSeatsOnDates(dates);
+            int corrected = 0;
+            for (Map.Entry<SlotDate, Integer> entry : snapshot.entrySet()) {
+                SlotDate key = entry.getKey();
+                // Slot-dates without an inventory row have had no seat reserved since they were loaded
+                Integer actual = inventory.getOrDefault(key.date, Collections.emptyMap()).get(key.slotId);
+                if (actual != null && !actual.equals(entry.getValue()) && counters.replace(key, entry.getValue(), actual)) {
+                    SeatStream.getInstance().seatsChanged(key.slotId, key.date);
+                    corrected++;
+                }
+            }
+            if (corrected > 0) {
+                corrections.mark(corrected);
+                LOG.info("Seat counter reconciliation corrected {} of {} counters", corrected, snapshot.size());
+            }
+        }
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            LOG.error("Error reconciling seat counters", e);
+        }
+    }
+
+    private void adjust(String slotId, LocalDate date, int delta) {
+        if (enabled && slotId != null && date != null) {
+            SlotDate key = new SlotDate(slotId, date);
+            // Mark a running load first: if it has already stored its counter, the update below adjusts it
+            Load load = loads.get(key);
+            if (load != null) {
+                load.stale = true;
+            }
+            counters.computeIfPresent(key, (k, booked) -> Math.max(0, booked + delta));
+        }
+    }
+
+    /**
+     * Ends loads started by this thread. A counter whose slot-date saw a seat
+     * reserved or released during its load may or may not include that seat,
+     * so it is dropped and the next read loads it again.
+     *
+     * @param started the loads by slot-date
+     */
+    private void finishLoads(Map<SlotDate, Load> started) {
+        for (Map.Entry<SlotDate, Load> entry : started.entrySet()) {
+            loads.remove(entry.getKey(), entry.getValue());
+            if (entry.getValue().stale) {
+                counters.remove(entry.getKey());
+            }
+        }
+    }
+
+    private boolean cacheable(LocalDate date) {
+        return !date.isBefore(LocalDate.now()) && counters.size() < maximumSize;
+    }
+
+    /**
+     * A counter load in flight.
+     */
+    private static final class Load {
+        private volatile boolean stale;
+    }
+
+    /**
+     * Key of the counters.
+     */
+    private static final class SlotDate {
+        final String slotId;
+        final LocalDate date;
+
+        SlotDate(String slotId, LocalDate date) {
+            this.slotId = slotId;
+            this.date = date;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SlotDate)) {
+                return false;
+            }
+            SlotDate other = (SlotDate) o;
+            return slotId.equals(other.slotId) && date.equals(other.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * slotId.hashCode() + date.hashCode();
+        }
+    }
+}
@@ -0,0 +1,476 @@
+package com.flipfit.utils;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.flipfit.bean.GymSlot;
+import com.flipfit.bean.SlotAvailability;
+import com.flipfit.config.SeatStreamConfiguration;
+import com.flipfit.dao.GymSlotDAO;
+import io.dropwizard.lifecycle.Managed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.sse.OutboundSseEvent;
+import javax.ws.rs.sse.Sse;
+import javax.ws.rs.sse.SseEventSink;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class SeatStream.
+ * Pushes seat availability of a gym and date to clients subscribed over
+ * Server-Sent Events, so the booking screen does not have to poll. A new
+ * subscriber first gets a "snapshot" event with the full availability;
+ * after that the booking paths report every slot-date whose booked seats
+ * may have changed, and a background flusher sends a "seats" event per gym
+ * and date with the slots whose counts really did change since the last
+ * event. Changes arriving within one coalesce window go out together, so a
+ * burst of bookings costs subscribers one event, not one each.
+ * Streams are per JVM: seats taken on other nodes show up once the seat
+ * counter cache reconciles them. A reconnecting client gets a fresh
+ * snapshot; Last-Event-ID is not replayed.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName SeatStream
+ */
+public final class SeatStream implements Managed {
+
+    /** The logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(SeatStream.class);
+
+    /** The shared instance used by the services and the customer controller. */
+    private static volatile SeatStream instance =
+        new SeatStream(new SeatStreamConfiguration(), new MetricRegistry());
+
+    private final boolean enabled;
+    private final int maxConnections;
+    private final int maxConnectionsPerStream;
+    private final long coalesceWindowMillis;
+    private final long heartbeatIntervalNanos;
+    private final long reconnectDelayMillis;
+
+    /** Subscribers by gym and date; streams without subscribers are removed. */
+    private final ConcurrentMap<GymDate, Channel> channels = new ConcurrentHashMap<>();
+    /** Slot-dates reported since the last flush. */
+    private final Set<SlotDate> changed = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private final GymSlotDAO slotDAO = DAOFactory.getGymSlotDAO();
+
+    private final Meter changes;
+    private final Meter events;
+    private final Meter rejected;
+    private final Meter disconnects;
+
+    private volatile Sse sse;
+    private volatile ScheduledExecutorService flusher;
+
+    /**
+     * Instantiates a new seat stream.
+     *
+     * @param configuration the stream configuration
+     * @param metrics the metric registry
+     */
+    public SeatStream(SeatStreamConfiguration configuration, MetricRegistry metrics) {
+        this.enabled = configuration.isEnabled();
+        this.maxConnections = configuration.getMaxConnections();
+        this.maxConnectionsPerStream = configuration.getMaxConnectionsPerStream();
+        this.coalesceWindowMillis = Math.max(1, configuration.getCoalesceWindow().toMilliseconds());
+        this.heartbeatIntervalNanos = configuration.getHeartbeatInterval().toNanoseconds();
+        this.reconnectDelayMillis = configuration.getReconnectDelay().toMilliseconds();
+
+        this.changes = metrics.meter(MetricRegistry.name(SeatStream.class, "changes"));
+        this.events = metrics.meter(MetricRegistry.name(SeatStream.class, "events"));
+        this.rejected = metrics.meter(MetricRegistry.name(SeatStream.class, "rejected"));
+        this.disconnects = metrics.meter(MetricRegistry.name(SeatStream.class, "disconnects"));
+        register(metrics, "connections", connections::get);
+        register(metrics, "streams", channels::size);
+    }
+
+    /**
+     * Replaces the shared instance. Called once at application start-up;
+     * the returned stream must be handed to the Dropwizard lifecycle.
+     *
+     * @param configuration the stream configuration
+     * @param metrics the metric registry
+     * @return the new shared stream
+     */
+    public static SeatStream configure(SeatStreamConfiguration configuration, MetricRegistry metrics) {
+        SeatStream stream = new SeatStream(configuration, metrics);
+        instance = stream;
+        return stream;
+    }
+
+    /**
+     * Gets the shared instance.
+     *
+     * @return the seat stream
+     */
+    public static SeatStream getInstance() {
+        return instance;
+    }
+
+    /**
+     * Starts the flusher.
+     */
+    @Override
+    public synchronized void start() {
+        if (!enabled || flusher != null) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "flipfit-seat-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, coalesceWindowMillis, coalesceWindowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the flusher and closes every open stream.
+     *
+     * @throws InterruptedException if interrupted while waiting for a running flush
+     */
+    @Override
+    public synchronized void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flusher = null;
+        for (Channel channel : channels.values()) {
+            for (SseEventSink sink : channel.sinks) {
+                disconnect(channel, sink);
+            }
+        }
+        LOG.info("Seat stream stopped");
+    }
+
+    /**
+     * Subscribes a client to the seat availability of a gym on a date. The
+     * snapshot is read and sent before any change is sent to this client.
+     *
+     * @param gymId the gym center ID
+     * @param date the date
+     * @param sink the client's event sink
+     * @param sse the SSE context, used to build events
+     * @param snapshot reads the current availability of the gym on the date
+     * @param view converts a slot's availability into its snapshot entry
+     * @return false if the stream is disabled or a connection limit is reached
+     */
+    public boolean subscribe(String gymId, LocalDate date, SseEventSink sink, Sse sse,
+            Supplier<List<SlotAvailability>> snapshot, Function<SlotAvailability, ?> view) {
+        if (!isAccepting()) {
+            rejected.mark();
+            return false;
+        }
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            rejected.mark();
+            return false;
+        }
+        this.sse = sse;
+        GymDate key = new GymDate(gymId, date);
+        boolean[] added = new boolean[1];
+        Channel channel = channels.compute(key, (k, existing) -> {
+            Channel c = existing != null ? existing : new Channel(k);
+            added[0] = c.sinks.size() < maxConnectionsPerStream && c.sinks.add(sink);
+            return c.sinks.isEmpty() ? null : c;
+        });
+        if (!added[0]) {
+            connections.decrementAndGet();
+            rejected.mark();
+            return false;
+        }
+
+        // Under the channel lock, so changes read before the snapshot cannot arrive after it
+        synchronized (channel) {
+            try {
+                List<Object> slots = new ArrayList<>();
+                for (SlotAvailability availability : snapshot.get()) {
+                    // Only seeds slots nobody was sent yet; older subscribers may still be behind the snapshot
+                    channel.bookedSeats.putIfAbsent(availability.getSlotId(), availability.getBookedSeats());
+                    slots.add(view.apply(availability));
+                }
+                send(channel, sink, sse.newEventBuilder()
+                    .name("snapshot")
+                    .id(Long.toString(++channel.lastEventId))
+                    .reconnectDelay(reconnectDelayMillis)
+                    .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                    .data(slots)
+                    .build());
+            } catch (RuntimeException e) {
+                disconnect(channel, sink);
+                throw e;
+            }
+        }
+        LOG.debug("Seat stream subscribed for gym {} on {} ({} open)", gymId, date, connections.get());
+        return true;
+    }
+
+    /**
+     * Checks whether new subscriptions are taken at all, so callers can
+     * refuse before doing any work.
+     *
+     * @return true if the stream is enabled and running
+     */
+    public boolean isAccepting() {
+        return enabled && flusher != null;
+    }
+
+    /**
+     * Reports that the booked seats of a slot on a date may have changed.
+     * Cheap enough for the booking paths: nothing is read or sent here.
+     *
+     * @param slotId the slot ID
+     * @param date the date
+     */
+    public void seatsChanged(String slotId, LocalDate date) {
+        if (channels.isEmpty() || slotId == null || date == null) {
+            return;
+        }
+        changes.mark();
+        changed.add(new SlotDate(slotId, date));
+    }
+
+    /**
+     * Gets the number of open streams.
+     *
+     * @return the connections
+     */
+    public int getConnections() {
+        return connections.get();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            LOG.error("Error sending seat availability events", e);
+        }
+    }
+
+    /**
+     * Sends one event per gym and date with the slots changed since the last
+     * flush, and heartbeats on streams that were quiet for too long.
+     */
+    private void flush() {
+        Map<Channel, List<GymSlot>> slotsByChannel = new HashMap<>();
+        Map<String, GymSlot> slots = new HashMap<>();
+        for (Iterator<SlotDate> it = changed.iterator(); it.hasNext(); ) {
+            SlotDate key = it.next();
+            it.remove();
+            GymSlot slot = slots.computeIfAbsent(key.slotId, slotDAO::getSlotById);
+            Channel channel = slot != null ? channels.get(new GymDate(slot.getGymId(), key.date)) : null;
+            if (channel != null) {
+                slotsByChannel.computeIfAbsent(channel, c -> new ArrayList<>()).add(slot);
+            }
+        }
+        for (Map.Entry<Channel, List<GymSlot>> entry : slotsByChannel.entrySet()) {
+            sendChanges(entry.getKey(), entry.getValue());
+        }
+
+        if (heartbeatIntervalNanos > 0 && sse != null) {
+            long now = System.nanoTime();
+            for (Channel channel : channels.values()) {
+                if (now - channel.lastSentNanos >= heartbeatIntervalNanos) {
+                    synchronized (channel) {
+                        broadcast(channel, sse.newEventBuilder().comment("heartbeat").build());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the booked seats of the changed slots and sends those that differ
+     * from what the stream last sent.
+     *
+     * @param channel the stream of one gym and date
+     * @param slots the changed slots of the gym
+     */
+    private void sendChanges(Channel channel, List<GymSlot> slots) {
+        synchronized (channel) {
+            if (channel.sinks.isEmpty()) {
+                return;
+            }
+            List<Map<String, Object>> updates = new ArrayList<>();
+            for (GymSlot slot : slots) {
+                int booked = slotDAO.getBookedSeatsOnDate(slot.getSlotId(), channel.key.date);
+                Integer previous = channel.bookedSeats.put(slot.getSlotId(), booked);
+                if (previous == null || previous != booked) {
+                    Map<String, Object> update = new LinkedHashMap<>();
+                    update.put("slotId", slot.getSlotId());
+                    update.put("totalSeats", slot.getTotalSeats());
+                    update.put("bookedSeats", booked);
+                    update.put("availableSeats", Math.max(0, slot.getTotalSeats() - booked));
+                    updates.add(update);
+                }
+            }
+            if (updates.isEmpty()) {
+                return;
+            }
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("gymId", channel.key.gymId);
+            data.put("bookingDate", channel.key.date.toString());
+            data.put("slots", updates);
+            broadcast(channel, sse.newEventBuilder()
+                .name("seats")
+                .id(Long.toString(++channel.lastEventId))
+                .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                .data(data)
+                .build());
+        }
+    }
+
+    /**
+     * Sends an event to every subscriber of a stream; the caller holds the
+     * channel lock.
+     *
+     * @param channel the stream
+     * @param event the event
+     */
+    private void broadcast(Channel channel, OutboundSseEvent event) {
+        for (SseEventSink sink : channel.sinks) {
+            send(channel, sink, event);
+        }
+        channel.lastSentNanos = System.nanoTime();
+    }
+
+    private void send(Channel channel, SseEventSink sink, OutboundSseEvent event) {
+        if (sink.isClosed()) {
+            disconnect(channel, sink);
+            return;
+        }
+        try {
+            sink.send(event).whenComplete((ignored, error) -> {
+                if (error != null) {
+                    disconnect(channel, sink);
+                }
+            });
+            events.mark();
+        } catch (RuntimeException e) {
+            disconnect(channel, sink);
+        }
+    }
+
+    /**
+     * Drops a subscriber, and its stream once nobody is left on it.
+     *
+     * @param channel the stream
+     * @param sink the subscriber's sink
+     */
+    private void disconnect(Channel channel, SseEventSink sink) {
+        if (!channel.sinks.remove(sink)) {
+            return;
+        }
+        connections.decrementAndGet();
+        disconnects.mark();
+        channels.computeIfPresent(channel.key, (k, c) -> c.sinks.isEmpty() ? null : c);
+        try {
+            sink.close();
+        } catch (Exception e) {
+            LOG.debug("Error closing seat stream: {}", e.getMessage());
+        }
+    }
+
+    private static void register(MetricRegistry metrics, String name, Gauge<Integer> gauge) {
+        String fullName = MetricRegistry.name(SeatStream.class, name);
+        metrics.remove(fullName);
+        metrics.register(fullName, gauge);
+    }
+
+    /**
+     * Subscribers of one gym and date, and what was last sent to them.
+     */
+    private static final class Channel {
+        final GymDate key;
+        final Set<SseEventSink> sinks = ConcurrentHashMap.newKeySet();
+        /** Booked seats by slot ID as last sent; guarded by the channel lock. */
+        final Map<String, Integer> bookedSeats = new HashMap<>();
+        long lastEventId;
+        volatile long lastSentNanos = System.nanoTime();
+
+        Channel(GymDate key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Key of the streams.
+     */
+    private static final class GymDate {
+        final String gymId;
+        final LocalDate date;
+
+        GymDate(String gymId, LocalDate date) {
+            this.gymId = gymId;
+            this.date = date;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof GymDate)) {
+                return false;
+            }
+            GymDate other = (GymDate) o;
+            return gymId.equals(other.gymId) && date.equals(other.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * gymId.hashCode() + date.hashCode();
+        }
+    }
+
+    /**
+     * Key of the reported changes.
+     */
+    private static final class SlotDate {
+        final String slotId;
+        final LocalDate date;
+
+        SlotDate(String slotId, LocalDate date) {
+            this.slotId = slotId;
+            this.date = date;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SlotDate)) {
+                return false;
+            }
+            SlotDate other = (SlotDate) o;
+            return slotId.equals(other.slotId) && date.equals(other.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * slotId.hashCode() + date.hashCode();
+        }
+    }
+}
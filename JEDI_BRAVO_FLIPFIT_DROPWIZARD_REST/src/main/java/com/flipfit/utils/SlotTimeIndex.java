@@ -0,0 +1,48 @@
+package com.flipfit.utils;
+
+import com.flipfit.bean.GymSlot;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class SlotTimeIndex.
+ * Builds the start-time index of a gym's slots: a sorted map from start
+ * time to the active slots starting then. Walking it from a preferred time
+ * in either direction finds the nearest slots without scanning the others.
+ * Indexes are cached next to the slot lists they are built from and must be
+ * treated as read-only.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName SlotTimeIndex
+ */
+public final class SlotTimeIndex {
+
+    private SlotTimeIndex() {
+    }
+
+    /**
+     * Indexes slots by start time; inactive slots are left out.
+     *
+     * @param slots the slots of one gym
+     * @return an unmodifiable map from start time to the slots starting then
+     */
+    public static NavigableMap<LocalTime, List<GymSlot>> of(List<GymSlot> slots) {
+        TreeMap<LocalTime, List<GymSlot>> index = new TreeMap<>();
+        for (GymSlot slot : slots) {
+            if (slot.isActive() && slot.getStartTime() != null) {
+                index.computeIfAbsent(slot.getStartTime(), time -> new ArrayList<>(1)).add(slot);
+            }
+        }
+        for (Map.Entry<LocalTime, List<GymSlot>> entry : index.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        return Collections.unmodifiableNavigableMap(index);
+    }
+}
@@ -0,0 +1,510 @@
+package com.flipfit.utils;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.flipfit.bean.GymCenter;
+import com.flipfit.bean.GymOwner;
+import com.flipfit.bean.GymSlot;
+import com.flipfit.config.SystemStatisticsConfiguration;
+import com.flipfit.dao.GymAdminDAO;
+import io.dropwizard.lifecycle.Managed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class SystemStatistics.
+ * The admin statistics, kept in memory instead of counted on every request.
+ * Registrations, approvals and bookings adjust the counters as they happen;
+ * a periodic refresh recounts them from the database to repair drift (other
+ * nodes, rows changed outside the application), correcting a counter only
+ * if nothing changed it while the database was read. The map served by
+ * /admin/statistics is rebuilt from the counters every publishInterval, so
+ * a request only reads a volatile field.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName SystemStatistics
+ */
+public final class SystemStatistics implements Managed {
+
+    /** The logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(SystemStatistics.class);
+
+    /** Totals counted from the tables, keyed as /admin/statistics has always reported them. */
+    private static final String[] TOTALS =
+        {"total_users", "total_gym_owners", "total_customers", "total_bookings", "total_gym_centers"};
+
+    /** The shared instance updated by the services. */
+    private static volatile SystemStatistics instance =
+        new SystemStatistics(new SystemStatisticsConfiguration(), new MetricRegistry());
+
+    private final boolean enabled;
+    private final long refreshIntervalMillis;
+    private final long publishIntervalMillis;
+    private final int pastDays;
+    private final int futureDays;
+
+    private final ConcurrentMap<String, AtomicInteger> totals = new ConcurrentHashMap<>();
+    /** Confirmed bookings by gym-date inside the breakdown window; absent means none. */
+    private final ConcurrentMap<GymDate, Integer> confirmed = new ConcurrentHashMap<>();
+    private final Set<String> pendingOwners = new HashSet<>();
+    private final Set<String> pendingCenters = new HashSet<>();
+    /** Bumped by every change to the pending sets, so a refresh can tell it raced one. */
+    private final AtomicLong pendingVersion = new AtomicLong();
+    /** Gym of every slot seen; a slot never moves to another gym. */
+    private final ConcurrentMap<String, String> slotGyms = new ConcurrentHashMap<>();
+    private volatile Map<String, GymCenter> gyms = Collections.emptyMap();
+    private volatile Map<String, Integer> seatsByGym = Collections.emptyMap();
+
+    private volatile Map<String, Object> snapshot;
+    private volatile Instant refreshedAt;
+    private volatile boolean dirty = true;
+
+    private final Timer refreshes;
+    private final Timer publishes;
+    private final Meter corrections;
+
+    private volatile ScheduledExecutorService scheduler;
+
+    /**
+     * Instantiates a new statistics snapshot.
+     *
+     * @param configuration the statistics configuration
+     * @param metrics the metric registry
+     */
+    public SystemStatistics(SystemStatisticsConfiguration configuration, MetricRegistry metrics) {
+        this.enabled = configuration.isEnabled();
+        this.refreshIntervalMillis = configuration.getRefreshInterval().toMilliseconds();
+        this.publishIntervalMillis = configuration.getPublishInterval().toMilliseconds();
+        this.pastDays = configuration.getPastDays();
+        this.futureDays = configuration.getFutureDays();
+        for (String total : TOTALS) {
+            totals.put(total, new AtomicInteger());
+        }
+
+        this.refreshes = metrics.timer(MetricRegistry.name(SystemStatistics.class, "refreshes"));
+        this.publishes = metrics.timer(MetricRegistry.name(SystemStatistics.class, "publishes"));
+        this.corrections = metrics.meter(MetricRegistry.name(SystemStatistics.class, "corrections"));
+    }
+
+    /**
+     * Replaces the shared instance. Called once at application start-up;
+     * the returned snapshot must be handed to the Dropwizard lifecycle so it
+     * is loaded and kept fresh.
+     *
+     * @param configuration the statistics configuration
+     * @param metrics the metric registry
+     * @return the new shared snapshot
+     */
+    public static SystemStatistics configure(SystemStatisticsConfiguration configuration, MetricRegistry metrics) {
+        SystemStatistics statistics = new SystemStatistics(configuration, metrics);
+        instance = statistics;
+        return statistics;
+    }
+
+    /**
+     * Gets the shared instance.
+     *
+     * @return the statistics snapshot
+     */
+    public static SystemStatistics getInstance() {
+        return instance;
+    }
+
+    /**
+     * Loads the counters and starts the periodic refresh and publishing.
+     */
+    @Override
+    public synchronized void start() {
+        if (!enabled || scheduler != null) {
+            return;
+        }
+        refreshQuietly();
+        publish();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "flipfit-system-statistics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (refreshIntervalMillis > 0) {
+            scheduler.scheduleWithFixedDelay(this::refreshQuietly,
+                refreshIntervalMillis, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        scheduler.scheduleWithFixedDelay(this::publishQuietly,
+            publishIntervalMillis, Math.max(publishIntervalMillis, 1), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic refresh and publishing.
+     *
+     * @throws InterruptedException if interrupted while waiting for a running refresh
+     */
+    @Override
+    public synchronized void stop() throws InterruptedException {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Gets the statistics: the table totals, pending approvals, waitlist
+     * depth, bookings per city and day, today's occupancy per gym and the
+     * waitlist depth per gym. Served from the last published snapshot; when
+     * the snapshot is disabled everything is counted from the database.
+     *
+     * @return statistics by name
+     */
+    public Map<String, Object> getSnapshot() {
+        Map<String, Object> published = snapshot;
+        if (enabled && published != null && (scheduler != null || !dirty)) {
+            return published;
+        }
+        synchronized (this) {
+            if (!enabled || refreshedAt == null) {
+                refresh();
+            }
+            return publish();
+        }
+    }
+
+    /**
+     * Records a new user.
+     */
+    public void userRegistered() {
+        increment("total_users", 1);
+    }
+
+    /**
+     * Records a new customer.
+     */
+    public void customerRegistered() {
+        increment("total_customers", 1);
+    }
+
+    /**
+     * Records a new gym owner, who awaits approval.
+     *
+     * @param ownerId the owner ID
+     */
+    public void gymOwnerRegistered(String ownerId) {
+        increment("total_gym_owners", 1);
+        updatePending(pendingOwners, ownerId, true);
+    }
+
+    /**
+     * Records the approval of a gym owner.
+     *
+     * @param ownerId the owner ID
+     */
+    public void gymOwnerApproved(String ownerId) {
+        updatePending(pendingOwners, ownerId, false);
+    }
+
+    /**
+     * Records the approval of a gym center.
+     *
+     * @param gymId the gym ID
+     */
+    public void gymCenterApproved(String gymId) {
+        updatePending(pendingCenters, gymId, false);
+    }
+
+    /**
+     * Records a confirmed booking.
+     *
+     * @param slotId the slot ID
+     * @param date the booking date
+     * @param newRow true if a Booking row was inserted, false if a cancelled one was confirmed again
+     */
+    public void bookingConfirmed(String slotId, LocalDate date, boolean newRow) {
+        if (newRow) {
+            increment("total_bookings", 1);
+        }
+        adjustConfirmed(slotId, date, 1);
+    }
+
+    /**
+     * Records a cancelled booking; its row stays in Booking.
+     *
+     * @param slotId the slot ID
+     * @param date the booking date
+     */
+    public void bookingCancelled(String slotId, LocalDate date) {
+        adjustConfirmed(slotId, date, -1);
+    }
+
+    /**
+     * Recounts everything from the database. Totals and booking counters
+     * are only corrected if no update changed them while the database was
+     * read; the next refresh picks up the ones skipped.
+     */
+    public void refresh() {
+        try (Timer.Context ignored = refreshes.time()) {
+            LocalDate fromDate = LocalDate.now().minusDays(pastDays);
+            LocalDate toDate = LocalDate.now().plusDays(futureDays);
+            Map<String, Integer> totalsBefore = new HashMap<>();
+            for (Map.Entry<String, AtomicInteger> total : totals.entrySet()) {
+                totalsBefore.put(total.getKey(), total.getValue().get());
+            }
+            Map<GymDate, Integer> confirmedBefore = new HashMap<>(confirmed);
+            long pendingBefore = pendingVersion.get();
+
+            GymAdminDAO adminDAO = DAOFactory.getGymAdminDAO();
+            Map<String, Integer> counted = adminDAO.getSystemStatistics();
+            if (counted.isEmpty()) {
+                // The DAO reports database errors as empty results; keep the counters we have
+                LOG.warn("System statistics refresh skipped: totals could not be counted");
+                return;
+            }
+            Map<String, Map<LocalDate, Integer>> bookingsByGym = adminDAO.countConfirmedBookingsByGym(fromDate, toDate);
+            List<GymOwner> owners = adminDAO.getPendingGymOwnerApprovals();
+            List<GymCenter> pendingGyms = adminDAO.getPendingGymCenterApprovals();
+            Map<String, GymCenter> allGyms = new HashMap<>();
+            for (GymCenter center : adminDAO.getAllGymCenters()) {
+                allGyms.put(center.getGymId(), center);
+            }
+            gyms = allGyms;
+            seatsByGym = adminDAO.getActiveSeatsByGym();
+
+            int corrected = 0;
+            for (Map.Entry<String, Integer> before : totalsBefore.entrySet()) {
+                Integer actual = counted.get(before.getKey());
+                if (actual != null && !actual.equals(before.getValue())
+                        && totals.get(before.getKey()).compareAndSet(before.getValue(), actual)) {
+                    corrected++;
+                }
+            }
+
+            Map<GymDate, Integer> actualConfirmed = new HashMap<>();
+            for (Map.Entry<String, Map<LocalDate, Integer>> gym : bookingsByGym.entrySet()) {
+                for (Map.Entry<LocalDate, Integer> date : gym.getValue().entrySet()) {
+                    actualConfirmed.put(new GymDate(gym.getKey(), date.getKey()), date.getValue());
+                }
+            }
+            Set<GymDate> keys = new HashSet<>(confirmedBefore.keySet());
+            keys.addAll(actualConfirmed.keySet());
+            for (GymDate key : keys) {
+                Integer before = confirmedBefore.get(key);
+                Integer actual = actualConfirmed.get(key);
+                if (key.date.isBefore(fromDate) || key.date.isAfter(toDate)) {
+                    // Rolled out of the window
+                    if (before != null) {
+                        confirmed.remove(key, before);
+                    }
+                } else if (before == null ? actual != null && confirmed.putIfAbsent(key, actual) == null
+                        : actual == null ? confirmed.remove(key, before)
+                        : !actual.equals(before) && confirmed.replace(key, before, actual)) {
+                    corrected++;
+                }
+            }
+
+            synchronized (pendingOwners) {
+                if (pendingVersion.get() == pendingBefore) {
+                    pendingOwners.clear();
+                    for (GymOwner owner : owners) {
+                        pendingOwners.add(owner.getOwnerId());
+                    }
+                    pendingCenters.clear();
+                    for (GymCenter center : pendingGyms) {
+                        pendingCenters.add(center.getGymId());
+                    }
+                }
+            }
+
+            refreshedAt = Instant.now();
+            dirty = true;
+            if (corrected > 0) {
+                corrections.mark(corrected);
+                LOG.info("System statistics refresh corrected {} counters", corrected);
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the served snapshot from the counters.
+     *
+     * @return the new snapshot
+     */
+    private Map<String, Object> publish() {
+        try (Timer.Context ignored = publishes.time()) {
+            dirty = false;
+            LocalDate today = LocalDate.now();
+            Map<String, GymCenter> knownGyms = gyms;
+
+            Map<String, Object> stats = new LinkedHashMap<>();
+            for (String total : TOTALS) {
+                stats.put(total, totals.get(total).get());
+            }
+            synchronized (pendingOwners) {
+                stats.put("pending_gym_owner_approvals", pendingOwners.size());
+                stats.put("pending_gym_center_approvals", pendingCenters.size());
+            }
+            WaitlistEngine waitlistEngine = WaitlistEngine.getInstance();
+            stats.put("waitlist_depth", waitlistEngine.getQueueDepth());
+
+            Map<String, Map<String, Integer>> bookingsByCityDay = new TreeMap<>();
+            Map<String, Integer> bookedToday = new HashMap<>();
+            for (Map.Entry<GymDate, Integer> entry : confirmed.entrySet()) {
+                GymDate key = entry.getKey();
+                GymCenter gym = knownGyms.get(key.gymId);
+                String city = gym != null && gym.getCity() != null ? gym.getCity() : "UNKNOWN";
+                bookingsByCityDay.computeIfAbsent(city, c -> new TreeMap<>())
+                    .merge(key.date.toString(), entry.getValue(), Integer::sum);
+                if (key.date.equals(today)) {
+                    bookedToday.merge(key.gymId, entry.getValue(), Integer::sum);
+                }
+            }
+            stats.put("bookings_by_city_day", bookingsByCityDay);
+
+            Map<String, Map<String, Object>> occupancy = new TreeMap<>();
+            for (Map.Entry<String, Integer> seats : seatsByGym.entrySet()) {
+                if (seats.getValue() <= 0) {
+                    continue;
+                }
+                GymCenter gym = knownGyms.get(seats.getKey());
+                int booked = bookedToday.getOrDefault(seats.getKey(), 0);
+                Map<String, Object> gymOccupancy = new LinkedHashMap<>();
+                gymOccupancy.put("gymName", gym != null ? gym.getGymName() : null);
+                gymOccupancy.put("city", gym != null ? gym.getCity() : null);
+                gymOccupancy.put("bookedSeats", booked);
+                gymOccupancy.put("totalSeats", seats.getValue());
+                gymOccupancy.put("occupancyPercent", Math.round(booked * 1000.0 / seats.getValue()) / 10.0);
+                occupancy.put(seats.getKey(), gymOccupancy);
+            }
+            stats.put("gym_occupancy_today", occupancy);
+
+            Map<String, Integer> waitlistByGym = new TreeMap<>();
+            for (Map.Entry<String, Integer> slot : waitlistEngine.getQueueDepthBySlot().entrySet()) {
+                String gymId = gymOf(slot.getKey());
+                waitlistByGym.merge(gymId != null ? gymId : "UNKNOWN", slot.getValue(), Integer::sum);
+            }
+            stats.put("waitlist_depth_by_gym", waitlistByGym);
+
+            stats.put("breakdown_from", today.minusDays(pastDays).toString());
+            stats.put("breakdown_to", today.plusDays(futureDays).toString());
+            stats.put("refreshed_at", refreshedAt != null ? refreshedAt.toString() : null);
+            stats.put("published_at", Instant.now().toString());
+
+            Map<String, Object> published = Collections.unmodifiableMap(stats);
+            snapshot = published;
+            return published;
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            LOG.error("Error refreshing system statistics", e);
+        }
+    }
+
+    private void publishQuietly() {
+        try {
+            publish();
+        } catch (RuntimeException e) {
+            LOG.error("Error publishing system statistics", e);
+        }
+    }
+
+    private void increment(String total, int delta) {
+        if (enabled) {
+            totals.get(total).addAndGet(delta);
+            dirty = true;
+        }
+    }
+
+    private void updatePending(Set<String> pending, String id, boolean add) {
+        if (!enabled || id == null) {
+            return;
+        }
+        synchronized (pendingOwners) {
+            if (add ? pending.add(id) : pending.remove(id)) {
+                pendingVersion.incrementAndGet();
+                dirty = true;
+            }
+        }
+    }
+
+    private void adjustConfirmed(String slotId, LocalDate date, int delta) {
+        if (!enabled || slotId == null || date == null) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        if (date.isBefore(today.minusDays(pastDays)) || date.isAfter(today.plusDays(futureDays))) {
+            return;
+        }
+        String gymId = gymOf(slotId);
+        if (gymId == null) {
+            return;
+        }
+        confirmed.compute(new GymDate(gymId, date), (key, count) -> {
+            int updated = Math.max(0, (count != null ? count : 0) + delta);
+            return updated > 0 ? updated : null;
+        });
+        dirty = true;
+    }
+
+    private String gymOf(String slotId) {
+        String gymId = slotGyms.get(slotId);
+        if (gymId == null) {
+            GymSlot slot = DAOFactory.getGymSlotDAO().getSlotById(slotId);
+            if (slot != null && slot.getGymId() != null) {
+                gymId = slot.getGymId();
+                slotGyms.put(slotId, gymId);
+            }
+        }
+        return gymId;
+    }
+
+    /**
+     * Key of the booking counters.
+     */
+    private static final class GymDate {
+        final String gymId;
+        final LocalDate date;
+
+        GymDate(String gymId, LocalDate date) {
+            this.gymId = gymId;
+            this.date = date;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof GymDate)) {
+                return false;
+            }
+            GymDate other = (GymDate) o;
+            return gymId.equals(other.gymId) && date.equals(other.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * gymId.hashCode() + date.hashCode();
+        }
+    }
+}
@@ -0,0 +1,652 @@
+package com.flipfit.utils;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.flipfit.bean.Booking;
+import com.flipfit.bean.GymSlot;
+import com.flipfit.bean.GymWaitList;
+import com.flipfit.config.WaitlistEngineConfiguration;
+import com.flipfit.dao.BookingDAO;
+import com.flipfit.dao.GymSlotDAO;
+import com.flipfit.dao.WaitListDAO;
+import com.flipfit.enums.BookingStatus;
+import io.dropwizard.lifecycle.Managed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class WaitlistEngine.
+ * Promotes waitlisted customers onto seats freed by cancellations. Each
+ * (slot, date) has an in-memory FIFO queue of waiting entries, seeded from
+ * WaitListDAO on start and appended to when a customer joins the waitlist.
+ * A cancellation with someone waiting hands its still-reserved seat to the
+ * engine instead of releasing it, so nobody can take it in between. A
+ * background worker then promotes as many queued customers as there are
+ * freed seats, for every slot-date that has freed seats, in one pass, and
+ * writes the waitlist statuses of the pass in batches. Seats nobody could
+ * take are released.
+ * Until the engine is started (e.g. in the console client) promotions run
+ * inline on the cancelling thread, once it has released its locks. Queues are per JVM, and seats handed
+ * over but not yet promoted when the JVM dies stay reserved.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName WaitlistEngine
+ */
+public final class WaitlistEngine implements Managed {
+
+    /** The logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(WaitlistEngine.class);
+
+    /** Waitlist statuses. */
+    private static final String ALLOCATED = "ALLOCATED";
+    private static final String CANCELLED = "CANCELLED";
+    private static final String EXPIRED = "EXPIRED";
+
+    /** How long the idle worker waits before re-checking for shutdown. */
+    private static final long POLL_MILLIS = 200;
+
+    /** The shared instance used by the services. */
+    private static volatile WaitlistEngine instance =
+        new WaitlistEngine(new WaitlistEngineConfiguration(), new MetricRegistry());
+
+    private final int maxSlotDatesPerPass;
+    private final long shutdownTimeoutMillis;
+
+    /** Waiting entries per slot-date, oldest first; empty queues are removed. */
+    private final ConcurrentMap<SlotDate, Deque<GymWaitList>> queues = new ConcurrentHashMap<>();
+    /** Seats handed over by cancellations and not yet promoted. */
+    private final ConcurrentMap<SlotDate, FreedSeats> freedSeats = new ConcurrentHashMap<>();
+    /** Slot-dates with freed seats, in the order the worker should visit them. */
+    private final BlockingQueue<SlotDate> ready = new LinkedBlockingQueue<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final BookingDAO bookingDAO = DAOFactory.getBookingDAO();
+    private final GymSlotDAO slotDAO = DAOFactory.getGymSlotDAO();
+    private final WaitListDAO waitListDAO = DAOFactory.getWaitListDAO();
+    private final BookingLockManager lockManager = BookingLockManager.getInstance();
+
+    private final Timer promotionLatency;
+    private final Timer passes;
+    private final Timer statusWrites;
+    private final Histogram seatsPerPass;
+    private final Meter promoted;
+    private final Meter skipped;
+    private final Meter expired;
+    private final Meter released;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    /**
+     * Instantiates a new waitlist engine.
+     *
+     * @param configuration the engine configuration
+     * @param metrics the metric registry
+     */
+    public WaitlistEngine(WaitlistEngineConfiguration configuration, MetricRegistry metrics) {
+        this.maxSlotDatesPerPass = configuration.getMaxSlotDatesPerPass();
+        this.shutdownTimeoutMillis = configuration.getShutdownTimeout().toMilliseconds();
+
+        this.promotionLatency = metrics.timer(MetricRegistry.name(WaitlistEngine.class, "promotionLatency"));
+        this.passes = metrics.timer(MetricRegistry.name(WaitlistEngine.class, "passes"));
+        this.statusWrites = metrics.timer(MetricRegistry.name(WaitlistEngine.class, "statusWrites"));
+        this.seatsPerPass = metrics.histogram(MetricRegistry.name(WaitlistEngine.class, "seatsPerPass"));
+        this.promoted = metrics.meter(MetricRegistry.name(WaitlistEngine.class, "promoted"));
+        this.skipped = metrics.meter(MetricRegistry.name(WaitlistEngine.class, "skipped"));
+        this.expired = metrics.meter(MetricRegistry.name(WaitlistEngine.class, "expired"));
+        this.released = metrics.meter(MetricRegistry.name(WaitlistEngine.class, "released"));
+        register(metrics, "queueDepth", waiting::get);
+        register(metrics, "queues", queues::size);
+        register(metrics, "pendingSeats", this::getPendingSeats);
+    }
+
+    /**
+     * Replaces the shared instance. Called once at application start-up;
+     * the returned engine must be handed to the Dropwizard lifecycle.
+     *
+     * @param configuration the engine configuration
+     * @param metrics the metric registry
+     * @return the new shared engine
+     */
+    public static WaitlistEngine configure(WaitlistEngineConfiguration configuration, MetricRegistry metrics) {
+        WaitlistEngine engine = new WaitlistEngine(configuration, metrics);
+        instance = engine;
+        return engine;
+    }
+
+    /**
+     * Gets the shared instance.
+     *
+     * @return the waitlist engine
+     */
+    public static WaitlistEngine getInstance() {
+        return instance;
+    }
+
+    /**
+     * Seeds the queues from the WaitList table and starts the worker.
+     */
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        seed();
+        running = true;
+        worker = new Thread(this::workLoop, "flipfit-waitlist-engine");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Waits up to the shutdown timeout for the worker to promote everything
+     * already handed over, then promotes whatever is still pending inline.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Override
+    public synchronized void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        worker.join(shutdownTimeoutMillis);
+        if (worker.isAlive()) {
+            // Do not hold up shutdown any longer; the pass below only takes seats the worker has not
+            LOG.warn("Waitlist engine worker still running after {} ms, interrupting it", shutdownTimeoutMillis);
+            worker.interrupt();
+        }
+
+        // Seats handed over while the worker was exiting
+        if (!freedSeats.isEmpty()) {
+            runPass(new ArrayList<>(freedSeats.keySet()));
+        }
+        LOG.info("Waitlist engine stopped");
+    }
+
+    /**
+     * Appends a new waitlist entry to the queue of its slot-date.
+     *
+     * @param entry the waiting entry
+     */
+    public void enqueue(GymWaitList entry) {
+        queues.compute(new SlotDate(entry.getSlotId(), entry.getRequestedDate()), (key, queue) -> {
+            Deque<GymWaitList> entries = queue != null ? queue : new ArrayDeque<>();
+            entries.addLast(entry);
+            return entries;
+        });
+        waiting.incrementAndGet();
+    }
+
+    /**
+     * Checks whether anybody is queued for a slot on a date.
+     *
+     * @param slotId the slot ID
+     * @param date the date
+     * @return true if the queue is not empty
+     */
+    public boolean hasWaiting(String slotId, LocalDate date) {
+        return queues.containsKey(new SlotDate(slotId, date));
+    }
+
+    /**
+     * Hands over a seat that is still reserved in slot_date_inventory. The
+     * engine books it for the next waiting customer or releases it. Until
+     * the engine is started the seat waits for promotePending().
+     *
+     * @param slotId the slot ID
+     * @param date the date of the freed seat
+     */
+    public void seatFreed(String slotId, LocalDate date) {
+        SlotDate key = new SlotDate(slotId, date);
+        freedSeats.compute(key, (k, freed) -> {
+            FreedSeats seats = freed != null ? freed : new FreedSeats(System.nanoTime());
+            seats.count++;
+            return seats;
+        });
+        if (running) {
+            ready.offer(key);
+        }
+    }
+
+    /**
+     * Promotes the seats handed over while the engine is not started, on the
+     * calling thread. Promotion takes booking locks of its own, so callers
+     * must not hold any. Does nothing while the worker is running.
+     */
+    public void promotePending() {
+        if (!running && !freedSeats.isEmpty()) {
+            runPass(new ArrayList<>(freedSeats.keySet()));
+        }
+    }
+
+    /**
+     * Gets the number of waiting entries over all queues.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return waiting.get();
+    }
+
+    /**
+     * Gets the number of waiting entries per slot, over all dates.
+     *
+     * @return the queue depth by slot ID
+     */
+    public Map<String, Integer> getQueueDepthBySlot() {
+        Map<String, Integer> depths = new HashMap<>();
+        for (SlotDate key : queues.keySet()) {
+            queues.computeIfPresent(key, (k, queue) -> {
+                depths.merge(k.slotId, queue.size(), Integer::sum);
+                return queue;
+            });
+        }
+        return depths;
+    }
+
+    /**
+     * Gets the number of seats handed over and not yet promoted or released.
+     *
+     * @return the pending seats
+     */
+    public int getPendingSeats() {
+        int seats = 0;
+        for (FreedSeats freed : freedSeats.values()) {
+            seats += freed.count;
+        }
+        return seats;
+    }
+
+    /**
+     * Loads every waiting entry. Entries for past dates are expired, and
+     * seats still free for a queued slot-date are reserved and handed to the
+     * worker so customers who were waiting while seats opened up are served.
+     */
+    private void seed() {
+        queues.clear();
+        waiting.set(0);
+        LocalDate today = LocalDate.now();
+        List<String> expiredIds = new ArrayList<>();
+        for (GymWaitList entry : waitListDAO.getWaitingEntries()) {
+            if (entry.getRequestedDate().isBefore(today)) {
+                expiredIds.add(entry.getWaitlistId());
+            } else {
+                enqueue(entry);
+            }
+        }
+        writeStatuses(Collections.singletonMap(EXPIRED, expiredIds));
+        expired.mark(expiredIds.size());
+
+        int catchUp = 0;
+        for (Map.Entry<SlotDate, Deque<GymWaitList>> queue : queues.entrySet()) {
+            SlotDate key = queue.getKey();
+            for (int i = 0; i < queue.getValue().size() && slotDAO.reserveSeatOnDate(key.slotId, key.date); i++) {
+                freedSeats.computeIfAbsent(key, k -> new FreedSeats(System.nanoTime())).count++;
+                catchUp++;
+            }
+            if (freedSeats.containsKey(key)) {
+                SeatStream.getInstance().seatsChanged(key.slotId, key.date);
+                ready.offer(key);
+            }
+        }
+        LOG.info("Waitlist engine seeded with {} waiting entries in {} queues ({} expired, {} seats to promote)",
+            waiting.get(), queues.size(), expiredIds.size(), catchUp);
+    }
+
+    /**
+     * Worker loop: collects up to maxSlotDatesPerPass slot-dates with freed
+     * seats and promotes them in one pass. Keeps going after stop() until
+     * nothing is left.
+     */
+    private void workLoop() {
+        Set<SlotDate> batch = new LinkedHashSet<>();
+        List<SlotDate> drained = new ArrayList<>(maxSlotDatesPerPass);
+        while (running || !ready.isEmpty()) {
+            try {
+                SlotDate first = ready.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                ready.drainTo(drained, maxSlotDatesPerPass - 1);
+                batch.addAll(drained);
+                runPass(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                LOG.error("Waitlist engine worker error", e);
+            } finally {
+                batch.clear();
+                drained.clear();
+            }
+        }
+    }
+
+    /**
+     * Promotes onto the freed seats of several slot-dates, then writes all
+     * waitlist status changes of the pass with one batch per status.
+     *
+     * @param keys the slot-dates to visit
+     */
+    private void runPass(Collection<SlotDate> keys) {
+        try (Timer.Context ignored = passes.time()) {
+            Map<String, List<String>> statusChanges = new LinkedHashMap<>();
+            int seats = 0;
+            for (SlotDate key : keys) {
+                FreedSeats freed = freedSeats.remove(key);
+                if (freed != null) {
+                    seats += freed.count;
+                    promote(key, freed, statusChanges);
+                }
+            }
+            if (seats > 0) {
+                seatsPerPass.update(seats);
+            }
+            writeStatuses(statusChanges);
+        }
+    }
+
+    /**
+     * Hands the freed seats of one slot-date to the queue heads. Each round
+     * locks the slot-date and the customer-days of as many candidates as
+     * there are seats left, plus the slot-dates of the candidates' overlapping
+     * bookings; candidates that cannot be promoted are dropped from the queue
+     * and the next ones are tried. Seats left over are released.
+     *
+     * @param key the slot-date
+     * @param freed the freed seats
+     * @param statusChanges collects waitlist IDs by new status
+     */
+    private void promote(SlotDate key, FreedSeats freed, Map<String, List<String>> statusChanges) {
+        int seats = freed.count;
+        try {
+            GymSlot slot = slotDAO.getSlotById(key.slotId);
+            boolean past = key.date.isBefore(LocalDate.now());
+            while (seats > 0) {
+                List<GymWaitList> candidates = peek(key, seats);
+                if (candidates.isEmpty()) {
+                    break;
+                }
+                boolean bookable = !past && slot != null && slot.isActive();
+                Set<String> lockKeys = new HashSet<>();
+                lockKeys.add(BookingLockManager.slotDateKey(key.slotId, key.date));
+                for (GymWaitList entry : candidates) {
+                    lockKeys.add(BookingLockManager.customerDateKey(entry.getCustomerId(), key.date));
+                    if (bookable) {
+                        lockKeys.addAll(overlapLockKeys(entry, slot));
+                    }
+                }
+                try (BookingLockManager.LockHandle lock = lockManager.lock(lockKeys.toArray(new String[0]))) {
+                    for (GymWaitList entry : candidates) {
+                        if (bookable && !lockKeys.containsAll(overlapLockKeys(entry, slot))) {
+                            // The customer booked another overlapping slot meanwhile; lock again next round
+                            break;
+                        }
+                        remove(key, entry);
+                        String status;
+                        if (past) {
+                            status = EXPIRED;
+                            expired.mark();
+                        } else if (slot == null || !slot.isActive()) {
+                            status = CANCELLED;
+                            skipped.mark();
+                        } else {
+                            Outcome outcome = promoteEntry(entry, slot);
+                            if (outcome == Outcome.PROMOTED) {
+                                seats--;
+                                promoted.mark();
+                                promotionLatency.update(System.nanoTime() - freed.firstFreedNanos, TimeUnit.NANOSECONDS);
+                            } else if (outcome == Outcome.SEAT_LOST) {
+                                seats--;
+                                skipped.mark();
+                            } else if (outcome == Outcome.SKIPPED) {
+                                skipped.mark();
+                            }
+                            status = outcome == Outcome.SKIPPED || outcome == Outcome.SEAT_LOST ? CANCELLED : ALLOCATED;
+                        }
+                        statusChanges.computeIfAbsent(status, s -> new ArrayList<>()).add(entry.getWaitlistId());
+                    }
+                }
+            }
+        } finally {
+            // Nobody left to take them: give the seats back for direct booking
+            for (int i = 0; i < seats; i++) {
+                slotDAO.releaseSeatOnDate(key.slotId, key.date);
+            }
+            released.mark(seats);
+            if (seats > 0) {
+                SeatStream.getInstance().seatsChanged(key.slotId, key.date);
+            }
+        }
+    }
+
+    /**
+     * Gets the slot-date locks of a waiting customer's confirmed bookings
+     * that overlap the slot, which a promotion cancels.
+     *
+     * @param entry the waiting entry
+     * @param slot the slot of the freed seat
+     * @return the lock keys
+     */
+    private Set<String> overlapLockKeys(GymWaitList entry, GymSlot slot) {
+        Set<String> lockKeys = new HashSet<>();
+        for (Booking existing : bookingDAO.getOverlappingBookings(
+                entry.getCustomerId(), entry.getRequestedDate(), slot.getStartTime(), slot.getEndTime())) {
+            lockKeys.add(BookingLockManager.slotDateKey(existing.getSlotId(), entry.getRequestedDate()));
+        }
+        return lockKeys;
+    }
+
+    /**
+     * Books a freed seat for one waiting customer, reusing their cancelled
+     * booking row for the slot if there is one. As with a direct booking, the
+     * seat, the booking row and the cancels of the customer's overlapping
+     * confirmed bookings are written in one transaction.
+     *
+     * @param entry the waiting entry
+     * @param slot the slot of the freed seat
+     * @return the outcome
+     */
+    private Outcome promoteEntry(GymWaitList entry, GymSlot slot) {
+        String customerId = entry.getCustomerId();
+        String slotId = slot.getSlotId();
+        LocalDate date = entry.getRequestedDate();
+        Booking booking = bookingDAO.getCustomerBookingForSlot(customerId, slotId, date);
+        if (booking != null && booking.getBookingStatus() != BookingStatus.CANCELLED) {
+            return Outcome.ALREADY_BOOKED;
+        }
+        boolean reused = booking != null;
+        List<Booking> overlapping = new ArrayList<>();
+        for (Booking existing : bookingDAO.getOverlappingBookings(customerId, date, slot.getStartTime(), slot.getEndTime())) {
+            if (!existing.getSlotId().equals(slotId)) {
+                overlapping.add(existing);
+            }
+        }
+
+        if (!reused) {
+            booking = new Booking();
+            booking.setBookingId("BKG" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+            booking.setCustomerId(customerId);
+            booking.setSlotId(slotId);
+            booking.setBookingDate(date);
+        }
+        booking.setBookingStatus(BookingStatus.CONFIRMED);
+
+        // The seat is held for the waitlist; give it back so the transaction below takes it
+        // together with the booking row. The slot-date lock keeps local bookings off it meanwhile.
+        if (!slotDAO.releaseSeatOnDate(slotId, date)) {
+            LOG.warn("Failed to hand the held seat of slot {} on {} to customer {}", slotId, date, customerId);
+            return Outcome.SKIPPED;
+        }
+        boolean saved = bookingDAO.insertBookingsWithSeats(Collections.singletonList(booking),
+            reused ? Collections.singleton(booking.getBookingId()) : Collections.emptySet(),
+            overlapping, true)[0];
+        if (!saved) {
+            LOG.warn("Failed to save booking for waitlisted customer {} in slot {} on {}", customerId, slotId, date);
+            // Hold the seat again for the next candidate, unless another node took it meanwhile
+            return slotDAO.reserveSeatOnDate(slotId, date) ? Outcome.SKIPPED : Outcome.SEAT_LOST;
+        }
+        SystemStatistics.getInstance().bookingConfirmed(slotId, date, !reused);
+
+        for (Booking existing : overlapping) {
+            SeatStream.getInstance().seatsChanged(existing.getSlotId(), date);
+            SystemStatistics.getInstance().bookingCancelled(existing.getSlotId(), date);
+            NotificationOutbox.getInstance().notifyCustomer(customerId, "Booking Cancelled",
+                "Your booking (ID: " + existing.getBookingId() + ") has been cancelled because it overlaps slot " +
+                slotId + " on " + date + ", which you were promoted into from the waitlist.", "CANCELLATION");
+            LOG.debug("Cancelled overlapping booking {} of promoted customer {}", existing.getBookingId(), customerId);
+        }
+
+        NotificationOutbox.getInstance().notifyCustomer(customerId, "Promoted from Waitlist!",
+            "Great news! You have been promoted from waitlist and booked for slot " +
+            slotId + " on " + date + ". Booking ID: " + booking.getBookingId(), "PROMOTION");
+        LOG.info("Waitlisted customer {} promoted into slot {} on {}, booking {}", customerId, slotId, date, booking.getBookingId());
+        return Outcome.PROMOTED;
+    }
+
+    /**
+     * Writes waitlist status changes, one batch per status.
+     *
+     * @param statusChanges waitlist IDs by new status
+     */
+    private void writeStatuses(Map<String, List<String>> statusChanges) {
+        for (Map.Entry<String, List<String>> change : statusChanges.entrySet()) {
+            List<String> ids = change.getValue();
+            if (ids.isEmpty()) {
+                continue;
+            }
+            int updated;
+            try (Timer.Context ignored = statusWrites.time()) {
+                updated = waitListDAO.updateWaitListStatuses(ids, change.getKey());
+            }
+            if (updated < ids.size()) {
+                LOG.warn("Only {} of {} waitlist entries were set to {}", updated, ids.size(), change.getKey());
+            }
+        }
+    }
+
+    /**
+     * Copies the first entries of a queue without removing them.
+     *
+     * @param key the slot-date
+     * @param limit the maximum number of entries
+     * @return the oldest entries
+     */
+    private List<GymWaitList> peek(SlotDate key, int limit) {
+        List<GymWaitList> head = new ArrayList<>(limit);
+        queues.computeIfPresent(key, (k, queue) -> {
+            Iterator<GymWaitList> entries = queue.iterator();
+            while (head.size() < limit && entries.hasNext()) {
+                head.add(entries.next());
+            }
+            return queue;
+        });
+        return head;
+    }
+
+    /**
+     * Removes an entry from its queue, dropping the queue once it is empty.
+     *
+     * @param key the slot-date
+     * @param entry the entry
+     */
+    private void remove(SlotDate key, GymWaitList entry) {
+        queues.computeIfPresent(key, (k, queue) -> {
+            if (queue.remove(entry)) {
+                waiting.decrementAndGet();
+            }
+            return queue.isEmpty() ? null : queue;
+        });
+    }
+
+    private static void register(MetricRegistry metrics, String name, Gauge<Integer> gauge) {
+        String fullName = MetricRegistry.name(WaitlistEngine.class, name);
+        metrics.remove(fullName);
+        metrics.register(fullName, gauge);
+    }
+
+    /**
+     * Result of offering a freed seat to one waiting customer.
+     */
+    private enum Outcome {
+        /** The customer was booked onto the seat. */
+        PROMOTED,
+        /** The customer already holds a booking for the slot; the seat stays free. */
+        ALREADY_BOOKED,
+        /** The customer cannot take the seat; the entry is closed. */
+        SKIPPED,
+        /** As SKIPPED, and the seat went to a direct booking in the meantime. */
+        SEAT_LOST
+    }
+
+    /**
+     * Seats handed over for one slot-date, with the time the first was freed.
+     */
+    private static final class FreedSeats {
+        private final long firstFreedNanos;
+        private int count;
+
+        private FreedSeats(long firstFreedNanos) {
+            this.firstFreedNanos = firstFreedNanos;
+        }
+    }
+
+    /**
+     * A (slot, date) queue key.
+     */
+    private static final class SlotDate {
+        private final String slotId;
+        private final LocalDate date;
+
+        private SlotDate(String slotId, LocalDate date) {
+            this.slotId = slotId;
+            this.date = date;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SlotDate)) {
+                return false;
+            }
+            SlotDate other = (SlotDate) o;
+            return slotId.equals(other.slotId) && date.equals(other.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(slotId, date);
+        }
+    }
+}
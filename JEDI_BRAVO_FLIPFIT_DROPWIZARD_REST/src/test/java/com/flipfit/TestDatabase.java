@@ -0,0 +1,338 @@
+package com.flipfit;
+
+import com.codahale.metrics.MetricRegistry;
+import com.flipfit.config.StorageConfiguration;
+import com.flipfit.dao.memory.InMemoryStore;
+import com.flipfit.utils.BookingLockManager;
+import com.flipfit.utils.CatalogCache;
+import com.flipfit.utils.CatalogVersions;
+import com.flipfit.utils.CustomerIdentityCache;
+import com.flipfit.utils.DAOFactory;
+import com.flipfit.utils.DBConnection;
+import com.flipfit.utils.EmailRegistry;
+import com.flipfit.utils.FlipFitMetrics;
+import com.flipfit.utils.NotificationOutbox;
+import com.flipfit.utils.SeatCounterCache;
+import com.flipfit.utils.WaitlistEngine;
+import io.dropwizard.db.DataSourceFactory;
+import io.dropwizard.db.ManagedDataSource;
+import io.dropwizard.jackson.Jackson;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class TestDatabase.
+ * A fresh in-process H2 database (MySQL mode) wired into the REST code the
+ * same way FlipFitApplication wires MySQL: pooled DataSource, striped
+ * booking locks and fresh caches. The notification outbox and the waitlist
+ * engine are configured but not started, so notifications are written and
+ * promotions run on the calling thread. Holds one approved gym owner; tests
+ * add the gyms, slots and customers they need.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName TestDatabase
+ */
+public final class TestDatabase implements AutoCloseable {
+
+    /** The seeded gym owner. */
+    public static final String OWNER_ID = "OWN0";
+
+    private static final int OWNER_ROLE_ID = 2;
+    private static final int CUSTOMER_ROLE_ID = 3;
+
+    private static final String INSERT_USER =
+        "INSERT INTO User (user_id, name, email, password, role_id) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_OWNER =
+        "INSERT INTO GymOwner (owner_id, user_id, is_approved) VALUES (?, ?, TRUE)";
+    private static final String INSERT_GYM =
+        "INSERT INTO GymCenter (gym_id, owner_id, gym_name, gym_address, city, total_slots, is_approved) VALUES (?, ?, ?, ?, 'Bangalore', 0, TRUE)";
+    private static final String INSERT_SLOT =
+        "INSERT INTO GymSlot (slot_id, gym_id, start_time, end_time, total_seats, available_seats, price, is_active) VALUES (?, ?, ?, ?, ?, ?, 500.00, TRUE)";
+    private static final String INSERT_CUSTOMER =
+        "INSERT INTO GymCustomer (customer_id, user_id) VALUES (?, ?)";
+    private static final String COUNT_CONFIRMED =
+        "SELECT COUNT(*) FROM Booking WHERE slot_id = ? AND booking_date = ? AND booking_status = 'CONFIRMED'";
+    private static final String SELECT_INVENTORY_BOOKED =
+        "SELECT booked FROM slot_date_inventory WHERE slot_id = ? AND booking_date = ?";
+
+    private static final Path MIGRATIONS =
+        Paths.get("..", "JEDI_BRAVO_FLIPFIT_PROJECT_DEVELOPMENT_POS_DAO", "migrations");
+
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final FlipFitConfiguration configuration = new FlipFitConfiguration();
+    private final ManagedDataSource dataSource;
+
+    private TestDatabase() throws Exception {
+        DataSourceFactory factory = new DataSourceFactory();
+        factory.setDriverClass("org.h2.Driver");
+        factory.setUrl("jdbc:h2:mem:flipfit-" + UUID.randomUUID() + ";MODE=MySQL");
+        factory.setUser("sa");
+        factory.setPassword("");
+        factory.setMinSize(4);
+        factory.setInitialSize(4);
+        factory.setMaxSize(32);
+        dataSource = factory.build(metrics, "flipfit-test");
+        dataSource.start();
+
+        // Same order as FlipFitApplication.run
+        FlipFitMetrics.configure(metrics);
+        DAOFactory.configure(StorageConfiguration.Type.MYSQL);
+        DBConnection.initialize(dataSource, metrics);
+        BookingLockManager.configure(BookingLockManager.Mode.STRIPED, configuration.getBookingLocks().getStripes());
+        CatalogCache.configure(configuration.getCatalogCache(), metrics);
+        CatalogVersions.configure(configuration.getCatalogHttpCache(), metrics);
+        CustomerIdentityCache.configure(configuration.getIdentityCacheSize(), metrics);
+        SeatCounterCache.configure(configuration.getSeatCounterCache(), metrics);
+        EmailRegistry.configure(configuration.getEmailRegistry(), metrics);
+        NotificationOutbox.configure(configuration.getNotificationOutbox(), metrics);
+        WaitlistEngine.configure(configuration.getWaitlistEngine(), metrics);
+
+        try (Connection conn = dataSource.getConnection()) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("RUNSCRIPT FROM 'classpath:/test_schema.sql'");
+            }
+        }
+        addOwner(OWNER_ID);
+    }
+
+    /**
+     * Creates a database and makes it the one the DAOs use.
+     *
+     * @return the database
+     * @throws Exception if the database cannot be set up
+     */
+    public static TestDatabase start() throws Exception {
+        return new TestDatabase();
+    }
+
+    /**
+     * Gets the metric registry the REST code records into.
+     *
+     * @return the metric registry
+     */
+    public MetricRegistry getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Gets the default application configuration the singletons were built from.
+     *
+     * @return the configuration
+     */
+    public FlipFitConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * Adds an approved gym owner and its user row.
+     *
+     * @param ownerId the owner ID
+     * @throws SQLException if the inserts fail
+     */
+    public void addOwner(String ownerId) throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            addUser(conn, "U" + ownerId, OWNER_ROLE_ID);
+            try (PreparedStatement pstmt = conn.prepareStatement(INSERT_OWNER)) {
+                pstmt.setString(1, ownerId);
+                pstmt.setString(2, "U" + ownerId);
+                pstmt.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * Adds an approved gym center of the seeded owner.
+     *
+     * @param gymId the gym ID
+     * @throws SQLException if the insert fails
+     */
+    public void addGym(String gymId) throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_GYM)) {
+            pstmt.setString(1, gymId);
+            pstmt.setString(2, OWNER_ID);
+            pstmt.setString(3, "FlipFit " + gymId);
+            pstmt.setString(4, gymId + " Main Road");
+            pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Adds an active slot to a gym center.
+     *
+     * @param gymId the gym ID
+     * @param slotId the slot ID
+     * @param start the start time
+     * @param end the end time
+     * @param seats the seats per date
+     * @throws SQLException if the insert fails
+     */
+    public void addSlot(String gymId, String slotId, LocalTime start, LocalTime end, int seats) throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_SLOT)) {
+            pstmt.setString(1, slotId);
+            pstmt.setString(2, gymId);
+            pstmt.setTime(3, Time.valueOf(start));
+            pstmt.setTime(4, Time.valueOf(end));
+            pstmt.setInt(5, seats);
+            pstmt.setInt(6, seats);
+            pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Adds a customer and its user row.
+     *
+     * @param customerId the customer ID
+     * @throws SQLException if the inserts fail
+     */
+    public void addCustomer(String customerId) throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            addUser(conn, "U" + customerId, CUSTOMER_ROLE_ID);
+            try (PreparedStatement pstmt = conn.prepareStatement(INSERT_CUSTOMER)) {
+                pstmt.setString(1, customerId);
+                pstmt.setString(2, "U" + customerId);
+                pstmt.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * Counts the confirmed bookings of a slot-date.
+     *
+     * @param slotId the slot ID
+     * @param date the booking date
+     * @return the confirmed bookings
+     * @throws SQLException if the query fails
+     */
+    public int confirmedBookings(String slotId, LocalDate date) throws SQLException {
+        return queryInt(COUNT_CONFIRMED, slotId, date, 0);
+    }
+
+    /**
+     * Reads the booked seats of a slot-date from slot_date_inventory.
+     *
+     * @param slotId the slot ID
+     * @param date the booking date
+     * @return the booked seats, or -1 if the slot-date has no inventory row
+     * @throws SQLException if the query fails
+     */
+    public int inventoryBooked(String slotId, LocalDate date) throws SQLException {
+        return queryInt(SELECT_INVENTORY_BOOKED, slotId, date, -1);
+    }
+
+    /**
+     * Runs a statement against the database, bypassing the DAOs and caches.
+     *
+     * @param sql the statement
+     * @return the update count
+     * @throws SQLException if the statement fails
+     */
+    public int execute(String sql) throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement()) {
+            return stmt.executeUpdate(sql);
+        }
+    }
+
+    /**
+     * Runs a script of JEDI_BRAVO_FLIPFIT_PROJECT_DEVELOPMENT_POS_DAO/migrations
+     * against the database, skipping its USE statement.
+     *
+     * @param name the script file name
+     * @throws IOException if the script cannot be read
+     * @throws SQLException if a statement fails
+     */
+    public void runMigration(String name) throws IOException, SQLException {
+        String script = Files.readString(MIGRATIONS.resolve(name)).replaceAll("--[^\\n]*", "");
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement()) {
+            for (String sql : script.split(";")) {
+                if (!sql.isBlank() && !sql.trim().startsWith("USE ")) {
+                    stmt.execute(sql);
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies every table into a fresh in-memory store and switches the DAOs
+     * to it, as the MEMORY engine does with initialLoad DATABASE. Later
+     * writes go to the store only.
+     *
+     * @return the in-memory store
+     * @throws SQLException if a table cannot be read
+     */
+    public InMemoryStore useInMemoryStore() throws SQLException {
+        StorageConfiguration storage = new StorageConfiguration();
+        storage.setType(StorageConfiguration.Type.MEMORY);
+        storage.setInitialLoad(StorageConfiguration.InitialLoad.DATABASE);
+        InMemoryStore store = InMemoryStore.configure(storage, Jackson.newObjectMapper(), metrics);
+        store.loadFromDatabase(dataSource);
+        DAOFactory.configure(StorageConfiguration.Type.MEMORY);
+        return store;
+    }
+
+    /**
+     * Runs a query for a single number against the database, bypassing the
+     * DAOs and caches.
+     *
+     * @param sql the query
+     * @return the number in the first column of the first row, or 0 if there is no row
+     * @throws SQLException if the query fails
+     */
+    public int count(String sql) throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Closes the database.
+     *
+     * @throws Exception if the pool cannot be stopped
+     */
+    @Override
+    public void close() throws Exception {
+        // The in-memory database goes away with the last pooled connection
+        dataSource.stop();
+    }
+
+    private int queryInt(String sql, String slotId, LocalDate date, int missing) throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, slotId);
+            pstmt.setDate(2, Date.valueOf(date));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : missing;
+            }
+        }
+    }
+
+    private static void addUser(Connection conn, String userId, int roleId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(INSERT_USER)) {
+            pstmt.setString(1, userId);
+            pstmt.setString(2, "User " + userId);
+            pstmt.setString(3, userId.toLowerCase() + "@flipfit.com");
+            pstmt.setString(4, "password");
+            pstmt.setInt(5, roleId);
+            pstmt.executeUpdate();
+        }
+    }
+}
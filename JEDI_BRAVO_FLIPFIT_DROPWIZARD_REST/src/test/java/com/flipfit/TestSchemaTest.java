@@ -0,0 +1,72 @@
+package com.flipfit;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class TestSchemaTest.
+ * Every table of test_schema.sql is defined exactly as in the production
+ * flipfit_schema.sql, so a value or constraint the tests rely on but
+ * production lacks fails here instead of only on MySQL.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName TestSchemaTest
+ */
+class TestSchemaTest {
+
+    private static final Path PRODUCTION_SCHEMA =
+        Paths.get("..", "JEDI_BRAVO_FLIPFIT_PROJECT_DEVELOPMENT_POS_DAO", "flipfit_schema.sql");
+    private static final Pattern CREATE_TABLE = Pattern.compile("CREATE TABLE (\\w+) \\((.*?)\\n\\);", Pattern.DOTALL);
+
+    @Test
+    void sharedTablesMatchTheProductionSchema() throws IOException {
+        Map<String, List<String>> production = tables(Files.readString(PRODUCTION_SCHEMA));
+        Map<String, List<String>> test;
+        try (InputStream in = TestSchemaTest.class.getResourceAsStream("/test_schema.sql")) {
+            assertNotNull(in);
+            test = tables(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        assertFalse(test.isEmpty());
+        for (Map.Entry<String, List<String>> table : test.entrySet()) {
+            assertTrue(production.containsKey(table.getKey()), table.getKey() + " is not in the production schema");
+            assertEquals(production.get(table.getKey()), table.getValue(), table.getKey());
+        }
+    }
+
+    /**
+     * Gets the column and constraint lines of each table, without comments.
+     */
+    private static Map<String, List<String>> tables(String sql) {
+        Map<String, List<String>> tables = new LinkedHashMap<>();
+        Matcher matcher = CREATE_TABLE.matcher(sql.replaceAll("--[^\\n]*", ""));
+        while (matcher.find()) {
+            List<String> lines = new ArrayList<>();
+            for (String line : matcher.group(2).split("\\n")) {
+                if (!line.trim().isEmpty()) {
+                    lines.add(line.trim());
+                }
+            }
+            tables.put(matcher.group(1), lines);
+        }
+        return tables;
+    }
+}
@@ -0,0 +1,225 @@
+package com.flipfit.business.impl;
+
+import com.flipfit.TestDatabase;
+import com.flipfit.bean.Booking;
+import com.flipfit.business.BookingService;
+import com.flipfit.enums.BookingStatus;
+import com.flipfit.exception.BookingFailedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class BookingSeatInventoryTest.
+ * Seat reservation against slot_date_inventory: the booked count of a
+ * slot-date must always equal its confirmed bookings, never exceed the
+ * capacity, and a booking is only written together with its seat. An
+ * overlapping booking is only cancelled together with that write, and a
+ * cancel only together with its seat release.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName BookingSeatInventoryTest
+ */
+class BookingSeatInventoryTest {
+
+    private static final String GYM_ID = "GYM1";
+    private static final String SLOT_ID = "GYM1-S0";
+    private static final String OVERLAPPING_SLOT_ID = "GYM1-S1";
+    private static final int SEATS = 4;
+    private static final int CUSTOMERS = 16;
+    private static final int THREADS = 8;
+
+    private TestDatabase database;
+    private BookingService bookingService;
+    private LocalDate date;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        database = TestDatabase.start();
+        database.addGym(GYM_ID);
+        database.addSlot(GYM_ID, SLOT_ID, LocalTime.of(7, 0), LocalTime.of(8, 0), SEATS);
+        for (int c = 0; c < CUSTOMERS; c++) {
+            database.addCustomer(customerId(c));
+        }
+        bookingService = new BookingServiceImpl();
+        date = LocalDate.now().plusDays(1);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Test
+    void concurrentBookAndCancelKeepBookedEqualToConfirmed() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 25; i++) {
+                        // Two customers per thread, so the same customer never races itself
+                        String customerId = customerId(thread * 2 + random.nextInt(2));
+                        try {
+                            Booking booking = bookingService.bookSlot(customerId, SLOT_ID, date);
+                            if (random.nextBoolean()) {
+                                bookingService.cancelBooking(booking.getBookingId());
+                            }
+                        } catch (BookingFailedException e) {
+                            // Full slot or already booked: expected under contention
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        int confirmed = database.confirmedBookings(SLOT_ID, date);
+        assertEquals(confirmed, database.inventoryBooked(SLOT_ID, date));
+        assertTrue(confirmed <= SEATS, "overbooked: " + confirmed);
+        assertEquals(confirmed, bookingService.countBookingsForSlotOnDate(SLOT_ID, date));
+    }
+
+    @Test
+    void concurrentDoubleCancelReleasesExactlyOneSeat() throws Exception {
+        Booking first = bookingService.bookSlot(customerId(0), SLOT_ID, date);
+        bookingService.bookSlot(customerId(1), SLOT_ID, date);
+        assertEquals(2, database.inventoryBooked(SLOT_ID, date));
+
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<Boolean> cancel = () -> {
+            start.await();
+            try {
+                return bookingService.cancelBooking(first.getBookingId());
+            } catch (BookingFailedException e) {
+                return false;
+            }
+        };
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> a = pool.submit(cancel);
+            Future<Boolean> b = pool.submit(cancel);
+            start.countDown();
+            int successes = (a.get(30, TimeUnit.SECONDS) ? 1 : 0) + (b.get(30, TimeUnit.SECONDS) ? 1 : 0);
+            assertEquals(1, successes);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, database.inventoryBooked(SLOT_ID, date));
+        assertEquals(1, database.confirmedBookings(SLOT_ID, date));
+    }
+
+    @Test
+    void secondCancelIsRejectedAndKeepsTheCount() throws Exception {
+        Booking booking = bookingService.bookSlot(customerId(0), SLOT_ID, date);
+        assertTrue(bookingService.cancelBooking(booking.getBookingId()));
+
+        BookingFailedException e = assertThrows(BookingFailedException.class,
+            () -> bookingService.cancelBooking(booking.getBookingId()));
+        assertEquals("Booking is already cancelled", e.getMessage());
+        assertEquals(0, database.inventoryBooked(SLOT_ID, date));
+    }
+
+    @Test
+    void fullSlotWritesNoBooking() throws Exception {
+        for (int c = 0; c < SEATS; c++) {
+            bookingService.bookSlot(customerId(c), SLOT_ID, date);
+        }
+
+        assertThrows(BookingFailedException.class, () -> bookingService.bookSlot(customerId(SEATS), SLOT_ID, date));
+        assertEquals(SEATS, database.inventoryBooked(SLOT_ID, date));
+        assertEquals(SEATS, database.confirmedBookings(SLOT_ID, date));
+        assertEquals(0, bookingService.viewMyBookings(customerId(SEATS)).size());
+    }
+
+    @Test
+    void cancelledBookingIsReusedWhenRebooked() throws Exception {
+        Booking booking = bookingService.bookSlot(customerId(0), SLOT_ID, date);
+        bookingService.cancelBooking(booking.getBookingId());
+
+        Booking again = bookingService.bookSlot(customerId(0), SLOT_ID, date);
+        assertNotNull(again);
+        assertEquals(booking.getBookingId(), again.getBookingId());
+        assertEquals(1, database.inventoryBooked(SLOT_ID, date));
+        assertEquals(1, database.confirmedBookings(SLOT_ID, date));
+    }
+
+    @Test
+    void overlappingBookingIsCancelledWithTheNewSeat() throws Exception {
+        database.addSlot(GYM_ID, OVERLAPPING_SLOT_ID, LocalTime.of(7, 30), LocalTime.of(8, 30), SEATS);
+        Booking old = bookingService.bookSlot(customerId(0), SLOT_ID, date);
+
+        Booking booking = bookingService.bookSlot(customerId(0), OVERLAPPING_SLOT_ID, date);
+
+        assertEquals(BookingStatus.CANCELLED, bookingService.getBookingById(old.getBookingId()).getBookingStatus());
+        assertEquals(BookingStatus.CONFIRMED, bookingService.getBookingById(booking.getBookingId()).getBookingStatus());
+        assertEquals(0, database.inventoryBooked(SLOT_ID, date));
+        assertEquals(1, database.inventoryBooked(OVERLAPPING_SLOT_ID, date));
+    }
+
+    @Test
+    void refusedSeatKeepsTheOverlappingBooking() throws Exception {
+        database.addSlot(GYM_ID, OVERLAPPING_SLOT_ID, LocalTime.of(7, 30), LocalTime.of(8, 30), SEATS);
+        Booking old = bookingService.bookSlot(customerId(0), SLOT_ID, date);
+        bookingService.bookSlot(customerId(1), OVERLAPPING_SLOT_ID, date);
+        // Another node fills the slot; this node's seat counter still says one seat is taken
+        database.execute("UPDATE slot_date_inventory SET booked = capacity WHERE slot_id = '" + OVERLAPPING_SLOT_ID + "'");
+
+        assertThrows(BookingFailedException.class,
+            () -> bookingService.bookSlot(customerId(0), OVERLAPPING_SLOT_ID, date));
+        assertEquals(BookingStatus.CONFIRMED, bookingService.getBookingById(old.getBookingId()).getBookingStatus());
+        assertEquals(1, database.inventoryBooked(SLOT_ID, date));
+        assertEquals(SEATS, database.inventoryBooked(OVERLAPPING_SLOT_ID, date));
+    }
+
+    @Test
+    void failedSeatReleaseKeepsTheBookingConfirmed() throws Exception {
+        Booking booking = bookingService.bookSlot(customerId(0), SLOT_ID, date);
+        database.execute("ALTER TABLE slot_date_inventory RENAME TO slot_date_inventory_gone");
+
+        assertThrows(BookingFailedException.class, () -> bookingService.cancelBooking(booking.getBookingId()));
+        database.execute("ALTER TABLE slot_date_inventory_gone RENAME TO slot_date_inventory");
+        assertEquals(BookingStatus.CONFIRMED, bookingService.getBookingById(booking.getBookingId()).getBookingStatus());
+        assertEquals(1, database.inventoryBooked(SLOT_ID, date));
+    }
+
+    @Test
+    void rebookingAConfirmedSlotReturnsTheBooking() throws Exception {
+        Booking booking = bookingService.bookSlot(customerId(0), SLOT_ID, date);
+
+        Booking again = bookingService.bookSlot(customerId(0), SLOT_ID, date);
+        assertEquals(booking.getBookingId(), again.getBookingId());
+        assertEquals(1, database.inventoryBooked(SLOT_ID, date));
+        assertEquals(1, database.confirmedBookings(SLOT_ID, date));
+    }
+
+    private static String customerId(int index) {
+        return "CUS" + index;
+    }
+}
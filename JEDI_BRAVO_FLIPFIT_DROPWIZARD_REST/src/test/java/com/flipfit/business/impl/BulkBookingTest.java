@@ -0,0 +1,199 @@
+package com.flipfit.business.impl;
+
+import com.flipfit.TestDatabase;
+import com.flipfit.bean.Booking;
+import com.flipfit.bean.BulkBookingResult;
+import com.flipfit.business.BookingService;
+import com.flipfit.enums.BulkBookingMode;
+import com.flipfit.exception.BookingFailedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class BulkBookingTest.
+ * Bulk bookings: all-or-nothing and best-effort outcomes, and a bulk
+ * request racing single bookings of overlapping slots for the same
+ * customer without deadlocking or leaving the inventory out of step.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName BulkBookingTest
+ */
+class BulkBookingTest {
+
+    private static final String GYM_ID = "GYM1";
+    /** 07:00 - 08:00. */
+    private static final String EARLY_SLOT = "GYM1-S0";
+    /** 07:30 - 08:30, overlaps EARLY_SLOT. */
+    private static final String LATE_SLOT = "GYM1-S1";
+    /** 18:00 - 19:00, one seat. */
+    private static final String EVENING_SLOT = "GYM1-S2";
+    private static final String CUSTOMER = "CUS0";
+    private static final int DAYS = 3;
+
+    private TestDatabase database;
+    private BookingService bookingService;
+    private LocalDate firstDate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        database = TestDatabase.start();
+        database.addGym(GYM_ID);
+        database.addSlot(GYM_ID, EARLY_SLOT, LocalTime.of(7, 0), LocalTime.of(8, 0), 10);
+        database.addSlot(GYM_ID, LATE_SLOT, LocalTime.of(7, 30), LocalTime.of(8, 30), 10);
+        database.addSlot(GYM_ID, EVENING_SLOT, LocalTime.of(18, 0), LocalTime.of(19, 0), 1);
+        database.addCustomer(CUSTOMER);
+        database.addCustomer("CUS1");
+        bookingService = new BookingServiceImpl();
+        firstDate = LocalDate.now().plusDays(1);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Test
+    void allOrNothingBooksNoneWhenOneItemIsFull() throws Exception {
+        bookingService.bookSlot("CUS1", EVENING_SLOT, firstDate);
+
+        List<BulkBookingResult> results = bookingService.bookSlots(CUSTOMER,
+            items(EARLY_SLOT, EVENING_SLOT), BulkBookingMode.ALL_OR_NOTHING);
+
+        assertEquals(BulkBookingResult.Status.NOT_BOOKED, results.get(0).getStatus());
+        assertEquals(BulkBookingResult.Status.FAILED, results.get(1).getStatus());
+        assertEquals(0, database.confirmedBookings(EARLY_SLOT, firstDate));
+        assertEquals(1, database.inventoryBooked(EVENING_SLOT, firstDate));
+    }
+
+    @Test
+    void bestEffortBooksTheRest() throws Exception {
+        bookingService.bookSlot("CUS1", EVENING_SLOT, firstDate);
+
+        List<BulkBookingResult> results = bookingService.bookSlots(CUSTOMER,
+            items(EARLY_SLOT, EVENING_SLOT), BulkBookingMode.BEST_EFFORT);
+
+        assertEquals(BulkBookingResult.Status.BOOKED, results.get(0).getStatus());
+        assertEquals(BulkBookingResult.Status.FAILED, results.get(1).getStatus());
+        assertEquals(1, database.confirmedBookings(EARLY_SLOT, firstDate));
+        assertEquals(1, database.inventoryBooked(EARLY_SLOT, firstDate));
+    }
+
+    @Test
+    void bulkReportsOverlapInsteadOfCancelling() throws Exception {
+        bookingService.bookSlot(CUSTOMER, LATE_SLOT, firstDate);
+
+        List<BulkBookingResult> results = bookingService.bookSlots(CUSTOMER,
+            items(EARLY_SLOT), BulkBookingMode.BEST_EFFORT);
+
+        assertEquals(BulkBookingResult.Status.FAILED, results.get(0).getStatus());
+        assertEquals(1, database.confirmedBookings(LATE_SLOT, firstDate));
+    }
+
+    @Test
+    void bulkRacingOverlappingSingleBookingsDoesNotDeadlock() throws Exception {
+        AtomicInteger bulkBooked = new AtomicInteger();
+        AtomicInteger singleBooked = new AtomicInteger();
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            ExecutorService pool = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                // Bulk bookings of the early slot over all days, cancelled again at random
+                for (int t = 0; t < 2; t++) {
+                    futures.add(pool.submit(() -> {
+                        for (int i = 0; i < 30; i++) {
+                            List<Booking> requested = new ArrayList<>();
+                            for (int d = 0; d < DAYS; d++) {
+                                requested.add(item(EARLY_SLOT, firstDate.plusDays(d)));
+                            }
+                            for (BulkBookingResult result : bookingService.bookSlots(
+                                    CUSTOMER, requested, BulkBookingMode.BEST_EFFORT)) {
+                                if (result.getStatus() != BulkBookingResult.Status.BOOKED) {
+                                    continue;
+                                }
+                                bulkBooked.incrementAndGet();
+                                if (ThreadLocalRandom.current().nextBoolean()) {
+                                    cancelQuietly(result.getBookingId());
+                                }
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                // Single bookings of the overlapping late slot, which auto-cancel the early one
+                for (int t = 0; t < 2; t++) {
+                    futures.add(pool.submit(() -> {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        for (int i = 0; i < 30; i++) {
+                            try {
+                                Booking booking = bookingService.bookSlot(
+                                    CUSTOMER, LATE_SLOT, firstDate.plusDays(random.nextInt(DAYS)));
+                                singleBooked.incrementAndGet();
+                                if (random.nextBoolean()) {
+                                    cancelQuietly(booking.getBookingId());
+                                }
+                            } catch (BookingFailedException e) {
+                                // Already booked or lost a race: expected
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+        });
+
+        assertTrue(bulkBooked.get() > 0 && singleBooked.get() > 0, "both sides should have booked");
+        for (int d = 0; d < DAYS; d++) {
+            LocalDate date = firstDate.plusDays(d);
+            int early = database.confirmedBookings(EARLY_SLOT, date);
+            int late = database.confirmedBookings(LATE_SLOT, date);
+            assertTrue(early + late <= 1, "overlapping bookings on " + date);
+            assertEquals(early, Math.max(database.inventoryBooked(EARLY_SLOT, date), 0));
+            assertEquals(late, Math.max(database.inventoryBooked(LATE_SLOT, date), 0));
+        }
+    }
+
+    private void cancelQuietly(String bookingId) {
+        try {
+            bookingService.cancelBooking(bookingId);
+        } catch (BookingFailedException e) {
+            // Auto-cancelled by an overlapping booking in between
+        }
+    }
+
+    private List<Booking> items(String... slotIds) {
+        List<Booking> requested = new ArrayList<>();
+        for (String slotId : slotIds) {
+            requested.add(item(slotId, firstDate));
+        }
+        return requested;
+    }
+
+    private static Booking item(String slotId, LocalDate date) {
+        Booking item = new Booking();
+        item.setSlotId(slotId);
+        item.setBookingDate(date);
+        return item;
+    }
+}
@@ -0,0 +1,139 @@
+package com.flipfit.business.impl;
+
+import com.flipfit.TestDatabase;
+import com.flipfit.bean.Notification;
+import com.flipfit.business.BookingService;
+import com.flipfit.utils.DAOFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class NotificationFeedTest.
+ * The notification feed lists unread notifications before read ones, each
+ * newest first with ties broken by ID. Following the cursor of the last
+ * notification of each page must walk the whole feed once, whatever the
+ * page size, including pages that span the unread and read sections.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName NotificationFeedTest
+ */
+class NotificationFeedTest {
+
+    private static final String CUSTOMER_ID = "CUS0";
+    private static final String USER_ID = "UCUS0";
+
+    /** The whole feed in order: unread newest first, then read newest first. */
+    private static final List<String> FEED = Arrays.asList("U3", "U2", "U1", "R5", "R4", "R3", "R2", "R1");
+
+    private TestDatabase database;
+    private BookingService bookingService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        database = TestDatabase.start();
+        database.addCustomer(CUSTOMER_ID);
+        database.addCustomer("CUS1");
+        bookingService = new BookingServiceImpl();
+
+        List<Notification> notifications = new ArrayList<>();
+        for (String notificationId : FEED) {
+            notifications.add(notification(notificationId, USER_ID, notificationId.startsWith("R")));
+        }
+        notifications.add(notification("X1", "UCUS1", false));
+        DAOFactory.getNotificationDAO().insertNotifications(notifications);
+
+        // U2/U1 and R4/R3 share a creation time, so the ID decides their order
+        created("U3", "2026-03-01 12:00:00");
+        created("U2", "2026-02-01 12:00:00");
+        created("U1", "2026-02-01 12:00:00");
+        created("R5", "2026-03-02 12:00:00");
+        created("R4", "2026-02-15 12:00:00");
+        created("R3", "2026-02-15 12:00:00");
+        created("R2", "2026-01-10 12:00:00");
+        created("R1", "2026-01-01 12:00:00");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Test
+    void firstPageListsUnreadFirst() {
+        List<String> page = ids(bookingService.getNotifications(CUSTOMER_ID, null, null, null, FEED.size() + 1));
+
+        assertEquals(FEED, page);
+    }
+
+    @Test
+    void pagesWalkTheFeedOnceForEveryPageSize() {
+        for (int limit = 1; limit <= FEED.size(); limit++) {
+            assertEquals(FEED, walk(limit), "page size " + limit);
+        }
+    }
+
+    @Test
+    void pageSpanningBothSectionsContinuesInTheReadSection() {
+        List<Notification> first = bookingService.getNotifications(CUSTOMER_ID, null, null, null, 2);
+        Notification last = first.get(first.size() - 1);
+        List<Notification> second = bookingService.getNotifications(CUSTOMER_ID,
+            last.isRead(), last.getCreatedAt(), last.getNotificationId(), 3);
+        assertEquals(Arrays.asList("U1", "R5", "R4"), ids(second));
+
+        last = second.get(second.size() - 1);
+        assertTrue(last.isRead());
+        List<Notification> third = bookingService.getNotifications(CUSTOMER_ID,
+            last.isRead(), last.getCreatedAt(), last.getNotificationId(), 3);
+        assertEquals(Arrays.asList("R3", "R2", "R1"), ids(third));
+    }
+
+    private List<String> walk(int limit) {
+        List<String> seen = new ArrayList<>();
+        Notification last = null;
+        for (int page = 0; page <= FEED.size(); page++) {
+            List<Notification> notifications = last == null
+                ? bookingService.getNotifications(CUSTOMER_ID, null, null, null, limit)
+                : bookingService.getNotifications(CUSTOMER_ID,
+                    last.isRead(), last.getCreatedAt(), last.getNotificationId(), limit);
+            seen.addAll(ids(notifications));
+            if (notifications.size() < limit) {
+                break;
+            }
+            last = notifications.get(notifications.size() - 1);
+        }
+        return seen;
+    }
+
+    private void created(String notificationId, String createdAt) throws Exception {
+        database.execute("UPDATE Notification SET created_at = TIMESTAMP '" + createdAt
+            + "' WHERE notification_id = '" + notificationId + "'");
+    }
+
+    private static List<String> ids(List<Notification> notifications) {
+        List<String> ids = new ArrayList<>();
+        for (Notification notification : notifications) {
+            ids.add(notification.getNotificationId());
+        }
+        return ids;
+    }
+
+    private static Notification notification(String notificationId, String userId, boolean read) {
+        Notification notification = new Notification();
+        notification.setNotificationId(notificationId);
+        notification.setUserId(userId);
+        notification.setTitle("Title " + notificationId);
+        notification.setMessage("Message " + notificationId);
+        notification.setNotificationType("GENERAL");
+        notification.setRead(read);
+        return notification;
+    }
+}
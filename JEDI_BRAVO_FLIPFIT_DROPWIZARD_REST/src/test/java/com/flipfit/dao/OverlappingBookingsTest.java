@@ -0,0 +1,158 @@
+package com.flipfit.dao;
+
+import com.flipfit.TestDatabase;
+import com.flipfit.bean.Booking;
+import com.flipfit.config.StorageConfiguration;
+import com.flipfit.enums.BookingStatus;
+import com.flipfit.utils.DAOFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class OverlappingBookingsTest.
+ * BookingDAO.getOverlappingBookings on both storage engines: the SQL time
+ * window against H2 and the per-customer-day interval index of the
+ * in-memory store. Like the timeSlotsOverlap check it replaced, slots that
+ * only touch count as overlapping; slots with a gap between them, cancelled
+ * bookings, other customers and other dates never do.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName OverlappingBookingsTest
+ */
+class OverlappingBookingsTest {
+
+    private static final String GYM_ID = "GYM1";
+    private static final String CUSTOMER_ID = "CUS0";
+    private static final String OTHER_CUSTOMER_ID = "CUS1";
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 15);
+
+    private TestDatabase database;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        database = TestDatabase.start();
+        database.addGym(GYM_ID);
+        database.addCustomer(CUSTOMER_ID);
+        database.addCustomer(OTHER_CUSTOMER_ID);
+        database.addSlot(GYM_ID, "A", LocalTime.of(6, 0), LocalTime.of(7, 0), 10);
+        database.addSlot(GYM_ID, "B", LocalTime.of(7, 0), LocalTime.of(8, 0), 10);
+        database.addSlot(GYM_ID, "C", LocalTime.of(8, 30), LocalTime.of(9, 30), 10);
+        database.addSlot(GYM_ID, "D", LocalTime.of(10, 0), LocalTime.of(12, 0), 10);
+        database.addSlot(GYM_ID, "E", LocalTime.of(10, 30), LocalTime.of(11, 0), 10);
+
+        BookingDAO bookingDAO = DAOFactory.getBookingDAO();
+        assertTrue(bookingDAO.insertBooking(booking("BA", CUSTOMER_ID, "A", DATE, BookingStatus.CONFIRMED)));
+        assertTrue(bookingDAO.insertBooking(booking("BB", CUSTOMER_ID, "B", DATE, BookingStatus.CONFIRMED)));
+        assertTrue(bookingDAO.insertBooking(booking("BC", CUSTOMER_ID, "C", DATE, BookingStatus.CONFIRMED)));
+        assertTrue(bookingDAO.insertBooking(booking("BD", CUSTOMER_ID, "D", DATE, BookingStatus.CANCELLED)));
+        assertTrue(bookingDAO.insertBooking(booking("BE", OTHER_CUSTOMER_ID, "E", DATE, BookingStatus.CONFIRMED)));
+        assertTrue(bookingDAO.insertBooking(booking("BX", CUSTOMER_ID, "E", DATE.plusDays(1), BookingStatus.CONFIRMED)));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        DAOFactory.configure(StorageConfiguration.Type.MYSQL);
+        database.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageConfiguration.Type.class)
+    void touchingSlotsOverlap(StorageConfiguration.Type type) throws Exception {
+        use(type);
+
+        // 08:00 is where B ends, 08:30 where C starts
+        assertEquals(ids("BB", "BC"), overlapping(8, 0, 8, 30));
+        assertEquals(ids("BA", "BB"), overlapping(7, 0, 7, 0));
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageConfiguration.Type.class)
+    void slotsWithAGapDoNotOverlap(StorageConfiguration.Type type) throws Exception {
+        use(type);
+
+        assertEquals(ids(), overlapping(8, 1, 8, 29));
+        assertEquals(ids(), overlapping(5, 0, 5, 59));
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageConfiguration.Type.class)
+    void partialOverlapIsFound(StorageConfiguration.Type type) throws Exception {
+        use(type);
+
+        assertEquals(ids("BB"), overlapping(7, 30, 8, 15));
+        assertEquals(ids("BB", "BC"), overlapping(7, 45, 8, 45));
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageConfiguration.Type.class)
+    void containmentIsFoundBothWays(StorageConfiguration.Type type) throws Exception {
+        use(type);
+
+        // Window inside a slot, and slots inside a window
+        assertEquals(ids("BB"), overlapping(7, 15, 7, 45));
+        assertEquals(ids("BA", "BB", "BC"), overlapping(5, 0, 9, 45));
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageConfiguration.Type.class)
+    void cancelledOtherCustomersAndOtherDatesAreExcluded(StorageConfiguration.Type type) throws Exception {
+        use(type);
+
+        // D is cancelled, E belongs to another customer today and to this one tomorrow
+        assertEquals(ids(), overlapping(10, 15, 11, 45));
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageConfiguration.Type.class)
+    void bookingCancelledLaterIsExcluded(StorageConfiguration.Type type) throws Exception {
+        use(type);
+        BookingDAO bookingDAO = DAOFactory.getBookingDAO();
+        assertTrue(bookingDAO.updateBookingStatus("BB", BookingStatus.CANCELLED));
+
+        assertEquals(ids("BC"), overlapping(7, 45, 8, 45));
+    }
+
+    private void use(StorageConfiguration.Type type) throws Exception {
+        if (type == StorageConfiguration.Type.MEMORY) {
+            database.useInMemoryStore();
+        }
+    }
+
+    private static Set<String> overlapping(int startHour, int startMinute, int endHour, int endMinute) {
+        List<Booking> bookings = DAOFactory.getBookingDAO().getOverlappingBookings(CUSTOMER_ID, DATE,
+            LocalTime.of(startHour, startMinute), LocalTime.of(endHour, endMinute));
+        Set<String> bookingIds = new HashSet<>();
+        for (Booking booking : bookings) {
+            bookingIds.add(booking.getBookingId());
+        }
+        assertEquals(bookings.size(), bookingIds.size(), "duplicate bookings " + bookings);
+        return bookingIds;
+    }
+
+    private static Set<String> ids(String... bookingIds) {
+        return new HashSet<>(Arrays.asList(bookingIds));
+    }
+
+    private static Booking booking(String bookingId, String customerId, String slotId, LocalDate date, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setBookingId(bookingId);
+        booking.setCustomerId(customerId);
+        booking.setSlotId(slotId);
+        booking.setBookingDate(date);
+        booking.setBookingStatus(status);
+        return booking;
+    }
+}
@@ -0,0 +1,164 @@
+package com.flipfit.dao.impl;
+
+import com.flipfit.TestDatabase;
+import com.flipfit.bean.Notification;
+import com.flipfit.dao.NotificationDAO;
+import com.flipfit.utils.DAOFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class NotificationDAOImplTest.
+ * Every write path of NotificationDAOImpl must leave
+ * notification_unread_count equal to the user's actual unread
+ * notifications: batched inserts, single and bulk mark-read, mark-all,
+ * delete and archiving. The upgrade migration seeds the counters of a
+ * database that already holds notifications.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName NotificationDAOImplTest
+ */
+class NotificationDAOImplTest {
+
+    private static final String USER_ID = "UCUS0";
+    private static final String OTHER_USER_ID = "UCUS1";
+
+    private TestDatabase database;
+    private NotificationDAO notificationDAO;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        database = TestDatabase.start();
+        database.addCustomer("CUS0");
+        database.addCustomer("CUS1");
+        notificationDAO = DAOFactory.getNotificationDAO();
+
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            // N0, N2 and N4 start out read
+            notifications.add(notification("N" + i, USER_ID, i % 2 == 0));
+        }
+        notifications.add(notification("M0", OTHER_USER_ID, false));
+        notifications.add(notification("M1", OTHER_USER_ID, false));
+        assertEquals(notifications.size(), notificationDAO.insertNotifications(notifications));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Test
+    void insertCountsOnlyUnreadNotifications() throws Exception {
+        assertEquals(3, notificationDAO.countUnread(USER_ID));
+        assertEquals(2, notificationDAO.countUnread(OTHER_USER_ID));
+        assertCounterMatches();
+
+        assertTrue(notificationDAO.insertNotification(notification("N6", USER_ID, false)));
+        assertEquals(4, notificationDAO.countUnread(USER_ID));
+        assertCounterMatches();
+    }
+
+    @Test
+    void markAsReadCountsANotificationOnce() throws Exception {
+        assertTrue(notificationDAO.markAsRead("N1"));
+        assertFalse(notificationDAO.markAsRead("N1"));
+        assertFalse(notificationDAO.markAsRead("N0"));
+
+        assertEquals(2, notificationDAO.countUnread(USER_ID));
+        assertCounterMatches();
+    }
+
+    @Test
+    void bulkMarkReadSkipsReadRepeatedAndForeignNotifications() throws Exception {
+        int marked = notificationDAO.markAsRead(USER_ID, Arrays.asList("N1", "N1", "N2", "M0", "NOPE", "N3"));
+
+        assertEquals(2, marked);
+        assertEquals(1, notificationDAO.countUnread(USER_ID));
+        assertEquals(2, notificationDAO.countUnread(OTHER_USER_ID));
+        assertCounterMatches();
+    }
+
+    @Test
+    void markAllAsReadClearsOnlyThatUser() throws Exception {
+        assertEquals(3, notificationDAO.markAllAsRead(USER_ID));
+        assertEquals(0, notificationDAO.markAllAsRead(USER_ID));
+
+        assertEquals(0, notificationDAO.countUnread(USER_ID));
+        assertEquals(2, notificationDAO.countUnread(OTHER_USER_ID));
+        assertCounterMatches();
+    }
+
+    @Test
+    void deleteTakesUnreadNotificationsOffTheCount() throws Exception {
+        assertTrue(notificationDAO.deleteNotification("N1"));
+        assertTrue(notificationDAO.deleteNotification("N0"));
+        assertFalse(notificationDAO.deleteNotification("N1"));
+
+        assertEquals(2, notificationDAO.countUnread(USER_ID));
+        assertCounterMatches();
+    }
+
+    @Test
+    void archiveMovesOnlyReadNotificationsAndKeepsTheCount() throws Exception {
+        database.execute("UPDATE Notification SET created_at = TIMESTAMP '2020-01-01 00:00:00'");
+        Timestamp cutoff = Timestamp.valueOf("2021-01-01 00:00:00");
+
+        assertEquals(2, notificationDAO.archiveReadNotifications(cutoff, 2));
+        assertEquals(1, notificationDAO.archiveReadNotifications(cutoff, 2));
+        assertEquals(0, notificationDAO.archiveReadNotifications(cutoff, 2));
+
+        assertEquals(3, database.count("SELECT COUNT(*) FROM NotificationArchive"));
+        assertEquals(0, database.count("SELECT COUNT(*) FROM Notification WHERE is_read = TRUE"));
+        assertEquals(3, notificationDAO.countUnread(USER_ID));
+        assertCounterMatches();
+    }
+
+    @Test
+    void upgradeMigrationSeedsTheCounters() throws Exception {
+        // A database from before the feed tables, with the notifications already in it
+        database.execute("DROP TABLE notification_unread_count");
+        database.execute("DROP TABLE NotificationArchive");
+        database.execute("DROP INDEX idx_notification_user_feed");
+        database.execute("DROP INDEX idx_notification_read_created");
+
+        database.runMigration("002_notification_feed_tables.sql");
+
+        assertEquals(3, notificationDAO.countUnread(USER_ID));
+        assertEquals(2, notificationDAO.countUnread(OTHER_USER_ID));
+        assertTrue(notificationDAO.markAsRead("N1"));
+        assertCounterMatches();
+    }
+
+    private void assertCounterMatches() throws SQLException {
+        for (String userId : Arrays.asList(USER_ID, OTHER_USER_ID)) {
+            assertEquals(
+                database.count("SELECT COUNT(*) FROM Notification WHERE is_read = FALSE AND user_id = '" + userId + "'"),
+                database.count("SELECT unread FROM notification_unread_count WHERE user_id = '" + userId + "'"),
+                "unread count of " + userId);
+        }
+    }
+
+    private static Notification notification(String notificationId, String userId, boolean read) {
+        Notification notification = new Notification();
+        notification.setNotificationId(notificationId);
+        notification.setUserId(userId);
+        notification.setTitle("Title " + notificationId);
+        notification.setMessage("Message " + notificationId);
+        notification.setNotificationType("GENERAL");
+        notification.setRead(read);
+        return notification;
+    }
+}
@@ -0,0 +1,166 @@
+package com.flipfit.rest;
+
+import com.codahale.metrics.MetricRegistry;
+import com.flipfit.TestDatabase;
+import com.flipfit.bean.Booking;
+import com.flipfit.business.impl.BookingServiceImpl;
+import com.flipfit.config.AuthTokenConfiguration;
+import com.flipfit.enums.Role;
+import com.flipfit.utils.AuthTokens;
+import io.dropwizard.testing.junit5.DropwizardExtensionsSupport;
+import io.dropwizard.testing.junit5.ResourceExtension;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class AuthorizationResourceTest.
+ * The token filter and the resources together: missing and revoked
+ * tokens get 401 (expiry is covered by AuthTokensTest), a customer or
+ * owner acting on another one's IDs (including a booking ID in the path)
+ * gets 403, and the owner lists only show the caller's own entry, with
+ * an ETag that does not validate another caller's copy. The
+ * database is started before the resources are built, so the services
+ * they create use it.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName AuthorizationResourceTest
+ */
+@ExtendWith(DropwizardExtensionsSupport.class)
+class AuthorizationResourceTest {
+
+    private static final TestDatabase DATABASE = startDatabase();
+    private static final AuthTokens TOKENS = newTokens();
+
+    private static final ResourceExtension RESOURCES = ResourceExtension.builder()
+        .addProvider(new AuthTokenFilter(TOKENS))
+        .addResource(GymCustomerController::new)
+        .addResource(GymOwnerController::new)
+        .build();
+
+    private static final String SLOT_ID = "GYM1-S0";
+
+    @BeforeAll
+    static void seed() throws Exception {
+        DATABASE.addGym("GYM1");
+        DATABASE.addSlot("GYM1", SLOT_ID, LocalTime.of(7, 0), LocalTime.of(8, 0), 10);
+        DATABASE.addCustomer("CUSA");
+        DATABASE.addCustomer("CUSB");
+        DATABASE.addOwner("OWN1");
+    }
+
+    @AfterAll
+    static void close() throws Exception {
+        DATABASE.close();
+    }
+
+    @Test
+    void requestWithoutTokenIsUnauthorized() {
+        Response response = RESOURCES.target("/customer/bookings/CUSA").request().get();
+        assertEquals(401, response.getStatus());
+    }
+
+    @Test
+    void revokedTokenIsUnauthorized() {
+        AuthTokens.Claims claims = TOKENS.issue("UCUSA", Role.CUSTOMER, "CUSA");
+        String token = TOKENS.encode(claims);
+        assertEquals(200, get("/customer/bookings/CUSA", token).getStatus());
+
+        TOKENS.revoke(claims);
+
+        assertEquals(401, get("/customer/bookings/CUSA", token).getStatus());
+    }
+
+    @Test
+    void customerCannotReadAnotherCustomersBookings() {
+        assertEquals(403, get("/customer/bookings/CUSB", customerToken("CUSA")).getStatus());
+        assertEquals(403, get("/customer/notifications/CUSB", customerToken("CUSA")).getStatus());
+    }
+
+    @Test
+    void customerCannotCancelAnotherCustomersBooking() throws Exception {
+        Booking booking = new BookingServiceImpl().bookSlot("CUSB", SLOT_ID, LocalDate.now().plusDays(1));
+
+        assertEquals(403, delete("/customer/booking/" + booking.getBookingId(), customerToken("CUSA")).getStatus());
+        assertEquals(1, DATABASE.confirmedBookings(SLOT_ID, booking.getBookingDate()));
+
+        assertEquals(404, delete("/customer/booking/NOSUCHBOOKING", customerToken("CUSA")).getStatus());
+        assertEquals(200, delete("/customer/booking/" + booking.getBookingId(), customerToken("CUSB")).getStatus());
+        assertEquals(0, DATABASE.confirmedBookings(SLOT_ID, booking.getBookingDate()));
+    }
+
+    @Test
+    void ownerSeesOnlyTheirOwnEntry() {
+        String token = TOKENS.encode(TOKENS.issue("UOWN1", Role.GYM_OWNER, "OWN1"));
+
+        assertEquals(403, get("/owner/profile/" + TestDatabase.OWNER_ID, token).getStatus());
+        List<Map<String, Object>> owners = get("/owner/all", token)
+            .readEntity(new GenericType<List<Map<String, Object>>>() { });
+        assertEquals(1, owners.size());
+        assertEquals("OWN1", owners.get(0).get("ownerId"));
+
+        String admin = TOKENS.encode(TOKENS.issue("UADMIN", Role.ADMIN, null));
+        assertEquals(2, get("/owner/all", admin).readEntity(List.class).size());
+    }
+
+    @Test
+    void ownerListTagIsNotValidForAnotherCaller() {
+        String owner = TOKENS.encode(TOKENS.issue("UOWN1", Role.GYM_OWNER, "OWN1"));
+        String admin = TOKENS.encode(TOKENS.issue("UADMIN", Role.ADMIN, null));
+        String tag = get("/owner/all", owner).getHeaderString(HttpHeaders.ETAG);
+
+        assertEquals(304, revalidate("/owner/all", owner, tag).getStatus());
+        Response response = revalidate("/owner/all", admin, tag);
+        assertEquals(200, response.getStatus());
+        assertEquals(2, response.readEntity(List.class).size());
+    }
+
+    @Test
+    void customerCannotUseOwnerResources() {
+        assertEquals(403, get("/owner/all", customerToken("CUSA")).getStatus());
+    }
+
+    private static Response get(String path, String token) {
+        return RESOURCES.target(path).request().header(HttpHeaders.AUTHORIZATION, "Bearer " + token).get();
+    }
+
+    private static Response revalidate(String path, String token, String tag) {
+        return RESOURCES.target(path).request().header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+            .header(HttpHeaders.IF_NONE_MATCH, tag).get();
+    }
+
+    private static Response delete(String path, String token) {
+        return RESOURCES.target(path).request().header(HttpHeaders.AUTHORIZATION, "Bearer " + token).delete();
+    }
+
+    private static String customerToken(String customerId) {
+        return TOKENS.encode(TOKENS.issue("U" + customerId, Role.CUSTOMER, customerId));
+    }
+
+    private static TestDatabase startDatabase() {
+        try {
+            return TestDatabase.start();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static AuthTokens newTokens() {
+        AuthTokenConfiguration configuration = new AuthTokenConfiguration();
+        configuration.setRequired(true);
+        configuration.setSecret("0123456789abcdef0123456789abcdef");
+        return new AuthTokens(configuration, new MetricRegistry());
+    }
+}
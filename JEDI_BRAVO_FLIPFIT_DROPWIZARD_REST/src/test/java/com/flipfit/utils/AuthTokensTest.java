@@ -0,0 +1,113 @@
+package com.flipfit.utils;
+
+import com.codahale.metrics.MetricRegistry;
+import com.flipfit.config.AuthTokenConfiguration;
+import com.flipfit.enums.Role;
+import com.flipfit.exception.InvalidCredentialsException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class AuthTokensTest.
+ * Tokens round-trip their claims, and are rejected once expired, revoked,
+ * tampered with or signed with another secret. Required tokens refuse to
+ * start without a shared secret.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName AuthTokensTest
+ */
+class AuthTokensTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    @Test
+    void issuedTokenVerifies() throws Exception {
+        AuthTokens tokens = newTokens(SECRET);
+        AuthTokens.Claims issued = tokens.issue("U1", Role.CUSTOMER, "CUS1");
+
+        AuthTokens.Claims verified = tokens.verify(tokens.encode(issued));
+
+        assertEquals("U1", verified.getUserId());
+        assertEquals(Role.CUSTOMER, verified.getRole());
+        assertEquals("CUS1", verified.getSubjectId());
+        assertEquals(issued.getTokenId(), verified.getTokenId());
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        AuthTokens tokens = newTokens(SECRET);
+        long past = Instant.now().getEpochSecond() - 1;
+        String token = tokens.encode(new AuthTokens.Claims("U1", Role.CUSTOMER, "CUS1", past, "T1"));
+
+        InvalidCredentialsException e = assertThrows(InvalidCredentialsException.class, () -> tokens.verify(token));
+        assertEquals("Token expired", e.getMessage());
+    }
+
+    @Test
+    void revokedTokenIsRejected() throws Exception {
+        AuthTokens tokens = newTokens(SECRET);
+        AuthTokens.Claims claims = tokens.issue("U1", Role.CUSTOMER, "CUS1");
+        String token = tokens.encode(claims);
+        tokens.verify(token);
+
+        tokens.revoke(claims);
+
+        InvalidCredentialsException e = assertThrows(InvalidCredentialsException.class, () -> tokens.verify(token));
+        assertEquals("Token revoked", e.getMessage());
+        // Other tokens of the same user are unaffected
+        tokens.verify(tokens.encode(tokens.issue("U1", Role.CUSTOMER, "CUS1")));
+    }
+
+    @Test
+    void tamperedOrForeignTokenIsRejected() {
+        AuthTokens tokens = newTokens(SECRET);
+        String token = tokens.encode(tokens.issue("U1", Role.CUSTOMER, "CUS1"));
+        String admin = tokens.encode(tokens.issue("U1", Role.ADMIN, null));
+        // Customer payload with the admin token's signature
+        String tampered = token.substring(0, token.indexOf('.')) + admin.substring(admin.indexOf('.'));
+        String foreign = newTokens(SECRET.toUpperCase()).encode(tokens.issue("U1", Role.ADMIN, null));
+
+        assertThrows(InvalidCredentialsException.class, () -> tokens.verify(tampered));
+        assertThrows(InvalidCredentialsException.class, () -> tokens.verify(foreign));
+        assertThrows(InvalidCredentialsException.class, () -> tokens.verify("not-a-token"));
+    }
+
+    @Test
+    void onlyAdminsActForOthers() {
+        AuthTokens tokens = newTokens(SECRET);
+        AuthTokens.Claims customer = tokens.issue("U1", Role.CUSTOMER, "CUS1");
+        AuthTokens.Claims admin = tokens.issue("U2", Role.ADMIN, null);
+
+        assertTrue(customer.mayActFor("CUS1"));
+        assertFalse(customer.mayActFor("CUS2"));
+        assertFalse(customer.mayActFor(null));
+        assertTrue(admin.mayActFor("CUS2"));
+    }
+
+    @Test
+    void requiredTokensNeedASharedSecret() {
+        AuthTokenConfiguration configuration = new AuthTokenConfiguration();
+        configuration.setRequired(true);
+
+        assertThrows(IllegalArgumentException.class, () -> new AuthTokens(configuration, new MetricRegistry()));
+        configuration.setSecret("too-short");
+        assertThrows(IllegalArgumentException.class, () -> new AuthTokens(configuration, new MetricRegistry()));
+        configuration.setRequired(false);
+        configuration.setSecret("");
+        // Optional tokens may still use a per-process key
+        new AuthTokens(configuration, new MetricRegistry());
+    }
+
+    private static AuthTokens newTokens(String secret) {
+        AuthTokenConfiguration configuration = new AuthTokenConfiguration();
+        configuration.setSecret(secret);
+        return new AuthTokens(configuration, new MetricRegistry());
+    }
+}
@@ -0,0 +1,162 @@
+package com.flipfit.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class BookingLockManagerTest.
+ * Multi-key locking must not deadlock whatever order callers pass their
+ * keys in, must take a shared stripe only once, and must exclude callers
+ * that share a key. GLOBAL mode serializes every caller, STRIPED mode
+ * only callers whose keys share a stripe.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName BookingLockManagerTest
+ */
+class BookingLockManagerTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 15);
+
+    @Test
+    void oppositeKeyOrdersDoNotDeadlock() {
+        BookingLockManager manager = new BookingLockManager(BookingLockManager.Mode.STRIPED, 64);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            keys.add(BookingLockManager.slotDateKey("S" + i, DATE));
+            keys.add(BookingLockManager.customerDateKey("C" + i, DATE));
+        }
+        List<String> reversed = new ArrayList<>(keys);
+        Collections.reverse(reversed);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            ExecutorService pool = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    String[] order = (t % 2 == 0 ? keys : reversed).toArray(new String[0]);
+                    futures.add(pool.submit(() -> {
+                        for (int i = 0; i < 2_000; i++) {
+                            try (BookingLockManager.LockHandle ignored = manager.lock(order)) {
+                                Thread.yield();
+                            }
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+        });
+    }
+
+    @Test
+    void repeatedKeysAreReleasedFully() throws Exception {
+        BookingLockManager manager = new BookingLockManager(BookingLockManager.Mode.STRIPED, 16);
+        String key = BookingLockManager.slotDateKey("S1", DATE);
+        try (BookingLockManager.LockHandle ignored = manager.lock(key, key, key)) {
+            // One stripe, taken once
+        }
+        assertTrue(acquirableElsewhere(manager, key));
+    }
+
+    @Test
+    void sharedKeyExcludesOtherCallers() throws Exception {
+        BookingLockManager manager = new BookingLockManager(BookingLockManager.Mode.STRIPED, 16);
+        String key = BookingLockManager.slotDateKey("S1", DATE);
+        try (BookingLockManager.LockHandle ignored = manager.lock(key, BookingLockManager.customerDateKey("C1", DATE))) {
+            assertFalse(acquirableElsewhere(manager, key));
+        }
+        assertTrue(acquirableElsewhere(manager, key));
+    }
+
+    @Test
+    void globalModeSerializesUnrelatedKeys() throws Exception {
+        BookingLockManager manager = new BookingLockManager(BookingLockManager.Mode.GLOBAL, 256);
+        try (BookingLockManager.LockHandle ignored = manager.lock(BookingLockManager.slotDateKey("S1", DATE))) {
+            assertFalse(acquirableElsewhere(manager, BookingLockManager.slotDateKey("S2", DATE.plusDays(1))));
+        }
+    }
+
+    @Test
+    void stripedModeLetsUnrelatedKeysProceed() throws Exception {
+        BookingLockManager manager = new BookingLockManager(BookingLockManager.Mode.STRIPED, 1024);
+        try (BookingLockManager.LockHandle ignored = manager.lock(BookingLockManager.slotDateKey("S1", DATE))) {
+            assertTrue(acquirableElsewhere(manager, BookingLockManager.slotDateKey("S2", DATE.plusDays(1))));
+        }
+    }
+
+    @Test
+    void configureSwitchesTheSharedMode() {
+        try {
+            BookingLockManager.configure(BookingLockManager.Mode.GLOBAL, 256);
+            assertEquals(BookingLockManager.Mode.GLOBAL, BookingLockManager.getInstance().getMode());
+            BookingLockManager.configure(BookingLockManager.Mode.STRIPED, 256);
+            assertEquals(BookingLockManager.Mode.STRIPED, BookingLockManager.getInstance().getMode());
+        } finally {
+            BookingLockManager.configure(BookingLockManager.Mode.STRIPED, 256);
+        }
+    }
+
+    @Test
+    void stripedLocksKeepCountersConsistent() throws Exception {
+        BookingLockManager manager = new BookingLockManager(BookingLockManager.Mode.STRIPED, 8);
+        String[] keys = {
+            BookingLockManager.slotDateKey("S1", DATE),
+            BookingLockManager.customerDateKey("C1", DATE)
+        };
+        int[] counter = new int[1];
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        try (BookingLockManager.LockHandle ignored = manager.lock(keys)) {
+                            counter[0]++;
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(80_000, counter[0]);
+    }
+
+    /**
+     * Tries to take a key from another thread within a short wait. A waiter
+     * that times out takes and releases the lock once the caller lets go.
+     */
+    private static boolean acquirableElsewhere(BookingLockManager manager, String key) throws Exception {
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            try (BookingLockManager.LockHandle ignored = manager.lock(key)) {
+                acquired.countDown();
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return acquired.await(500, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,131 @@
+package com.flipfit.utils;
+
+import com.codahale.metrics.MetricRegistry;
+import com.flipfit.TestDatabase;
+import com.flipfit.bean.GymUser;
+import com.flipfit.config.EmailRegistryConfiguration;
+import com.flipfit.dao.GymUserDAO;
+import com.flipfit.dao.impl.GymUserDAOImpl;
+import com.flipfit.enums.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class EmailRegistryTest.
+ * Emails the filter has never seen are answered without the database; a
+ * possible hit always falls through to it, so a stale hit (a deleted
+ * user) is reported as a false positive rather than as registered. Checks
+ * go to the database until the filter is loaded, and registrations made
+ * through the DAO are seen straight away.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName EmailRegistryTest
+ */
+class EmailRegistryTest {
+
+    private TestDatabase database;
+    private MetricRegistry metrics;
+    private EmailRegistry registry;
+    private AtomicInteger queries;
+    private Predicate<String> emailExists;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        database = TestDatabase.start();
+        database.addCustomer("CUS0");
+        metrics = new MetricRegistry();
+        registry = new EmailRegistry(new EmailRegistryConfiguration(), metrics);
+        queries = new AtomicInteger();
+        GymUserDAO users = new GymUserDAOImpl();
+        emailExists = email -> {
+            queries.incrementAndGet();
+            return users.emailExists(email);
+        };
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Test
+    void checksGoToTheDatabaseUntilLoaded() {
+        assertTrue(registry.exists("ucus0@flipfit.com", emailExists));
+        assertFalse(registry.exists("nobody@flipfit.com", emailExists));
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    void unseenEmailIsAnsweredFromMemory() {
+        registry.rebuild();
+
+        assertFalse(registry.exists("nobody@flipfit.com", emailExists));
+        assertEquals(0, queries.get());
+        assertEquals(1, meter("negatives"));
+    }
+
+    @Test
+    void possibleHitFallsThroughToTheDatabase() {
+        registry.rebuild();
+
+        assertTrue(registry.exists("ucus0@flipfit.com", emailExists));
+        assertEquals(1, queries.get());
+        assertEquals(1, meter("possibleHits"));
+        assertEquals(0, meter("falsePositives"));
+    }
+
+    @Test
+    void hitTheDatabaseDeniesIsAFalsePositive() throws Exception {
+        addUser("UGONE", "gone@flipfit.com");
+        registry.rebuild();
+        database.execute("DELETE FROM User WHERE user_id = 'UGONE'");
+
+        assertFalse(registry.exists("gone@flipfit.com", emailExists));
+        assertEquals(1, queries.get());
+        assertEquals(1, meter("falsePositives"));
+    }
+
+    @Test
+    void nonAsciiEmailAlwaysGoesToTheDatabase() {
+        registry.rebuild();
+
+        assertFalse(registry.exists("nöbody@flipfit.com", emailExists));
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    void registrationThroughTheDaoIsSeen() {
+        EmailRegistry shared = EmailRegistry.getInstance();
+        shared.rebuild();
+        GymUserDAO users = DAOFactory.getGymUserDAO();
+        assertFalse(users.emailExists("new@flipfit.com"));
+
+        addUser("UNEW", "new@flipfit.com");
+
+        assertTrue(users.emailExists("new@flipfit.com"));
+        assertTrue(shared.exists("new@flipfit.com", email -> true));
+    }
+
+    private void addUser(String userId, String email) {
+        GymUser user = new GymUser();
+        user.setUserId(userId);
+        user.setName("User " + userId);
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setRole(Role.CUSTOMER);
+        assertTrue(DAOFactory.getGymUserDAO().insertUser(user));
+    }
+
+    private long meter(String name) {
+        return metrics.meter(MetricRegistry.name(EmailRegistry.class, name)).getCount();
+    }
+}
@@ -0,0 +1,110 @@
+package com.flipfit.utils;
+
+import com.codahale.metrics.MetricRegistry;
+import com.flipfit.TestDatabase;
+import com.flipfit.bean.Notification;
+import com.flipfit.config.NotificationRetentionConfiguration;
+import io.dropwizard.util.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class NotificationRetentionTest.
+ * A retention run archives read notifications past their retention in
+ * chunks of chunkSize, stops after maxChunksPerRun chunks or at the first
+ * short chunk, and leaves unread and recent notifications, and the unread
+ * count, alone.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName NotificationRetentionTest
+ */
+class NotificationRetentionTest {
+
+    private static final String USER_ID = "UCUS0";
+    private static final int EXPIRED = 5;
+
+    private TestDatabase database;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        database = TestDatabase.start();
+        database.addCustomer("CUS0");
+
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < EXPIRED; i++) {
+            notifications.add(notification("OLD" + i, true));
+        }
+        notifications.add(notification("OLD-UNREAD", false));
+        notifications.add(notification("NEW", true));
+        DAOFactory.getNotificationDAO().insertNotifications(notifications);
+        database.execute("UPDATE Notification SET created_at = TIMESTAMP '2020-01-01 00:00:00' WHERE notification_id LIKE 'OLD%'");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Test
+    void runArchivesExpiredReadNotificationsInChunks() throws Exception {
+        NotificationRetention retention = retention(2, 10);
+
+        assertEquals(EXPIRED, retention.archiveExpired());
+        assertEquals(EXPIRED, database.count("SELECT COUNT(*) FROM NotificationArchive"));
+        assertEquals(2, database.count("SELECT COUNT(*) FROM Notification"));
+        assertEquals(0, retention.archiveExpired());
+        assertUnreadCountKept();
+    }
+
+    @Test
+    void runStopsAfterMaxChunks() throws Exception {
+        NotificationRetention retention = retention(2, 2);
+
+        assertEquals(4, retention.archiveExpired());
+        assertEquals(1, retention.archiveExpired());
+        assertEquals(EXPIRED, database.count("SELECT COUNT(*) FROM NotificationArchive"));
+        assertUnreadCountKept();
+    }
+
+    @Test
+    void chunkSizedToTheBacklogEndsOnAnEmptyChunk() throws Exception {
+        NotificationRetention retention = retention(EXPIRED, 10);
+
+        assertEquals(EXPIRED, retention.archiveExpired());
+        assertEquals(2, database.count("SELECT COUNT(*) FROM Notification"));
+        assertUnreadCountKept();
+    }
+
+    private void assertUnreadCountKept() throws Exception {
+        assertEquals(1, database.count("SELECT unread FROM notification_unread_count WHERE user_id = '" + USER_ID + "'"));
+        assertEquals(1, database.count("SELECT COUNT(*) FROM Notification WHERE is_read = FALSE"));
+    }
+
+    private static NotificationRetention retention(int chunkSize, int maxChunksPerRun) {
+        NotificationRetentionConfiguration configuration = new NotificationRetentionConfiguration();
+        configuration.setEnabled(true);
+        configuration.setReadRetention(Duration.days(30));
+        configuration.setChunkSize(chunkSize);
+        configuration.setMaxChunksPerRun(maxChunksPerRun);
+        configuration.setChunkPause(Duration.milliseconds(0));
+        return new NotificationRetention(configuration, new MetricRegistry());
+    }
+
+    private static Notification notification(String notificationId, boolean read) {
+        Notification notification = new Notification();
+        notification.setNotificationId(notificationId);
+        notification.setUserId(USER_ID);
+        notification.setTitle("Title " + notificationId);
+        notification.setMessage("Message " + notificationId);
+        notification.setNotificationType("GENERAL");
+        notification.setRead(read);
+        return notification;
+    }
+}
@@ -0,0 +1,171 @@
+package com.flipfit.utils;
+
+import com.codahale.metrics.MetricRegistry;
+import com.flipfit.TestDatabase;
+import com.flipfit.business.BookingService;
+import com.flipfit.business.impl.BookingServiceImpl;
+import com.flipfit.config.SeatCounterCacheConfiguration;
+import com.flipfit.dao.BookingDAO;
+import com.flipfit.dao.GymSlotDAO;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class SeatCounterCacheTest.
+ * Counters are loaded once and then written through; a counter written
+ * while it loaded is not kept; a slow load blocks neither other keys nor
+ * readers of its own key; reconciliation repairs drift from
+ * slot_date_inventory; per-gym counts come from the inventory rows.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName SeatCounterCacheTest
+ */
+class SeatCounterCacheTest {
+
+    private static final LocalDate TOMORROW = LocalDate.now().plusDays(1);
+
+    @Test
+    void counterIsLoadedOnceAndWrittenThrough() {
+        SeatCounterCache cache = newCache();
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(3, cache.getBookedSeats("S1", TOMORROW, (slotId, date) -> loads.incrementAndGet() + 2));
+        cache.seatReserved("S1", TOMORROW);
+        cache.seatReserved("S1", TOMORROW);
+        cache.seatReleased("S1", TOMORROW);
+
+        assertEquals(4, cache.getBookedSeats("S1", TOMORROW, (slotId, date) -> loads.incrementAndGet()));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void counterWrittenDuringItsLoadIsNotKept() {
+        SeatCounterCache cache = newCache();
+        AtomicInteger loads = new AtomicInteger();
+
+        int first = cache.getBookedSeats("S1", TOMORROW, (slotId, date) -> {
+            loads.incrementAndGet();
+            // A booking lands after the query read 5
+            cache.seatReserved(slotId, date);
+            return 5;
+        });
+        int second = cache.getBookedSeats("S1", TOMORROW, (slotId, date) -> {
+            loads.incrementAndGet();
+            return 6;
+        });
+
+        assertEquals(5, first);
+        assertEquals(6, second);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void slowLoadBlocksNeitherOtherKeysNorItsOwnReaders() throws Exception {
+        SeatCounterCache cache = newCache();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> slow = pool.submit(() -> cache.getBookedSeats("S1", TOMORROW, (slotId, date) -> {
+                loading.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return 7;
+            }));
+            loading.await();
+
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                assertEquals(2, cache.getBookedSeats("S2", TOMORROW, (slotId, date) -> 2));
+                // Read through while S1 loads
+                assertEquals(8, cache.getBookedSeats("S1", TOMORROW, (slotId, date) -> 8));
+            });
+
+            release.countDown();
+            assertEquals(7, slow.get(5, TimeUnit.SECONDS));
+            assertEquals(7, cache.getBookedSeats("S1", TOMORROW, (slotId, date) -> -1));
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void pastDatesAreNotCached() {
+        SeatCounterCache cache = newCache();
+        AtomicInteger loads = new AtomicInteger();
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+
+        cache.getBookedSeats("S1", yesterday, (slotId, date) -> loads.incrementAndGet());
+        cache.getBookedSeats("S1", yesterday, (slotId, date) -> loads.incrementAndGet());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void reconcileCorrectsDriftFromInventory() throws Exception {
+        try (TestDatabase database = TestDatabase.start()) {
+            database.addGym("GYM1");
+            database.addSlot("GYM1", "GYM1-S0", LocalTime.of(7, 0), LocalTime.of(8, 0), 10);
+            database.addCustomer("CUS0");
+            BookingService bookingService = new BookingServiceImpl();
+            GymSlotDAO slotDAO = DAOFactory.getGymSlotDAO();
+
+            bookingService.bookSlot("CUS0", "GYM1-S0", TOMORROW);
+            assertEquals(1, slotDAO.getBookedSeatsOnDate("GYM1-S0", TOMORROW));
+
+            // Seats taken by another node
+            database.execute("UPDATE slot_date_inventory SET booked = 4 WHERE slot_id = 'GYM1-S0'");
+            assertEquals(1, slotDAO.getBookedSeatsOnDate("GYM1-S0", TOMORROW));
+
+            SeatCounterCache.getInstance().reconcile();
+            assertEquals(4, slotDAO.getBookedSeatsOnDate("GYM1-S0", TOMORROW));
+        }
+    }
+
+    @Test
+    void gymCountsComeFromInventoryRows() throws Exception {
+        try (TestDatabase database = TestDatabase.start()) {
+            database.addGym("GYM1");
+            database.addSlot("GYM1", "GYM1-S0", LocalTime.of(7, 0), LocalTime.of(8, 0), 10);
+            database.addSlot("GYM1", "GYM1-S1", LocalTime.of(9, 0), LocalTime.of(10, 0), 10);
+            database.addCustomer("CUS0");
+            BookingService bookingService = new BookingServiceImpl();
+            BookingDAO bookingDAO = DAOFactory.getBookingDAO();
+
+            bookingService.bookSlot("CUS0", "GYM1-S0", TOMORROW);
+            database.execute("UPDATE slot_date_inventory SET booked = 3 WHERE slot_id = 'GYM1-S0'");
+            // A booking row from before slot_date_inventory existed
+            database.execute("INSERT INTO Booking (booking_id, customer_id, slot_id, booking_date, booking_status) "
+                + "VALUES ('OLD1', 'CUS0', 'GYM1-S1', DATEADD('DAY', 2, CURRENT_DATE), 'CONFIRMED')");
+            // Counters loaded while booking would answer instead of the query
+            SeatCounterCache.getInstance().invalidateAll();
+
+            Map<LocalDate, Map<String, Integer>> counts =
+                bookingDAO.countBookingsForGymInDateRange("GYM1", TOMORROW, TOMORROW.plusDays(1));
+
+            assertEquals(3, counts.get(TOMORROW).get("GYM1-S0"));
+            assertEquals(1, counts.get(TOMORROW.plusDays(1)).get("GYM1-S1"));
+        }
+    }
+
+    private static SeatCounterCache newCache() {
+        return new SeatCounterCache(new SeatCounterCacheConfiguration(), new MetricRegistry());
+    }
+}
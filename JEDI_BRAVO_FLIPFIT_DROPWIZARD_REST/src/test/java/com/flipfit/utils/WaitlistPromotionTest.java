@@ -0,0 +1,168 @@
+package com.flipfit.utils;
+
+import com.flipfit.TestDatabase;
+import com.flipfit.bean.Booking;
+import com.flipfit.business.BookingService;
+import com.flipfit.business.impl.BookingServiceImpl;
+import com.flipfit.dao.WaitListDAO;
+import com.flipfit.enums.BookingStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class WaitlistPromotionTest.
+ * A cancellation hands its seat to the first customer waiting for the
+ * slot-date, inline while the engine is not started and through the
+ * worker (drained on stop) once it is. A promoted customer's overlapping
+ * booking in another slot is cancelled and its seat released, in the same
+ * transaction as the promoted booking.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName WaitlistPromotionTest
+ */
+class WaitlistPromotionTest {
+
+    private static final String GYM_ID = "GYM1";
+    /** 07:00 - 08:00, one seat. */
+    private static final String FULL_SLOT = "GYM1-S0";
+    /** 07:30 - 08:30, overlaps FULL_SLOT. */
+    private static final String OVERLAPPING_SLOT = "GYM1-S1";
+
+    private TestDatabase database;
+    private BookingService bookingService;
+    private WaitListDAO waitListDAO;
+    private LocalDate date;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        database = TestDatabase.start();
+        database.addGym(GYM_ID);
+        database.addSlot(GYM_ID, FULL_SLOT, LocalTime.of(7, 0), LocalTime.of(8, 0), 1);
+        database.addSlot(GYM_ID, OVERLAPPING_SLOT, LocalTime.of(7, 30), LocalTime.of(8, 30), 10);
+        for (String customerId : new String[] {"CUSA", "CUSB", "CUSC"}) {
+            database.addCustomer(customerId);
+        }
+        bookingService = new BookingServiceImpl();
+        waitListDAO = DAOFactory.getWaitListDAO();
+        date = LocalDate.now().plusDays(1);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        WaitlistEngine.getInstance().stop();
+        database.close();
+    }
+
+    @Test
+    void cancelPromotesFirstWaitingCustomerInline() throws Exception {
+        Booking held = bookingService.bookSlot("CUSA", FULL_SLOT, date);
+        assertTrue(bookingService.addToWaitList("CUSB", FULL_SLOT, date));
+        assertTrue(bookingService.addToWaitList("CUSC", FULL_SLOT, date));
+
+        bookingService.cancelBooking(held.getBookingId());
+
+        assertEquals(BookingStatus.CONFIRMED, statusOf("CUSB", FULL_SLOT));
+        assertEquals(1, database.confirmedBookings(FULL_SLOT, date));
+        assertEquals(1, database.inventoryBooked(FULL_SLOT, date));
+        assertFalse(waitListDAO.isCustomerInWaitlistByDate("CUSB", FULL_SLOT, date));
+        assertTrue(waitListDAO.isCustomerInWaitlistByDate("CUSC", FULL_SLOT, date));
+        assertEquals(0, WaitlistEngine.getInstance().getPendingSeats());
+    }
+
+    @Test
+    void joiningIsRefusedWhileSeatsAreFree() {
+        assertFalse(bookingService.addToWaitList("CUSB", FULL_SLOT, date));
+    }
+
+    @Test
+    void promotionCancelsOverlappingBooking() throws Exception {
+        Booking held = bookingService.bookSlot("CUSA", FULL_SLOT, date);
+        Booking overlapping = bookingService.bookSlot("CUSB", OVERLAPPING_SLOT, date);
+        assertTrue(bookingService.addToWaitList("CUSB", FULL_SLOT, date));
+
+        bookingService.cancelBooking(held.getBookingId());
+
+        assertEquals(BookingStatus.CONFIRMED, statusOf("CUSB", FULL_SLOT));
+        assertEquals(BookingStatus.CANCELLED, bookingService.getBookingById(overlapping.getBookingId()).getBookingStatus());
+        assertEquals(0, database.confirmedBookings(OVERLAPPING_SLOT, date));
+        assertEquals(0, database.inventoryBooked(OVERLAPPING_SLOT, date));
+        assertEquals(1, database.inventoryBooked(FULL_SLOT, date));
+    }
+
+    @Test
+    void failedOverlapCancelKeepsTheOverlappingBooking() throws Exception {
+        Booking held = bookingService.bookSlot("CUSA", FULL_SLOT, date);
+        Booking overlapping = bookingService.bookSlot("CUSB", OVERLAPPING_SLOT, date);
+        assertTrue(bookingService.addToWaitList("CUSB", FULL_SLOT, date));
+        // Releasing the overlapping booking's seat now fails inside the promotion transaction
+        database.execute("ALTER TABLE slot_date_inventory ADD CONSTRAINT keep_overlapping_seat CHECK (slot_id <> '"
+            + OVERLAPPING_SLOT + "' OR booked > 0)");
+
+        bookingService.cancelBooking(held.getBookingId());
+
+        assertNull(statusOf("CUSB", FULL_SLOT));
+        assertEquals(BookingStatus.CONFIRMED, bookingService.getBookingById(overlapping.getBookingId()).getBookingStatus());
+        assertEquals(1, database.inventoryBooked(OVERLAPPING_SLOT, date));
+        assertEquals(0, database.confirmedBookings(FULL_SLOT, date));
+        assertEquals(0, database.inventoryBooked(FULL_SLOT, date));
+        assertFalse(waitListDAO.isCustomerInWaitlistByDate("CUSB", FULL_SLOT, date));
+    }
+
+    @Test
+    void stopDrainsSeatsHandedToTheWorker() throws Exception {
+        WaitlistEngine engine = WaitlistEngine.getInstance();
+        Booking held = bookingService.bookSlot("CUSA", FULL_SLOT, date);
+        assertTrue(bookingService.addToWaitList("CUSB", FULL_SLOT, date));
+        engine.start();
+
+        bookingService.cancelBooking(held.getBookingId());
+        assertTimeoutPreemptively(Duration.ofSeconds(30), engine::stop);
+
+        assertEquals(0, engine.getPendingSeats());
+        assertEquals(BookingStatus.CONFIRMED, statusOf("CUSB", FULL_SLOT));
+        assertEquals(1, database.confirmedBookings(FULL_SLOT, date));
+        assertEquals(1, database.inventoryBooked(FULL_SLOT, date));
+    }
+
+    @Test
+    void startSeedsQueuesFromTheDatabase() throws Exception {
+        Booking held = bookingService.bookSlot("CUSA", FULL_SLOT, date);
+        assertTrue(bookingService.addToWaitList("CUSB", FULL_SLOT, date));
+
+        // A restarted node: fresh engine, same database
+        WaitlistEngine engine = WaitlistEngine.configure(database.getConfiguration().getWaitlistEngine(), database.getMetrics());
+        BookingService restarted = new BookingServiceImpl();
+        engine.start();
+        assertEquals(1, engine.getQueueDepth());
+
+        restarted.cancelBooking(held.getBookingId());
+        assertTimeoutPreemptively(Duration.ofSeconds(30), engine::stop);
+
+        assertEquals(BookingStatus.CONFIRMED, statusOf("CUSB", FULL_SLOT));
+        assertEquals(1, database.inventoryBooked(FULL_SLOT, date));
+    }
+
+    /**
+     * Gets the status of the customer's confirmed booking of a slot on the test date, or null.
+     */
+    private BookingStatus statusOf(String customerId, String slotId) {
+        for (Booking booking : bookingService.viewMyBookings(customerId)) {
+            if (booking.getSlotId().equals(slotId) && booking.getBookingDate().equals(date)) {
+                return booking.getBookingStatus();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,172 @@
+-- FlipFit schema for the in-process H2 test database (MODE=MySQL).
+-- Mirrors JEDI_BRAVO_FLIPFIT_PROJECT_DEVELOPMENT_POS_DAO/flipfit_schema.sql for the
+-- tables on the booking path: same keys, constraints and indexes. Payment,
+-- Registration and the views are left out.
+
+CREATE TABLE Role (
+    role_id INT PRIMARY KEY AUTO_INCREMENT,
+    role_name VARCHAR(50) NOT NULL UNIQUE,
+    description VARCHAR(255),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE User (
+    user_id VARCHAR(50) PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    email VARCHAR(100) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    address VARCHAR(255),
+    phone_number VARCHAR(15),
+    role_id INT NOT NULL,
+    is_active BOOLEAN DEFAULT TRUE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (role_id) REFERENCES Role(role_id) ON DELETE RESTRICT
+);
+
+CREATE TABLE GymOwner (
+    owner_id VARCHAR(50) PRIMARY KEY,
+    user_id VARCHAR(50) NOT NULL,
+    pan_card VARCHAR(20) UNIQUE,
+    aadhar_card VARCHAR(20) UNIQUE,
+    gst_number VARCHAR(20),
+    is_approved BOOLEAN DEFAULT FALSE,
+    approval_date TIMESTAMP NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES User(user_id) ON DELETE CASCADE
+);
+
+CREATE TABLE GymCustomer (
+    customer_id VARCHAR(50) PRIMARY KEY,
+    user_id VARCHAR(50) NOT NULL,
+    date_of_birth DATE,
+    fitness_goal VARCHAR(255),
+    membership_start_date DATE,
+    membership_end_date DATE,
+    is_premium BOOLEAN DEFAULT FALSE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES User(user_id) ON DELETE CASCADE
+);
+
+CREATE TABLE GymCenter (
+    gym_id VARCHAR(50) PRIMARY KEY,
+    owner_id VARCHAR(50) NOT NULL,
+    gym_name VARCHAR(100) NOT NULL,
+    gym_address VARCHAR(255) NOT NULL,
+    city VARCHAR(100),
+    state VARCHAR(100),
+    pincode VARCHAR(10),
+    phone_number VARCHAR(15),
+    email VARCHAR(100),
+    total_slots INT DEFAULT 0,
+    -- WGS84 position for the nearby-gyms search; existing databases need
+    -- ALTER TABLE GymCenter ADD COLUMN latitude DOUBLE NULL, ADD COLUMN longitude DOUBLE NULL
+    latitude DOUBLE NULL,
+    longitude DOUBLE NULL,
+    is_approved BOOLEAN DEFAULT FALSE,
+    approval_date TIMESTAMP NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (owner_id) REFERENCES GymOwner(owner_id) ON DELETE CASCADE
+);
+
+CREATE TABLE GymSlot (
+    slot_id VARCHAR(50) PRIMARY KEY,
+    gym_id VARCHAR(50) NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    total_seats INT NOT NULL,
+    available_seats INT NOT NULL,
+    price DECIMAL(10, 2) DEFAULT 0.00,
+    is_active BOOLEAN DEFAULT TRUE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (gym_id) REFERENCES GymCenter(gym_id) ON DELETE CASCADE,
+    CONSTRAINT check_seats CHECK (available_seats >= 0 AND available_seats <= total_seats),
+    CONSTRAINT check_time CHECK (start_time < end_time)
+);
+
+CREATE TABLE Booking (
+    booking_id VARCHAR(50) PRIMARY KEY,
+    customer_id VARCHAR(50) NOT NULL,
+    slot_id VARCHAR(50) NOT NULL,
+    booking_date DATE NOT NULL,
+    booking_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    booking_status ENUM('CONFIRMED', 'CANCELLED', 'PENDING', 'COMPLETED') DEFAULT 'PENDING',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (customer_id) REFERENCES GymCustomer(customer_id) ON DELETE CASCADE,
+    FOREIGN KEY (slot_id) REFERENCES GymSlot(slot_id) ON DELETE CASCADE,
+    CONSTRAINT unique_booking UNIQUE (customer_id, slot_id, booking_date)
+);
+
+CREATE TABLE slot_date_inventory (
+    slot_id VARCHAR(50) NOT NULL,
+    booking_date DATE NOT NULL,
+    capacity INT NOT NULL,
+    booked INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (slot_id, booking_date),
+    FOREIGN KEY (slot_id) REFERENCES GymSlot(slot_id) ON DELETE CASCADE,
+    CHECK (booked >= 0)
+);
+
+CREATE TABLE WaitList (
+    waitlist_id VARCHAR(50) PRIMARY KEY,
+    customer_id VARCHAR(50) NOT NULL,
+    slot_id VARCHAR(50) NOT NULL,
+    requested_date DATE NOT NULL,
+    priority INT DEFAULT 0,
+    status ENUM('WAITING', 'ALLOCATED', 'EXPIRED', 'CANCELLED') DEFAULT 'WAITING',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (customer_id) REFERENCES GymCustomer(customer_id) ON DELETE CASCADE,
+    FOREIGN KEY (slot_id) REFERENCES GymSlot(slot_id) ON DELETE CASCADE
+);
+
+CREATE TABLE Notification (
+    notification_id VARCHAR(50) PRIMARY KEY,
+    user_id VARCHAR(50) NOT NULL,
+    title VARCHAR(100) NOT NULL,
+    message TEXT NOT NULL,
+    notification_type ENUM('BOOKING', 'PAYMENT', 'APPROVAL', 'CANCELLATION', 'REMINDER', 'GENERAL', 'PROMOTION') NOT NULL,
+    is_read BOOLEAN DEFAULT FALSE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES User(user_id) ON DELETE CASCADE
+);
+
+CREATE TABLE notification_unread_count (
+    user_id VARCHAR(50) PRIMARY KEY,
+    unread INT NOT NULL DEFAULT 0,
+    FOREIGN KEY (user_id) REFERENCES User(user_id) ON DELETE CASCADE
+);
+
+CREATE TABLE NotificationArchive (
+    notification_id VARCHAR(50) PRIMARY KEY,
+    user_id VARCHAR(50) NOT NULL,
+    title VARCHAR(100) NOT NULL,
+    message TEXT NOT NULL,
+    notification_type VARCHAR(20) NOT NULL,
+    is_read BOOLEAN NOT NULL,
+    created_at TIMESTAMP NULL,
+    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO Role (role_name, description) VALUES
+('ADMIN', 'System Administrator with full access'),
+('GYM_OWNER', 'Gym owner who manages gym centers'),
+('CUSTOMER', 'Customer who books gym slots');
+
+CREATE INDEX idx_user_email ON User(email);
+CREATE INDEX idx_user_role ON User(role_id);
+CREATE INDEX idx_gym_owner ON GymCenter(owner_id);
+CREATE INDEX idx_gym_city ON GymCenter(city);
+CREATE INDEX idx_booking_customer ON Booking(customer_id);
+CREATE INDEX idx_booking_slot ON Booking(slot_id);
+CREATE INDEX idx_booking_date ON Booking(booking_date);
+CREATE INDEX idx_booking_status ON Booking(booking_status);
+CREATE INDEX idx_booking_slot_date ON Booking(slot_id, booking_date, booking_status);
+CREATE INDEX idx_booking_customer_history ON Booking(customer_id, booking_status, booking_date, booking_id);
+CREATE INDEX idx_inventory_date ON slot_date_inventory(booking_date);
+CREATE INDEX idx_notification_user ON Notification(user_id);
+CREATE INDEX idx_notification_read ON Notification(is_read);
+CREATE INDEX idx_notification_user_feed ON Notification(user_id, is_read, created_at, notification_id);
+CREATE INDEX idx_notification_read_created ON Notification(is_read, created_at);
+CREATE INDEX idx_notification_archive_user ON NotificationArchive(user_id);
@@ -10,6 +10,8 @@ import com.flipfit.helper.DataStore;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class BookingServiceImpl implements BookingService {
@@ -119,11 +121,7 @@ public class BookingServiceImpl implements BookingService {
 	}
 
 	private boolean hasCapacity(GymSlot slot, LocalDate date) {
-		long bookedCount = DataStore.getAllBookings().stream()
-				.filter(b -> b.getGymSlot() != null && slot.getSlotId().equals(b.getGymSlot().getSlotId()))
-				.filter(b -> b.getDateAndTime() != null && b.getDateAndTime().startsWith(date.toString()))
-				.count();
-		return bookedCount < slot.getTotalSeats();
+		return DataStore.getBookedSeats(slot.getSlotId(), date) < slot.getTotalSeats();
 	}
 
 	private void promoteWaitlisted(GymSlot slot) {
@@ -145,13 +143,16 @@ public class BookingServiceImpl implements BookingService {
 		return null;
 	}
 
+	// Walks the center's slots by start time from the requested one, so only the full slots in between are looked at
 	private LocalTime nearestTimeSlot(GymCenter center, LocalDate date, LocalTime requestedStartTime) {
-		return center.getCenterSlot().stream()
-				.filter(slot -> slot.getStartTime().isAfter(requestedStartTime))
-				.filter(slot -> hasCapacity(slot, date))
-				.sorted((s1, s2) -> s1.getStartTime().compareTo(s2.getStartTime()))
-				.map(GymSlot::getStartTime)
-				.findFirst()
-				.orElse(null); // Returns null if no later slot has capacity
+		for (Map.Entry<LocalTime, List<GymSlot>> entry : DataStore.getSlotsByStartTime(center.getCenterId())
+				.tailMap(requestedStartTime, false).entrySet()) {
+			for (GymSlot slot : entry.getValue()) {
+				if (hasCapacity(slot, date)) {
+					return entry.getKey();
+				}
+			}
+		}
+		return null; // Returns null if no later slot has capacity
 	}
 }
@@ -28,6 +28,7 @@ public class GymOwnerServiceImpl implements GymOwnerService {
 		GymCenter center = DataStore.getCenter(centerId);
 		if (center != null) {
 			center.getCenterSlot().add(slot);
+			DataStore.reindexSlots(centerId);
 		}
 	}
 	@Override
@@ -67,6 +68,8 @@ public class GymOwnerServiceImpl implements GymOwnerService {
                 	slot.setAvailableSeats(availableSeats);
             	}
 
+            	DataStore.reindexSlots(centerId);
+
             	System.out.println("Slot modified successfully");
             	return;
         	}
@@ -8,7 +8,9 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import com.flipfit.bean.GymCenter;
@@ -28,6 +30,9 @@ public final class DataStore {
 	private static final Map<String, GymCenter> CENTERS = new HashMap<>();
 	private static final Map<String, Booking> BOOKINGS = new HashMap<>();
 	private static final Map<String, List<Booking>> WAITLIST = new HashMap<>();
+	// Slots of each center by start time, and seats taken per slot and date
+	private static final Map<String, NavigableMap<LocalTime, List<GymSlot>>> SLOT_TIMES = new HashMap<>();
+	private static final Map<String, Integer> BOOKED_SEATS = new HashMap<>();
 
 	private static final AtomicInteger CENTER_SEQ = new AtomicInteger(100);
 	private static final AtomicInteger SLOT_SEQ = new AtomicInteger(200);
@@ -88,7 +93,7 @@ public final class DataStore {
 		bellandur.setCenterLocn("Bellandur");
 		bellandur.setOwnerId("owner1");
 		bellandur.setCenterSlot(defaultSlots());
-		CENTERS.put(bellandur.getCenterId(), bellandur);
+		addCenter(bellandur);
 
 		GymCenter koramangala = new GymCenter();
 		koramangala.setCenterId("C2");
@@ -96,7 +101,7 @@ public final class DataStore {
 		koramangala.setCenterLocn("Koramangala");
 		koramangala.setOwnerId("owner1");
 		koramangala.setCenterSlot(defaultSlots());
-		CENTERS.put(koramangala.getCenterId(), koramangala);
+		addCenter(koramangala);
 	}
 
 	private static List<GymSlot> defaultSlots() {
@@ -144,6 +149,32 @@ public final class DataStore {
 
 	public static void addCenter(GymCenter center) {
 		CENTERS.put(center.getCenterId(), center);
+		reindexSlots(center.getCenterId());
+	}
+
+	/**
+	 * Rebuilds the start-time index of a center; call after its slots were
+	 * added or their times changed.
+	 */
+	public static void reindexSlots(String centerId) {
+		GymCenter center = CENTERS.get(centerId);
+		if (center == null || center.getCenterSlot() == null) {
+			SLOT_TIMES.remove(centerId);
+			return;
+		}
+		NavigableMap<LocalTime, List<GymSlot>> index = new TreeMap<>();
+		for (GymSlot slot : center.getCenterSlot()) {
+			index.computeIfAbsent(slot.getStartTime(), k -> new ArrayList<>()).add(slot);
+		}
+		SLOT_TIMES.put(centerId, index);
+	}
+
+	public static NavigableMap<LocalTime, List<GymSlot>> getSlotsByStartTime(String centerId) {
+		return SLOT_TIMES.getOrDefault(centerId, new TreeMap<>());
+	}
+
+	public static int getBookedSeats(String slotId, LocalDate date) {
+		return BOOKED_SEATS.getOrDefault(slotId + " " + date, 0);
 	}
 
 	public static Collection<Booking> getAllBookings() {
@@ -155,11 +186,25 @@ public final class DataStore {
 	}
 
 	public static void saveBooking(Booking booking) {
-		BOOKINGS.put(booking.getBookingId(), booking);
+		Booking previous = BOOKINGS.put(booking.getBookingId(), booking);
+		countSeat(previous, -1);
+		countSeat(booking, 1);
 	}
 
 	public static Booking removeBooking(String bookingId) {
-		return BOOKINGS.remove(bookingId);
+		Booking removed = BOOKINGS.remove(bookingId);
+		countSeat(removed, -1);
+		return removed;
+	}
+
+	// dateAndTime is "yyyy-MM-dd HH:mm", so the date is its first ten characters
+	private static void countSeat(Booking booking, int change) {
+		if (booking == null || booking.getGymSlot() == null || booking.getDateAndTime() == null
+				|| booking.getDateAndTime().length() < 10) {
+			return;
+		}
+		String key = booking.getGymSlot().getSlotId() + " " + booking.getDateAndTime().substring(0, 10);
+		BOOKED_SEATS.merge(key, change, (a, b) -> a + b > 0 ? a + b : null);
 	}
 
 	public static void addToWaitlist(String slotId, Booking booking) {
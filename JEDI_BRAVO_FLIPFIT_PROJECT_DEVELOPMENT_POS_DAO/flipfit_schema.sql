@@ -83,6 +83,10 @@ CREATE TABLE GymCenter (
     phone_number VARCHAR(15),
     email VARCHAR(100),
     total_slots INT DEFAULT 0,
+    -- WGS84 position for the nearby-gyms search; existing databases need
+    -- ALTER TABLE GymCenter ADD COLUMN latitude DOUBLE NULL, ADD COLUMN longitude DOUBLE NULL
+    latitude DOUBLE NULL,
+    longitude DOUBLE NULL,
     is_approved BOOLEAN DEFAULT FALSE,
     approval_date TIMESTAMP NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
@@ -127,6 +131,22 @@ CREATE TABLE Booking (
     CONSTRAINT unique_booking UNIQUE (customer_id, slot_id, booking_date)
 );
 
+-- ============================================
+-- Table: slot_date_inventory
+-- Description: Seats taken per slot per date; bookings reserve with
+--              UPDATE ... SET booked = booked + 1 WHERE booked < capacity.
+--              Rows are created on first use from GymSlot.total_seats.
+-- ============================================
+CREATE TABLE slot_date_inventory (
+    slot_id VARCHAR(50) NOT NULL,
+    booking_date DATE NOT NULL,
+    capacity INT NOT NULL,
+    booked INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (slot_id, booking_date),
+    FOREIGN KEY (slot_id) REFERENCES GymSlot(slot_id) ON DELETE CASCADE,
+    CHECK (booked >= 0)
+);
+
 -- ============================================
 -- Table: Payment
 -- Description: Stores payment transaction information
@@ -170,12 +190,43 @@ CREATE TABLE Notification (
     user_id VARCHAR(50) NOT NULL,
     title VARCHAR(100) NOT NULL,
     message TEXT NOT NULL,
-    notification_type ENUM('BOOKING', 'PAYMENT', 'APPROVAL', 'CANCELLATION', 'REMINDER', 'GENERAL') NOT NULL,
+    -- PROMOTION is sent when a waitlisted customer gets a seat; existing databases
+    -- are upgraded by migrations/001_notification_promotion_type.sql
+    notification_type ENUM('BOOKING', 'PAYMENT', 'APPROVAL', 'CANCELLATION', 'REMINDER', 'GENERAL', 'PROMOTION') NOT NULL,
     is_read BOOLEAN DEFAULT FALSE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (user_id) REFERENCES User(user_id) ON DELETE CASCADE
 );
 
+-- ============================================
+-- Table: notification_unread_count
+-- Description: Unread notifications per user, kept in the same transaction
+--              as every insert or mark-as-read on Notification.
+--              Existing databases get it, seeded from Notification, from
+--              migrations/002_notification_feed_tables.sql.
+-- ============================================
+CREATE TABLE notification_unread_count (
+    user_id VARCHAR(50) PRIMARY KEY,
+    unread INT NOT NULL DEFAULT 0,
+    FOREIGN KEY (user_id) REFERENCES User(user_id) ON DELETE CASCADE
+);
+
+-- ============================================
+-- Table: NotificationArchive
+-- Description: Read notifications moved out of Notification by the
+--              retention job once they are past their retention.
+-- ============================================
+CREATE TABLE NotificationArchive (
+    notification_id VARCHAR(50) PRIMARY KEY,
+    user_id VARCHAR(50) NOT NULL,
+    title VARCHAR(100) NOT NULL,
+    message TEXT NOT NULL,
+    notification_type VARCHAR(20) NOT NULL,
+    is_read BOOLEAN NOT NULL,
+    created_at TIMESTAMP NULL,
+    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
 -- ============================================
 -- Table: Registration
 -- Description: Stores registration requests
@@ -223,6 +274,11 @@ CREATE INDEX idx_booking_customer ON Booking(customer_id);
 CREATE INDEX idx_booking_slot ON Booking(slot_id);
 CREATE INDEX idx_booking_date ON Booking(booking_date);
 CREATE INDEX idx_booking_status ON Booking(booking_status);
+CREATE INDEX idx_booking_slot_date ON Booking(slot_id, booking_date, booking_status);
+CREATE INDEX idx_booking_customer_history ON Booking(customer_id, booking_status, booking_date, booking_id);
+
+-- slot_date_inventory table indexes (seat counter reconciliation reads by date)
+CREATE INDEX idx_inventory_date ON slot_date_inventory(booking_date);
 
 -- Payment table indexes
 CREATE INDEX idx_payment_booking ON Payment(booking_id);
@@ -232,6 +288,9 @@ CREATE INDEX idx_payment_status ON Payment(payment_status);
 -- Notification table indexes
 CREATE INDEX idx_notification_user ON Notification(user_id);
 CREATE INDEX idx_notification_read ON Notification(is_read);
+CREATE INDEX idx_notification_user_feed ON Notification(user_id, is_read, created_at, notification_id);
+CREATE INDEX idx_notification_read_created ON Notification(is_read, created_at);
+CREATE INDEX idx_notification_archive_user ON NotificationArchive(user_id);
 
 -- ============================================
 -- Create Views
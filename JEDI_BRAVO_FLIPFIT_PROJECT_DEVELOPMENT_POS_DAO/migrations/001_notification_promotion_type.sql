@@ -0,0 +1,11 @@
+-- ============================================
+-- Migration 001: Notification type PROMOTION
+-- Description: The waitlist engine tells a promoted customer with a
+--              PROMOTION notification. Databases created from an older
+--              flipfit_schema.sql reject that value in strict mode.
+-- Run once against an existing Flipfit_schema database; new databases already have it.
+-- ============================================
+USE Flipfit_schema;
+
+ALTER TABLE Notification
+    MODIFY notification_type ENUM('BOOKING', 'PAYMENT', 'APPROVAL', 'CANCELLATION', 'REMINDER', 'GENERAL', 'PROMOTION') NOT NULL;
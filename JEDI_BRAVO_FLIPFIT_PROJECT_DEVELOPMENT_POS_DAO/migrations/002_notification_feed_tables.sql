@@ -0,0 +1,37 @@
+-- ============================================
+-- Migration 002: Unread counters, notification archive and feed indexes
+-- Description: Adds the tables and indexes of the paged notification feed
+--              to a database created from an older flipfit_schema.sql, and
+--              seeds every user's unread counter from their unread
+--              notifications. The counters are only adjusted by later
+--              writes, so a user without a seeded row would show 0 forever.
+-- Run once against an existing Flipfit_schema database, before starting the
+-- version that reads the counters; new databases already have all of it.
+-- ============================================
+USE Flipfit_schema;
+
+CREATE TABLE IF NOT EXISTS notification_unread_count (
+    user_id VARCHAR(50) PRIMARY KEY,
+    unread INT NOT NULL DEFAULT 0,
+    FOREIGN KEY (user_id) REFERENCES User(user_id) ON DELETE CASCADE
+);
+
+-- Overwrites rows written meanwhile, so the counters match Notification afterwards
+INSERT INTO notification_unread_count (user_id, unread)
+SELECT user_id, COUNT(*) FROM Notification WHERE is_read = FALSE GROUP BY user_id
+ON DUPLICATE KEY UPDATE unread = VALUES(unread);
+
+CREATE TABLE IF NOT EXISTS NotificationArchive (
+    notification_id VARCHAR(50) PRIMARY KEY,
+    user_id VARCHAR(50) NOT NULL,
+    title VARCHAR(100) NOT NULL,
+    message TEXT NOT NULL,
+    notification_type VARCHAR(20) NOT NULL,
+    is_read BOOLEAN NOT NULL,
+    created_at TIMESTAMP NULL,
+    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_notification_user_feed ON Notification(user_id, is_read, created_at, notification_id);
+CREATE INDEX idx_notification_read_created ON Notification(is_read, created_at);
+CREATE INDEX idx_notification_archive_user ON NotificationArchive(user_id);
@@ -12,6 +12,21 @@ public class DatabaseConstants {
     // Database driver
     public static final String DB_DRIVER = "com.mysql.cj.jdbc.Driver";
     
+    // Connection pool sizing
+    public static final int POOL_MIN_SIZE = 2;
+    public static final int POOL_MAX_SIZE = 10;
+    
+    // Maximum time to wait for a free pooled connection
+    public static final long POOL_CONNECTION_TIMEOUT_MS = 2000;
+    
+    // Idle connections older than this are validated before being handed out
+    public static final long POOL_VALIDATION_INTERVAL_MS = 30000;
+    public static final String POOL_VALIDATION_QUERY = "SELECT 1";
+    
+    // Driver-side prepared statement caching
+    public static final String DB_PROPERTIES = 
+        "cachePrepStmts=true&prepStmtCacheSize=250&prepStmtCacheSqlLimit=2048&useServerPrepStmts=true";
+    
     // Private constructor to prevent instantiation
     private DatabaseConstants() {
         throw new UnsupportedOperationException("This is a constants class and cannot be instantiated");
@@ -4,7 +4,7 @@ import com.flipfit.bean.GymOwner;
 import com.flipfit.bean.GymCenter;
 import com.flipfit.dao.GymAdminDAO;
 import com.flipfit.dao.GymOwnerDAO;
-import com.flipfit.constants.DatabaseConstants;
+import com.flipfit.utils.DBConnection;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -25,14 +25,10 @@ public class GymAdminDAOImpl implements GymAdminDAO {
     }
     
     /**
-     * Get database connection
+     * Get database connection from the shared connection pool
      */
     private Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(
-            DatabaseConstants.DB_URL,
-            DatabaseConstants.DB_USER,
-            DatabaseConstants.DB_PASSWORD
-        );
+        return DBConnection.getConnection();
     }
     
     @Override
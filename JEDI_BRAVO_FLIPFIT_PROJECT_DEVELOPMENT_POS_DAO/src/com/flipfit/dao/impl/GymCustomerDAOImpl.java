@@ -3,7 +3,7 @@ package com.flipfit.dao.impl;
 import com.flipfit.bean.GymUser;
 import com.flipfit.dao.GymCustomerDAO;
 import com.flipfit.dao.GymUserDAO;
-import com.flipfit.constants.DatabaseConstants;
+import com.flipfit.utils.DBConnection;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -23,14 +23,10 @@ public class GymCustomerDAOImpl implements GymCustomerDAO {
     }
     
     /**
-     * Get database connection
+     * Get database connection from the shared connection pool
      */
     private Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(
-            DatabaseConstants.DB_URL,
-            DatabaseConstants.DB_USER,
-            DatabaseConstants.DB_PASSWORD
-        );
+        return DBConnection.getConnection();
     }
     
     @Override
@@ -0,0 +1,410 @@
+package com.flipfit.utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// TODO: Auto-generated Javadoc
+/**
+ * The Class ConnectionPool.
+ * A small bounded JDBC connection pool used by {@link DBConnection}.
+ * Connections handed out are proxies; calling close() on them returns the
+ * underlying physical connection to the pool instead of closing it.
+ *
+ * @author JEDI-BRAVO
+ * @ClassName ConnectionPool
+ */
+public class ConnectionPool {
+
+    /** The JDBC URL including driver properties. */
+    private final String url;
+
+    /** The database user. */
+    private final String user;
+
+    /** The database password. */
+    private final String password;
+
+    /** The maximum number of physical connections. */
+    private final int maxSize;
+
+    /** The maximum time in milliseconds to wait for a free connection. */
+    private final long connectionTimeoutMs;
+
+    /** Idle connections older than this are validated before reuse. */
+    private final long validationIntervalMs;
+
+    /** The query used to validate idle connections. */
+    private final String validationQuery;
+
+    /** Idle physical connections, most recently used first. */
+    private final BlockingDeque<PooledEntry> idle = new LinkedBlockingDeque<>();
+
+    /** The number of physical connections currently open. */
+    private final AtomicInteger total = new AtomicInteger();
+
+    /** The number of connections currently borrowed. */
+    private final AtomicInteger active = new AtomicInteger();
+
+    /** The number of callers currently waiting for a connection. */
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    /** The number of successful acquisitions. */
+    private final LongAdder acquireCount = new LongAdder();
+
+    /** The total time spent acquiring connections, in nanoseconds. */
+    private final LongAdder acquireNanos = new LongAdder();
+
+    /** Whether the pool has been shut down. */
+    private volatile boolean shutdown;
+
+    /**
+     * Instantiates a new connection pool.
+     *
+     * @param url the JDBC URL
+     * @param user the database user
+     * @param password the database password
+     * @param minSize the number of connections opened eagerly
+     * @param maxSize the maximum number of connections
+     * @param connectionTimeoutMs the maximum wait for a free connection
+     * @param validationIntervalMs the idle time after which a connection is validated
+     * @param validationQuery the validation query
+     * @throws SQLException if the initial connections cannot be opened
+     */
+    public ConnectionPool(String url, String user, String password, int minSize, int maxSize,
+                          long connectionTimeoutMs, long validationIntervalMs, String validationQuery)
+            throws SQLException {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.connectionTimeoutMs = connectionTimeoutMs;
+        this.validationIntervalMs = validationIntervalMs;
+        this.validationQuery = validationQuery;
+
+        // Warm up the minimum number of connections; fail fast if the database is unreachable
+        for (int i = 0; i < minSize; i++) {
+            try {
+                total.incrementAndGet();
+                idle.offerLast(new PooledEntry(DriverManager.getConnection(url, user, password)));
+            } catch (SQLException e) {
+                total.decrementAndGet();
+                shutdown();
+                throw new SQLException("Connection pool warm-up failed: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new one if the pool is
+     * below its maximum size, otherwise waiting up to the connection timeout.
+     *
+     * @return a pooled connection
+     * @throws SQLException if no connection could be acquired
+     */
+    public Connection getConnection() throws SQLException {
+        if (shutdown) {
+            throw new SQLException("Connection pool has been shut down");
+        }
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(connectionTimeoutMs);
+
+        while (true) {
+            PooledEntry entry = idle.pollFirst();
+
+            if (entry == null) {
+                if (total.incrementAndGet() <= maxSize) {
+                    try {
+                        entry = new PooledEntry(DriverManager.getConnection(url, user, password));
+                    } catch (SQLException e) {
+                        total.decrementAndGet();
+                        throw e;
+                    }
+                    return lend(entry, start);
+                }
+                total.decrementAndGet();
+
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new SQLException("Timed out after " + connectionTimeoutMs
+                            + "ms waiting for a pooled connection");
+                }
+                waiting.incrementAndGet();
+                try {
+                    entry = idle.pollFirst(remaining, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while waiting for a pooled connection", e);
+                } finally {
+                    waiting.decrementAndGet();
+                }
+                if (entry == null) {
+                    continue;
+                }
+            }
+
+            if (isUsable(entry)) {
+                return lend(entry, start);
+            }
+            discard(entry);
+        }
+    }
+
+    /**
+     * Closes all idle connections and rejects further borrowing.
+     * Borrowed connections are closed as they are returned.
+     */
+    public void shutdown() {
+        shutdown = true;
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            discard(entry);
+        }
+    }
+
+    /**
+     * Gets the number of borrowed connections.
+     *
+     * @return the active count
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /**
+     * Gets the number of idle connections.
+     *
+     * @return the idle count
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Gets the number of callers waiting for a connection.
+     *
+     * @return the waiting count
+     */
+    public int getWaitingCount() {
+        return waiting.get();
+    }
+
+    /**
+     * Gets the average time taken to acquire a connection.
+     *
+     * @return the average acquire latency in milliseconds
+     */
+    public double getAverageAcquireMillis() {
+        long count = acquireCount.sum();
+        return count == 0 ? 0.0 : acquireNanos.sum() / (count * 1_000_000.0);
+    }
+
+    /**
+     * Checks that a connection can be borrowed and validated.
+     *
+     * @return true if the database is reachable
+     */
+    public boolean isHealthy() {
+        try (Connection conn = getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(validationQuery);
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Wraps a physical connection in a pool-returning proxy and records metrics.
+     */
+    private Connection lend(PooledEntry entry, long startNanos) {
+        active.incrementAndGet();
+        acquireCount.increment();
+        acquireNanos.add(System.nanoTime() - startNanos);
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                new PooledConnectionHandler(entry));
+    }
+
+    /**
+     * Returns a physical connection to the pool after resetting its state.
+     */
+    private void release(PooledEntry entry) {
+        active.decrementAndGet();
+        try {
+            if (shutdown || entry.physical.isClosed()) {
+                discard(entry);
+                return;
+            }
+            if (!entry.physical.getAutoCommit()) {
+                entry.physical.rollback();
+                entry.physical.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            discard(entry);
+            return;
+        }
+        entry.lastUsed = System.currentTimeMillis();
+        idle.offerFirst(entry);
+    }
+
+    /**
+     * Validates an idle connection if it has not been used recently.
+     */
+    private boolean isUsable(PooledEntry entry) {
+        try {
+            if (entry.physical.isClosed()) {
+                return false;
+            }
+            if (System.currentTimeMillis() - entry.lastUsed < validationIntervalMs) {
+                return true;
+            }
+            try (Statement stmt = entry.physical.createStatement()) {
+                stmt.execute(validationQuery);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Closes a physical connection and removes it from the pool size.
+     */
+    private void discard(PooledEntry entry) {
+        total.decrementAndGet();
+        try {
+            entry.physical.close();
+        } catch (SQLException e) {
+            // Connection is being thrown away anyway
+        }
+    }
+
+    /**
+     * A physical connection together with the time it was last returned.
+     */
+    private static final class PooledEntry {
+        private final Connection physical;
+        private volatile long lastUsed;
+
+        private PooledEntry(Connection physical) {
+            this.physical = physical;
+            this.lastUsed = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Delegates to the physical connection, turning close() into a return to the pool.
+     * Statements and metadata created from it are wrapped too, so that their
+     * getConnection() hands back this proxy rather than the physical connection.
+     */
+    private final class PooledConnectionHandler implements InvocationHandler {
+        private final PooledEntry entry;
+        private boolean closed;
+
+        private PooledConnectionHandler(PooledEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        release(entry);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || entry.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + entry.physical + "]";
+                default:
+                    if (closed) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    Object result;
+                    try {
+                        result = method.invoke(entry.physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    return wrap(proxy, method.getReturnType(), result);
+            }
+        }
+
+        /**
+         * Wraps statements and database metadata so getConnection() returns the pooled proxy.
+         */
+        private Object wrap(Object proxy, Class<?> type, Object result) {
+            if (result == null || !(Statement.class.isAssignableFrom(type) || type == DatabaseMetaData.class)) {
+                return result;
+            }
+            return Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[] { type },
+                    new ConnectionReferenceHandler(result, (Connection) proxy));
+        }
+    }
+
+    /**
+     * Delegates to a statement or metadata object, answering getConnection()
+     * with the pooled connection it was created from.
+     */
+    private static final class ConnectionReferenceHandler implements InvocationHandler {
+        private final Object target;
+        private final Connection connection;
+
+        private ConnectionReferenceHandler(Object target, Connection connection) {
+            this.target = target;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getConnection":
+                    return connection;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return target.toString();
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
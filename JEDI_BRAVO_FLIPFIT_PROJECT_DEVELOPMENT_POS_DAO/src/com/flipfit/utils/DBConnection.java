@@ -1,13 +1,16 @@
 package com.flipfit.utils;
 
+import com.flipfit.constants.DatabaseConstants;
+
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 // TODO: Auto-generated Javadoc
 /**
  * The Class DBConnection.
  * Utility class for managing database connections
+ * Connections are borrowed from a shared {@link ConnectionPool}; closing a
+ * connection returns it to the pool.
  *
  * @author JEDI-BRAVO
  * @ClassName DBConnection
@@ -15,16 +18,19 @@ import java.sql.SQLException;
 public class DBConnection {
     
     /** The database URL. */
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/Flipfit_schema";
+    private static final String DB_URL = DatabaseConstants.DB_URL + "?" + DatabaseConstants.DB_PROPERTIES;
     
     /** The database user. */
-    private static final String DB_USER = "root";
+    private static final String DB_USER = DatabaseConstants.DB_USER;
     
     /** The database password. */
-    private static final String DB_PASSWORD = "";
+    private static final String DB_PASSWORD = DatabaseConstants.DB_PASSWORD;
     
     /** The database driver. */
-    private static final String DB_DRIVER = "com.mysql.cj.jdbc.Driver";
+    private static final String DB_DRIVER = DatabaseConstants.DB_DRIVER;
+    
+    /** The shared connection pool, created on first use. */
+    private static volatile ConnectionPool pool;
     
     /**
      * Private constructor to prevent instantiation.
@@ -34,18 +40,45 @@ public class DBConnection {
     }
     
     /**
-     * Gets the database connection.
+     * Gets the database connection from the shared pool.
      *
      * @return the connection object
      * @throws SQLException if connection fails
      */
     public static Connection getConnection() throws SQLException {
-        try {
-            Class.forName(DB_DRIVER);
-            return DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-        } catch (ClassNotFoundException e) {
-            throw new SQLException("MySQL JDBC Driver not found", e);
+        return getPool().getConnection();
+    }
+    
+    /**
+     * Gets the shared connection pool, creating it on first use.
+     * Exposes pool statistics (active, idle, waiting, acquire latency).
+     *
+     * @return the connection pool
+     * @throws SQLException if the JDBC driver cannot be loaded or the initial connections cannot be opened
+     */
+    public static ConnectionPool getPool() throws SQLException {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (DBConnection.class) {
+                current = pool;
+                if (current == null) {
+                    try {
+                        Class.forName(DB_DRIVER);
+                    } catch (ClassNotFoundException e) {
+                        throw new SQLException("MySQL JDBC Driver not found", e);
+                    }
+                    current = new ConnectionPool(DB_URL, DB_USER, DB_PASSWORD,
+                            DatabaseConstants.POOL_MIN_SIZE,
+                            DatabaseConstants.POOL_MAX_SIZE,
+                            DatabaseConstants.POOL_CONNECTION_TIMEOUT_MS,
+                            DatabaseConstants.POOL_VALIDATION_INTERVAL_MS,
+                            DatabaseConstants.POOL_VALIDATION_QUERY);
+                    Runtime.getRuntime().addShutdownHook(new Thread(current::shutdown, "flipfit-db-pool-shutdown"));
+                    pool = current;
+                }
+            }
         }
+        return current;
     }
     
     /**